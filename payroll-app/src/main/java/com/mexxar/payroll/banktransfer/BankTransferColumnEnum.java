@@ -0,0 +1,35 @@
+package com.mexxar.payroll.banktransfer;
+
+// Fields a transfer record can carry. Widths apply to the fixed-width layout, where names are cut to fit but
+// identifiers and amounts never are.
+public enum BankTransferColumnEnum {
+    EMPLOYEE_ID("Employee ID", 10, false),
+    EPF_NUMBER("EPF Number", 12, false),
+    ACCOUNT_HOLDER_NAME("Account Holder Name", 40, true),
+    BANK_NAME("Bank Name", 30, true),
+    BRANCH_NAME("Branch Name", 30, true),
+    ACCOUNT_NUMBER("Account Number", 20, false),
+    AMOUNT("Amount", 15, false);
+
+    private final String header;
+    private final int width;
+    private final boolean truncatable;
+
+    BankTransferColumnEnum(String header, int width, boolean truncatable) {
+        this.header = header;
+        this.width = width;
+        this.truncatable = truncatable;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean isTruncatable() {
+        return truncatable;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mexxar.payroll.banktransfer;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/bank-transfers")
+public class BankTransferController {
+
+    private final BankTransferService bankTransferService;
+
+    public BankTransferController(final BankTransferService bankTransferService) {
+        this.bankTransferService = bankTransferService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(BankTransferController.class);
+
+    @Operation(summary = "Generate bank transfer file", description = "This endpoint streams the bank bulk-transfer file for the approved payslips of a pay period, in the configured layout or the one given.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully generated the bank transfer file"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found")
+    })
+    @GetMapping(value = "/pay-period/{payPeriodId}", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateTransferFile(@PathVariable Long payPeriodId,
+                                                                      @RequestParam(required = false) BankTransferFormatEnum format) {
+        logger.info("Received request to generate bank transfer file for pay period: {}", payPeriodId);
+        StreamingResponseBody body = bankTransferService.generateTransferFile(payPeriodId, format);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bank-transfer-" + payPeriodId + ".txt\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Get employees without a primary bank account", description = "This endpoint lists the employees with an approved payslip in the pay period who have no primary bank account to be paid into.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the employees"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found")
+    })
+    @GetMapping("/pay-period/{payPeriodId}/missing-accounts")
+    public ResponseEntity<ApiResponseDTO<List<BankTransferMissingAccountDTO>>> getEmployeesWithoutPrimaryAccount(@PathVariable Long payPeriodId) {
+        logger.info("Received request to get employees without a primary bank account for pay period: {}", payPeriodId);
+        return ResponseEntity.ok(bankTransferService.getEmployeesWithoutPrimaryAccount(payPeriodId));
+    }
+}
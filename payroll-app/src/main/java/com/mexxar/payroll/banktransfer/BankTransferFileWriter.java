@@ -0,0 +1,169 @@
+package com.mexxar.payroll.banktransfer;
+
+import com.mexxar.payroll.banktransfer.exception.BankTransferException;
+import com.mexxar.payroll.core.Money;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// Writes one transfer record per row as the scan delivers it, keeping only the running control totals. The
+// fixed-width layout frames the records with an H header and a T trailer; CSV has a header row and a TOTAL row.
+final class BankTransferFileWriter implements RowCallbackHandler {
+
+    private static final int COUNT_WIDTH = 9;
+    private static final int TOTAL_WIDTH = 18;
+
+    private final BankTransferLayout layout;
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private int fields;
+    private int records;
+    private long totalCents;
+
+    BankTransferFileWriter(BankTransferLayout layout, Writer writer) {
+        this.layout = layout;
+        this.writer = writer;
+    }
+
+    void writeHeader(Long payPeriodId, LocalDate payDate) throws IOException {
+        startLine();
+        if (layout.format() == BankTransferFormatEnum.FIXED_WIDTH) {
+            line.append('H').append(payDate.format(DateTimeFormatter.BASIC_ISO_DATE));
+            appendNumber(payPeriodId, 10, "payPeriodId");
+        } else {
+            for (BankTransferColumnEnum column : layout.columns()) {
+                appendCsvField(column.getHeader());
+            }
+        }
+        writeLine();
+    }
+
+    // Rows come from BankTransferService: employee id, EPF number, holder name, bank, branch, account number, net salary
+    @Override
+    public void processRow(ResultSet resultSet) throws SQLException {
+        long amountCents = Money.ofAmount(resultSet.getDouble(7));
+        startLine();
+        if (layout.format() == BankTransferFormatEnum.FIXED_WIDTH) {
+            line.append('D');
+        }
+        for (BankTransferColumnEnum column : layout.columns()) {
+            switch (column) {
+                case EMPLOYEE_ID -> appendNumberColumn(column, resultSet.getLong(1), resultSet.getLong(1));
+                case EPF_NUMBER -> appendTextColumn(column, resultSet.getString(2));
+                case ACCOUNT_HOLDER_NAME -> appendTextColumn(column, resultSet.getString(3));
+                case BANK_NAME -> appendTextColumn(column, resultSet.getString(4));
+                case BRANCH_NAME -> appendTextColumn(column, resultSet.getString(5));
+                case ACCOUNT_NUMBER -> appendTextColumn(column, resultSet.getString(6));
+                case AMOUNT -> appendNumberColumn(column, amountCents, resultSet.getLong(1));
+            }
+        }
+
+        try {
+            writeLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        records++;
+        totalCents += amountCents;
+    }
+
+    void writeTrailer() throws IOException {
+        startLine();
+        if (layout.format() == BankTransferFormatEnum.FIXED_WIDTH) {
+            line.append('T');
+            appendNumber(records, COUNT_WIDTH, "record count");
+            appendNumber(totalCents, TOTAL_WIDTH, "total amount");
+        } else {
+            appendCsvField("TOTAL");
+            appendCsvField(Integer.toString(records));
+            appendCsvField(Money.format(totalCents));
+        }
+        writeLine();
+        writer.flush();
+    }
+
+    int getRecords() {
+        return records;
+    }
+
+    long getTotalCents() {
+        return totalCents;
+    }
+
+    // Fixed-width amounts are whole cents with an implied decimal point; CSV amounts are plain decimals
+    private void appendNumberColumn(BankTransferColumnEnum column, long value, long employeeId) {
+        if (layout.format() == BankTransferFormatEnum.FIXED_WIDTH) {
+            appendNumber(value, column.getWidth(), column.getHeader() + " of employee " + employeeId);
+        } else {
+            appendCsvField(column == BankTransferColumnEnum.AMOUNT ? Money.format(value) : Long.toString(value));
+        }
+    }
+
+    private void appendTextColumn(BankTransferColumnEnum column, String value) {
+        String text = value == null ? "" : value;
+        if (layout.format() == BankTransferFormatEnum.CSV) {
+            appendCsvField(text);
+            return;
+        }
+
+        if (text.length() > column.getWidth()) {
+            if (!column.isTruncatable()) {
+                throw new BankTransferException(column.getHeader() + " '" + text + "' does not fit in " + column.getWidth() + " characters");
+            }
+            text = text.substring(0, column.getWidth());
+        }
+        line.append(text);
+        for (int i = text.length(); i < column.getWidth(); i++) {
+            line.append(' ');
+        }
+    }
+
+    private void appendNumber(long value, int width, String field) {
+        String digits = Long.toString(value);
+        if (value < 0 || digits.length() > width) {
+            throw new BankTransferException(field + " " + value + " does not fit in " + width + " digits");
+        }
+        for (int i = digits.length(); i < width; i++) {
+            line.append('0');
+        }
+        line.append(digits);
+    }
+
+    private void appendCsvField(String value) {
+        if (fields++ > 0) {
+            line.append(layout.delimiter());
+        }
+        boolean quote = value.indexOf(layout.delimiter()) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void startLine() {
+        line.setLength(0);
+        fields = 0;
+    }
+
+    private void writeLine() throws IOException {
+        line.append("\r\n");
+        writer.append(line);
+    }
+}
@@ -0,0 +1,6 @@
+package com.mexxar.payroll.banktransfer;
+
+public enum BankTransferFormatEnum {
+    CSV,
+    FIXED_WIDTH
+}
@@ -0,0 +1,12 @@
+package com.mexxar.payroll.banktransfer;
+
+import java.util.List;
+
+public record BankTransferLayout(
+        BankTransferFormatEnum format,
+
+        List<BankTransferColumnEnum> columns,
+
+        char delimiter
+)
+{}
@@ -0,0 +1,10 @@
+package com.mexxar.payroll.banktransfer;
+
+public record BankTransferMissingAccountDTO(
+        Long employeeId,
+
+        String employeeName,
+
+        Double netSalary
+)
+{}
@@ -0,0 +1,141 @@
+package com.mexxar.payroll.banktransfer;
+
+import com.mexxar.payroll.bankaccount.AccountTypeEnum;
+import com.mexxar.payroll.banktransfer.exception.BankTransferException;
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.common.jdbc.StreamingQueries;
+import com.mexxar.payroll.payslip.PaySlipStatusEnum;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+// Bank bulk-transfer files for the approved payslips of a pay period, paid into each employee's primary account.
+// The file is written straight to the response from a single streaming join, so its size never matters.
+@Service
+public class BankTransferService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+    private final BankTransferLayout defaultLayout;
+
+    public BankTransferService(JdbcTemplate jdbcTemplate,
+                               SalaryPayPeriodService salaryPayPeriodService,
+                               @Value("${payroll.bank-transfer.format:CSV}") BankTransferFormatEnum format,
+                               @Value("${payroll.bank-transfer.columns:EMPLOYEE_ID,ACCOUNT_HOLDER_NAME,BANK_NAME,BRANCH_NAME,ACCOUNT_NUMBER,AMOUNT}") String columns,
+                               @Value("${payroll.bank-transfer.delimiter:,}") char delimiter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.salaryPayPeriodService = salaryPayPeriodService;
+        this.defaultLayout = new BankTransferLayout(format, parseColumns(columns), delimiter);
+    }
+
+    private static final Logger logger = LogManager.getLogger(BankTransferService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // An employee with several primary accounts is paid once, into the first one registered
+    private static final String TRANSFERS_OF_PAY_PERIOD =
+            "SELECT p.employee_id, e.epf_number, b.account_holder_name, b.bank_name, b.branch_name, b.account_number, p.net_salary " +
+            "FROM pay_slip p " +
+            "JOIN employee e ON e.id = p.employee_id " +
+            "JOIN (SELECT employee_id, MIN(id) AS id FROM bank_account WHERE account_type = ? GROUP BY employee_id) primary_account " +
+            "ON primary_account.employee_id = p.employee_id " +
+            "JOIN bank_account b ON b.id = primary_account.id " +
+            "WHERE p.salary_pay_period_id = ? AND p.status = ? AND p.net_salary > 0 " +
+            "ORDER BY p.employee_id";
+
+    private static final String WITHOUT_PRIMARY_ACCOUNT =
+            "FROM pay_slip p " +
+            "JOIN employee e ON e.id = p.employee_id " +
+            "WHERE p.salary_pay_period_id = ? AND p.status = ? AND p.net_salary > 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM bank_account b WHERE b.employee_id = p.employee_id AND b.account_type = ?)";
+
+    public StreamingResponseBody generateTransferFile(Long payPeriodId, BankTransferFormatEnum format) {
+        logger.info("Generating bank transfer file for pay period: {}", payPeriodId);
+
+        // Checked before the response starts, so an unknown pay period is still a 404
+        SalaryPayPeriodModel payPeriod = salaryPayPeriodService.getPayPeriodModelById(payPeriodId);
+        BankTransferLayout layout = format == null ? defaultLayout
+                : new BankTransferLayout(format, defaultLayout.columns(), defaultLayout.delimiter());
+
+        long missing = jdbcTemplate.queryForObject("SELECT COUNT(*) " + WITHOUT_PRIMARY_ACCOUNT, Long.class,
+                payPeriodId, PaySlipStatusEnum.APPROVED.ordinal(), AccountTypeEnum.PRIMARY.ordinal());
+        if (missing > 0) {
+            logger.warn("{} approved payslips in pay period {} have no primary bank account and are left out of the transfer file",
+                    missing, payPeriodId);
+        }
+
+        return outputStream -> writeTransferFile(payPeriod, layout, outputStream);
+    }
+
+    BankTransferFileWriter writeTransferFile(SalaryPayPeriodModel payPeriod, BankTransferLayout layout,
+                                      OutputStream outputStream) throws IOException {
+        Instant start = Instant.now();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        BankTransferFileWriter fileWriter = new BankTransferFileWriter(layout, writer);
+
+        fileWriter.writeHeader(payPeriod.getId(), payPeriod.getEndDate());
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = StreamingQueries.prepare(connection, TRANSFERS_OF_PAY_PERIOD);
+                statement.setInt(1, AccountTypeEnum.PRIMARY.ordinal());
+                statement.setLong(2, payPeriod.getId());
+                statement.setInt(3, PaySlipStatusEnum.APPROVED.ordinal());
+                return statement;
+            }, fileWriter);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        fileWriter.writeTrailer();
+
+        Instant end = Instant.now();
+        logger.info("Wrote {} bank transfers for pay period {} in {} ms", fileWriter.getRecords(), payPeriod.getId(),
+                Duration.between(start, end).toMillis());
+        return fileWriter;
+    }
+
+    public ApiResponseDTO<List<BankTransferMissingAccountDTO>> getEmployeesWithoutPrimaryAccount(Long payPeriodId) {
+        logger.info("Fetching employees without a primary bank account for pay period: {}", payPeriodId);
+
+        salaryPayPeriodService.getPayPeriodModelById(payPeriodId);
+        List<BankTransferMissingAccountDTO> employees = jdbcTemplate.query(
+                "SELECT p.employee_id, e.first_name, e.last_name, p.net_salary " + WITHOUT_PRIMARY_ACCOUNT + " ORDER BY p.employee_id",
+                (resultSet, rowNum) -> new BankTransferMissingAccountDTO(
+                        resultSet.getLong(1),
+                        resultSet.getString(2) + " " + resultSet.getString(3),
+                        resultSet.getDouble(4)
+                ),
+                payPeriodId, PaySlipStatusEnum.APPROVED.ordinal(), AccountTypeEnum.PRIMARY.ordinal());
+
+        logger.info("Found {} employees without a primary bank account for pay period: {}", employees.size(), payPeriodId);
+        return new ApiResponseDTO<>("Employees without a primary bank account fetched successfully", employees);
+    }
+
+    private static List<BankTransferColumnEnum> parseColumns(String columns) {
+        try {
+            return Arrays.stream(columns.split(","))
+                    .map(String::trim)
+                    .map(BankTransferColumnEnum::valueOf)
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw new BankTransferException("Unknown column in payroll.bank-transfer.columns: " + columns);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.banktransfer.exception;
+
+public class BankTransferException extends RuntimeException {
+    public BankTransferException(String message) {
+        super(message);
+    }
+}
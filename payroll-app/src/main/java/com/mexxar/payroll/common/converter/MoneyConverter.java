@@ -0,0 +1,21 @@
+package com.mexxar.payroll.common.converter;
+
+import com.mexxar.payroll.core.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Keeps stored amounts on whole cents, the unit the payroll calculation works in. The columns stay DOUBLE so
+// existing data and reports keep working; what changes is that no sub-cent residue is ever written or read.
+@Converter
+public class MoneyConverter implements AttributeConverter<Double, Double> {
+
+    @Override
+    public Double convertToDatabaseColumn(Double amount) {
+        return amount == null ? null : Money.toAmount(Money.ofAmount(amount));
+    }
+
+    @Override
+    public Double convertToEntityAttribute(Double amount) {
+        return amount == null ? null : Money.toAmount(Money.ofAmount(amount));
+    }
+}
@@ -4,15 +4,28 @@ import com.mexxar.payroll.address.exception.AddressNotFoundException;
 import com.mexxar.payroll.allowancetype.exception.AllowanceTypeNotFoundException;
 import com.mexxar.payroll.authentication.exception.TokenRefreshException;
 import com.mexxar.payroll.bankaccount.exception.BankAccountNotFoundException;
+import com.mexxar.payroll.banktransfer.exception.BankTransferException;
 import com.mexxar.payroll.commissiontype.exception.CommissionTypeException;
 import com.mexxar.payroll.commissiontype.exception.CommissionTypeNotFoundException;
 import com.mexxar.payroll.department.exception.DepartmentNotFoundException;
 import com.mexxar.payroll.designation.exception.DesignationNotFoundException;
 import com.mexxar.payroll.employee.exception.EmployeeNotFoundException;
+import com.mexxar.payroll.employeeleave.exception.EmployeeLeaveException;
+import com.mexxar.payroll.flightrecording.exception.FlightRecordingException;
+import com.mexxar.payroll.generalledger.exception.GeneralLedgerException;
+import com.mexxar.payroll.holiday.exception.HolidayException;
+import com.mexxar.payroll.holiday.exception.HolidayNotFoundException;
 import com.mexxar.payroll.loan.exception.LoanNotFoundException;
+import com.mexxar.payroll.payrollcost.exception.PayrollCostException;
+import com.mexxar.payroll.payrun.exception.PayRunJobException;
+import com.mexxar.payroll.payrun.exception.PayRunJobNotFoundException;
+import com.mexxar.payroll.payslip.exception.DuplicatePaySlipException;
 import com.mexxar.payroll.payslip.exception.PaySlipNotFoundException;
 import com.mexxar.payroll.payslipdetails.exception.PaySlipDetailsNotFoundException;
+import com.mexxar.payroll.payslipvariance.exception.PaySlipVarianceException;
 import com.mexxar.payroll.permission.exception.PermissionNotFoundException;
+import com.mexxar.payroll.retropay.exception.RetroPayJobException;
+import com.mexxar.payroll.retropay.exception.RetroPayJobNotFoundException;
 import com.mexxar.payroll.role.exception.RoleNotFoundException;
 import com.mexxar.payroll.salary.exception.SalaryNotFoundException;
 import com.mexxar.payroll.salaryadvance.exception.SalaryAdvanceNotFoundException;
@@ -36,6 +49,7 @@ public class GlobalExceptionHandler {
     private static final String INTERNAL_SERVER_ERROR_MSG = "Internal Server Error";
     private static final String UNAUTHORIZED_MSG = "Unauthorized";
     private static final String BAD_REQUEST_MSG = "Bad Request";
+    private static final String CONFLICT_MSG = "Conflict";
 
     private static final Logger logger = LogManager.getLogger(GlobalExceptionHandler.class);
 
@@ -323,4 +337,199 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(FlightRecordingException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handleFlightRecordingException(FlightRecordingException ex) {
+        logger.error("FlightRecordingException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                400,
+                ex.getMessage(),
+                BAD_REQUEST_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PayRunJobNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<ErrorResponseDTO> handlePayRunJobNotFoundException(PayRunJobNotFoundException ex) {
+        logger.error("PayRunJobNotFoundException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                404,
+                ex.getMessage(),
+                RESOURCE_NOT_FOUND_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(PayRunJobException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handlePayRunJobException(PayRunJobException ex) {
+        logger.error("PayRunJobException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                400,
+                ex.getMessage(),
+                BAD_REQUEST_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(DuplicatePaySlipException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponseDTO> handleDuplicatePaySlipException(DuplicatePaySlipException ex) {
+        logger.error("DuplicatePaySlipException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                409,
+                ex.getMessage(),
+                CONFLICT_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(HolidayNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<ErrorResponseDTO> handleHolidayNotFoundException(HolidayNotFoundException ex) {
+        logger.error("HolidayNotFoundException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                404,
+                ex.getMessage(),
+                RESOURCE_NOT_FOUND_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(HolidayException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handleHolidayException(HolidayException ex) {
+        logger.error("HolidayException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                400,
+                ex.getMessage(),
+                BAD_REQUEST_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BankTransferException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handleBankTransferException(BankTransferException ex) {
+        logger.error("BankTransferException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                400,
+                ex.getMessage(),
+                BAD_REQUEST_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(GeneralLedgerException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponseDTO> handleGeneralLedgerException(GeneralLedgerException ex) {
+        logger.error("GeneralLedgerException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                409,
+                ex.getMessage(),
+                CONFLICT_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PayrollCostException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handlePayrollCostException(PayrollCostException ex) {
+        logger.error("PayrollCostException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                400,
+                ex.getMessage(),
+                BAD_REQUEST_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PaySlipVarianceException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handlePaySlipVarianceException(PaySlipVarianceException ex) {
+        logger.error("PaySlipVarianceException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                400,
+                ex.getMessage(),
+                BAD_REQUEST_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(RetroPayJobException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handleRetroPayJobException(RetroPayJobException ex) {
+        logger.error("RetroPayJobException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                400,
+                ex.getMessage(),
+                BAD_REQUEST_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(RetroPayJobNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<ErrorResponseDTO> handleRetroPayJobNotFoundException(RetroPayJobNotFoundException ex) {
+        logger.error("RetroPayJobNotFoundException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                404,
+                ex.getMessage(),
+                RESOURCE_NOT_FOUND_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(EmployeeLeaveException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handleEmployeeLeaveException(EmployeeLeaveException ex) {
+        logger.error("EmployeeLeaveException: {}", ex.getMessage(), ex);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                400,
+                ex.getMessage(),
+                BAD_REQUEST_MSG,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
 }
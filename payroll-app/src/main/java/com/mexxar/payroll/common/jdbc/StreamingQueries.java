@@ -0,0 +1,27 @@
+package com.mexxar.payroll.common.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Forward-only, read-only statements for scans that hand each row on as it arrives instead of collecting them
+public final class StreamingQueries {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private StreamingQueries() {
+    }
+
+    public static PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize(connection));
+        return statement;
+    }
+
+    // MySQL Connector/J only streams rows one at a time when the fetch size is Integer.MIN_VALUE; with anything else
+    // it reads the whole result into memory first
+    static int fetchSize(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql") ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+}
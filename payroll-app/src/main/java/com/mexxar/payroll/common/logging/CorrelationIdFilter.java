@@ -0,0 +1,41 @@
+package com.mexxar.payroll.common.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    private static final int MAX_CORRELATION_ID_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        // Reuse the caller's id so logs can be joined across services, otherwise start a new one
+        String correlationId = request.getHeader(LoggingContext.CORRELATION_ID_HEADER);
+        if (correlationId == null || correlationId.isBlank() || correlationId.length() > MAX_CORRELATION_ID_LENGTH) {
+            correlationId = UUID.randomUUID().toString();
+        }
+
+        ThreadContext.put(LoggingContext.CORRELATION_ID, correlationId);
+        response.setHeader(LoggingContext.CORRELATION_ID_HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ThreadContext.remove(LoggingContext.CORRELATION_ID);
+        }
+    }
+}
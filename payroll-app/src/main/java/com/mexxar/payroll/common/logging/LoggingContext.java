@@ -0,0 +1,12 @@
+package com.mexxar.payroll.common.logging;
+
+public final class LoggingContext {
+
+    public static final String CORRELATION_ID = "correlationId";
+    public static final String PAY_RUN_ID = "payRunId";
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+
+    private LoggingContext() {
+    }
+}
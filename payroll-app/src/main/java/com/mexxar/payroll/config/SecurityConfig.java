@@ -3,6 +3,7 @@ package com.mexxar.payroll.config;
 import com.mexxar.payroll.authentication.security.JwtAuthFilter;
 import com.mexxar.payroll.authentication.security.JwtService;
 import com.mexxar.payroll.user.UserService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -50,7 +51,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("*")); // Allow all origins
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*")); // Allow all headers
-        configuration.setExposedHeaders(List.of("Authorization")); // Optional: Expose specific headers
+        configuration.setExposedHeaders(List.of("Authorization", "X-Correlation-Id")); // Optional: Expose specific headers
         configuration.setAllowCredentials(true); // Optional: Enable credentials if needed
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -62,9 +63,12 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())  // Updated csrf configuration
                 .authorizeHttpRequests(authz -> authz
+                        // SSE responses complete on an async dispatch that carries no JWT; the request was already authorised
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**", "/api/users/register",
                                 "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html")
                         .permitAll()
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,40 @@
+package com.mexxar.payroll.datagen;
+
+import java.time.YearMonth;
+
+// Shape of a synthetic dataset; the same spec and seed always produce the same rows
+public record DatasetSpec(
+        int employees,
+
+        int departments,
+
+        int designations,
+
+        int years,
+
+        YearMonth lastPayPeriod,
+
+        long seed,
+
+        int batchSize
+) {
+    public DatasetSpec {
+        if (employees < 1 || departments < 1 || designations < 1 || years < 1) {
+            throw new IllegalArgumentException("Employees, departments, designations and years must all be at least 1");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (lastPayPeriod == null) {
+            throw new IllegalArgumentException("Last pay period is required");
+        }
+    }
+
+    public int payPeriods() {
+        return years * 12;
+    }
+
+    public YearMonth firstPayPeriod() {
+        return lastPayPeriod.minusMonths(payPeriods() - 1L);
+    }
+}
@@ -0,0 +1,17 @@
+package com.mexxar.payroll.datagen;
+
+import java.util.Map;
+
+public record DatasetSummary(
+        Map<String, Long> insertedRows,
+
+        long elapsedMillis
+) {
+    public DatasetSummary {
+        insertedRows = Map.copyOf(insertedRows);
+    }
+
+    public long totalRows() {
+        return insertedRows.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
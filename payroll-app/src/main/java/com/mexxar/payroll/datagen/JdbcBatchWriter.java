@@ -0,0 +1,65 @@
+package com.mexxar.payroll.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Buffers inserts per table and flushes every table together, in registration order, once the batch fills up.
+// Tables must be registered parents first so foreign keys are satisfied on every flush.
+class JdbcBatchWriter implements AutoCloseable {
+
+    private final Connection connection;
+    private final int batchSize;
+    private final Map<String, PreparedStatement> statements = new LinkedHashMap<>();
+    private final Map<String, Long> insertedRows = new LinkedHashMap<>();
+    private int pending;
+
+    JdbcBatchWriter(Connection connection, int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    void register(String table, String... columns) throws SQLException {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + "?, ".repeat(columns.length - 1) + "?)";
+        statements.put(table, connection.prepareStatement(sql));
+        insertedRows.put(table, 0L);
+    }
+
+    void insert(String table, Object... values) throws SQLException {
+        PreparedStatement statement = statements.get(table);
+        for (int i = 0; i < values.length; i++) {
+            statement.setObject(i + 1, values[i]);
+        }
+        statement.addBatch();
+        insertedRows.merge(table, 1L, Long::sum);
+
+        if (++pending >= batchSize) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        for (PreparedStatement statement : statements.values()) {
+            statement.executeBatch();
+        }
+        connection.commit();
+        pending = 0;
+    }
+
+    Map<String, Long> insertedRows() {
+        return insertedRows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (PreparedStatement statement : statements.values()) {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.mexxar.payroll.datagen;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import com.mexxar.payroll.core.AdvanceInput;
+import com.mexxar.payroll.core.AllowanceInput;
+import com.mexxar.payroll.core.CommissionInput;
+import com.mexxar.payroll.core.EmployeePeriodInput;
+import com.mexxar.payroll.core.LoanInput;
+import com.mexxar.payroll.core.PaySlipLine;
+import com.mexxar.payroll.core.PaySlipResult;
+import com.mexxar.payroll.core.PayrollCalculator;
+import com.mexxar.payroll.core.TaxBracket;
+import com.mexxar.payroll.datagen.exception.DatasetGenerationException;
+import com.mexxar.payroll.employee.enums.GenderEnum;
+import com.mexxar.payroll.employee.enums.MaritalEnum;
+import com.mexxar.payroll.employeeleave.EmployeeLeaveEnum;
+import com.mexxar.payroll.leave.LeaveTypeEnum;
+import com.mexxar.payroll.loan.LoanStatusEnum;
+import com.mexxar.payroll.payslip.PaySlipStatusEnum;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsTypeEnum;
+import com.mexxar.payroll.salaryadvance.SalaryAdvanceStatusEnum;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Fills the schema with a deterministic, production-sized dataset through batched JDBC inserts.
+// Every employee draws from its own seeded random, so the rows for employee N do not depend on the batch size.
+@Service
+public class SyntheticDatasetGenerator {
+
+    private static final Logger logger = LogManager.getLogger(SyntheticDatasetGenerator.class);
+
+    private static final String[] FIRST_NAMES = {"Nimal", "Kamal", "Sunil", "Amara", "Dilani", "Kasun", "Tharindu",
+            "Ishara", "Chathura", "Sachini", "Ruwan", "Nadeesha", "Lahiru", "Madhavi", "Pradeep", "Shehani"};
+    private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "Jayasinghe", "Bandara", "Wickramasinghe",
+            "Gunawardena", "Rathnayake", "Dissanayake", "Herath", "Karunaratne", "Senanayake"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Human Resources", "Operations", "Sales",
+            "Marketing", "Customer Support", "Logistics"};
+    private static final String[] JOB_TITLES = {"Associate", "Executive", "Senior Executive", "Assistant Manager",
+            "Manager", "Senior Manager", "Engineer", "Senior Engineer", "Analyst", "Consultant"};
+
+    // name, fixed, liable to tax
+    private static final Object[][] ALLOWANCE_TYPES = {
+            {"Transport Allowance", true, true},
+            {"Housing Allowance", true, true},
+            {"Meal Allowance", true, false},
+            {"Overtime", false, true},
+            {"Night Shift Allowance", false, true},
+            {"Medical Reimbursement", false, false}
+    };
+    // name, liable to tax
+    private static final Object[][] COMMISSION_TYPES = {
+            {"Sales Commission", true},
+            {"Performance Bonus", true},
+            {"Referral Bonus", false}
+    };
+    private static final List<TaxBracket> DEFAULT_TAX_BRACKETS = List.of(
+            new TaxBracket(0, 0, 100000),
+            new TaxBracket(6, 100000, 141667),
+            new TaxBracket(12, 141667, 183333),
+            new TaxBracket(18, 183333, 225000),
+            new TaxBracket(24, 225000, 266667),
+            new TaxBracket(30, 266667, 308333),
+            new TaxBracket(36, 308333, 0)
+    );
+
+    private final DataSource dataSource;
+    private final PayrollCalculator payrollCalculator = new PayrollCalculator();
+
+    public SyntheticDatasetGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public DatasetSummary generate(DatasetSpec spec) {
+        logger.info("Generating synthetic dataset: {}", spec);
+        Instant startTime = Instant.now();
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (JdbcBatchWriter writer = new JdbcBatchWriter(connection, spec.batchSize())) {
+                Generation generation = new Generation(spec, connection, writer);
+                generation.run();
+
+                Duration timeElapsed = Duration.between(startTime, Instant.now());
+                DatasetSummary summary = new DatasetSummary(writer.insertedRows(), timeElapsed.toMillis());
+                logger.info("Generated {} rows for {} employees in {} ms", summary.totalRows(), spec.employees(), summary.elapsedMillis());
+                return summary;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            logger.error("Synthetic dataset generation failed: {}", e.getMessage());
+            throw new DatasetGenerationException("Synthetic dataset generation failed: " + e.getMessage(), e);
+        }
+    }
+
+    static String monthOf(YearMonth month) {
+        return month.getYear() + "-" + month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toUpperCase(Locale.ENGLISH);
+    }
+
+    private record PayPeriod(long id, YearMonth month, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private record LoanPlan(LoanInput input, int startIndex, int holdStartIndex, int holdEndIndex) {
+        boolean onHold(int periodIndex) {
+            return periodIndex >= holdStartIndex && periodIndex <= holdEndIndex;
+        }
+    }
+
+    private final class Generation {
+
+        private final DatasetSpec spec;
+        private final Connection connection;
+        private final JdbcBatchWriter writer;
+        private final Map<String, Long> nextIds = new HashMap<>();
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private final List<Long> departmentIds = new ArrayList<>();
+        private final List<Long> designationIds = new ArrayList<>();
+        private final List<Long> allowanceTypeIds = new ArrayList<>();
+        private final List<Long> commissionTypeIds = new ArrayList<>();
+        private final List<PayPeriod> payPeriods = new ArrayList<>();
+        private final Map<String, Long> leavePolicyIds = new HashMap<>();
+        private List<TaxBracket> taxBrackets;
+
+        private Generation(DatasetSpec spec, Connection connection, JdbcBatchWriter writer) {
+            this.spec = spec;
+            this.connection = connection;
+            this.writer = writer;
+        }
+
+        private void run() throws SQLException {
+            if (count("employee") > 0) {
+                throw new DatasetGenerationException("Synthetic data must be generated into a schema without employees");
+            }
+
+            // Parents first: every flush executes the batches in this order
+            writer.register("department", "id", "name", "status");
+            writer.register("designation", "id", "job_title", "job_description", "status");
+            writer.register("allowance_type", "id", "name", "description", "is_fixed", "is_liable_to_tax");
+            writer.register("commission_type", "id", "name", "is_liable_to_tax", "description");
+            writer.register("salary_pay_period", "id", "start_date", "end_date", "month_of", "year");
+            writer.register("tax", "id", "tax_rate", "min_salary", "max_salary");
+            writer.register("leave_policy", "id", "name", "year", "leave_type", "max_days", "carry_forward_allowed", "created_at", "updated_at");
+            writer.register("employee", "id", "first_name", "middle_name", "last_name", "email", "dob", "contact_number",
+                    "hire_date", "epf_number", "national_id_number", "gender", "marital", "department_id", "designation_id", "status");
+            writer.register("salary", "id", "basic_salary", "start_date", "end_date", "employee_id");
+            writer.register("salary_allowance", "id", "salary_id", "amount", "allowance_type_id", "salary_pay_period_id");
+            writer.register("salary_commission", "id", "salary_id", "amount", "commission_type_id", "salary_pay_period_id");
+            writer.register("loan", "id", "loan_amount", "interest_rate", "start_date", "end_date", "monthly_installments",
+                    "remaining_amount", "status", "hold_start_date", "hold_end_date", "employee_id");
+            writer.register("loan_log", "id", "loan_id", "employee_id", "hold_start_date", "hold_end_date", "reason", "is_hold");
+            writer.register("salary_advance", "id", "advance_amount", "advance_date", "status", "employee_id", "salary_pay_period_id");
+            writer.register("employee_leave", "id", "start_date", "end_date", "year", "number_of_days", "status", "approved_by",
+                    "created_at", "updated_at", "employee_id", "leave_policy_id");
+            writer.register("pay_slip", "id", "salary_id", "basic_salary", "allowances", "commission", "status", "gross_salary",
+                    "salary_advance_deduction", "loan_deduction", "attendance_deduction", "tax_deduction", "epf_deduction",
+                    "leave_deduction", "net_salary", "start_date", "end_date", "tax_excluded_allowances", "tax_liable_allowances",
+                    "tax_excluded_commissions", "tax_liable_commissions", "employee_id", "salary_pay_period_id");
+            writer.register("pay_slip_details", "id", "loan_id", "advance_id", "salary_allowance_id", "salary_commission_id",
+                    "type", "description", "amount", "payslip_id");
+            writer.register("epf_etf_contribution", "id", "payslip_id", "epf_contribution", "etf_contribution", "employee_id",
+                    "salary_pay_period_id");
+
+            insertReferenceData();
+
+            for (int index = 0; index < spec.employees(); index++) {
+                insertEmployee(index, new SplittableRandom(spec.seed() * 31 + index));
+                if ((index + 1) % 5000 == 0) {
+                    logger.info("Generated {} of {} employees", index + 1, spec.employees());
+                }
+            }
+            writer.flush();
+            restartIdentities();
+        }
+
+        private void insertReferenceData() throws SQLException {
+            for (int i = 0; i < spec.departments(); i++) {
+                long id = nextId("department");
+                writer.insert("department", id, numbered(DEPARTMENTS, i), StatusEnum.ACTIVE.ordinal());
+                departmentIds.add(id);
+            }
+            for (int i = 0; i < spec.designations(); i++) {
+                long id = nextId("designation");
+                String jobTitle = numbered(JOB_TITLES, i);
+                writer.insert("designation", id, jobTitle, jobTitle + " role", StatusEnum.ACTIVE.ordinal());
+                designationIds.add(id);
+            }
+            for (Object[] type : ALLOWANCE_TYPES) {
+                long id = nextId("allowance_type");
+                writer.insert("allowance_type", id, type[0], type[0] + " paid to employees", type[1], type[2]);
+                allowanceTypeIds.add(id);
+            }
+            for (Object[] type : COMMISSION_TYPES) {
+                long id = nextId("commission_type");
+                writer.insert("commission_type", id, type[0], type[1], type[0] + " earned in the month");
+                commissionTypeIds.add(id);
+            }
+
+            // Reuse pay periods that already exist for a month so the generated history joins up with them
+            Map<String, Long> existingPayPeriods = new HashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT id, month_of FROM salary_pay_period")) {
+                while (resultSet.next()) {
+                    existingPayPeriods.put(resultSet.getString(2), resultSet.getLong(1));
+                }
+            }
+            for (int i = 0; i < spec.payPeriods(); i++) {
+                YearMonth month = spec.firstPayPeriod().plusMonths(i);
+                String monthOf = monthOf(month);
+                Long id = existingPayPeriods.get(monthOf);
+                if (id == null) {
+                    id = nextId("salary_pay_period");
+                    writer.insert("salary_pay_period", id, month.atDay(1), month.atEndOfMonth(), monthOf, String.valueOf(month.getYear()));
+                }
+                payPeriods.add(new PayPeriod(id, month, month.atDay(1), month.atEndOfMonth()));
+            }
+
+            taxBrackets = loadTaxBrackets();
+            if (taxBrackets.isEmpty()) {
+                for (TaxBracket bracket : DEFAULT_TAX_BRACKETS) {
+                    writer.insert("tax", nextId("tax"), bracket.taxRate(), bracket.minSalary(), bracket.maxSalary());
+                }
+                taxBrackets = DEFAULT_TAX_BRACKETS;
+            }
+
+            for (int year = spec.firstPayPeriod().getYear(); year <= spec.lastPayPeriod().getYear(); year++) {
+                insertLeavePolicy(year, LeaveTypeEnum.ANNUAL_LEAVE, "Annual Leave", 14);
+                insertLeavePolicy(year, LeaveTypeEnum.SICK_LEAVE, "Sick Leave", 7);
+                insertLeavePolicy(year, LeaveTypeEnum.NO_PAY_LEAVE, "No Pay Leave", 30);
+            }
+            writer.flush();
+            logger.debug("Reference data ready with {} pay periods and {} tax brackets", payPeriods.size(), taxBrackets.size());
+        }
+
+        private void insertLeavePolicy(int year, LeaveTypeEnum leaveType, String name, int maxDays) throws SQLException {
+            long id = nextId("leave_policy");
+            writer.insert("leave_policy", id, name + " " + year, year, leaveType.ordinal(), maxDays,
+                    leaveType == LeaveTypeEnum.ANNUAL_LEAVE, createdAt, createdAt);
+            leavePolicyIds.put(year + "-" + leaveType, id);
+        }
+
+        private void insertEmployee(int index, SplittableRandom random) throws SQLException {
+            long employeeId = nextId("employee");
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            LocalDate firstPeriodStart = payPeriods.get(0).startDate();
+
+            // Most of the workforce predates the generated history; the rest joins part way through it
+            LocalDate hireDate;
+            if (random.nextInt(100) < 85) {
+                hireDate = firstPeriodStart.minusDays(random.nextInt(1, 3650));
+            } else {
+                PayPeriod joined = payPeriods.get(random.nextInt(payPeriods.size()));
+                hireDate = joined.startDate().plusDays(random.nextInt(joined.startDate().lengthOfMonth()));
+            }
+            LocalDate dob = hireDate.minusYears(random.nextInt(20, 45)).minusDays(random.nextInt(365));
+
+            writer.insert("employee", employeeId, firstName, null, lastName,
+                    firstName.toLowerCase(Locale.ENGLISH) + "." + lastName.toLowerCase(Locale.ENGLISH) + "." + employeeId + "@example.com",
+                    dob, String.format("07%08d", employeeId % 100_000_000L), hireDate, "EPF" + employeeId,
+                    String.format("%d%07dV", dob.getYear() % 100, employeeId % 10_000_000L),
+                    GenderEnum.values()[random.nextInt(2)].ordinal(),
+                    MaritalEnum.values()[random.nextInt(2)].ordinal(),
+                    departmentIds.get(index % departmentIds.size()),
+                    designationIds.get(random.nextInt(designationIds.size())),
+                    (random.nextInt(100) < 97 ? StatusEnum.ACTIVE : StatusEnum.INACTIVE).ordinal());
+
+            long salaryId = nextId("salary");
+            double basicSalary = random.nextInt(60, 500) * 1000.0;
+            writer.insert("salary", salaryId, basicSalary, hireDate, null, employeeId);
+
+            // Fixed allowances come before the monthly ones, as the payslip calculation lists them
+            List<AllowanceInput> fixedTaxLiable = new ArrayList<>();
+            List<AllowanceInput> fixedTaxExcluded = new ArrayList<>();
+            for (int t = 0; t < ALLOWANCE_TYPES.length; t++) {
+                if ((Boolean) ALLOWANCE_TYPES[t][1] && random.nextBoolean()) {
+                    long allowanceId = nextId("salary_allowance");
+                    double amount = random.nextInt(5, 40) * 500.0;
+                    writer.insert("salary_allowance", allowanceId, salaryId, amount, allowanceTypeIds.get(t), null);
+                    ((Boolean) ALLOWANCE_TYPES[t][2] ? fixedTaxLiable : fixedTaxExcluded)
+                            .add(new AllowanceInput(allowanceId, (String) ALLOWANCE_TYPES[t][0], amount));
+                }
+            }
+
+            int firstIndex = 0;
+            while (payPeriods.get(firstIndex).endDate().isBefore(hireDate)) {
+                firstIndex++;
+            }
+            int lastIndex = payPeriods.size() - 1;
+            List<LoanPlan> loans = insertLoans(employeeId, random, firstIndex, lastIndex);
+
+            // The latest pay period is left open: its advances are pending and it has no payslips yet
+            for (int p = firstIndex; p <= lastIndex; p++) {
+                PayPeriod period = payPeriods.get(p);
+                boolean paid = p < lastIndex;
+
+                List<AllowanceInput> taxLiableAllowances = new ArrayList<>(fixedTaxLiable);
+                List<AllowanceInput> taxExcludedAllowances = new ArrayList<>(fixedTaxExcluded);
+                for (int t = 0; t < ALLOWANCE_TYPES.length; t++) {
+                    if (!(Boolean) ALLOWANCE_TYPES[t][1] && random.nextInt(100) < 30) {
+                        long allowanceId = nextId("salary_allowance");
+                        double amount = random.nextInt(2, 30) * 500.0;
+                        writer.insert("salary_allowance", allowanceId, salaryId, amount, allowanceTypeIds.get(t), period.id());
+                        ((Boolean) ALLOWANCE_TYPES[t][2] ? taxLiableAllowances : taxExcludedAllowances)
+                                .add(new AllowanceInput(allowanceId, (String) ALLOWANCE_TYPES[t][0], amount));
+                    }
+                }
+
+                List<CommissionInput> taxLiableCommissions = new ArrayList<>();
+                List<CommissionInput> taxExcludedCommissions = new ArrayList<>();
+                if (random.nextInt(100) < 25) {
+                    int t = random.nextInt(COMMISSION_TYPES.length);
+                    long commissionId = nextId("salary_commission");
+                    double amount = random.nextInt(2, 100) * 500.0;
+                    writer.insert("salary_commission", commissionId, salaryId, amount, commissionTypeIds.get(t), period.id());
+                    ((Boolean) COMMISSION_TYPES[t][1] ? taxLiableCommissions : taxExcludedCommissions)
+                            .add(new CommissionInput(commissionId, (String) COMMISSION_TYPES[t][0], amount));
+                }
+
+                List<AdvanceInput> advances = new ArrayList<>();
+                if (random.nextInt(100) < 8) {
+                    long advanceId = nextId("salary_advance");
+                    double amount = random.nextInt(5, 50) * 1000.0;
+                    SalaryAdvanceStatusEnum status = paid ? SalaryAdvanceStatusEnum.DEDUCTED : SalaryAdvanceStatusEnum.PENDING;
+                    writer.insert("salary_advance", advanceId, amount, period.startDate().plusDays(random.nextInt(10)),
+                            status.ordinal(), employeeId, period.id());
+                    advances.add(new AdvanceInput(advanceId, amount));
+                }
+
+                double noPayLeaveDays = 0;
+                if (random.nextInt(100) < 10) {
+                    noPayLeaveDays = random.nextInt(1, 3);
+                    insertLeave(employeeId, period, LeaveTypeEnum.NO_PAY_LEAVE, (int) noPayLeaveDays, random);
+                }
+                if (random.nextInt(100) < 15) {
+                    insertLeave(employeeId, period, LeaveTypeEnum.ANNUAL_LEAVE, random.nextInt(1, 4), random);
+                }
+
+                if (!paid) {
+                    continue;
+                }
+
+                List<LoanInput> loanInputs = new ArrayList<>();
+                for (LoanPlan loan : loans) {
+                    if (deductsIn(loan, p)) {
+                        loanInputs.add(loan.input());
+                    }
+                }
+
+                PaySlipResult result = payrollCalculator.calculate(new EmployeePeriodInput(
+                        period.startDate(), period.endDate(), hireDate, basicSalary, 0, noPayLeaveDays,
+                        taxLiableAllowances, taxExcludedAllowances, taxLiableCommissions, taxExcludedCommissions,
+                        advances, loanInputs, taxBrackets));
+                insertPaySlip(employeeId, salaryId, period, result);
+            }
+        }
+
+        private List<LoanPlan> insertLoans(long employeeId, SplittableRandom random, int firstIndex, int lastIndex) throws SQLException {
+            List<LoanPlan> loans = new ArrayList<>();
+            if (random.nextInt(100) >= 20) {
+                return loans;
+            }
+
+            int startIndex = random.nextInt(firstIndex, lastIndex + 1);
+            int installments = 6 * random.nextInt(1, 5);
+            double loanAmount = random.nextInt(10, 200) * 5000.0;
+            double interestRate = new double[]{0, 5, 8, 10, 12}[random.nextInt(5)];
+            LoanInput input = new LoanInput(nextId("loan"), loanAmount, installments, interestRate);
+
+            // A quarter of the loans pause repayments for one or two months
+            int holdStartIndex = Integer.MAX_VALUE;
+            int holdEndIndex = Integer.MIN_VALUE;
+            if (random.nextInt(100) < 25) {
+                holdStartIndex = startIndex + 1 + random.nextInt(installments / 2);
+                holdEndIndex = holdStartIndex + random.nextInt(2);
+            }
+            LoanPlan loan = new LoanPlan(input, startIndex, holdStartIndex, holdEndIndex);
+
+            int paidInstallments = 0;
+            for (int p = startIndex; p < lastIndex; p++) {
+                if (deductsIn(loan, p)) {
+                    paidInstallments++;
+                }
+            }
+            double total = loanAmount + loanAmount * interestRate * 0.01;
+            double remaining = Math.max(0, total - paidInstallments * PayrollCalculator.monthlyLoanInstallment(input));
+            LoanStatusEnum status;
+            if (paidInstallments >= installments) {
+                status = LoanStatusEnum.COMPLETED;
+            } else if (loan.onHold(lastIndex)) {
+                status = LoanStatusEnum.HOLD;
+            } else {
+                status = LoanStatusEnum.ONGOING;
+            }
+
+            YearMonth startMonth = payPeriods.get(startIndex).month();
+            boolean hasHold = holdStartIndex != Integer.MAX_VALUE;
+            YearMonth holdStart = hasHold ? startMonth.plusMonths(holdStartIndex - (long) startIndex) : null;
+            YearMonth holdEnd = hasHold ? startMonth.plusMonths(holdEndIndex - (long) startIndex) : null;
+            int holdMonths = hasHold ? holdEndIndex - holdStartIndex + 1 : 0;
+
+            writer.insert("loan", input.id(), loanAmount, interestRate, startMonth.atDay(1),
+                    startMonth.plusMonths(installments + holdMonths - 1L).atEndOfMonth(), (double) installments, remaining,
+                    status.ordinal(), hasHold ? holdStart.atDay(1) : null, hasHold ? holdEnd.atEndOfMonth() : null, employeeId);
+            if (hasHold) {
+                writer.insert("loan_log", nextId("loan_log"), input.id(), employeeId, holdStart.atDay(1), holdEnd.atEndOfMonth(),
+                        "Repayment holiday requested by employee", true);
+            }
+            loans.add(loan);
+            return loans;
+        }
+
+        private boolean deductsIn(LoanPlan loan, int periodIndex) {
+            if (periodIndex < loan.startIndex() || loan.onHold(periodIndex)) {
+                return false;
+            }
+            int heldMonths = 0;
+            for (int p = loan.startIndex(); p < periodIndex; p++) {
+                if (loan.onHold(p)) {
+                    heldMonths++;
+                }
+            }
+            return periodIndex - loan.startIndex() - heldMonths < loan.input().monthlyInstallments();
+        }
+
+        private void insertLeave(long employeeId, PayPeriod period, LeaveTypeEnum leaveType, int days, SplittableRandom random) throws SQLException {
+            LocalDate startDate = period.startDate().plusDays(random.nextInt(period.startDate().lengthOfMonth() - days));
+            writer.insert("employee_leave", nextId("employee_leave"), startDate, startDate.plusDays(days - 1L),
+                    (long) period.month().getYear(), (double) days, EmployeeLeaveEnum.APPROVED.ordinal(), "HR",
+                    createdAt, createdAt, employeeId, leavePolicyIds.get(period.month().getYear() + "-" + leaveType));
+        }
+
+        private void insertPaySlip(long employeeId, long salaryId, PayPeriod period, PaySlipResult result) throws SQLException {
+            long paySlipId = nextId("pay_slip");
+            writer.insert("pay_slip", paySlipId, salaryId, result.basicSalary(),
+                    result.taxLiableAllowances() + result.taxExcludedAllowances(),
+                    result.taxLiableCommissions() + result.taxExcludedCommissions(),
+                    PaySlipStatusEnum.PAID.ordinal(), result.grossSalary(), result.salaryAdvanceDeduction(),
+                    result.loanDeduction(), result.attendanceDeduction(), result.taxDeduction(), result.epfDeduction(),
+                    result.leaveDeduction(), result.netSalary(), period.startDate(), period.endDate(),
+                    result.taxExcludedAllowances(), result.taxLiableAllowances(),
+                    result.taxExcludedCommissions(), result.taxLiableCommissions(), employeeId, period.id());
+
+            for (PaySlipLine line : result.lines()) {
+                writer.insert("pay_slip_details", nextId("pay_slip_details"), line.loanId(), line.advanceId(),
+                        line.allowanceId(), line.commissionId(), PaySlipDetailsTypeEnum.valueOf(line.type().name()).ordinal(),
+                        line.description(), line.amount(), paySlipId);
+            }
+
+            if (result.companyEpfContribution() > 0 || result.companyEtfContribution() > 0) {
+                writer.insert("epf_etf_contribution", nextId("epf_etf_contribution"), paySlipId,
+                        result.companyEpfContribution(), result.companyEtfContribution(), employeeId, period.id());
+            }
+        }
+
+        private List<TaxBracket> loadTaxBrackets() throws SQLException {
+            List<TaxBracket> brackets = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT tax_rate, min_salary, max_salary FROM tax ORDER BY id")) {
+                while (resultSet.next()) {
+                    brackets.add(new TaxBracket(resultSet.getDouble(1), resultSet.getDouble(2), resultSet.getDouble(3)));
+                }
+            }
+            return brackets;
+        }
+
+        // Ids are assigned here rather than by the database so children can reference parents still in the batch
+        private long nextId(String table) throws SQLException {
+            Long next = nextIds.get(table);
+            if (next == null) {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM " + table);
+                     ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    next = resultSet.getLong(1) + 1;
+                }
+            }
+            nextIds.put(table, next + 1);
+            return next;
+        }
+
+        private long count(String table) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+
+        // MySQL moves AUTO_INCREMENT past explicit ids on its own; H2 identity columns have to be told
+        private void restartIdentities() throws SQLException {
+            if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (Map.Entry<String, Long> entry : nextIds.entrySet()) {
+                    statement.execute("ALTER TABLE " + entry.getKey() + " ALTER COLUMN id RESTART WITH " + entry.getValue());
+                }
+            }
+            connection.commit();
+        }
+
+        private String numbered(String[] names, int index) {
+            String name = names[index % names.length];
+            return index < names.length ? name : name + " " + (index / names.length + 1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mexxar.payroll.datagen;
+
+import com.mexxar.payroll.payrollcost.PayrollCostService;
+import com.mexxar.payroll.yeartodate.YearToDateService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+// Loads a synthetic dataset and exits, e.g. --spring.profiles.active=dev,datagen --payroll.datagen.employees=50000
+@Component
+@Profile("datagen")
+public class SyntheticDatasetRunner implements CommandLineRunner {
+
+    private static final Logger logger = LogManager.getLogger(SyntheticDatasetRunner.class);
+
+    private final SyntheticDatasetGenerator generator;
+    private final YearToDateService yearToDateService;
+    private final PayrollCostService payrollCostService;
+    private final ConfigurableApplicationContext context;
+    private final DatasetSpec spec;
+
+    public SyntheticDatasetRunner(SyntheticDatasetGenerator generator,
+                                  YearToDateService yearToDateService,
+                                  PayrollCostService payrollCostService,
+                                  ConfigurableApplicationContext context,
+                                  @Value("${payroll.datagen.employees:50000}") int employees,
+                                  @Value("${payroll.datagen.departments:12}") int departments,
+                                  @Value("${payroll.datagen.designations:30}") int designations,
+                                  @Value("${payroll.datagen.years:3}") int years,
+                                  @Value("${payroll.datagen.last-pay-period:}") String lastPayPeriod,
+                                  @Value("${payroll.datagen.seed:20240101}") long seed,
+                                  @Value("${payroll.datagen.batch-size:1000}") int batchSize) {
+        this.generator = generator;
+        this.yearToDateService = yearToDateService;
+        this.payrollCostService = payrollCostService;
+        this.context = context;
+        YearMonth lastPeriod = lastPayPeriod.isBlank() ? YearMonth.now().minusMonths(1) : YearMonth.parse(lastPayPeriod);
+        this.spec = new DatasetSpec(employees, departments, designations, years, lastPeriod, seed, batchSize);
+    }
+
+    @Override
+    public void run(String... args) {
+        DatasetSummary summary = generator.generate(spec);
+        summary.insertedRows().forEach((table, rows) -> logger.info("{}: {} rows", table, rows));
+
+        // Payslips are written straight to the tables, so their year-to-date totals and payroll cost are summed
+        // afterwards
+        int firstTaxYear = yearToDateService.taxYearOf(spec.firstPayPeriod().atDay(1));
+        int lastTaxYear = yearToDateService.taxYearOf(spec.lastPayPeriod().atDay(1));
+        for (int taxYear = firstTaxYear; taxYear <= lastTaxYear; taxYear++) {
+            yearToDateService.rebuildTaxYear(taxYear);
+        }
+        payrollCostService.rebuildPayrollCost(spec.firstPayPeriod(), spec.lastPayPeriod());
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
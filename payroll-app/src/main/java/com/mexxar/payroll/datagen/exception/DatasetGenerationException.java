@@ -0,0 +1,11 @@
+package com.mexxar.payroll.datagen.exception;
+
+public class DatasetGenerationException extends RuntimeException {
+    public DatasetGenerationException(String message) {
+        super(message);
+    }
+
+    public DatasetGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,26 @@
+package com.mexxar.payroll.employee;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+interface EmployeeRepository extends JpaRepository<EmployeeModel, Long>, JpaSpecificationExecutor<EmployeeModel> {
+    boolean existsByEmail(String email);
+
+    Page<EmployeeModel> findByStatus(StatusEnum status, Pageable pageable);
+
+    @Query("SELECT e.id FROM EmployeeModel e WHERE e.status = :status ORDER BY e.id")
+    List<Long> findIdsByStatus(@Param("status") StatusEnum status);
+
+    @Query("SELECT e.id FROM EmployeeModel e " +
+            "WHERE e.status = :status AND e.id BETWEEN :firstId AND :lastId ORDER BY e.id")
+    List<Long> findIdsByStatusAndIdBetween(@Param("status") StatusEnum status,
+                                           @Param("firstId") Long firstId,
+                                           @Param("lastId") Long lastId);
+}
@@ -25,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -188,6 +189,18 @@ public class EmployeeService {
         logger.info("Employee deleted successfully for employee id {} in {} ms", id, timeElapsed.toMillis());
     }
 
+    public List<Long> getEmployeeIdsByStatus(StatusEnum status) {
+        logger.debug("Fetching employee ids with status: {}", status);
+
+        return employeeRepository.findIdsByStatus(status);
+    }
+
+    public List<Long> getEmployeeIdsByStatusInRange(StatusEnum status, Long firstId, Long lastId) {
+        logger.debug("Fetching employee ids with status: {} between {} and {}", status, firstId, lastId);
+
+        return employeeRepository.findIdsByStatusAndIdBetween(status, firstId, lastId);
+    }
+
     public ApiResponseDTO<Page<EmployeeResponseDTO>> filterEmployees(
             EmployeeFilterCriteria criteria,
             int page,
@@ -19,4 +19,16 @@ interface EmployeeLeaveRepository extends JpaRepository<EmployeeLeaveModel, Long
     Double getTotalNoPayLeaveDays(@Param("employeeId") Long employeeId,
                                   @Param("startDate") LocalDate startDate,
                                   @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT e.employee.id, SUM(e.numberOfDays) FROM EmployeeLeaveModel e " +
+            "WHERE e.leavePolicy.leaveType = 1 " +
+            "AND e.status = 1 " +
+            "AND e.startDate >= :startDate " +
+            "AND e.endDate <= :endDate " +
+            "AND e.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId " +
+            "GROUP BY e.employee.id")
+    List<Object[]> getTotalNoPayLeaveDaysByEmployee(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate,
+                                                    @Param("firstEmployeeId") Long firstEmployeeId,
+                                                    @Param("lastEmployeeId") Long lastEmployeeId);
 }
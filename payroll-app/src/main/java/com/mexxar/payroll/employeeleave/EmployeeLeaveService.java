@@ -3,14 +3,20 @@ package com.mexxar.payroll.employeeleave;
 import com.mexxar.payroll.common.ApiResponseDTO;
 import com.mexxar.payroll.employee.EmployeeModel;
 import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.employeeleave.exception.EmployeeLeaveException;
 import com.mexxar.payroll.employeeleave.exception.EmployeeLeaveNotFoundException;
+import com.mexxar.payroll.holiday.WorkingDayCalendarService;
 import com.mexxar.payroll.leave.LeavePolicyModel;
 import com.mexxar.payroll.leave.LeavePolicyService;
+import com.mexxar.payroll.leave.LeaveTypeEnum;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputTypeEnum;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,13 +25,19 @@ public class EmployeeLeaveService {
     private final EmployeeLeaveRepository employeeLeaveRepository;
     private final EmployeeService employeeService;
     private final LeavePolicyService leavePolicyService;
+    private final PaySlipInputChangeService paySlipInputChangeService;
+    private final WorkingDayCalendarService workingDayCalendarService;
 
     public EmployeeLeaveService(EmployeeLeaveRepository employeeLeaveRepository,
                                 EmployeeService employeeService,
-                                LeavePolicyService leavePolicyService) {
+                                LeavePolicyService leavePolicyService,
+                                PaySlipInputChangeService paySlipInputChangeService,
+                                WorkingDayCalendarService workingDayCalendarService) {
         this.employeeLeaveRepository = employeeLeaveRepository;
         this.employeeService = employeeService;
         this.leavePolicyService = leavePolicyService;
+        this.paySlipInputChangeService = paySlipInputChangeService;
+        this.workingDayCalendarService = workingDayCalendarService;
     }
 
     private static final String EMPLOYEE_LEAVE_NOT_FOUND_MSG = "Employee Leave not found with id: ";
@@ -37,13 +49,14 @@ public class EmployeeLeaveService {
         EmployeeLeaveModel employeeLeave = new EmployeeLeaveModel();
         employeeLeave.setStartDate(requestDTO.startDate());
         employeeLeave.setEndDate(requestDTO.endDate());
-        employeeLeave.setNumberOfDays(requestDTO.numberOfDays());
+        employeeLeave.setNumberOfDays(numberOfDays(requestDTO));
         employeeLeave.setStatus(requestDTO.status());
         employeeLeave.setApprovedBy(requestDTO.approvedBy());
         employeeLeave.setEmployee(employee);
         employeeLeave.setLeavePolicy(leavePolicy);
 
         EmployeeLeaveModel savedLeave = employeeLeaveRepository.save(employeeLeave);
+        markPaySlipInputChanged(savedLeave);
 
         return new ApiResponseDTO<>("Employee Leave Created Successfully", convertToResponseDTO(savedLeave));
     }
@@ -71,6 +84,12 @@ public class EmployeeLeaveService {
         );
     }
 
+    // Keyed by employee ID; employees without no-pay leave in the range are absent
+    public Map<Long, Double> getTotalNoPayLeaveDaysByEmployee(LocalDate startDate, LocalDate endDate, Long firstEmployeeId, Long lastEmployeeId) {
+        return employeeLeaveRepository.getTotalNoPayLeaveDaysByEmployee(startDate, endDate, firstEmployeeId, lastEmployeeId).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Double) row[1]));
+    }
+
     public ApiResponseDTO<EmployeeLeaveResponseDTO> updateEmployeeLeave(Long id, EmployeeLeaveRequestDTO requestDTO) {
         EmployeeLeaveModel employeeLeave = employeeLeaveRepository.findById(id)
                 .orElseThrow(() -> new EmployeeLeaveNotFoundException(EMPLOYEE_LEAVE_NOT_FOUND_MSG + id));
@@ -78,15 +97,18 @@ public class EmployeeLeaveService {
         EmployeeModel employee = employeeService.getEmployeeModelById(requestDTO.employeeId());
         LeavePolicyModel leavePolicy = leavePolicyService.getLeavePolicyModelById(requestDTO.leavePolicyId());
 
+        // The old dates and employee need recomputing as well as the new ones
+        markPaySlipInputChanged(employeeLeave);
         employeeLeave.setStartDate(requestDTO.startDate());
         employeeLeave.setEndDate(requestDTO.endDate());
-        employeeLeave.setNumberOfDays(requestDTO.numberOfDays());
+        employeeLeave.setNumberOfDays(numberOfDays(requestDTO));
         employeeLeave.setStatus(requestDTO.status());
         employeeLeave.setApprovedBy(requestDTO.approvedBy());
         employeeLeave.setEmployee(employee);
         employeeLeave.setLeavePolicy(leavePolicy);
 
         EmployeeLeaveModel updatedLeave = employeeLeaveRepository.save(employeeLeave);
+        markPaySlipInputChanged(updatedLeave);
 
         return new ApiResponseDTO<>("Successfully Updated Employee Leave", convertToResponseDTO(updatedLeave));
     }
@@ -97,11 +119,13 @@ public class EmployeeLeaveService {
 
         employeeLeave.setStatus(status);
         EmployeeLeaveModel updatedLeave = employeeLeaveRepository.save(employeeLeave);
+        markPaySlipInputChanged(updatedLeave);
 
         return new ApiResponseDTO<>("Successfully Updated Employee Leave Status", convertToResponseDTO(updatedLeave));
     }
 
     public ApiResponseDTO<Void> deleteEmployeeLeave(Long id) {
+        employeeLeaveRepository.findById(id).ifPresent(this::markPaySlipInputChanged);
         employeeLeaveRepository.deleteById(id);
         return new ApiResponseDTO<>("Successfully Deleted Employee Leave", null);
     }
@@ -127,6 +151,29 @@ public class EmployeeLeaveService {
         return new ApiResponseDTO<>("Successfully fetch Employee remaining Leave", employeeRemainingLeaveDTOs);
     }
 
+    // Half days have to be given explicitly; otherwise a leave covers every working day in its range
+    private Double numberOfDays(EmployeeLeaveRequestDTO requestDTO) {
+        if (requestDTO.startDate() == null || requestDTO.endDate() == null) {
+            throw new EmployeeLeaveException("Leave start date and end date are required");
+        }
+        if (requestDTO.endDate().isBefore(requestDTO.startDate())) {
+            throw new EmployeeLeaveException("Leave end date cannot be before its start date");
+        }
+        if (requestDTO.numberOfDays() != null) {
+            return requestDTO.numberOfDays();
+        }
+        return (double) workingDayCalendarService.countWorkingDays(requestDTO.startDate(), requestDTO.endDate());
+    }
+
+    // Only no-pay leave changes the payslip, through the leave deduction
+    private void markPaySlipInputChanged(EmployeeLeaveModel employeeLeave) {
+        if (employeeLeave.getLeavePolicy() != null
+                && employeeLeave.getLeavePolicy().getLeaveType() == LeaveTypeEnum.NO_PAY_LEAVE) {
+            paySlipInputChangeService.markChangedBetween(employeeLeave.getEmployee().getId(),
+                    employeeLeave.getStartDate(), employeeLeave.getEndDate(), PaySlipInputTypeEnum.LEAVE);
+        }
+    }
+
     private EmployeeLeaveResponseDTO convertToResponseDTO(EmployeeLeaveModel employeeLeave) {
         return new EmployeeLeaveResponseDTO(
                 employeeLeave.getId(),
@@ -6,9 +6,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,9 +19,11 @@ import java.util.List;
 public class EpfEtfContributionController {
 
     private final EpfEtfContributionService service;
+    private final EpfEtfReturnService returnService;
 
-    public EpfEtfContributionController(EpfEtfContributionService service) {
+    public EpfEtfContributionController(EpfEtfContributionService service, EpfEtfReturnService returnService) {
         this.service = service;
+        this.returnService = returnService;
     }
 
     private static final Logger logger = LogManager.getLogger(EpfEtfContributionController.class);
@@ -38,8 +42,7 @@ public class EpfEtfContributionController {
 
     @Operation(summary = "Get contributions by month", description = "Fetches all EPF/ETF contributions for a specified month.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved contributions"),
-            @ApiResponse(responseCode = "404", description = "No contributions found for the specified month")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved contributions, none if the month has no contributions")
     })
     @GetMapping("/month")
     public ResponseEntity<ApiResponseDTO<List<EpfEtfContributionResponseDTO>>> getContributionsByMonth(@RequestParam Long payPeriodId) {
@@ -48,6 +51,31 @@ public class EpfEtfContributionController {
         return ResponseEntity.ok(contributions);
     }
 
+    @Operation(summary = "Generate monthly EPF/ETF return", description = "Streams the EPF/ETF return of a pay period as CSV, one line per member with a totals line at the end.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully generated the return"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found")
+    })
+    @GetMapping(value = "/return", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> generateReturnFile(@RequestParam Long payPeriodId) {
+        logger.info("Received request to generate the EPF/ETF return for the salary pay period: {}", payPeriodId);
+        StreamingResponseBody body = returnService.generateReturnFile(payPeriodId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"epf-etf-return-" + payPeriodId + ".csv\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Get monthly EPF/ETF return summary", description = "Fetches the member count and contribution totals of a pay period's EPF/ETF return.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the summary"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found")
+    })
+    @GetMapping("/return/summary")
+    public ResponseEntity<ApiResponseDTO<EpfEtfReturnSummaryResponseDTO>> getReturnSummary(@RequestParam Long payPeriodId) {
+        logger.info("Received request to fetch the EPF/ETF return summary for the salary pay period: {}", payPeriodId);
+        return ResponseEntity.ok(returnService.getReturnSummary(payPeriodId));
+    }
+
     @Operation(summary = "Get contribution by ID", description = "Fetches an EPF/ETF contribution by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the contribution"),
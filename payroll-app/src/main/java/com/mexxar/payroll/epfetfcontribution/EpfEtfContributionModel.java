@@ -18,7 +18,8 @@ public class EpfEtfContributionModel {
     private Double epfContribution;
     private Double etfContribution;
 
-    @ManyToOne
+    // Only the id is ever read, which a lazy reference already holds
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private EmployeeModel employee;
 
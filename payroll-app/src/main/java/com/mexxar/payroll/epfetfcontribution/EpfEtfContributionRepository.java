@@ -0,0 +1,21 @@
+package com.mexxar.payroll.epfetfcontribution;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+interface EpfEtfContributionRepository extends JpaRepository<EpfEtfContributionModel, Long> {
+    List<EpfEtfContributionModel> findByEmployeeId(Long employeeId);
+
+    List<EpfEtfContributionModel> findByPayslipId(Long payslipId);
+
+    @Query("SELECT e FROM EpfEtfContributionModel e JOIN FETCH e.salaryPayPeriod WHERE e.salaryPayPeriod.id = :payPeriodId")
+    List<EpfEtfContributionModel> findBySalaryPayPeriod(Long payPeriodId);
+
+    @Modifying
+    @Query("DELETE FROM EpfEtfContributionModel e WHERE e.payslipId = :paySlipId")
+    int deleteByPayslipId(@Param("paySlipId") Long paySlipId);
+}
@@ -22,17 +22,19 @@ public class EpfEtfContributionService {
     private final EpfEtfContributionRepository repo;
     private final EmployeeService employeeService;
     private final SalaryPayPeriodService salaryPayPeriodService;
+    private final EpfEtfReturnSummaryRepository summaryRepository;
 
-    public EpfEtfContributionService(EpfEtfContributionRepository repo, EmployeeService employeeService, SalaryPayPeriodService salaryPayPeriodService) {
+    public EpfEtfContributionService(EpfEtfContributionRepository repo, EmployeeService employeeService, SalaryPayPeriodService salaryPayPeriodService,
+                                     EpfEtfReturnSummaryRepository summaryRepository) {
         this.repo = repo;
         this.employeeService = employeeService;
         this.salaryPayPeriodService = salaryPayPeriodService;
+        this.summaryRepository = summaryRepository;
     }
 
     private static final Logger logger = LogManager.getLogger(EpfEtfContributionService.class);
 
     private static final String NO_CONTRIBUTIONS_FOUND_FOR_EMPLOYEE_ID = "No contributions found for employee ID: ";
-    private static final String NO_CONTRIBUTIONS_FOUND_FOR_THE_MONTH = "No contributions found for the month: ";
     private static final String CONTRIBUTION_NOT_FOUND_WITH_ID = "Contribution not found with ID: ";
 
     @Transactional
@@ -42,20 +44,36 @@ public class EpfEtfContributionService {
         Instant start = Instant.now();
 
         SalaryPayPeriodModel payPeriod = salaryPayPeriodService.getPayPeriodModelById(requestDTO.payPeriodId());
+        EmployeeModel employee = employeeService.getEmployeeModelById(requestDTO.employeeId());
+
+        createEpfEtfContribution(requestDTO.paySlipId(), requestDTO.epfContribution(), requestDTO.etfContribution(), employee, payPeriod);
 
+        Instant end = Instant.now();
+        Duration timeElapsed = Duration.between(start, end);
+        logger.info("EPF/ETF contribution created successfully for employee ID: {} in {} ms", requestDTO.employeeId(), timeElapsed.toMillis());
+    }
+
+    @Transactional
+    public void createEpfEtfContribution(Long paySlipId, Double epfContribution, Double etfContribution,
+                                         EmployeeModel employee, SalaryPayPeriodModel payPeriod) {
         EpfEtfContributionModel contribution = new EpfEtfContributionModel();
-        contribution.setPayslipId(requestDTO.paySlipId());
-        contribution.setEpfContribution(requestDTO.epfContribution());
-        contribution.setEtfContribution(requestDTO.etfContribution());
+        contribution.setPayslipId(paySlipId);
+        contribution.setEpfContribution(epfContribution);
+        contribution.setEtfContribution(etfContribution);
         contribution.setSalaryPayPeriod(payPeriod);
-
-        EmployeeModel employee = employeeService.getEmployeeModelById(requestDTO.employeeId());
         contribution.setEmployee(employee);
 
         repo.save(contribution);
-        Instant end = Instant.now();
-        Duration timeElapsed = Duration.between(start, end);
-        logger.info("EPF/ETF contribution created successfully for employee ID: {} in {} ms", requestDTO.employeeId(), timeElapsed.toMillis());
+    }
+
+    public List<EpfEtfContributionModel> getContributionModelsByPaySlipId(Long paySlipId) {
+        return repo.findByPayslipId(paySlipId);
+    }
+
+    @Transactional
+    public int deleteContributionsByPaySlipId(Long paySlipId) {
+        summaryRepository.deleteByPaySlipId(paySlipId);
+        return repo.deleteByPayslipId(paySlipId);
     }
 
     public ApiResponseDTO<List<EpfEtfContributionResponseDTO>> getEpfEtfContributionsByEmployeeId(Long employeeId) {
@@ -86,9 +104,6 @@ public class EpfEtfContributionService {
         Instant start = Instant.now();
 
         List<EpfEtfContributionModel> contributions = repo.findBySalaryPayPeriod(payPeriodId);
-        if (contributions.isEmpty()) {
-            throw new EpfEtfContributionNotFoundException(NO_CONTRIBUTIONS_FOUND_FOR_THE_MONTH + payPeriodId);
-        }
 
         Instant end = Instant.now();
         Duration timeElapsed = Duration.between(start, end);
@@ -134,6 +149,7 @@ public class EpfEtfContributionService {
         return new ApiResponseDTO<>("Successfully Fetched All Contributions", contributions);
     }
 
+    @Transactional
     public void deleteContribution(Long id) {
         logger.info("Starting to delete EPF/ETF contribution with ID: {}", id);
 
@@ -142,6 +158,7 @@ public class EpfEtfContributionService {
         }
 
         Instant start = Instant.now();
+        summaryRepository.deleteByContributionId(id);
         repo.deleteById(id);
         Instant end = Instant.now();
         Duration timeElapsed = Duration.between(start, end);
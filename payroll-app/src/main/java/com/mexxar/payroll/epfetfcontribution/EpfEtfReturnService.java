@@ -0,0 +1,255 @@
+package com.mexxar.payroll.epfetfcontribution;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.common.jdbc.StreamingQueries;
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.payslip.PaySlipStatusEnum;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// The statutory monthly EPF/ETF return of a pay period: one line per member with their earnings, the member 8%,
+// employer 12% and ETF 3%, written straight from a grouped query, and a summary of the same totals.
+@Service
+public class EpfEtfReturnService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+    private final EpfEtfReturnSummaryRepository summaryRepository;
+
+    public EpfEtfReturnService(JdbcTemplate jdbcTemplate, SalaryPayPeriodService salaryPayPeriodService,
+                               EpfEtfReturnSummaryRepository summaryRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.salaryPayPeriodService = salaryPayPeriodService;
+        this.summaryRepository = summaryRepository;
+    }
+
+    private static final Logger logger = LogManager.getLogger(EpfEtfReturnService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CONTRIBUTIONS_OF_PAY_PERIOD =
+            "FROM epf_etf_contribution c " +
+            "JOIN pay_slip p ON p.id = c.payslip_id " +
+            "JOIN employee e ON e.id = c.employee_id " +
+            "WHERE c.salary_pay_period_id = ? ";
+
+    private static final String RETURN_LINES =
+            "SELECT e.epf_number, e.national_id_number, e.first_name, e.last_name, SUM(p.basic_salary), " +
+            "SUM(p.epf_deduction), SUM(c.epf_contribution), SUM(c.etf_contribution) " +
+            CONTRIBUTIONS_OF_PAY_PERIOD +
+            "GROUP BY e.id, e.epf_number, e.national_id_number, e.first_name, e.last_name " +
+            "ORDER BY e.epf_number, e.id";
+
+    private static final String RETURN_TOTALS =
+            "SELECT COUNT(DISTINCT c.employee_id) AS members, SUM(p.basic_salary) AS earnings, SUM(p.epf_deduction) AS member, " +
+            "SUM(c.epf_contribution) AS employer, SUM(c.etf_contribution) AS etf " +
+            CONTRIBUTIONS_OF_PAY_PERIOD;
+
+    public StreamingResponseBody generateReturnFile(Long payPeriodId) {
+        logger.info("Generating EPF/ETF return for pay period: {}", payPeriodId);
+
+        // Checked before the response starts, so an unknown pay period is still a 404
+        salaryPayPeriodService.getPayPeriodModelById(payPeriodId);
+
+        return outputStream -> writeReturnFile(payPeriodId, outputStream);
+    }
+
+    int writeReturnFile(Long payPeriodId, OutputStream outputStream) throws IOException {
+        Instant start = Instant.now();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ReturnWriter returnWriter = new ReturnWriter(writer);
+
+        returnWriter.writeHeader();
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = StreamingQueries.prepare(connection, RETURN_LINES);
+                statement.setLong(1, payPeriodId);
+                return statement;
+            }, returnWriter);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        returnWriter.writeTrailer();
+
+        Instant end = Instant.now();
+        logger.info("Wrote EPF/ETF return of {} members for pay period {} in {} ms", returnWriter.members, payPeriodId,
+                Duration.between(start, end).toMillis());
+        return returnWriter.members;
+    }
+
+    // Once every payslip of an ended pay period is paid its totals can no longer move, so the summary is stored
+    // and served for as long as the period stays that way
+    public ApiResponseDTO<EpfEtfReturnSummaryResponseDTO> getReturnSummary(Long payPeriodId) {
+        logger.info("Fetching EPF/ETF return summary for pay period: {}", payPeriodId);
+
+        SalaryPayPeriodModel payPeriod = salaryPayPeriodService.getPayPeriodModelById(payPeriodId);
+        int closedWithPaySlips = closedWithPaySlips(payPeriod);
+        EpfEtfReturnSummaryModel stored = summaryRepository.findBySalaryPayPeriodId(payPeriodId).orElse(null);
+        if (stored != null && stored.getPaySlips() == closedWithPaySlips) {
+            logger.debug("Serving stored EPF/ETF return summary for pay period: {}", payPeriodId);
+            return new ApiResponseDTO<>("EPF/ETF return summary fetched successfully", convertToResponseDTO(stored, true));
+        }
+
+        Instant start = Instant.now();
+
+        EpfEtfReturnSummaryModel summary = summarise(payPeriodId);
+        boolean closed = closedWithPaySlips > 0;
+        if (closed) {
+            summary.setPaySlips(closedWithPaySlips);
+            if (stored != null) {
+                summary.setId(stored.getId());
+            }
+            try {
+                summaryRepository.save(summary);
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("EPF/ETF return summary for pay period {} was stored concurrently", payPeriodId);
+            }
+        }
+
+        Instant end = Instant.now();
+        logger.info("EPF/ETF return summary for pay period {} aggregated in {} ms (closed: {})", payPeriodId,
+                Duration.between(start, end).toMillis(), closed);
+
+        return new ApiResponseDTO<>("EPF/ETF return summary fetched successfully", convertToResponseDTO(summary, closed));
+    }
+
+    // The number of payslips in the pay period if it has ended and all of them are paid, otherwise zero
+    private int closedWithPaySlips(SalaryPayPeriodModel payPeriod) {
+        if (!payPeriod.getEndDate().isBefore(LocalDate.now())) {
+            return 0;
+        }
+        Map<String, Object> paySlips = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total, COUNT(CASE WHEN status = ? THEN 1 END) AS paid FROM pay_slip WHERE salary_pay_period_id = ?",
+                PaySlipStatusEnum.PAID.ordinal(), payPeriod.getId());
+        int total = ((Number) paySlips.get("total")).intValue();
+        return total == ((Number) paySlips.get("paid")).intValue() ? total : 0;
+    }
+
+    private EpfEtfReturnSummaryModel summarise(Long payPeriodId) {
+        return jdbcTemplate.queryForObject(RETURN_TOTALS, (resultSet, rowNum) -> {
+            EpfEtfReturnSummaryModel summary = new EpfEtfReturnSummaryModel();
+            summary.setSalaryPayPeriodId(payPeriodId);
+            summary.setMembers(resultSet.getInt("members"));
+            summary.setTotalEarnings(roundedSum(resultSet, "earnings"));
+            summary.setMemberContribution(roundedSum(resultSet, "member"));
+            summary.setEmployerContribution(roundedSum(resultSet, "employer"));
+            summary.setEtfContribution(roundedSum(resultSet, "etf"));
+            summary.setGeneratedAt(LocalDateTime.now());
+            return summary;
+        }, payPeriodId);
+    }
+
+    // SUM over DOUBLE columns can come back a hair off whole cents; an empty period sums to NULL
+    private static Double roundedSum(ResultSet resultSet, String column) throws SQLException {
+        return Money.toAmount(Money.ofAmount(resultSet.getDouble(column)));
+    }
+
+    private EpfEtfReturnSummaryResponseDTO convertToResponseDTO(EpfEtfReturnSummaryModel summary, boolean closed) {
+        return new EpfEtfReturnSummaryResponseDTO(
+                summary.getSalaryPayPeriodId(),
+                summary.getMembers(),
+                summary.getTotalEarnings(),
+                summary.getMemberContribution(),
+                summary.getEmployerContribution(),
+                Money.toAmount(Money.ofAmount(summary.getMemberContribution()) + Money.ofAmount(summary.getEmployerContribution())),
+                summary.getEtfContribution(),
+                closed
+        );
+    }
+
+    // CSV lines summed in cents as they are written; the trailer carries the member count and the column totals
+    private static final class ReturnWriter implements RowCallbackHandler {
+
+        private final Writer writer;
+        private final StringBuilder line = new StringBuilder(256);
+
+        private int members;
+        private long totalEarnings;
+        private long totalMember;
+        private long totalEmployer;
+        private long totalEtf;
+
+        ReturnWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        void writeHeader() throws IOException {
+            writer.write("EPF Number,NIC,Member Name,Total Earnings,Member Contribution (8%),Employer Contribution (12%),"
+                    + "Total EPF Contribution,ETF Contribution (3%)\r\n");
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long earnings = Money.ofAmount(resultSet.getDouble(5));
+            long member = Money.ofAmount(resultSet.getDouble(6));
+            long employer = Money.ofAmount(resultSet.getDouble(7));
+            long etf = Money.ofAmount(resultSet.getDouble(8));
+
+            line.setLength(0);
+            appendText(resultSet.getString(1)).append(',');
+            appendText(resultSet.getString(2)).append(',');
+            appendText(resultSet.getString(3) + " " + resultSet.getString(4)).append(',');
+            appendAmounts(earnings, member, employer, etf);
+            try {
+                writer.append(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            members++;
+            totalEarnings += earnings;
+            totalMember += member;
+            totalEmployer += employer;
+            totalEtf += etf;
+        }
+
+        void writeTrailer() throws IOException {
+            line.setLength(0);
+            line.append("TOTAL,").append(members).append(",,");
+            appendAmounts(totalEarnings, totalMember, totalEmployer, totalEtf);
+            writer.append(line);
+            writer.flush();
+        }
+
+        private void appendAmounts(long earnings, long member, long employer, long etf) {
+            line.append(Money.format(earnings)).append(',')
+                    .append(Money.format(member)).append(',')
+                    .append(Money.format(employer)).append(',')
+                    .append(Money.format(member + employer)).append(',')
+                    .append(Money.format(etf)).append("\r\n");
+        }
+
+        private StringBuilder appendText(String value) {
+            if (value == null) {
+                return line;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return line.append(value);
+            }
+            return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mexxar.payroll.epfetfcontribution;
+
+import com.mexxar.payroll.common.converter.MoneyConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Totals of the monthly EPF/ETF return of a closed pay period, kept so they are not aggregated again. Deleting a
+// contribution removes the row; a payslip added later shows up as a different payslip count.
+@Entity
+@Table(name = "EpfEtfReturnSummary", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_epf_etf_return_summary_pay_period", columnNames = {"salaryPayPeriodId"})
+})
+@Data
+public class EpfEtfReturnSummaryModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long salaryPayPeriodId;
+
+    private int members;
+
+    // Payslips in the pay period when the totals were taken
+    private int paySlips;
+
+    // Basic salary, the earnings EPF is worked out on
+    @Convert(converter = MoneyConverter.class)
+    private Double totalEarnings;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double memberContribution;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double employerContribution;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double etfContribution;
+
+    private LocalDateTime generatedAt;
+}
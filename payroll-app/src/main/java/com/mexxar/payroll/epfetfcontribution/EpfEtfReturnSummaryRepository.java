@@ -0,0 +1,26 @@
+package com.mexxar.payroll.epfetfcontribution;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+interface EpfEtfReturnSummaryRepository extends JpaRepository<EpfEtfReturnSummaryModel, Long> {
+    Optional<EpfEtfReturnSummaryModel> findBySalaryPayPeriodId(Long salaryPayPeriodId);
+
+    @Modifying
+    @Query("DELETE FROM EpfEtfReturnSummaryModel s WHERE s.salaryPayPeriodId = :payPeriodId")
+    int deleteBySalaryPayPeriodId(@Param("payPeriodId") Long payPeriodId);
+
+    @Modifying
+    @Query("DELETE FROM EpfEtfReturnSummaryModel s WHERE s.salaryPayPeriodId IN " +
+            "(SELECT c.salaryPayPeriod.id FROM EpfEtfContributionModel c WHERE c.payslipId = :paySlipId)")
+    int deleteByPaySlipId(@Param("paySlipId") Long paySlipId);
+
+    @Modifying
+    @Query("DELETE FROM EpfEtfReturnSummaryModel s WHERE s.salaryPayPeriodId IN " +
+            "(SELECT c.salaryPayPeriod.id FROM EpfEtfContributionModel c WHERE c.id = :contributionId)")
+    int deleteByContributionId(@Param("contributionId") Long contributionId);
+}
@@ -0,0 +1,20 @@
+package com.mexxar.payroll.epfetfcontribution;
+
+public record EpfEtfReturnSummaryResponseDTO(
+        Long payPeriodId,
+
+        int members,
+
+        Double totalEarnings,
+
+        Double memberContribution,
+
+        Double employerContribution,
+
+        Double totalEpfContribution,
+
+        Double etfContribution,
+
+        boolean closed
+)
+{}
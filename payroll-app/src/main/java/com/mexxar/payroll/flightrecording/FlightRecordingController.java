@@ -0,0 +1,88 @@
+package com.mexxar.payroll.flightrecording;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.flightrecording.exception.FlightRecordingException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@RestController
+@RequestMapping("/api/admin/flight-recordings")
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    public FlightRecordingController(FlightRecordingService flightRecordingService) {
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(FlightRecordingController.class);
+
+    @Operation(summary = "Start a flight recording", description = "Starts a bounded JFR recording including the pay run stage events.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully started the recording"),
+            @ApiResponse(responseCode = "400", description = "A recording is already running")
+    })
+    @PostMapping("/start")
+    public ResponseEntity<ApiResponseDTO<FlightRecordingResponseDTO>> startRecording(
+            @RequestParam(required = false) Long durationSeconds) {
+        logger.info("Received request to start a flight recording");
+        return ResponseEntity.ok(flightRecordingService.startRecording(durationSeconds));
+    }
+
+    @Operation(summary = "Get the flight recording status", description = "Returns the state of the current flight recording.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the recording"),
+            @ApiResponse(responseCode = "400", description = "No recording has been started")
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<FlightRecordingResponseDTO>> getRecordingStatus() {
+        return ResponseEntity.ok(flightRecordingService.getRecordingStatus());
+    }
+
+    @Operation(summary = "Stop the flight recording", description = "Stops the current recording and returns it as a .jfr file.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully stopped the recording"),
+            @ApiResponse(responseCode = "400", description = "No recording has been started")
+    })
+    @PostMapping(value = "/stop", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Resource> stopRecording() {
+        logger.info("Received request to stop the flight recording");
+        Path file = flightRecordingService.stopRecording();
+
+        // The temp file is removed as soon as the response has been streamed and the stream closed
+        long size;
+        InputStream content;
+        try {
+            size = Files.size(file);
+            content = Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            flightRecordingService.deleteRecordingFile(file);
+            throw new FlightRecordingException("Failed to read flight recording: " + e.getMessage());
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName().toString())
+                        .build()
+                        .toString())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .body(new InputStreamResource(content));
+    }
+}
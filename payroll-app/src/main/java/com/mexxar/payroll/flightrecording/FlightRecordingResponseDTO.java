@@ -0,0 +1,18 @@
+package com.mexxar.payroll.flightrecording;
+
+import java.time.Instant;
+
+public record FlightRecordingResponseDTO(
+        Long id,
+
+        String name,
+
+        String state,
+
+        Instant startTime,
+
+        Long maxDurationSeconds,
+
+        Long maxSizeBytes
+)
+{}
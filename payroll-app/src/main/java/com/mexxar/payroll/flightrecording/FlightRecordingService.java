@@ -0,0 +1,125 @@
+package com.mexxar.payroll.flightrecording;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.flightrecording.exception.FlightRecordingException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+@Service
+public class FlightRecordingService {
+
+    private static final Logger logger = LogManager.getLogger(FlightRecordingService.class);
+
+    private static final String RECORDING_NAME = "payroll-on-demand";
+
+    @Value("${payroll.jfr.settings:default}")
+    private String settings;
+
+    @Value("${payroll.jfr.max-duration-seconds:600}")
+    private long maxDurationSeconds;
+
+    @Value("${payroll.jfr.max-size-bytes:104857600}")
+    private long maxSizeBytes;
+
+    private Recording recording;
+
+    public synchronized ApiResponseDTO<FlightRecordingResponseDTO> startRecording(Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new FlightRecordingException("A flight recording is already running with ID: " + recording.getId());
+        }
+        closeRecording();
+
+        // Never record for longer than the configured bound, even if the caller asks for it
+        long seconds = durationSeconds == null || durationSeconds <= 0
+                ? maxDurationSeconds
+                : Math.min(durationSeconds, maxDurationSeconds);
+
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.enable(PayRunStageEvent.class);
+            newRecording.setToDisk(true);
+            newRecording.setDuration(Duration.ofSeconds(seconds));
+            newRecording.setMaxSize(maxSizeBytes);
+            newRecording.start();
+            recording = newRecording;
+        } catch (IOException | ParseException e) {
+            logger.error("Failed to start flight recording with settings {}: {}", settings, e.getMessage());
+            throw new FlightRecordingException("Failed to start flight recording: " + e.getMessage());
+        }
+
+        logger.info("Flight recording {} started for at most {} s", recording.getId(), seconds);
+        return new ApiResponseDTO<>("Flight Recording Started Successfully", convertToResponseDTO(recording));
+    }
+
+    public synchronized ApiResponseDTO<FlightRecordingResponseDTO> getRecordingStatus() {
+        if (recording == null) {
+            throw new FlightRecordingException("No flight recording has been started");
+        }
+        return new ApiResponseDTO<>("Flight Recording Fetched Successfully", convertToResponseDTO(recording));
+    }
+
+    public synchronized Path stopRecording() {
+        if (recording == null) {
+            throw new FlightRecordingException("No flight recording has been started");
+        }
+
+        Path file = null;
+        try {
+            // A recording that hit its duration has already stopped, but its data can still be dumped
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            file = Files.createTempFile("payroll-" + recording.getId() + "-", ".jfr");
+            recording.dump(file);
+            logger.info("Flight recording {} stopped and written to {} ({} bytes)", recording.getId(), file, Files.size(file));
+            return file;
+        } catch (IOException e) {
+            logger.error("Failed to write flight recording {}: {}", recording.getId(), e.getMessage());
+            deleteRecordingFile(file);
+            throw new FlightRecordingException("Failed to write flight recording: " + e.getMessage());
+        } finally {
+            closeRecording();
+        }
+    }
+
+    public void deleteRecordingFile(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete flight recording file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private FlightRecordingResponseDTO convertToResponseDTO(Recording recording) {
+        return new FlightRecordingResponseDTO(
+                recording.getId(),
+                recording.getName(),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getDuration() != null ? recording.getDuration().toSeconds() : null,
+                recording.getMaxSize()
+        );
+    }
+}
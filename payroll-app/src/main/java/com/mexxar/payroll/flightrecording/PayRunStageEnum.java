@@ -0,0 +1,9 @@
+package com.mexxar.payroll.flightrecording;
+
+public enum PayRunStageEnum {
+    INPUT_LOADING,
+    CALCULATION,
+    PAYSLIP_PERSISTENCE,
+    DETAIL_PERSISTENCE,
+    LOAN_UPDATES
+}
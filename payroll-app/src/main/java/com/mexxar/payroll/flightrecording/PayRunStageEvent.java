@@ -0,0 +1,40 @@
+package com.mexxar.payroll.flightrecording;
+
+import jdk.jfr.*;
+
+@Name("com.mexxar.payroll.PayRunStage")
+@Label("Pay Run Stage")
+@Description("Time spent in one stage of creating a payslip")
+@Category({"Payroll", "Pay Run"})
+@StackTrace(false)
+public class PayRunStageEvent extends Event {
+
+    @Label("Employee ID")
+    long employeeId;
+
+    @Label("Pay Period ID")
+    long payPeriodId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Rows Written")
+    int rowsWritten;
+
+    public static PayRunStageEvent begin(PayRunStageEnum stage, Long employeeId, Long payPeriodId) {
+        PayRunStageEvent event = new PayRunStageEvent();
+        event.stage = stage.name();
+        event.employeeId = employeeId != null ? employeeId : 0L;
+        event.payPeriodId = payPeriodId != null ? payPeriodId : 0L;
+        event.begin();
+        return event;
+    }
+
+    public void end(int rowsWritten) {
+        end();
+        if (shouldCommit()) {
+            this.rowsWritten = rowsWritten;
+            commit();
+        }
+    }
+}
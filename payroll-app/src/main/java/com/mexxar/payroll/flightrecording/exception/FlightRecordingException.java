@@ -0,0 +1,7 @@
+package com.mexxar.payroll.flightrecording.exception;
+
+public class FlightRecordingException extends RuntimeException {
+    public FlightRecordingException(String message) {
+        super(message);
+    }
+}
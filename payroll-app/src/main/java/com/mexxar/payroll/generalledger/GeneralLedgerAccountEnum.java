@@ -0,0 +1,28 @@
+package com.mexxar.payroll.generalledger;
+
+// Journal accounts a pay period posts to, with the side a positive amount lands on
+public enum GeneralLedgerAccountEnum {
+    SALARY_EXPENSE(true),
+    ALLOWANCE_EXPENSE(true),
+    COMMISSION_EXPENSE(true),
+    EMPLOYER_EPF_EXPENSE(true),
+    EMPLOYER_ETF_EXPENSE(true),
+    ATTENDANCE_DEDUCTION(false),
+    LEAVE_DEDUCTION(false),
+    TAX_PAYABLE(false),
+    EPF_PAYABLE(false),
+    ETF_PAYABLE(false),
+    LOAN_RECEIVABLE(false),
+    SALARY_ADVANCE_RECEIVABLE(false),
+    NET_SALARY_PAYABLE(false);
+
+    private final boolean debit;
+
+    GeneralLedgerAccountEnum(boolean debit) {
+        this.debit = debit;
+    }
+
+    public boolean isDebit() {
+        return debit;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mexxar.payroll.generalledger;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/general-ledger")
+public class GeneralLedgerController {
+
+    private final GeneralLedgerService generalLedgerService;
+
+    public GeneralLedgerController(final GeneralLedgerService generalLedgerService) {
+        this.generalLedgerService = generalLedgerService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(GeneralLedgerController.class);
+
+    @Operation(summary = "Get payroll journal", description = "This endpoint retrieves the balanced debit and credit journal lines of a pay period by department and pay element.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the journal"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found"),
+            @ApiResponse(responseCode = "409", description = "The pay period's payslips do not add up to a balanced journal")
+    })
+    @GetMapping("/journal")
+    public ResponseEntity<ApiResponseDTO<GeneralLedgerJournalResponseDTO>> getJournal(@RequestParam Long payPeriodId) {
+        logger.info("Received request to get the payroll journal for pay period: {}", payPeriodId);
+        return ResponseEntity.ok(generalLedgerService.getJournal(payPeriodId));
+    }
+
+    @Operation(summary = "Export payroll journal", description = "This endpoint downloads the payroll journal of a pay period as CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully exported the journal"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found"),
+            @ApiResponse(responseCode = "409", description = "The pay period's payslips do not add up to a balanced journal")
+    })
+    @GetMapping(value = "/journal/csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportJournal(@RequestParam Long payPeriodId) {
+        logger.info("Received request to export the payroll journal for pay period: {}", payPeriodId);
+        GeneralLedgerJournalResponseDTO journal = generalLedgerService.getJournal(payPeriodId).getData();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payroll-journal-" + payPeriodId + ".csv\"")
+                .body(outputStream -> generalLedgerService.writeJournalCsv(journal, new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+}
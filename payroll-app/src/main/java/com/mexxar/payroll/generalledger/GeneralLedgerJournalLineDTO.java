@@ -0,0 +1,16 @@
+package com.mexxar.payroll.generalledger;
+
+public record GeneralLedgerJournalLineDTO(
+        Long departmentId,
+
+        String departmentName,
+
+        GeneralLedgerAccountEnum account,
+
+        String element,
+
+        Double debit,
+
+        Double credit
+)
+{}
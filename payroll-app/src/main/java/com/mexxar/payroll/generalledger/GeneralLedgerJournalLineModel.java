@@ -0,0 +1,32 @@
+package com.mexxar.payroll.generalledger;
+
+import com.mexxar.payroll.common.converter.MoneyConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(name = "GeneralLedgerJournalLine")
+@Data
+public class GeneralLedgerJournalLineModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long departmentId;
+
+    private String departmentName;
+
+    private GeneralLedgerAccountEnum account;
+
+    private String element;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double debit;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double credit;
+
+    @ManyToOne
+    @JoinColumn(name = "general_ledger_journal_id", nullable = false)
+    private GeneralLedgerJournalModel journal;
+}
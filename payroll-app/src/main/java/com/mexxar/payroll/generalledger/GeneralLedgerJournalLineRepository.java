@@ -0,0 +1,16 @@
+package com.mexxar.payroll.generalledger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+interface GeneralLedgerJournalLineRepository extends JpaRepository<GeneralLedgerJournalLineModel, Long> {
+    List<GeneralLedgerJournalLineModel> findAllByJournalIdOrderById(Long journalId);
+
+    @Modifying
+    @Query("DELETE FROM GeneralLedgerJournalLineModel l WHERE l.journal.id = :journalId")
+    int deleteByJournalId(@Param("journalId") Long journalId);
+}
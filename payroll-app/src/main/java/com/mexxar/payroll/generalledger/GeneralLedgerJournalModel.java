@@ -0,0 +1,27 @@
+package com.mexxar.payroll.generalledger;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// A stored journal of a pay period whose payslips were all paid. New payslip ids only ever grow, so the count and
+// the sum of the ids together tell whether the period's payslips are still exactly the ones it was built from.
+@Entity
+@Table(name = "GeneralLedgerJournal", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_general_ledger_journal_pay_period", columnNames = {"salaryPayPeriodId"})
+})
+@Data
+public class GeneralLedgerJournalModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long salaryPayPeriodId;
+
+    private long paySlips;
+
+    private long paySlipIdSum;
+
+    private LocalDateTime generatedAt;
+}
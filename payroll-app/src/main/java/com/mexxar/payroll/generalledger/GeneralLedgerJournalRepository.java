@@ -0,0 +1,9 @@
+package com.mexxar.payroll.generalledger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+interface GeneralLedgerJournalRepository extends JpaRepository<GeneralLedgerJournalModel, Long> {
+    Optional<GeneralLedgerJournalModel> findBySalaryPayPeriodId(Long salaryPayPeriodId);
+}
@@ -0,0 +1,16 @@
+package com.mexxar.payroll.generalledger;
+
+import java.util.List;
+
+public record GeneralLedgerJournalResponseDTO(
+        Long payPeriodId,
+
+        List<GeneralLedgerJournalLineDTO> lines,
+
+        Double totalDebit,
+
+        Double totalCredit,
+
+        boolean paid
+)
+{}
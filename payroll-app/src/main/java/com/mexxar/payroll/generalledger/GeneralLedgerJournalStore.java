@@ -0,0 +1,45 @@
+package com.mexxar.payroll.generalledger;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Replaces a pay period's stored journal in one transaction, so a journal is never seen without its lines
+@Service
+class GeneralLedgerJournalStore {
+
+    private final GeneralLedgerJournalRepository journalRepository;
+    private final GeneralLedgerJournalLineRepository lineRepository;
+
+    GeneralLedgerJournalStore(GeneralLedgerJournalRepository journalRepository, GeneralLedgerJournalLineRepository lineRepository) {
+        this.journalRepository = journalRepository;
+        this.lineRepository = lineRepository;
+    }
+
+    @Transactional
+    public void store(Long payPeriodId, long paySlips, long paySlipIdSum, List<GeneralLedgerJournalLineDTO> lines) {
+        GeneralLedgerJournalModel journal = journalRepository.findBySalaryPayPeriodId(payPeriodId).orElseGet(GeneralLedgerJournalModel::new);
+        if (journal.getId() != null) {
+            lineRepository.deleteByJournalId(journal.getId());
+        }
+        journal.setSalaryPayPeriodId(payPeriodId);
+        journal.setPaySlips(paySlips);
+        journal.setPaySlipIdSum(paySlipIdSum);
+        journal.setGeneratedAt(LocalDateTime.now());
+        GeneralLedgerJournalModel savedJournal = journalRepository.save(journal);
+
+        lineRepository.saveAll(lines.stream().map(line -> {
+            GeneralLedgerJournalLineModel model = new GeneralLedgerJournalLineModel();
+            model.setDepartmentId(line.departmentId());
+            model.setDepartmentName(line.departmentName());
+            model.setAccount(line.account());
+            model.setElement(line.element());
+            model.setDebit(line.debit());
+            model.setCredit(line.credit());
+            model.setJournal(savedJournal);
+            return model;
+        }).toList());
+    }
+}
@@ -0,0 +1,255 @@
+package com.mexxar.payroll.generalledger;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.generalledger.exception.GeneralLedgerException;
+import com.mexxar.payroll.payslip.PaySlipStatusEnum;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The payroll journal of a pay period by department and pay element, built from two grouped queries. Every line is
+// worked out in cents from the same payslip totals, so debits and credits balance by construction.
+@Service
+public class GeneralLedgerService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+    private final GeneralLedgerJournalRepository journalRepository;
+    private final GeneralLedgerJournalLineRepository lineRepository;
+    private final GeneralLedgerJournalStore journalStore;
+
+    public GeneralLedgerService(JdbcTemplate jdbcTemplate, SalaryPayPeriodService salaryPayPeriodService,
+                                GeneralLedgerJournalRepository journalRepository, GeneralLedgerJournalLineRepository lineRepository,
+                                GeneralLedgerJournalStore journalStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.salaryPayPeriodService = salaryPayPeriodService;
+        this.journalRepository = journalRepository;
+        this.lineRepository = lineRepository;
+        this.journalStore = journalStore;
+    }
+
+    private static final Logger logger = LogManager.getLogger(GeneralLedgerService.class);
+
+    private static final String UNCLASSIFIED = "Unclassified";
+
+    private static final String DEPARTMENT_TOTALS =
+            "SELECT d.id, d.name, SUM(p.gross_salary), SUM(p.tax_liable_allowances), SUM(p.tax_liable_commissions), " +
+            "SUM(p.allowances), SUM(p.commission), SUM(p.attendance_deduction), SUM(p.leave_deduction), SUM(p.tax_deduction), " +
+            "SUM(p.epf_deduction), SUM(p.loan_deduction), SUM(p.salary_advance_deduction), SUM(p.net_salary), " +
+            "SUM(c.epf_contribution), SUM(c.etf_contribution) " +
+            "FROM pay_slip p " +
+            "JOIN employee e ON e.id = p.employee_id " +
+            "JOIN department d ON d.id = e.department_id " +
+            "LEFT JOIN epf_etf_contribution c ON c.payslip_id = p.id " +
+            "WHERE p.salary_pay_period_id = ? " +
+            "GROUP BY d.id, d.name " +
+            "ORDER BY d.name, d.id";
+
+    // Allowance and commission detail rows by department and type
+    private static final String ELEMENT_TOTALS =
+            "SELECT e.department_id, 'A' AS kind, t.name, SUM(pd.amount) " +
+            "FROM pay_slip_details pd " +
+            "JOIN pay_slip p ON p.id = pd.payslip_id " +
+            "JOIN employee e ON e.id = p.employee_id " +
+            "JOIN salary_allowance sa ON sa.id = pd.salary_allowance_id " +
+            "JOIN allowance_type t ON t.id = sa.allowance_type_id " +
+            "WHERE p.salary_pay_period_id = ? " +
+            "GROUP BY e.department_id, t.id, t.name " +
+            "UNION ALL " +
+            "SELECT e.department_id, 'C' AS kind, t.name, SUM(pd.amount) " +
+            "FROM pay_slip_details pd " +
+            "JOIN pay_slip p ON p.id = pd.payslip_id " +
+            "JOIN employee e ON e.id = p.employee_id " +
+            "JOIN salary_commission sc ON sc.id = pd.salary_commission_id " +
+            "JOIN commission_type t ON t.id = sc.commission_type_id " +
+            "WHERE p.salary_pay_period_id = ? " +
+            "GROUP BY e.department_id, t.id, t.name " +
+            "ORDER BY 1, 2, 3";
+
+    // Allowance or commission type totals of one department
+    private record ElementTotal(String name, long cents) {
+    }
+
+    // How many payslips the period has, how many are paid, and the sum of their ids
+    private record PaySlipState(long total, long paid, long idSum) {
+
+        boolean allPaid() {
+            return total > 0 && total == paid;
+        }
+    }
+
+    public ApiResponseDTO<GeneralLedgerJournalResponseDTO> getJournal(Long payPeriodId) {
+        logger.info("Fetching general ledger journal for pay period: {}", payPeriodId);
+
+        salaryPayPeriodService.getPayPeriodModelById(payPeriodId);
+        PaySlipState state = paySlipState(payPeriodId);
+
+        if (state.allPaid()) {
+            GeneralLedgerJournalModel stored = journalRepository.findBySalaryPayPeriodId(payPeriodId).orElse(null);
+            if (stored != null && stored.getPaySlips() == state.total() && stored.getPaySlipIdSum() == state.idSum()) {
+                logger.debug("Serving stored general ledger journal for pay period: {}", payPeriodId);
+                List<GeneralLedgerJournalLineDTO> lines = lineRepository.findAllByJournalIdOrderById(stored.getId()).stream()
+                        .map(this::convertToLineDTO)
+                        .toList();
+                return new ApiResponseDTO<>("General ledger journal fetched successfully", convertToResponseDTO(payPeriodId, lines, true));
+            }
+        }
+
+        Instant start = Instant.now();
+
+        List<GeneralLedgerJournalLineDTO> lines = buildJournal(payPeriodId);
+        GeneralLedgerJournalResponseDTO journal = convertToResponseDTO(payPeriodId, lines, state.allPaid());
+        if (Money.ofAmount(journal.totalDebit()) != Money.ofAmount(journal.totalCredit())) {
+            throw new GeneralLedgerException("General ledger journal for pay period " + payPeriodId + " does not balance: debits "
+                    + journal.totalDebit() + ", credits " + journal.totalCredit());
+        }
+
+        if (state.allPaid()) {
+            try {
+                journalStore.store(payPeriodId, state.total(), state.idSum(), lines);
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("General ledger journal for pay period {} was stored concurrently", payPeriodId);
+            }
+        }
+
+        Instant end = Instant.now();
+        logger.info("Built general ledger journal of {} lines for pay period {} in {} ms (paid: {})", lines.size(), payPeriodId,
+                Duration.between(start, end).toMillis(), state.allPaid());
+
+        return new ApiResponseDTO<>("General ledger journal fetched successfully", journal);
+    }
+
+    // The journal as CSV for spreadsheets, with the column totals on a last TOTAL line
+    public void writeJournalCsv(GeneralLedgerJournalResponseDTO journal, Writer writer) throws IOException {
+        writer.write("Department,Account,Element,Debit,Credit\r\n");
+        for (GeneralLedgerJournalLineDTO line : journal.lines()) {
+            writer.write(csvField(line.departmentName()) + "," + line.account() + "," + csvField(line.element()) + ","
+                    + Money.format(Money.ofAmount(line.debit())) + "," + Money.format(Money.ofAmount(line.credit())) + "\r\n");
+        }
+        writer.write("TOTAL,,," + Money.format(Money.ofAmount(journal.totalDebit())) + ","
+                + Money.format(Money.ofAmount(journal.totalCredit())) + "\r\n");
+        writer.flush();
+    }
+
+    private PaySlipState paySlipState(Long payPeriodId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COUNT(CASE WHEN status = ? THEN 1 END), COALESCE(SUM(id), 0) FROM pay_slip WHERE salary_pay_period_id = ?",
+                (resultSet, rowNum) -> new PaySlipState(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3)),
+                PaySlipStatusEnum.PAID.ordinal(), payPeriodId);
+    }
+
+    private List<GeneralLedgerJournalLineDTO> buildJournal(Long payPeriodId) {
+        Map<Long, List<ElementTotal>> allowancesByDepartment = new HashMap<>();
+        Map<Long, List<ElementTotal>> commissionsByDepartment = new HashMap<>();
+        jdbcTemplate.query(ELEMENT_TOTALS, (ResultSet resultSet) -> {
+            Map<Long, List<ElementTotal>> byDepartment = "A".equals(resultSet.getString(2)) ? allowancesByDepartment : commissionsByDepartment;
+            byDepartment.computeIfAbsent(resultSet.getLong(1), key -> new ArrayList<>())
+                    .add(new ElementTotal(resultSet.getString(3), cents(resultSet, 4)));
+        }, payPeriodId, payPeriodId);
+
+        List<GeneralLedgerJournalLineDTO> lines = new ArrayList<>();
+        jdbcTemplate.query(DEPARTMENT_TOTALS, (ResultSet resultSet) -> {
+            long departmentId = resultSet.getLong(1);
+            String departmentName = resultSet.getString(2);
+            JournalLines department = new JournalLines(departmentId, departmentName, lines);
+
+            // Gross salary is the full basic salary plus the taxable allowances and commissions
+            long basicSalary = cents(resultSet, 3) - cents(resultSet, 4) - cents(resultSet, 5);
+            department.add(GeneralLedgerAccountEnum.SALARY_EXPENSE, "Basic Salary", basicSalary);
+            department.addByElement(GeneralLedgerAccountEnum.ALLOWANCE_EXPENSE, allowancesByDepartment.get(departmentId), cents(resultSet, 6));
+            department.addByElement(GeneralLedgerAccountEnum.COMMISSION_EXPENSE, commissionsByDepartment.get(departmentId), cents(resultSet, 7));
+            long employerEpf = cents(resultSet, 15);
+            long employerEtf = cents(resultSet, 16);
+            department.add(GeneralLedgerAccountEnum.EMPLOYER_EPF_EXPENSE, "Employer EPF 12%", employerEpf);
+            department.add(GeneralLedgerAccountEnum.EMPLOYER_ETF_EXPENSE, "Employer ETF 3%", employerEtf);
+
+            department.add(GeneralLedgerAccountEnum.ATTENDANCE_DEDUCTION, "Attendance Deduction", cents(resultSet, 8));
+            department.add(GeneralLedgerAccountEnum.LEAVE_DEDUCTION, "Leave Deduction", cents(resultSet, 9));
+            department.add(GeneralLedgerAccountEnum.TAX_PAYABLE, "Tax Deduction", cents(resultSet, 10));
+            department.add(GeneralLedgerAccountEnum.EPF_PAYABLE, "Member EPF 8%", cents(resultSet, 11));
+            department.add(GeneralLedgerAccountEnum.EPF_PAYABLE, "Employer EPF 12%", employerEpf);
+            department.add(GeneralLedgerAccountEnum.ETF_PAYABLE, "Employer ETF 3%", employerEtf);
+            department.add(GeneralLedgerAccountEnum.LOAN_RECEIVABLE, "Loan Repayments", cents(resultSet, 12));
+            department.add(GeneralLedgerAccountEnum.SALARY_ADVANCE_RECEIVABLE, "Salary Advance Recoveries", cents(resultSet, 13));
+            department.add(GeneralLedgerAccountEnum.NET_SALARY_PAYABLE, "Net Salary", cents(resultSet, 14));
+        }, payPeriodId);
+        return lines;
+    }
+
+    // SUM over DOUBLE columns can come back a hair off whole cents; NULL sums read as zero
+    private static long cents(ResultSet resultSet, int column) throws SQLException {
+        return Money.ofAmount(resultSet.getDouble(column));
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private GeneralLedgerJournalResponseDTO convertToResponseDTO(Long payPeriodId, List<GeneralLedgerJournalLineDTO> lines, boolean paid) {
+        long totalDebit = 0;
+        long totalCredit = 0;
+        for (GeneralLedgerJournalLineDTO line : lines) {
+            totalDebit += Money.ofAmount(line.debit());
+            totalCredit += Money.ofAmount(line.credit());
+        }
+        return new GeneralLedgerJournalResponseDTO(payPeriodId, lines, Money.toAmount(totalDebit), Money.toAmount(totalCredit), paid);
+    }
+
+    private GeneralLedgerJournalLineDTO convertToLineDTO(GeneralLedgerJournalLineModel model) {
+        return new GeneralLedgerJournalLineDTO(
+                model.getDepartmentId(),
+                model.getDepartmentName(),
+                model.getAccount(),
+                model.getElement(),
+                model.getDebit(),
+                model.getCredit()
+        );
+    }
+
+    // Lines of one department. An amount that comes out negative is posted to the other side of its account.
+    private record JournalLines(Long departmentId, String departmentName, List<GeneralLedgerJournalLineDTO> lines) {
+
+        void add(GeneralLedgerAccountEnum account, String element, long cents) {
+            if (cents == 0) {
+                return;
+            }
+            long amount = Math.abs(cents);
+            boolean debit = account.isDebit() == cents > 0;
+            lines.add(new GeneralLedgerJournalLineDTO(departmentId, departmentName, account, element,
+                    Money.toAmount(debit ? amount : 0), Money.toAmount(debit ? 0 : amount)));
+        }
+
+        // One line per type, and whatever the payslip totals hold beyond the typed detail rows as Unclassified
+        void addByElement(GeneralLedgerAccountEnum account, List<ElementTotal> elements, long total) {
+            long classified = 0;
+            if (elements != null) {
+                for (ElementTotal element : elements) {
+                    add(account, element.name(), element.cents());
+                    classified += element.cents();
+                }
+            }
+            add(account, UNCLASSIFIED, total - classified);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.generalledger.exception;
+
+public class GeneralLedgerException extends RuntimeException {
+    public GeneralLedgerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,102 @@
+package com.mexxar.payroll.holiday;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/holidays")
+public class HolidayController {
+
+    private final HolidayService holidayService;
+    private final WorkingDayCalendarService workingDayCalendarService;
+
+    public HolidayController(final HolidayService holidayService, final WorkingDayCalendarService workingDayCalendarService) {
+        this.holidayService = holidayService;
+        this.workingDayCalendarService = workingDayCalendarService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(HolidayController.class);
+
+    @Operation(summary = "Create a new holiday", description = "This endpoint adds a public or company holiday to the working day calendar.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Successfully created the holiday"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or a holiday already exists on that date")
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<HolidayResponseDTO>> createHoliday(@Valid @RequestBody HolidayRequestDTO requestDTO) {
+        logger.info("Received request to create a new Holiday");
+        ApiResponseDTO<HolidayResponseDTO> createdHoliday = holidayService.createHoliday(requestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdHoliday);
+    }
+
+    @Operation(summary = "Get holiday by ID", description = "This endpoint retrieves a holiday by its ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the holiday"),
+            @ApiResponse(responseCode = "404", description = "Holiday not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<HolidayResponseDTO>> getHolidayById(@PathVariable Long id) {
+        logger.info("Received request to get Holiday by ID: {}", id);
+        return ResponseEntity.ok(holidayService.getHolidayById(id));
+    }
+
+    @Operation(summary = "Get holidays by year", description = "This endpoint retrieves every holiday in a year, in date order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the holidays"),
+            @ApiResponse(responseCode = "204", description = "No holidays found for the year")
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<List<HolidayResponseDTO>>> getHolidaysByYear(@RequestParam int year) {
+        logger.info("Received request to get Holidays for year: {}", year);
+        ApiResponseDTO<List<HolidayResponseDTO>> holidays = holidayService.getHolidaysByYear(year);
+        if (holidays.getData().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        }
+        return ResponseEntity.ok(holidays);
+    }
+
+    @Operation(summary = "Count working days", description = "This endpoint counts the working days between two dates, both inclusive, skipping weekends and holidays.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully counted the working days")
+    })
+    @GetMapping("/working-days")
+    public ResponseEntity<ApiResponseDTO<Integer>> countWorkingDays(@RequestParam LocalDate startDate, @RequestParam LocalDate endDate) {
+        logger.info("Received request to count working days from {} to {}", startDate, endDate);
+        int workingDays = workingDayCalendarService.countWorkingDays(startDate, endDate);
+        return ResponseEntity.ok(new ApiResponseDTO<>("Successfully Counted Working Days", workingDays));
+    }
+
+    @Operation(summary = "Update a holiday", description = "This endpoint updates an existing holiday.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully updated the holiday"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or a holiday already exists on that date"),
+            @ApiResponse(responseCode = "404", description = "Holiday not found")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<HolidayResponseDTO>> updateHoliday(@PathVariable Long id, @Valid @RequestBody HolidayRequestDTO requestDTO) {
+        logger.info("Received request to update Holiday with ID: {}", id);
+        return ResponseEntity.ok(holidayService.updateHoliday(id, requestDTO));
+    }
+
+    @Operation(summary = "Delete a holiday", description = "This endpoint deletes a holiday by its ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully deleted the holiday"),
+            @ApiResponse(responseCode = "404", description = "Holiday not found")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<Void>> deleteHoliday(@PathVariable Long id) {
+        logger.info("Received request to delete Holiday with ID: {}", id);
+        return ResponseEntity.ok(holidayService.deleteHoliday(id));
+    }
+}
@@ -0,0 +1,22 @@
+package com.mexxar.payroll.holiday;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "Holiday", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"holidayDate"})
+})
+@Data
+public class HolidayModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDate holidayDate;
+    private String name;
+    private HolidayTypeEnum type;
+    private int year;
+}
@@ -0,0 +1,16 @@
+package com.mexxar.payroll.holiday;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HolidayRepository extends JpaRepository<HolidayModel, Long> {
+    List<HolidayModel> findAllByYearOrderByHolidayDate(int year);
+
+    boolean existsByHolidayDate(LocalDate holidayDate);
+
+    @Query("SELECT h.holidayDate FROM HolidayModel h")
+    List<LocalDate> findAllHolidayDates();
+}
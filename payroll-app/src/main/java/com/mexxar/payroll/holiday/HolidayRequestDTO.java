@@ -0,0 +1,18 @@
+package com.mexxar.payroll.holiday;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record HolidayRequestDTO(
+        @NotNull(message = "Holiday date cannot be null")
+        LocalDate holidayDate,
+
+        @NotBlank(message = "Holiday name cannot be blank")
+        String name,
+
+        @NotNull(message = "Holiday type cannot be null")
+        HolidayTypeEnum type
+)
+{}
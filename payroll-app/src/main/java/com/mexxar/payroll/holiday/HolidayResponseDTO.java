@@ -0,0 +1,16 @@
+package com.mexxar.payroll.holiday;
+
+import java.time.LocalDate;
+
+public record HolidayResponseDTO(
+        Long id,
+
+        LocalDate holidayDate,
+
+        String name,
+
+        HolidayTypeEnum type,
+
+        int year
+)
+{}
@@ -0,0 +1,127 @@
+package com.mexxar.payroll.holiday;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.holiday.exception.HolidayException;
+import com.mexxar.payroll.holiday.exception.HolidayNotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Writes are not wrapped in a transaction of their own: the calendar is only refreshed after the save has committed
+@Service
+public class HolidayService {
+
+    private final HolidayRepository holidayRepository;
+    private final WorkingDayCalendarService workingDayCalendarService;
+
+    public HolidayService(HolidayRepository holidayRepository, WorkingDayCalendarService workingDayCalendarService) {
+        this.holidayRepository = holidayRepository;
+        this.workingDayCalendarService = workingDayCalendarService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(HolidayService.class);
+
+    private static final String HOLIDAY_NOT_FOUND_WITH_ID = "Holiday not found with id: ";
+
+    public ApiResponseDTO<HolidayResponseDTO> createHoliday(HolidayRequestDTO holidayRequestDTO) {
+        logger.info("Starting to create holiday for: {}", holidayRequestDTO);
+
+        if (holidayRepository.existsByHolidayDate(holidayRequestDTO.holidayDate())) {
+            throw new HolidayException("A holiday already exists on " + holidayRequestDTO.holidayDate());
+        }
+
+        HolidayModel holiday = new HolidayModel();
+        applyRequest(holiday, holidayRequestDTO);
+
+        Instant start = Instant.now();
+        holidayRepository.save(holiday);
+        workingDayCalendarService.refresh();
+        Instant end = Instant.now();
+        Duration timeElapsed = Duration.between(start, end);
+        logger.info("Holiday created successfully with id {} in {} ms", holiday.getId(), timeElapsed.toMillis());
+
+        return new ApiResponseDTO<>("Holiday Created Successfully", convertToResponseDTO(holiday));
+    }
+
+    public ApiResponseDTO<HolidayResponseDTO> getHolidayById(Long id) {
+        logger.info("Fetching holiday by ID: {}", id);
+
+        HolidayModel holiday = holidayRepository.findById(id)
+                .orElseThrow(() -> new HolidayNotFoundException(HOLIDAY_NOT_FOUND_WITH_ID + id));
+
+        return new ApiResponseDTO<>("Holiday Fetched Successfully", convertToResponseDTO(holiday));
+    }
+
+    public ApiResponseDTO<List<HolidayResponseDTO>> getHolidaysByYear(int year) {
+        logger.info("Fetching holidays for year: {}", year);
+
+        Instant start = Instant.now();
+        List<HolidayModel> holidays = holidayRepository.findAllByYearOrderByHolidayDate(year);
+        Instant end = Instant.now();
+        Duration timeElapsed = Duration.between(start, end);
+        logger.info("Successfully fetched {} holidays for year {} in {} ms", holidays.size(), year, timeElapsed.toMillis());
+
+        List<HolidayResponseDTO> responseDTOs = holidays.stream()
+                .map(this::convertToResponseDTO)
+                .toList();
+
+        return new ApiResponseDTO<>("Successfully Fetched Holidays", responseDTOs);
+    }
+
+    public ApiResponseDTO<HolidayResponseDTO> updateHoliday(Long id, HolidayRequestDTO holidayRequestDTO) {
+        logger.info("Updating holiday with id: {}", id);
+
+        HolidayModel holiday = holidayRepository.findById(id)
+                .orElseThrow(() -> new HolidayNotFoundException(HOLIDAY_NOT_FOUND_WITH_ID + id));
+        if (!holiday.getHolidayDate().equals(holidayRequestDTO.holidayDate())
+                && holidayRepository.existsByHolidayDate(holidayRequestDTO.holidayDate())) {
+            throw new HolidayException("A holiday already exists on " + holidayRequestDTO.holidayDate());
+        }
+        applyRequest(holiday, holidayRequestDTO);
+
+        Instant start = Instant.now();
+        holidayRepository.save(holiday);
+        workingDayCalendarService.refresh();
+        Instant end = Instant.now();
+        Duration timeElapsed = Duration.between(start, end);
+        logger.info("Holiday updated successfully for id {} in {} ms", id, timeElapsed.toMillis());
+
+        return new ApiResponseDTO<>("Holiday Updated Successfully", convertToResponseDTO(holiday));
+    }
+
+    public ApiResponseDTO<Void> deleteHoliday(Long id) {
+        logger.info("Deleting holiday with id: {}", id);
+
+        HolidayModel holiday = holidayRepository.findById(id)
+                .orElseThrow(() -> new HolidayNotFoundException(HOLIDAY_NOT_FOUND_WITH_ID + id));
+        Instant start = Instant.now();
+        holidayRepository.delete(holiday);
+        workingDayCalendarService.refresh();
+        Instant end = Instant.now();
+        Duration timeElapsed = Duration.between(start, end);
+        logger.info("Holiday deleted successfully for id {} in {} ms", id, timeElapsed.toMillis());
+
+        return new ApiResponseDTO<>("Holiday Deleted Successfully", null);
+    }
+
+    private static void applyRequest(HolidayModel holiday, HolidayRequestDTO holidayRequestDTO) {
+        holiday.setHolidayDate(holidayRequestDTO.holidayDate());
+        holiday.setName(holidayRequestDTO.name());
+        holiday.setType(holidayRequestDTO.type());
+        holiday.setYear(holidayRequestDTO.holidayDate().getYear());
+    }
+
+    private HolidayResponseDTO convertToResponseDTO(HolidayModel holiday) {
+        return new HolidayResponseDTO(
+                holiday.getId(),
+                holiday.getHolidayDate(),
+                holiday.getName(),
+                holiday.getType(),
+                holiday.getYear()
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.mexxar.payroll.holiday;
+
+public enum HolidayTypeEnum {
+    PUBLIC,
+    COMPANY
+}
@@ -0,0 +1,69 @@
+package com.mexxar.payroll.holiday;
+
+import com.mexxar.payroll.core.WorkingDayCalendar;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Holds the company calendar built from every stored holiday. Holidays change a few times a year, so the calendar
+// is loaded once and rebuilt after HolidayService writes on this node, or once it is older than the TTL so a write
+// made on another node reaches this one within it. A load that overlaps a local write is used for that call but
+// not kept, so a stale holiday list can never outlive the write.
+@Service
+public class WorkingDayCalendarService {
+
+    private final HolidayRepository holidayRepository;
+    private final long ttlNanos;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile LoadedCalendar loaded;
+
+    private record LoadedCalendar(long version, long loadedAt, WorkingDayCalendar calendar) {
+    }
+
+    public WorkingDayCalendarService(HolidayRepository holidayRepository,
+                                     @Value("${payroll.holiday.calendar-ttl-seconds:30}") long ttlSeconds) {
+        this.holidayRepository = holidayRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    private static final Logger logger = LogManager.getLogger(WorkingDayCalendarService.class);
+
+    public WorkingDayCalendar getCalendar() {
+        long currentVersion = version.get();
+        LoadedCalendar current = loaded;
+        if (current != null && current.version() == currentVersion && System.nanoTime() - current.loadedAt() < ttlNanos) {
+            return current.calendar();
+        }
+
+        long loadedAt = System.nanoTime();
+        Instant start = Instant.now();
+        List<LocalDate> holidays = holidayRepository.findAllHolidayDates();
+        WorkingDayCalendar calendar = WorkingDayCalendar.withHolidays(holidays);
+        Instant end = Instant.now();
+        logger.info("Loaded working day calendar with {} holidays in {} ms", holidays.size(),
+                Duration.between(start, end).toMillis());
+
+        if (version.get() == currentVersion) {
+            loaded = new LoadedCalendar(currentVersion, loadedAt, calendar);
+        }
+        return calendar;
+    }
+
+    // Working days between start and end, both inclusive
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        return getCalendar().countWorkingDays(start, end);
+    }
+
+    // Called once a holiday write has committed
+    public void refresh() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.holiday.exception;
+
+public class HolidayException extends RuntimeException {
+    public HolidayException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.holiday.exception;
+
+public class HolidayNotFoundException extends RuntimeException {
+    public HolidayNotFoundException(String message) {
+        super(message);
+    }
+}
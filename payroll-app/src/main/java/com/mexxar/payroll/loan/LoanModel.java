@@ -1,5 +1,6 @@
 package com.mexxar.payroll.loan;
 
+import com.mexxar.payroll.common.converter.MoneyConverter;
 import com.mexxar.payroll.employee.EmployeeModel;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -13,11 +14,13 @@ public class LoanModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Convert(converter = MoneyConverter.class)
     private Double loanAmount;
     private Double interestRate;
     private LocalDate startDate;
     private LocalDate endDate;
     private Double monthlyInstallments;
+    @Convert(converter = MoneyConverter.class)
     private Double remainingAmount;
 
     private LoanStatusEnum status;
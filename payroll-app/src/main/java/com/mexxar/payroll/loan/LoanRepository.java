@@ -0,0 +1,34 @@
+package com.mexxar.payroll.loan;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+interface LoanRepository extends JpaRepository<LoanModel, Long> {
+    Page<LoanModel> findAll(Pageable pageable);
+
+    List<LoanModel> findByEmployeeId(Long employeeId);
+
+    @Query("SELECT l FROM LoanModel l WHERE l.employee.id = :employeeId AND l.status = 3")
+    List<LoanModel> findOngoingLoansByEmployeeId(Long employeeId);
+
+    @Query("SELECT l FROM LoanModel l WHERE l.status = 3 AND l.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    List<LoanModel> findOngoingLoansByEmployeeIdRange(@Param("firstEmployeeId") Long firstEmployeeId,
+                                                      @Param("lastEmployeeId") Long lastEmployeeId);
+
+    @Query("SELECT l FROM LoanModel l WHERE l.status = 4")
+    List<LoanModel> findHoldLoans();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoanModel l SET l.remainingAmount = l.remainingAmount - :paidAmount WHERE l.id = :id AND l.remainingAmount > 0")
+    int deductRemainingAmount(@Param("id") Long id, @Param("paidAmount") Double paidAmount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoanModel l SET l.remainingAmount = l.remainingAmount + :paidAmount WHERE l.id = :id")
+    int restoreRemainingAmount(@Param("id") Long id, @Param("paidAmount") Double paidAmount);
+}
@@ -20,7 +20,8 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -113,6 +114,19 @@ public class LoanService {
                 .toList();
     }
 
+    // Keyed by employee ID, with every loan's hold logs loaded in one query
+    public Map<Long, List<LoanResponseDTO>> getOngoingLoansGroupedByEmployee(Long firstEmployeeId, Long lastEmployeeId) {
+        List<LoanModel> loans = loanRepository.findOngoingLoansByEmployeeIdRange(firstEmployeeId, lastEmployeeId);
+        Map<Long, List<LoanLogModel>> loanLogs = loanLogService.getLoanLogsByLoanIds(
+                loans.stream().map(LoanModel::getId).toList());
+
+        return loans.stream()
+                .collect(Collectors.groupingBy(
+                        loan -> loan.getEmployee().getId(),
+                        Collectors.mapping(loan -> convertToResponseDTO(loan, loanLogs.getOrDefault(loan.getId(), List.of())),
+                                Collectors.toList())));
+    }
+
     public ApiResponseDTO<Page<LoanResponseDTO>> getAllLoans(Pageable pageable) {
         logger.debug("Starting to get all Loans");
 
@@ -187,14 +201,16 @@ public class LoanService {
         return new ApiResponseDTO<>("Loan Deleted Successfully", null);
     }
 
-    public void updateLoanRemainingAmount(Long id, double paidAmount) {
-        Optional<LoanModel> loanModel = loanRepository.findById(id);
-        loanModel.ifPresent(loan -> {
-            if (loan.getRemainingAmount() > 0) {
-                loan.setRemainingAmount(loan.getRemainingAmount() - paidAmount);
-                loanRepository.save(loan);
-            }
-        });
+    // Single UPDATE instead of load-and-save, so the row is locked only for the statement itself
+    @Transactional
+    public int updateLoanRemainingAmount(Long id, double paidAmount) {
+        return loanRepository.deductRemainingAmount(id, paidAmount);
+    }
+
+    // Reverses a deduction made by a payslip that is being recomputed
+    @Transactional
+    public int restoreLoanRemainingAmount(Long id, double paidAmount) {
+        return loanRepository.restoreRemainingAmount(id, paidAmount);
     }
 
     public ApiResponseDTO<LoanResponseDTO> holdLoanDeduction(LoanLogRequestDTO loanLogRequestDTO) {
@@ -245,6 +261,10 @@ public class LoanService {
     }
 
     private LoanResponseDTO convertToResponseDTO(LoanModel loan) {
+        return convertToResponseDTO(loan, loanLogService.getLoanLogsByLoanId(loan.getId()));
+    }
+
+    private LoanResponseDTO convertToResponseDTO(LoanModel loan, List<LoanLogModel> loanHoldLogs) {
         return new LoanResponseDTO(
                 loan.getId(),
                 loan.getLoanAmount(),
@@ -257,7 +277,7 @@ public class LoanService {
                 loan.getHoldStartDate(),
                 loan.getHoldEndDate(),
                 loan.getEmployee(),
-                loanLogService.getLoanLogsByLoanId(loan.getId())
+                loanHoldLogs
         );
     }
 }
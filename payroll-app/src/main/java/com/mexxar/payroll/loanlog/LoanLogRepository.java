@@ -2,8 +2,11 @@ package com.mexxar.payroll.loanlog;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface LoanLogRepository extends JpaRepository<LoanLogModel, Long> {
     List<LoanLogModel> findLoanLogsByLoanId(Long loanId);
+
+    List<LoanLogModel> findLoanLogsByLoanIdIn(Collection<Long> loanIds);
 }
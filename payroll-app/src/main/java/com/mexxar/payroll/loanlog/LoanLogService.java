@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -61,6 +62,14 @@ public class LoanLogService {
         return loanLogRepository.findLoanLogsByLoanId(loanId);
     }
 
+    public Map<Long, List<LoanLogModel>> getLoanLogsByLoanIds(List<Long> loanIds) {
+        if (loanIds.isEmpty()) {
+            return Map.of();
+        }
+        return loanLogRepository.findLoanLogsByLoanIdIn(loanIds).stream()
+                .collect(Collectors.groupingBy(LoanLogModel::getLoanId));
+    }
+
     public List<LoanLogResponseDTO> convertToResponseDTO(List<LoanLogModel> loanHoldLogs) {
         logger.info("Converting list of LoanLogModel to LoanLogResponseDTO, Total logs: {}",
 
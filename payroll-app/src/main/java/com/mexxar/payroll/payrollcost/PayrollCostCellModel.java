@@ -0,0 +1,39 @@
+package com.mexxar.payroll.payrollcost;
+
+import com.mexxar.payroll.common.converter.MoneyConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Payroll cost of one department and designation in one pay period, kept up to date as payslips are created and
+// deleted. Slices over months, departments and designations are summed from these cells.
+@Entity
+@Table(name = "PayrollCostCell", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payroll_cost_cell", columnNames = {"salaryPayPeriodId", "departmentId", "designationId"})
+})
+@Data
+public class PayrollCostCellModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long salaryPayPeriodId;
+
+    private Long departmentId;
+
+    private Long designationId;
+
+    private int paySlips;
+
+    // Everything paid before deductions, tax-excluded allowances and commissions included
+    @Convert(converter = MoneyConverter.class)
+    private Double totalEarnings;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double companyEpfContribution;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double companyEtfContribution;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double netSalary;
+}
@@ -0,0 +1,60 @@
+package com.mexxar.payroll.payrollcost;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+interface PayrollCostCellRepository extends JpaRepository<PayrollCostCellModel, Long> {
+
+    // A single UPDATE, so concurrent payslips landing in the same cell add up instead of overwriting each other
+    @Modifying
+    @Query("UPDATE PayrollCostCellModel c SET " +
+            "c.paySlips = c.paySlips + :paySlips, " +
+            "c.totalEarnings = c.totalEarnings + :totalEarnings, " +
+            "c.companyEpfContribution = c.companyEpfContribution + :companyEpf, " +
+            "c.companyEtfContribution = c.companyEtfContribution + :companyEtf, " +
+            "c.netSalary = c.netSalary + :netSalary " +
+            "WHERE c.salaryPayPeriodId = :payPeriodId AND c.departmentId = :departmentId AND c.designationId = :designationId")
+    int accumulate(@Param("payPeriodId") Long payPeriodId,
+                   @Param("departmentId") Long departmentId,
+                   @Param("designationId") Long designationId,
+                   @Param("paySlips") int paySlips,
+                   @Param("totalEarnings") Double totalEarnings,
+                   @Param("companyEpf") Double companyEpf,
+                   @Param("companyEtf") Double companyEtf,
+                   @Param("netSalary") Double netSalary);
+
+    @Modifying
+    @Query("DELETE FROM PayrollCostCellModel c WHERE c.salaryPayPeriodId IN " +
+            "(SELECT s.id FROM SalaryPayPeriodModel s WHERE s.startDate >= :from AND s.startDate < :to)")
+    int deleteByPayPeriodStart(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // One row per cell: pay period, department, designation, payslips, total earnings, company EPF, company ETF,
+    // net salary
+    @Query("SELECT p.salaryPayPeriod.id, p.employee.department.id, p.employee.designation.id, COUNT(p), " +
+            "SUM(p.grossSalary + COALESCE(p.taxExcludedAllowances, 0) + COALESCE(p.taxExcludedCommissions, 0)), " +
+            "SUM(COALESCE(c.epfContribution, 0)), SUM(COALESCE(c.etfContribution, 0)), SUM(p.netSalary) " +
+            "FROM PaySlipModel p " +
+            "LEFT JOIN EpfEtfContributionModel c ON c.payslipId = p.id " +
+            "WHERE p.salaryPayPeriod.startDate >= :from AND p.salaryPayPeriod.startDate < :to " +
+            "GROUP BY p.salaryPayPeriod.id, p.employee.department.id, p.employee.designation.id")
+    List<Object[]> sumPaySlipsByCell(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Cells in the range with their labels: period start, department id and name, designation id and title,
+    // payslips, total earnings, company EPF, company ETF, net salary
+    @Query("SELECT s.startDate, c.departmentId, d.name, c.designationId, g.jobTitle, c.paySlips, " +
+            "c.totalEarnings, c.companyEpfContribution, c.companyEtfContribution, c.netSalary " +
+            "FROM PayrollCostCellModel c " +
+            "JOIN SalaryPayPeriodModel s ON s.id = c.salaryPayPeriodId " +
+            "JOIN DepartmentModel d ON d.id = c.departmentId " +
+            "JOIN DesignationModel g ON g.id = c.designationId " +
+            "WHERE s.startDate >= :from AND s.startDate < :to " +
+            "AND (:departmentId IS NULL OR c.departmentId = :departmentId) " +
+            "AND (:designationId IS NULL OR c.designationId = :designationId)")
+    List<Object[]> findCells(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                             @Param("departmentId") Long departmentId, @Param("designationId") Long designationId);
+}
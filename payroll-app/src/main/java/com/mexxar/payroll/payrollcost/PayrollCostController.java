@@ -0,0 +1,52 @@
+package com.mexxar.payroll.payrollcost;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payroll-cost")
+public class PayrollCostController {
+
+    private final PayrollCostService payrollCostService;
+
+    public PayrollCostController(final PayrollCostService payrollCostService) {
+        this.payrollCostService = payrollCostService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(PayrollCostController.class);
+
+    @Operation(summary = "Get payroll cost", description = "This endpoint retrieves headcount, earnings, employer contributions and net salary for a range of months, grouped by any of month, department and designation and optionally narrowed to one department or designation.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the payroll cost"),
+            @ApiResponse(responseCode = "400", description = "Month range ends before it starts")
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<List<PayrollCostSliceDTO>>> getPayrollCost(@RequestParam YearMonth from,
+                                                                                    @RequestParam YearMonth to,
+                                                                                    @RequestParam(defaultValue = "") List<PayrollCostDimensionEnum> groupBy,
+                                                                                    @RequestParam(required = false) Long departmentId,
+                                                                                    @RequestParam(required = false) Long designationId) {
+        logger.info("Received request to get payroll cost from {} to {} by {}", from, to, groupBy);
+        return ResponseEntity.ok(payrollCostService.getPayrollCost(from, to, groupBy, departmentId, designationId));
+    }
+
+    @Operation(summary = "Rebuild payroll cost", description = "This endpoint recomputes the payroll cost cells of a range of months from their payslips.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully rebuilt the payroll cost"),
+            @ApiResponse(responseCode = "400", description = "Month range ends before it starts")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponseDTO<Integer>> rebuildPayrollCost(@RequestParam YearMonth from, @RequestParam YearMonth to) {
+        logger.info("Received request to rebuild payroll cost from {} to {}", from, to);
+        return ResponseEntity.ok(payrollCostService.rebuildPayrollCost(from, to));
+    }
+}
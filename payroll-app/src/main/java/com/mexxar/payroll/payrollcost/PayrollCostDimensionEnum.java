@@ -0,0 +1,7 @@
+package com.mexxar.payroll.payrollcost;
+
+public enum PayrollCostDimensionEnum {
+    MONTH,
+    DEPARTMENT,
+    DESIGNATION
+}
@@ -0,0 +1,219 @@
+package com.mexxar.payroll.payrollcost;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.payrollcost.exception.PayrollCostException;
+import com.mexxar.payroll.payslip.PaySlipModel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps the payroll cost of every pay period, department and designation in one cell row, updated in the
+// transaction that writes or removes a payslip. Slices over months, departments and designations add up the cells
+// in range instead of scanning payslips. A payslip is filed under the department and designation its employee
+// holds when it is written; payslips written before the cells existed, or moved by a later transfer, are brought
+// back in step by rebuilding their months.
+@Service
+public class PayrollCostService {
+
+    private final PayrollCostCellRepository payrollCostCellRepository;
+
+    public PayrollCostService(PayrollCostCellRepository payrollCostCellRepository) {
+        this.payrollCostCellRepository = payrollCostCellRepository;
+    }
+
+    private static final Logger logger = LogManager.getLogger(PayrollCostService.class);
+
+    // Order of the slice rows: by month, then department name, then designation title
+    private static final Comparator<SliceKey> SLICE_ORDER = Comparator
+            .comparing(SliceKey::month, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SliceKey::departmentName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SliceKey::departmentId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SliceKey::designationTitle, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SliceKey::designationId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // The dimensions a slice row is grouped by; the others are left null
+    private record SliceKey(YearMonth month, Long departmentId, String departmentName, Long designationId, String designationTitle) {
+    }
+
+    // Running totals of one slice row, in cents
+    private static final class SliceTotals {
+        private int paySlips;
+        private long totalEarnings;
+        private long companyEpf;
+        private long companyEtf;
+        private long netSalary;
+    }
+
+    @Transactional
+    public void addPaySlip(PaySlipModel paySlip, double companyEpfContribution, double companyEtfContribution) {
+        accumulate(paySlip, companyEpfContribution, companyEtfContribution, 1);
+    }
+
+    @Transactional
+    public void removePaySlip(PaySlipModel paySlip, double companyEpfContribution, double companyEtfContribution) {
+        accumulate(paySlip, companyEpfContribution, companyEtfContribution, -1);
+    }
+
+    private void accumulate(PaySlipModel paySlip, double companyEpf, double companyEtf, int sign) {
+        Long payPeriodId = paySlip.getSalaryPayPeriod().getId();
+        Long departmentId = paySlip.getEmployee().getDepartment().getId();
+        Long designationId = paySlip.getEmployee().getDesignation().getId();
+
+        int updated = payrollCostCellRepository.accumulate(payPeriodId, departmentId, designationId, sign,
+                sign * totalEarnings(paySlip),
+                sign * companyEpf,
+                sign * companyEtf,
+                sign * valueOf(paySlip.getNetSalary()));
+        if (updated > 0) {
+            return;
+        }
+
+        if (sign < 0) {
+            logger.warn("No payroll cost cell for pay period {}, department {} and designation {}; rebuild the month to bring it back in step",
+                    payPeriodId, departmentId, designationId);
+            return;
+        }
+
+        // First payslip of the cell. Two first payslips racing for the same cell fail on the unique key and roll
+        // back one of the two payslips rather than losing its cost.
+        PayrollCostCellModel cell = new PayrollCostCellModel();
+        cell.setSalaryPayPeriodId(payPeriodId);
+        cell.setDepartmentId(departmentId);
+        cell.setDesignationId(designationId);
+        cell.setPaySlips(1);
+        cell.setTotalEarnings(totalEarnings(paySlip));
+        cell.setCompanyEpfContribution(companyEpf);
+        cell.setCompanyEtfContribution(companyEtf);
+        cell.setNetSalary(valueOf(paySlip.getNetSalary()));
+        payrollCostCellRepository.save(cell);
+    }
+
+    // Slices the cells of the months from 'from' to 'to', both inclusive, down to the requested dimensions.
+    // Filtering by a department or designation drills into it; an empty groupBy gives the grand total.
+    public ApiResponseDTO<List<PayrollCostSliceDTO>> getPayrollCost(YearMonth from, YearMonth to, List<PayrollCostDimensionEnum> groupBy,
+                                                                    Long departmentId, Long designationId) {
+        logger.info("Slicing payroll cost from {} to {} by {} for department {} and designation {}",
+                from, to, groupBy, departmentId, designationId);
+
+        checkRange(from, to);
+
+        Instant start = Instant.now();
+        boolean byMonth = groupBy.contains(PayrollCostDimensionEnum.MONTH);
+        boolean byDepartment = groupBy.contains(PayrollCostDimensionEnum.DEPARTMENT);
+        boolean byDesignation = groupBy.contains(PayrollCostDimensionEnum.DESIGNATION);
+
+        List<Object[]> cells = payrollCostCellRepository.findCells(from.atDay(1), to.plusMonths(1).atDay(1), departmentId, designationId);
+        Map<SliceKey, SliceTotals> slices = new HashMap<>();
+        for (Object[] cell : cells) {
+            SliceKey key = new SliceKey(
+                    byMonth ? YearMonth.from((LocalDate) cell[0]) : null,
+                    byDepartment ? (Long) cell[1] : null,
+                    byDepartment ? (String) cell[2] : null,
+                    byDesignation ? (Long) cell[3] : null,
+                    byDesignation ? (String) cell[4] : null);
+            SliceTotals totals = slices.computeIfAbsent(key, k -> new SliceTotals());
+            totals.paySlips += ((Number) cell[5]).intValue();
+            totals.totalEarnings += cents(cell[6]);
+            totals.companyEpf += cents(cell[7]);
+            totals.companyEtf += cents(cell[8]);
+            totals.netSalary += cents(cell[9]);
+        }
+
+        List<SliceKey> keys = new ArrayList<>(slices.keySet());
+        keys.sort(SLICE_ORDER);
+        List<PayrollCostSliceDTO> responseDTOs = new ArrayList<>(keys.size());
+        for (SliceKey key : keys) {
+            responseDTOs.add(convertToResponseDTO(key, slices.get(key)));
+        }
+        Instant end = Instant.now();
+        logger.info("Rolled {} payroll cost cells up into {} slices in {} ms",
+                cells.size(), responseDTOs.size(), Duration.between(start, end).toMillis());
+
+        return new ApiResponseDTO<>("Successfully Fetched Payroll Cost", responseDTOs);
+    }
+
+    // Replaces the cells of the months from 'from' to 'to', both inclusive, with totals summed from their payslips
+    // in one grouped query, filing each payslip under its employee's current department and designation. Run it
+    // outside a pay run: payslips written while it runs may be counted twice or not at all.
+    @Transactional
+    public ApiResponseDTO<Integer> rebuildPayrollCost(YearMonth from, YearMonth to) {
+        logger.info("Rebuilding payroll cost cells from {} to {}", from, to);
+        checkRange(from, to);
+
+        Instant start = Instant.now();
+        LocalDate fromDate = from.atDay(1);
+        LocalDate toDate = to.plusMonths(1).atDay(1);
+        int deleted = payrollCostCellRepository.deleteByPayPeriodStart(fromDate, toDate);
+
+        List<PayrollCostCellModel> rebuilt = new ArrayList<>();
+        for (Object[] row : payrollCostCellRepository.sumPaySlipsByCell(fromDate, toDate)) {
+            PayrollCostCellModel cell = new PayrollCostCellModel();
+            cell.setSalaryPayPeriodId((Long) row[0]);
+            cell.setDepartmentId((Long) row[1]);
+            cell.setDesignationId((Long) row[2]);
+            cell.setPaySlips(((Number) row[3]).intValue());
+            cell.setTotalEarnings(Money.toAmount(cents(row[4])));
+            cell.setCompanyEpfContribution(Money.toAmount(cents(row[5])));
+            cell.setCompanyEtfContribution(Money.toAmount(cents(row[6])));
+            cell.setNetSalary(Money.toAmount(cents(row[7])));
+            rebuilt.add(cell);
+        }
+        payrollCostCellRepository.saveAll(rebuilt);
+        Instant end = Instant.now();
+        logger.info("Rebuilt {} payroll cost cells from {} to {} (replacing {}) in {} ms",
+                rebuilt.size(), from, to, deleted, Duration.between(start, end).toMillis());
+
+        return new ApiResponseDTO<>("Payroll Cost Rebuilt Successfully", rebuilt.size());
+    }
+
+    private static void checkRange(YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new PayrollCostException("Month range ends at " + to + " before it starts at " + from);
+        }
+    }
+
+    private static double totalEarnings(PaySlipModel paySlip) {
+        return Money.toAmount(Money.ofAmount(valueOf(paySlip.getGrossSalary()))
+                + Money.ofAmount(valueOf(paySlip.getTaxExcludedAllowances()))
+                + Money.ofAmount(valueOf(paySlip.getTaxExcludedCommissions())));
+    }
+
+    private static double valueOf(Double amount) {
+        return amount == null ? 0.0 : amount;
+    }
+
+    private static long cents(Object value) {
+        return value == null ? 0 : Money.ofAmount(((Number) value).doubleValue());
+    }
+
+    private static PayrollCostSliceDTO convertToResponseDTO(SliceKey key, SliceTotals totals) {
+        long employerContribution = totals.companyEpf + totals.companyEtf;
+        long averageNetSalary = totals.paySlips == 0 ? 0 : Money.divide(totals.netSalary, totals.paySlips, RoundingMode.HALF_UP);
+        return new PayrollCostSliceDTO(
+                key.month() == null ? null : key.month().toString(),
+                key.departmentId(),
+                key.departmentName(),
+                key.designationId(),
+                key.designationTitle(),
+                totals.paySlips,
+                Money.toAmount(totals.totalEarnings),
+                Money.toAmount(employerContribution),
+                Money.toAmount(totals.totalEarnings + employerContribution),
+                Money.toAmount(totals.netSalary),
+                Money.toAmount(averageNetSalary)
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.mexxar.payroll.payrollcost;
+
+// Dimensions that were not sliced by are null. Headcount is the number of payslips, so over several months it
+// counts employee-months.
+public record PayrollCostSliceDTO(
+        String month,
+
+        Long departmentId,
+
+        String departmentName,
+
+        Long designationId,
+
+        String designationTitle,
+
+        int headcount,
+
+        Double totalEarnings,
+
+        Double employerContribution,
+
+        Double totalCost,
+
+        Double netSalary,
+
+        Double averageNetSalary
+)
+{}
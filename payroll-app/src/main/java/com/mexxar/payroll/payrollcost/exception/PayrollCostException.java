@@ -0,0 +1,7 @@
+package com.mexxar.payroll.payrollcost.exception;
+
+public class PayrollCostException extends RuntimeException {
+    public PayrollCostException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,120 @@
+package com.mexxar.payroll.payrun;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class PayRunChunkLeaseService {
+
+    private final PayRunJobRepository payRunJobRepository;
+    private final PayRunChunkRepository payRunChunkRepository;
+    private final int chunkSize;
+    private final Duration leaseDuration;
+
+    public PayRunChunkLeaseService(PayRunJobRepository payRunJobRepository,
+                                   PayRunChunkRepository payRunChunkRepository,
+                                   @Value("${payroll.payrun.chunk-size:100}") int chunkSize,
+                                   @Value("${payroll.payrun.lease-seconds:120}") long leaseSeconds) {
+        this.payRunJobRepository = payRunJobRepository;
+        this.payRunChunkRepository = payRunChunkRepository;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+    }
+
+    private static final Logger logger = LogManager.getLogger(PayRunChunkLeaseService.class);
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    // Splits the sorted employee ids into contiguous id-range partitions any node can claim
+    @Transactional
+    public List<PayRunChunkModel> planChunks(PayRunJobModel job, List<Long> employeeIds) {
+        List<PayRunChunkModel> chunks = new ArrayList<>();
+        for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+            List<Long> chunkIds = employeeIds.subList(from, Math.min(from + chunkSize, employeeIds.size()));
+
+            PayRunChunkModel chunk = new PayRunChunkModel();
+            chunk.setPayRunJob(job);
+            chunk.setChunkIndex(chunks.size());
+            chunk.setFirstEmployeeId(chunkIds.get(0));
+            chunk.setLastEmployeeId(chunkIds.get(chunkIds.size() - 1));
+            chunk.setStatus(PayRunChunkStatusEnum.PENDING);
+            chunks.add(chunk);
+        }
+        return payRunChunkRepository.saveAll(chunks);
+    }
+
+    @Transactional
+    public Optional<PayRunChunkModel> claimNextChunk(String workerId) {
+        for (Long jobId : payRunJobRepository.findIdsByStatus(PayRunJobStatusEnum.RUNNING)) {
+            LocalDateTime now = LocalDateTime.now();
+            List<PayRunChunkModel> candidates = payRunChunkRepository.findClaimableChunks(jobId, now, PageRequest.of(0, 1));
+
+            for (PayRunChunkModel candidate : candidates) {
+                if (payRunChunkRepository.claimChunk(candidate.getId(), workerId, now, now.plus(leaseDuration)) == 1) {
+                    PayRunChunkModel claimed = payRunChunkRepository.findById(candidate.getId()).orElseThrow();
+                    if (claimed.getAttempts() > 1) {
+                        logger.warn("Worker {} reclaimed chunk {} of pay run job {} after an expired lease",
+                                workerId, claimed.getChunkIndex(), jobId);
+                    }
+                    return Optional.of(claimed);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Transactional
+    public boolean renewLease(PayRunChunkModel chunk, String workerId) {
+        return payRunChunkRepository.renewLease(chunk.getId(), workerId, LocalDateTime.now().plus(leaseDuration)) == 1;
+    }
+
+    // False when the lease was lost to another worker, which then owns the chunk's outcome
+    @Transactional
+    public boolean completeChunk(PayRunChunkModel chunk, String workerId, int processedCount, int failedCount) {
+        return payRunChunkRepository.completeChunk(chunk.getId(), workerId, processedCount, failedCount, LocalDateTime.now()) == 1;
+    }
+
+    @Transactional
+    public int releaseExpiredLeases(Long jobId) {
+        return payRunChunkRepository.releaseExpiredLeases(jobId, LocalDateTime.now());
+    }
+
+    @Transactional
+    public int reopenFailedChunks(Long jobId) {
+        return payRunChunkRepository.reopenFailedChunks(jobId);
+    }
+
+    // Runs in its own transaction after a chunk commits, so the last chunk is seen as completed by whoever checks
+    @Transactional
+    public boolean refreshJobProgress(Long jobId) {
+        PayRunChunkTotals totals = payRunChunkRepository.sumCompletedChunks(jobId);
+        int processedCount = totals.processedCount().intValue();
+        int failedCount = totals.failedCount().intValue();
+
+        if (payRunChunkRepository.countByPayRunJobIdAndStatusNot(jobId, PayRunChunkStatusEnum.COMPLETED) > 0) {
+            payRunJobRepository.updateProgress(jobId, processedCount, failedCount);
+            return false;
+        }
+
+        PayRunJobStatusEnum status = failedCount == 0
+                ? PayRunJobStatusEnum.COMPLETED
+                : PayRunJobStatusEnum.COMPLETED_WITH_ERRORS;
+        boolean finished = payRunJobRepository.finishJob(jobId, status, processedCount, failedCount, LocalDateTime.now()) == 1;
+        if (finished) {
+            logger.info("Pay run job {} finished with {} processed and {} failed", jobId, processedCount, failedCount);
+        }
+        return finished;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mexxar.payroll.payrun;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "PayRunChunk", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_pay_run_chunk_index", columnNames = {"pay_run_job_id", "chunkIndex"})
+})
+@Data
+public class PayRunChunkModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private int chunkIndex;
+
+    // Inclusive employee id range planned when the run first started
+    private Long firstEmployeeId;
+    private Long lastEmployeeId;
+
+    private PayRunChunkStatusEnum status;
+
+    // Node-level worker holding the chunk; once the lease expires any worker may reclaim it
+    private String leaseOwner;
+    private LocalDateTime leaseExpiresAt;
+    private int attempts;
+
+    private int processedCount;
+    private int failedCount;
+
+    private LocalDateTime completedAt;
+
+    @ManyToOne
+    @JoinColumn(name = "pay_run_job_id")
+    private PayRunJobModel payRunJob;
+}
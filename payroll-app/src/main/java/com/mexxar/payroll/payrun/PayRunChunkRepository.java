@@ -0,0 +1,90 @@
+package com.mexxar.payroll.payrun;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PayRunChunkRepository extends JpaRepository<PayRunChunkModel, Long> {
+    List<PayRunChunkModel> findByPayRunJobIdOrderByChunkIndex(Long payRunJobId);
+
+    boolean existsByPayRunJobId(Long payRunJobId);
+
+    long countByPayRunJobIdAndStatusNot(Long payRunJobId, PayRunChunkStatusEnum status);
+
+    // SKIP LOCKED lets concurrent claimers walk past each other's candidates instead of queueing on them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM PayRunChunkModel c " +
+            "WHERE c.payRunJob.id = :payRunJobId " +
+            "AND (c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.PENDING " +
+            "OR (c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.CLAIMED AND c.leaseExpiresAt < :now)) " +
+            "ORDER BY c.chunkIndex")
+    List<PayRunChunkModel> findClaimableChunks(@Param("payRunJobId") Long payRunJobId,
+                                               @Param("now") LocalDateTime now,
+                                               Pageable pageable);
+
+    // Compare-and-set on the lease, so a chunk is only ever handed to one worker even without row locks
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PayRunChunkModel c " +
+            "SET c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.CLAIMED, " +
+            "c.leaseOwner = :leaseOwner, c.leaseExpiresAt = :leaseExpiresAt, c.attempts = c.attempts + 1 " +
+            "WHERE c.id = :id " +
+            "AND (c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.PENDING " +
+            "OR (c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.CLAIMED AND c.leaseExpiresAt < :now))")
+    int claimChunk(@Param("id") Long id,
+                   @Param("leaseOwner") String leaseOwner,
+                   @Param("now") LocalDateTime now,
+                   @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Modifying
+    @Query("UPDATE PayRunChunkModel c SET c.leaseExpiresAt = :leaseExpiresAt " +
+            "WHERE c.id = :id AND c.leaseOwner = :leaseOwner " +
+            "AND c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.CLAIMED")
+    int renewLease(@Param("id") Long id,
+                   @Param("leaseOwner") String leaseOwner,
+                   @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Modifying
+    @Query("UPDATE PayRunChunkModel c " +
+            "SET c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.COMPLETED, " +
+            "c.processedCount = :processedCount, c.failedCount = :failedCount, " +
+            "c.completedAt = :completedAt, c.leaseExpiresAt = null " +
+            "WHERE c.id = :id AND c.leaseOwner = :leaseOwner " +
+            "AND c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.CLAIMED")
+    int completeChunk(@Param("id") Long id,
+                      @Param("leaseOwner") String leaseOwner,
+                      @Param("processedCount") int processedCount,
+                      @Param("failedCount") int failedCount,
+                      @Param("completedAt") LocalDateTime completedAt);
+
+    // Live leases are left alone: their owner is still working the chunk and checkpoints it under its lease
+    @Modifying
+    @Query("UPDATE PayRunChunkModel c " +
+            "SET c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.PENDING, " +
+            "c.leaseOwner = null, c.leaseExpiresAt = null " +
+            "WHERE c.payRunJob.id = :payRunJobId " +
+            "AND c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.CLAIMED AND c.leaseExpiresAt < :now")
+    int releaseExpiredLeases(@Param("payRunJobId") Long payRunJobId, @Param("now") LocalDateTime now);
+
+    // Redoing a chunk skips employees that already have a payslip, so only the failed ones are retried
+    @Modifying
+    @Query("UPDATE PayRunChunkModel c " +
+            "SET c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.PENDING, " +
+            "c.leaseOwner = null, c.leaseExpiresAt = null, c.completedAt = null, " +
+            "c.processedCount = 0, c.failedCount = 0 " +
+            "WHERE c.payRunJob.id = :payRunJobId " +
+            "AND c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.COMPLETED AND c.failedCount > 0")
+    int reopenFailedChunks(@Param("payRunJobId") Long payRunJobId);
+
+    @Query("SELECT new com.mexxar.payroll.payrun.PayRunChunkTotals(" +
+            "COALESCE(SUM(c.processedCount), 0), COALESCE(SUM(c.failedCount), 0)) " +
+            "FROM PayRunChunkModel c " +
+            "WHERE c.payRunJob.id = :payRunJobId " +
+            "AND c.status = com.mexxar.payroll.payrun.PayRunChunkStatusEnum.COMPLETED")
+    PayRunChunkTotals sumCompletedChunks(@Param("payRunJobId") Long payRunJobId);
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.payrun;
+
+public enum PayRunChunkStatusEnum {
+    PENDING,
+    COMPLETED,
+    CLAIMED
+}
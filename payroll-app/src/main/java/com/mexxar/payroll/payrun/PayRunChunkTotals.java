@@ -0,0 +1,8 @@
+package com.mexxar.payroll.payrun;
+
+public record PayRunChunkTotals(
+        Long processedCount,
+
+        Long failedCount
+)
+{}
@@ -0,0 +1,90 @@
+package com.mexxar.payroll.payrun;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payRuns")
+public class PayRunJobController {
+
+    private final PayRunJobService payRunJobService;
+
+    public PayRunJobController(PayRunJobService payRunJobService) {
+        this.payRunJobService = payRunJobService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(PayRunJobController.class);
+
+    @Operation(summary = "Start a pay run", description = "This endpoint splits payslip generation for every active employee in a pay period into chunks that any node can claim, and returns the job right away.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Pay run accepted"),
+            @ApiResponse(responseCode = "400", description = "A pay run is already in progress for the pay period"),
+            @ApiResponse(responseCode = "404", description = "Salary pay period not found")
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<PayRunJobResponseDTO>> startPayRun(@Valid @RequestBody PayRunJobRequestDTO requestDTO) {
+        logger.info("Received request to start a Pay Run");
+        ApiResponseDTO<PayRunJobResponseDTO> job = payRunJobService.startPayRun(requestDTO);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "Resume a pay run", description = "This endpoint picks a pay run up from its last checkpoint: chunks whose lease has expired are claimed again right away, and a run that completed with errors retries its failed employees.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Pay run resume accepted"),
+            @ApiResponse(responseCode = "400", description = "The pay run cannot be resumed from its current status"),
+            @ApiResponse(responseCode = "404", description = "Pay run not found")
+    })
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ApiResponseDTO<PayRunJobResponseDTO>> resumePayRun(@PathVariable Long id) {
+        logger.info("Received request to resume a Pay Run");
+        ApiResponseDTO<PayRunJobResponseDTO> job = payRunJobService.resumePayRun(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "Get pay run by ID", description = "This endpoint returns the progress of a pay run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the pay run"),
+            @ApiResponse(responseCode = "404", description = "Pay run not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<PayRunJobResponseDTO>> getPayRunJobById(@PathVariable Long id) {
+        logger.info("Received request to get a Pay Run by ID");
+        ApiResponseDTO<PayRunJobResponseDTO> job = payRunJobService.getPayRunJobById(id);
+        return ResponseEntity.ok(job);
+    }
+
+    @Operation(summary = "Get pay run failures", description = "This endpoint returns the employees whose payslip could not be generated in a pay run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the failures"),
+            @ApiResponse(responseCode = "404", description = "Pay run not found")
+    })
+    @GetMapping("/{id}/failures")
+    public ResponseEntity<ApiResponseDTO<List<PayRunJobFailureResponseDTO>>> getPayRunJobFailures(@PathVariable Long id) {
+        logger.info("Received request to get failures of a Pay Run");
+        ApiResponseDTO<List<PayRunJobFailureResponseDTO>> failures = payRunJobService.getPayRunJobFailures(id);
+        return ResponseEntity.ok(failures);
+    }
+
+    @Operation(summary = "Stream pay run progress", description = "This endpoint streams pay run progress as Server-Sent Events until the run finishes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress stream opened"),
+            @ApiResponse(responseCode = "404", description = "Pay run not found")
+    })
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPayRunProgress(@PathVariable Long id) {
+        logger.info("Received request to stream progress of a Pay Run");
+        return payRunJobService.subscribeToProgress(id);
+    }
+}
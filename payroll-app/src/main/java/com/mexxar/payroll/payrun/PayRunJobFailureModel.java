@@ -0,0 +1,28 @@
+package com.mexxar.payroll.payrun;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "PayRunJobFailure")
+@Data
+public class PayRunJobFailureModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long employeeId;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @CreationTimestamp
+    private LocalDateTime failedAt;
+
+    @ManyToOne
+    @JoinColumn(name = "pay_run_job_id")
+    private PayRunJobModel payRunJob;
+}
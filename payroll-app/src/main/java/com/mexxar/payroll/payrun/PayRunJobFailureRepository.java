@@ -0,0 +1,22 @@
+package com.mexxar.payroll.payrun;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface PayRunJobFailureRepository extends JpaRepository<PayRunJobFailureModel, Long> {
+    List<PayRunJobFailureModel> findByPayRunJobIdOrderById(Long payRunJobId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PayRunJobFailureModel f " +
+            "WHERE f.payRunJob.id = :payRunJobId " +
+            "AND f.employeeId BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    int deleteByPayRunJobIdAndEmployeeIdRange(@Param("payRunJobId") Long payRunJobId,
+                                              @Param("firstEmployeeId") Long firstEmployeeId,
+                                              @Param("lastEmployeeId") Long lastEmployeeId);
+}
@@ -0,0 +1,12 @@
+package com.mexxar.payroll.payrun;
+
+import java.time.LocalDateTime;
+
+public record PayRunJobFailureResponseDTO(
+        Long employeeId,
+
+        String errorMessage,
+
+        LocalDateTime failedAt
+)
+{}
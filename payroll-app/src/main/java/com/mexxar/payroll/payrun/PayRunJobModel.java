@@ -0,0 +1,35 @@
+package com.mexxar.payroll.payrun;
+
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "PayRunJob")
+@Data
+public class PayRunJobModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private PayRunJobStatusEnum status;
+
+    private int totalEmployees;
+    private int processedCount;
+    private int failedCount;
+
+    private String errorMessage;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @ManyToOne
+    @JoinColumn(name = "salary_pay_period_id")
+    private SalaryPayPeriodModel salaryPayPeriod;
+}
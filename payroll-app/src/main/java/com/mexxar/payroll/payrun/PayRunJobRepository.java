@@ -0,0 +1,37 @@
+package com.mexxar.payroll.payrun;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PayRunJobRepository extends JpaRepository<PayRunJobModel, Long> {
+    boolean existsBySalaryPayPeriodIdAndStatusIn(Long payPeriodId, Collection<PayRunJobStatusEnum> statuses);
+
+    boolean existsByStatus(PayRunJobStatusEnum status);
+
+    @Query("SELECT j.id FROM PayRunJobModel j WHERE j.status = :status ORDER BY j.id")
+    List<Long> findIdsByStatus(@Param("status") PayRunJobStatusEnum status);
+
+    @Modifying
+    @Query("UPDATE PayRunJobModel j SET j.processedCount = :processedCount, j.failedCount = :failedCount " +
+            "WHERE j.id = :id AND j.status = com.mexxar.payroll.payrun.PayRunJobStatusEnum.RUNNING")
+    int updateProgress(@Param("id") Long id,
+                       @Param("processedCount") int processedCount,
+                       @Param("failedCount") int failedCount);
+
+    // Only the first node to see the last chunk completed gets to finish the job
+    @Modifying
+    @Query("UPDATE PayRunJobModel j SET j.status = :status, j.processedCount = :processedCount, " +
+            "j.failedCount = :failedCount, j.finishedAt = :finishedAt " +
+            "WHERE j.id = :id AND j.status = com.mexxar.payroll.payrun.PayRunJobStatusEnum.RUNNING")
+    int finishJob(@Param("id") Long id,
+                  @Param("status") PayRunJobStatusEnum status,
+                  @Param("processedCount") int processedCount,
+                  @Param("failedCount") int failedCount,
+                  @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -0,0 +1,11 @@
+package com.mexxar.payroll.payrun;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record PayRunJobRequestDTO(
+        @NotNull(message = "Pay period ID cannot be null")
+        @Positive(message = "Pay period ID must be a positive number")
+        Long payPeriodId
+)
+{}
@@ -0,0 +1,30 @@
+package com.mexxar.payroll.payrun;
+
+import java.time.LocalDateTime;
+
+public record PayRunJobResponseDTO(
+        Long id,
+
+        Long payPeriodId,
+
+        PayRunJobStatusEnum status,
+
+        int totalEmployees,
+
+        int processedCount,
+
+        int failedCount,
+
+        int remainingCount,
+
+        double employeesPerSecond,
+
+        String errorMessage,
+
+        LocalDateTime createdAt,
+
+        LocalDateTime startedAt,
+
+        LocalDateTime finishedAt
+)
+{}
@@ -0,0 +1,213 @@
+package com.mexxar.payroll.payrun;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import com.mexxar.payroll.common.logging.LoggingContext;
+import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.payslip.PaySlipInputs;
+import com.mexxar.payroll.payslip.PaySlipPeriodInputLoader;
+import com.mexxar.payroll.payslip.PaySlipPeriodInputs;
+import com.mexxar.payroll.payslip.PaySlipRequestDTO;
+import com.mexxar.payroll.payslip.PaySlipService;
+import com.mexxar.payroll.payslip.PaySlipStatusEnum;
+import com.mexxar.payroll.payslip.exception.DuplicatePaySlipException;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class PayRunJobRunner {
+
+    private final PayRunJobRepository payRunJobRepository;
+    private final PayRunJobFailureRepository payRunJobFailureRepository;
+    private final PayRunChunkLeaseService leaseService;
+    private final EmployeeService employeeService;
+    private final PaySlipService paySlipService;
+    private final PaySlipPeriodInputLoader paySlipPeriodInputLoader;
+    private final String nodeId;
+    private final int workers;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final AtomicInteger workerSequence = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PayRunJobRunner(PayRunJobRepository payRunJobRepository,
+                           PayRunJobFailureRepository payRunJobFailureRepository,
+                           PayRunChunkLeaseService leaseService,
+                           EmployeeService employeeService,
+                           PaySlipService paySlipService,
+                           PaySlipPeriodInputLoader paySlipPeriodInputLoader,
+                           @Value("${payroll.payrun.node-id:}") String nodeId,
+                           @Value("${payroll.payrun.workers:2}") int workers) {
+        this.payRunJobRepository = payRunJobRepository;
+        this.payRunJobFailureRepository = payRunJobFailureRepository;
+        this.leaseService = leaseService;
+        this.employeeService = employeeService;
+        this.paySlipService = paySlipService;
+        this.paySlipPeriodInputLoader = paySlipPeriodInputLoader;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.workers = Math.max(1, workers);
+    }
+
+    private static final Logger logger = LogManager.getLogger(PayRunJobRunner.class);
+
+    // Starts local workers for a freshly planned run without waiting for the next poll
+    public void submit(Long jobId) {
+        logger.debug("Pay run job {} submitted on node {}", jobId, nodeId);
+        startWorkers();
+    }
+
+    // Every node polls the coordination table, so runs started elsewhere and leases left by dead nodes get picked up
+    @Scheduled(fixedDelayString = "${payroll.payrun.poll-interval-ms:5000}")
+    public void pollForWork() {
+        List<Long> runningJobIds = payRunJobRepository.findIdsByStatus(PayRunJobStatusEnum.RUNNING);
+        if (runningJobIds.isEmpty()) {
+            return;
+        }
+        // Finishes jobs whose last chunk completed on a node that died before it could close the job
+        runningJobIds.forEach(leaseService::refreshJobProgress);
+        startWorkers();
+    }
+
+    private void startWorkers() {
+        while (true) {
+            int running = activeWorkers.get();
+            if (running >= workers) {
+                return;
+            }
+            if (activeWorkers.compareAndSet(running, running + 1)) {
+                String workerId = nodeId + "-" + workerSequence.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        workLoop(workerId);
+                    } finally {
+                        activeWorkers.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    // Claims chunks until none are left in any running job
+    void workLoop(String workerId) {
+        try {
+            Optional<PayRunChunkModel> claimed;
+            while (!Thread.currentThread().isInterrupted()
+                    && (claimed = leaseService.claimNextChunk(workerId)).isPresent()) {
+                processChunk(claimed.get(), workerId);
+            }
+        } catch (RuntimeException e) {
+            // Whatever this worker held is reclaimed by another once its lease runs out
+            logger.error("Pay run worker {} stopped: {}", workerId, e.getMessage(), e);
+        }
+    }
+
+    void processChunk(PayRunChunkModel chunk, String workerId) {
+        PayRunJobModel job = chunk.getPayRunJob();
+        SalaryPayPeriodModel payPeriod = job.getSalaryPayPeriod();
+        ThreadContext.put(LoggingContext.PAY_RUN_ID, String.valueOf(job.getId()));
+        try {
+            List<Long> employeeIds = employeeService.getEmployeeIdsByStatusInRange(
+                    StatusEnum.ACTIVE, chunk.getFirstEmployeeId(), chunk.getLastEmployeeId());
+
+            // A reclaimed chunk is redone: employees that already have a payslip are skipped,
+            // and failures from the abandoned attempt are recorded again if they recur
+            Set<Long> alreadyGenerated = paySlipService.getEmployeeIdsWithPaySlip(
+                    payPeriod.getId(), chunk.getFirstEmployeeId(), chunk.getLastEmployeeId());
+            payRunJobFailureRepository.deleteByPayRunJobIdAndEmployeeIdRange(
+                    job.getId(), chunk.getFirstEmployeeId(), chunk.getLastEmployeeId());
+
+            // One query per input type for the whole chunk rather than a dozen per employee
+            PaySlipPeriodInputs chunkInputs = paySlipPeriodInputLoader.loadPeriodInputs(
+                    payPeriod.getId(), chunk.getFirstEmployeeId(), chunk.getLastEmployeeId());
+
+            LocalDateTime renewAt = LocalDateTime.now().plus(leaseService.getLeaseDuration().dividedBy(2));
+            int processed = 0;
+            int failed = 0;
+            for (Long employeeId : employeeIds) {
+                if (alreadyGenerated.contains(employeeId)
+                        || createPaySlip(job, employeeId, payPeriod, chunkInputs.inputsByEmployeeId().get(employeeId))) {
+                    processed++;
+                } else {
+                    failed++;
+                }
+
+                if (LocalDateTime.now().isAfter(renewAt)) {
+                    if (!leaseService.renewLease(chunk, workerId)) {
+                        logger.warn("Worker {} lost the lease on chunk {}, leaving it to the new owner", workerId, chunk.getChunkIndex());
+                        return;
+                    }
+                    renewAt = LocalDateTime.now().plus(leaseService.getLeaseDuration().dividedBy(2));
+                }
+            }
+
+            if (!leaseService.completeChunk(chunk, workerId, processed, failed)) {
+                logger.warn("Worker {} lost the lease on chunk {} before checkpointing it", workerId, chunk.getChunkIndex());
+                return;
+            }
+            logger.debug("Worker {} completed chunk {} with {} processed and {} failed",
+                    workerId, chunk.getChunkIndex(), processed, failed);
+
+            leaseService.refreshJobProgress(job.getId());
+        } finally {
+            ThreadContext.remove(LoggingContext.PAY_RUN_ID);
+        }
+    }
+
+    private boolean createPaySlip(PayRunJobModel job, Long employeeId, SalaryPayPeriodModel payPeriod, PaySlipInputs inputs) {
+        try {
+            PaySlipRequestDTO requestDTO = new PaySlipRequestDTO(
+                    PaySlipStatusEnum.GENERATED,
+                    0.0,
+                    payPeriod.getStartDate(),
+                    payPeriod.getEndDate(),
+                    employeeId,
+                    payPeriod.getId()
+            );
+            // Employees missing from the chunk's inputs, such as those without a salary, go through the per-employee lookups
+            if (inputs != null) {
+                paySlipService.createPaySlip(requestDTO, inputs);
+            } else {
+                paySlipService.createPaySlip(requestDTO);
+            }
+            return true;
+        } catch (DuplicatePaySlipException e) {
+            logger.debug("PaySlip for employee {} already exists, skipping", employeeId);
+            return true;
+        } catch (RuntimeException e) {
+            // One employee's bad data must not abort everyone else's payslip
+            logger.warn("Pay run failed for employee {}: {}", employeeId, e.getMessage());
+            recordFailure(job, employeeId, e);
+            return false;
+        }
+    }
+
+    private void recordFailure(PayRunJobModel job, Long employeeId, RuntimeException e) {
+        PayRunJobFailureModel failure = new PayRunJobFailureModel();
+        failure.setPayRunJob(job);
+        failure.setEmployeeId(employeeId);
+        failure.setErrorMessage(abbreviate(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+        payRunJobFailureRepository.save(failure);
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
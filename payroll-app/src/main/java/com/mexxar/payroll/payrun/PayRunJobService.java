@@ -0,0 +1,227 @@
+package com.mexxar.payroll.payrun;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.common.enums.StatusEnum;
+import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.payrun.exception.PayRunJobException;
+import com.mexxar.payroll.payrun.exception.PayRunJobNotFoundException;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class PayRunJobService {
+
+    private final PayRunJobRepository payRunJobRepository;
+    private final PayRunJobFailureRepository payRunJobFailureRepository;
+    private final PayRunChunkRepository payRunChunkRepository;
+    private final PayRunChunkLeaseService leaseService;
+    private final EmployeeService employeeService;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+    private final PayRunJobRunner payRunJobRunner;
+    private final PayRunProgressPublisher progressPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public PayRunJobService(PayRunJobRepository payRunJobRepository,
+                            PayRunJobFailureRepository payRunJobFailureRepository,
+                            PayRunChunkRepository payRunChunkRepository,
+                            PayRunChunkLeaseService leaseService,
+                            EmployeeService employeeService,
+                            SalaryPayPeriodService salaryPayPeriodService,
+                            PayRunJobRunner payRunJobRunner,
+                            PayRunProgressPublisher progressPublisher,
+                            PlatformTransactionManager transactionManager) {
+        this.payRunJobRepository = payRunJobRepository;
+        this.payRunJobFailureRepository = payRunJobFailureRepository;
+        this.payRunChunkRepository = payRunChunkRepository;
+        this.leaseService = leaseService;
+        this.employeeService = employeeService;
+        this.salaryPayPeriodService = salaryPayPeriodService;
+        this.payRunJobRunner = payRunJobRunner;
+        this.progressPublisher = progressPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private static final Logger logger = LogManager.getLogger(PayRunJobService.class);
+
+    private static final String PAY_RUN_JOB_NOT_FOUND = "Pay run job not found with ID: ";
+
+    private static final Set<PayRunJobStatusEnum> ACTIVE_STATUSES =
+            Set.of(PayRunJobStatusEnum.QUEUED, PayRunJobStatusEnum.RUNNING);
+
+    @SuppressWarnings("deprecation")
+    private static final Set<PayRunJobStatusEnum> RESUMABLE_STATUSES = Set.of(PayRunJobStatusEnum.QUEUED,
+            PayRunJobStatusEnum.RUNNING, PayRunJobStatusEnum.COMPLETED_WITH_ERRORS, PayRunJobStatusEnum.FAILED,
+            PayRunJobStatusEnum.INTERRUPTED);
+
+    public ApiResponseDTO<PayRunJobResponseDTO> startPayRun(PayRunJobRequestDTO requestDTO) {
+        logger.info("Starting pay run for pay period ID: {}", requestDTO.payPeriodId());
+
+        List<Long> employeeIds = employeeService.getEmployeeIdsByStatus(StatusEnum.ACTIVE);
+
+        PayRunJobModel savedJob = transactionTemplate.execute(status -> {
+            SalaryPayPeriodModel payPeriod = lockPayPeriodWithoutActiveRun(requestDTO.payPeriodId());
+
+            PayRunJobModel job = new PayRunJobModel();
+            job.setSalaryPayPeriod(payPeriod);
+            // Queued until its chunks are committed: pollers only look at running jobs, and would otherwise finish a
+            // job that has no chunks yet as completed
+            job.setStatus(PayRunJobStatusEnum.QUEUED);
+            job.setTotalEmployees(employeeIds.size());
+            job.setStartedAt(LocalDateTime.now());
+            return payRunJobRepository.save(job);
+        });
+
+        // The chunks are the coordination table: every node's workers claim them from here
+        List<PayRunChunkModel> chunks;
+        try {
+            chunks = leaseService.planChunks(savedJob, employeeIds);
+        } catch (RuntimeException e) {
+            savedJob.setStatus(PayRunJobStatusEnum.FAILED);
+            savedJob.setErrorMessage(e.getMessage());
+            savedJob.setFinishedAt(LocalDateTime.now());
+            payRunJobRepository.save(savedJob);
+            logger.error("Pay run job {} could not be planned: {}", savedJob.getId(), e.getMessage(), e);
+            throw new PayRunJobException("Pay run job " + savedJob.getId() + " could not be planned and can be resumed");
+        }
+        savedJob.setStatus(PayRunJobStatusEnum.RUNNING);
+        savedJob = payRunJobRepository.save(savedJob);
+        leaseService.refreshJobProgress(savedJob.getId());
+
+        payRunJobRunner.submit(savedJob.getId());
+        logger.info("Pay run job {} planned for pay period ID: {} with {} employees in {} chunks",
+                savedJob.getId(), requestDTO.payPeriodId(), employeeIds.size(), chunks.size());
+
+        return new ApiResponseDTO<>("Pay Run Started Successfully", convertToResponseDTO(savedJob));
+    }
+
+    // Picks the run up from its last chunk checkpoint. Chunks whose lease has expired are handed out again right away,
+    // while chunks still leased by a live worker stay with it. A run that completed with errors retries only the
+    // chunks that had failures; other completed chunks are not touched again.
+    public ApiResponseDTO<PayRunJobResponseDTO> resumePayRun(Long id) {
+        logger.info("Resuming pay run job with ID: {}", id);
+
+        PayRunJobModel stoppedJob = findPayRunJobById(id);
+        PayRunJobStatusEnum previousStatus = stoppedJob.getStatus();
+
+        if (!RESUMABLE_STATUSES.contains(previousStatus)) {
+            throw new PayRunJobException("Pay run job " + id + " cannot be resumed from status " + previousStatus);
+        }
+        PayRunJobModel job = stoppedJob;
+        if (!isActive(previousStatus)) {
+            // Queued again under the same lock as a new run, so it cannot become a second active run for the period
+            job = transactionTemplate.execute(status -> {
+                lockPayPeriodWithoutActiveRun(stoppedJob.getSalaryPayPeriod().getId());
+                stoppedJob.setStatus(PayRunJobStatusEnum.QUEUED);
+                return payRunJobRepository.save(stoppedJob);
+            });
+        }
+
+        // Reopened before the job is running again, so no node can close it on the old checkpoints in between
+        if (previousStatus == PayRunJobStatusEnum.COMPLETED_WITH_ERRORS) {
+            int reopened = leaseService.reopenFailedChunks(id);
+            logger.info("Reopened {} chunks with failures of pay run job {}", reopened, id);
+        }
+
+        if (!payRunChunkRepository.existsByPayRunJobId(id)) {
+            // Stopped before it was ever split up; planned while queued, as when it was first started
+            List<Long> employeeIds = employeeService.getEmployeeIdsByStatus(StatusEnum.ACTIVE);
+            job.setStatus(PayRunJobStatusEnum.QUEUED);
+            job.setTotalEmployees(employeeIds.size());
+            job = payRunJobRepository.save(job);
+            leaseService.planChunks(job, employeeIds);
+        }
+
+        job.setStatus(PayRunJobStatusEnum.RUNNING);
+        job.setErrorMessage(null);
+        job.setFinishedAt(null);
+        PayRunJobModel savedJob = payRunJobRepository.save(job);
+
+        leaseService.releaseExpiredLeases(savedJob.getId());
+        leaseService.refreshJobProgress(savedJob.getId());
+
+        payRunJobRunner.submit(savedJob.getId());
+
+        return new ApiResponseDTO<>("Pay Run Resumed Successfully", convertToResponseDTO(savedJob));
+    }
+
+    public ApiResponseDTO<PayRunJobResponseDTO> getPayRunJobById(Long id) {
+        logger.debug("Fetching pay run job with ID: {}", id);
+
+        return new ApiResponseDTO<>("Pay Run Job Fetched Successfully", convertToResponseDTO(findPayRunJobById(id)));
+    }
+
+    public ApiResponseDTO<List<PayRunJobFailureResponseDTO>> getPayRunJobFailures(Long id) {
+        logger.debug("Fetching failures for pay run job with ID: {}", id);
+
+        findPayRunJobById(id);
+        List<PayRunJobFailureResponseDTO> failures = payRunJobFailureRepository.findByPayRunJobIdOrderById(id)
+                .stream()
+                .map(failure -> new PayRunJobFailureResponseDTO(
+                        failure.getEmployeeId(),
+                        failure.getErrorMessage(),
+                        failure.getFailedAt()))
+                .toList();
+
+        return new ApiResponseDTO<>("Pay Run Job Failures Fetched Successfully", failures);
+    }
+
+    public SseEmitter subscribeToProgress(Long id) {
+        PayRunJobModel job = findPayRunJobById(id);
+        return progressPublisher.subscribe(convertToResponseDTO(job), !isActive(job.getStatus()));
+    }
+
+    // Concurrent starts and resumes for the same period queue on the period row, and each sees the job the other saved
+    private SalaryPayPeriodModel lockPayPeriodWithoutActiveRun(Long payPeriodId) {
+        SalaryPayPeriodModel payPeriod = salaryPayPeriodService.lockPayPeriodModelById(payPeriodId);
+        if (payRunJobRepository.existsBySalaryPayPeriodIdAndStatusIn(payPeriodId, ACTIVE_STATUSES)) {
+            throw new PayRunJobException("A pay run is already in progress for pay period ID: " + payPeriodId);
+        }
+        return payPeriod;
+    }
+
+    static boolean isActive(PayRunJobStatusEnum status) {
+        return ACTIVE_STATUSES.contains(status);
+    }
+
+    private PayRunJobModel findPayRunJobById(Long id) {
+        return payRunJobRepository.findById(id)
+                .orElseThrow(() -> new PayRunJobNotFoundException(PAY_RUN_JOB_NOT_FOUND + id));
+    }
+
+    static PayRunJobResponseDTO convertToResponseDTO(PayRunJobModel job) {
+        int completed = job.getProcessedCount() + job.getFailedCount();
+
+        double employeesPerSecond = 0;
+        if (job.getStartedAt() != null && completed > 0) {
+            LocalDateTime until = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long elapsedMs = Math.max(1, Duration.between(job.getStartedAt(), until).toMillis());
+            employeesPerSecond = completed * 1000.0 / elapsedMs;
+        }
+
+        return new PayRunJobResponseDTO(
+                job.getId(),
+                job.getSalaryPayPeriod().getId(),
+                job.getStatus(),
+                job.getTotalEmployees(),
+                job.getProcessedCount(),
+                job.getFailedCount(),
+                Math.max(0, job.getTotalEmployees() - completed),
+                employeesPerSecond,
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.mexxar.payroll.payrun;
+
+public enum PayRunJobStatusEnum {
+    // Saved but not yet split into chunks; pollers leave it alone until its chunks are committed
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    COMPLETED_WITH_ERRORS,
+    // The run could not be split into chunks; resuming plans it again
+    FAILED,
+    // Only written by the single-node runner before runs were partitioned, where expired leases now cover a crashed
+    // node. Kept because statuses are stored by ordinal, so such rows can still be read and resumed.
+    @Deprecated
+    INTERRUPTED
+}
@@ -0,0 +1,96 @@
+package com.mexxar.payroll.payrun;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class PayRunProgressPublisher {
+
+    private static final Logger logger = LogManager.getLogger(PayRunProgressPublisher.class);
+
+    private static final String PROGRESS_EVENT = "progress";
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final PayRunJobRepository payRunJobRepository;
+    private final long timeoutMs;
+
+    public PayRunProgressPublisher(PayRunJobRepository payRunJobRepository,
+                                   @Value("${payroll.payrun.sse-timeout-ms:1800000}") long timeoutMs) {
+        this.payRunJobRepository = payRunJobRepository;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe(PayRunJobResponseDTO snapshot, boolean finished) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+
+        // Late subscribers get the current state straight away instead of waiting for the next update
+        if (!send(emitter, snapshot)) {
+            return emitter;
+        }
+        if (finished) {
+            emitter.complete();
+            return emitter;
+        }
+
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(snapshot.id(), id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+        return emitter;
+    }
+
+    // Chunks complete on whichever node claimed them, so subscribers are fed from the job table rather than local events
+    @Scheduled(fixedDelayString = "${payroll.payrun.progress-poll-ms:2000}")
+    public void publishSubscribedProgress() {
+        for (Long jobId : subscribers.keySet()) {
+            payRunJobRepository.findById(jobId).ifPresent(job -> {
+                publish(PayRunJobService.convertToResponseDTO(job));
+                if (!PayRunJobService.isActive(job.getStatus())) {
+                    complete(jobId);
+                }
+            });
+        }
+    }
+
+    public void publish(PayRunJobResponseDTO progress) {
+        List<SseEmitter> emitters = subscribers.get(progress.id());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (!send(emitter, progress)) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    public void complete(Long jobId) {
+        List<SseEmitter> emitters = subscribers.remove(jobId);
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, PayRunJobResponseDTO progress) {
+        try {
+            emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(progress));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the run itself carries on
+            logger.debug("Dropping pay run progress subscriber for job {}: {}", progress.id(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.payrun.exception;
+
+public class PayRunJobException extends RuntimeException {
+    public PayRunJobException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.payrun.exception;
+
+public class PayRunJobNotFoundException extends RuntimeException {
+    public PayRunJobNotFoundException(String message) {
+        super(message);
+    }
+}
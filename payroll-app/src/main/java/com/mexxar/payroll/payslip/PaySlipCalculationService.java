@@ -0,0 +1,122 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.core.*;
+import com.mexxar.payroll.flightrecording.PayRunStageEnum;
+import com.mexxar.payroll.flightrecording.PayRunStageEvent;
+import com.mexxar.payroll.holiday.WorkingDayCalendarService;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsTypeEnum;
+import com.mexxar.payroll.salary.SalaryResponseDTO;
+import com.mexxar.payroll.salaryallowance.SalaryAllowanceModel;
+import com.mexxar.payroll.salarycommission.SalaryCommissionResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PaySlipCalculationService {
+
+    private final PaySlipInputLoader paySlipInputLoader;
+    private final WorkingDayCalendarService workingDayCalendarService;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaySlipCalculationService.class);
+
+    public PaySlipDraft calculatePaySlip(PaySlipRequestDTO requestDTO) {
+        return calculatePaySlip(requestDTO, paySlipInputLoader.loadInputs(requestDTO));
+    }
+
+    // Pure calculation over already loaded inputs; the rules themselves live in payroll-core
+    public PaySlipDraft calculatePaySlip(PaySlipRequestDTO requestDTO, PaySlipInputs inputs) {
+        SalaryResponseDTO salary = inputs.salary();
+
+        PayRunStageEvent calculation = PayRunStageEvent.begin(PayRunStageEnum.CALCULATION, requestDTO.employeeId(), requestDTO.payPeriodId());
+
+        PayrollCalculator payrollCalculator = new PayrollCalculator(workingDayCalendarService.getCalendar());
+        PaySlipResult result = payrollCalculator.calculate(toEmployeePeriodInput(requestDTO, inputs));
+
+        calculation.end(0);
+
+        List<PaySlipDetailDraft> details = result.lines().stream()
+                .map(line -> new PaySlipDetailDraft(line.loanId(), line.advanceId(), line.allowanceId(), line.commissionId(),
+                        PaySlipDetailsTypeEnum.valueOf(line.type().name()), line.description(), line.amount()))
+                .toList();
+
+        logger.debug("Calculated PaySlip draft for employee ID: {} with {} detail rows", requestDTO.employeeId(), details.size());
+
+        return new PaySlipDraft(
+                salary.id(),
+                salary.employee(),
+                inputs.salaryPayPeriod(),
+                requestDTO.status(),
+                requestDTO.startDate(),
+                requestDTO.endDate(),
+                result.basicSalary(),
+                result.taxLiableAllowances(),
+                result.taxExcludedAllowances(),
+                result.taxLiableCommissions(),
+                result.taxExcludedCommissions(),
+                result.grossSalary(),
+                result.taxDeduction(),
+                result.salaryAdvanceDeduction(),
+                result.loanDeduction(),
+                result.attendanceDeduction(),
+                result.leaveDeduction(),
+                result.epfDeduction(),
+                result.companyEpfContribution(),
+                result.companyEtfContribution(),
+                result.netSalary(),
+                details
+        );
+    }
+
+    static EmployeePeriodInput toEmployeePeriodInput(PaySlipRequestDTO requestDTO, PaySlipInputs inputs) {
+        // Fixed allowances come before monthly ones, as they always have on the payslip
+        List<AllowanceInput> taxLiableAllowances = new ArrayList<>();
+        inputs.taxLiableFixedAllowances().forEach(allowance -> taxLiableAllowances.add(toAllowanceInput(allowance)));
+        inputs.taxLiableMonthlyAllowances().forEach(allowance -> taxLiableAllowances.add(toAllowanceInput(allowance)));
+
+        List<AllowanceInput> taxExcludedAllowances = new ArrayList<>();
+        inputs.taxExcludedFixedAllowances().forEach(allowance -> taxExcludedAllowances.add(toAllowanceInput(allowance)));
+        inputs.taxExcludedMonthlyAllowances().forEach(allowance -> taxExcludedAllowances.add(toAllowanceInput(allowance)));
+
+        return new EmployeePeriodInput(
+                requestDTO.startDate(),
+                requestDTO.endDate(),
+                inputs.salary().employee().getHireDate(),
+                inputs.salary().basicSalary(),
+                requestDTO.attendanceDeduction(),
+                inputs.noPayLeaveDays(),
+                taxLiableAllowances,
+                taxExcludedAllowances,
+                inputs.taxLiableCommissions().stream().map(PaySlipCalculationService::toCommissionInput).toList(),
+                inputs.taxExcludedCommissions().stream().map(PaySlipCalculationService::toCommissionInput).toList(),
+                inputs.salaryAdvances().stream()
+                        .map(advance -> new AdvanceInput(advance.id(), advance.advanceAmount()))
+                        .toList(),
+                inputs.loans().stream()
+                        .map(loan -> new LoanInput(loan.id(), loan.loanAmount(), loan.monthlyInstallments(), loan.interestRate()))
+                        .toList(),
+                inputs.taxBrackets().stream()
+                        .map(bracket -> new TaxBracket(bracket.taxRate(), bracket.minSalary(), bracket.maxSalary()))
+                        .toList(),
+                inputs.retroPayAdjustments().stream()
+                        .map(adjustment -> new AdjustmentInput(adjustment.description(), adjustment.amount()))
+                        .toList(),
+                inputs.salaryHistory().stream()
+                        .map(segment -> new SalarySegment(segment.effectiveFrom(), segment.basicSalary()))
+                        .toList()
+        );
+    }
+
+    private static AllowanceInput toAllowanceInput(SalaryAllowanceModel allowance) {
+        return new AllowanceInput(allowance.getId(), allowance.getAllowanceType().getName(), allowance.getAmount());
+    }
+
+    private static CommissionInput toCommissionInput(SalaryCommissionResponseDTO commission) {
+        return new CommissionInput(commission.id(), commission.commissionTypeName(), commission.amount());
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,9 +20,15 @@ import java.util.List;
 public class PaySlipController {
 
     private final PaySlipService paySlipService;
+    private final PaySlipPreviewService paySlipPreviewService;
+    private final PaySlipRecomputeService paySlipRecomputeService;
 
-    public PaySlipController(PaySlipService paySlipService) {
+    public PaySlipController(PaySlipService paySlipService,
+                             PaySlipPreviewService paySlipPreviewService,
+                             PaySlipRecomputeService paySlipRecomputeService) {
         this.paySlipService = paySlipService;
+        this.paySlipPreviewService = paySlipPreviewService;
+        this.paySlipRecomputeService = paySlipRecomputeService;
     }
 
     private static final Logger logger = LoggerFactory.getLogger(PaySlipController.class);
@@ -38,6 +45,29 @@ public class PaySlipController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPaySlip);
     }
 
+    @Operation(summary = "Preview payslips for a pay period", description = "This endpoint calculates every active employee's payslip for a pay period without saving anything, streamed as one JSON object per line.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully calculated the payslip preview"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found")
+    })
+    @GetMapping(value = "/preview", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> previewPaySlips(@RequestParam Long payPeriodId) {
+        logger.info("Received request to preview PaySlips for pay period: {}", payPeriodId);
+        return ResponseEntity.ok(paySlipPreviewService.previewPayPeriod(payPeriodId));
+    }
+
+    @Operation(summary = "Recompute changed payslips", description = "This endpoint regenerates only the payslips of a pay period whose allowances, commissions, advances or leave changed after they were generated.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully recomputed the changed payslips"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found")
+    })
+    @PostMapping("/recompute")
+    public ResponseEntity<ApiResponseDTO<PaySlipRecomputeResponseDTO>> recomputeChangedPaySlips(@RequestParam Long payPeriodId) {
+        logger.info("Received request to recompute changed PaySlips for pay period: {}", payPeriodId);
+        ApiResponseDTO<PaySlipRecomputeResponseDTO> response = paySlipRecomputeService.recomputeChangedPaySlips(payPeriodId);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Get payslip by ID", description = "This endpoint returns a payslip by its given ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the payslip"),
@@ -0,0 +1,20 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsTypeEnum;
+
+public record PaySlipDetailDraft(
+        Long loanId,
+
+        Long advanceId,
+
+        Long salaryAllowanceId,
+
+        Long salaryCommissionId,
+
+        PaySlipDetailsTypeEnum type,
+
+        String description,
+
+        Double amount
+)
+{}
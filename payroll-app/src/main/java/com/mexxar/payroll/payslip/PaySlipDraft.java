@@ -0,0 +1,57 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.employee.EmployeeModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record PaySlipDraft(
+        Long salaryId,
+
+        EmployeeModel employee,
+
+        SalaryPayPeriodModel salaryPayPeriod,
+
+        PaySlipStatusEnum status,
+
+        LocalDate startDate,
+
+        LocalDate endDate,
+
+        double basicSalary,
+
+        double taxLiableAllowances,
+
+        double taxExcludedAllowances,
+
+        double taxLiableCommissions,
+
+        double taxExcludedCommissions,
+
+        double grossSalary,
+
+        double taxDeduction,
+
+        double salaryAdvanceDeduction,
+
+        double loanDeduction,
+
+        double attendanceDeduction,
+
+        double leaveDeduction,
+
+        double epfDeduction,
+
+        double companyEpfContribution,
+
+        double companyEtfContribution,
+
+        double netSalary,
+
+        List<PaySlipDetailDraft> details
+) {
+    public PaySlipDraft {
+        details = List.copyOf(details);
+    }
+}
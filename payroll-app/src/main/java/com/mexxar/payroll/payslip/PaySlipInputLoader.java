@@ -0,0 +1,197 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.employeeleave.EmployeeLeaveService;
+import com.mexxar.payroll.flightrecording.PayRunStageEnum;
+import com.mexxar.payroll.flightrecording.PayRunStageEvent;
+import com.mexxar.payroll.loan.LoanResponseDTO;
+import com.mexxar.payroll.loan.LoanService;
+import com.mexxar.payroll.payslip.exception.PaySlipException;
+import com.mexxar.payroll.retropay.RetroPayAdjustmentResponseDTO;
+import com.mexxar.payroll.retropay.RetroPayService;
+import com.mexxar.payroll.salary.SalaryHistoryResponseDTO;
+import com.mexxar.payroll.salary.SalaryResponseDTO;
+import com.mexxar.payroll.salary.SalaryService;
+import com.mexxar.payroll.salaryadvance.SalaryAdvanceResponseDTO;
+import com.mexxar.payroll.salaryadvance.SalaryAdvanceService;
+import com.mexxar.payroll.salaryallowance.SalaryAllowanceModel;
+import com.mexxar.payroll.salaryallowance.SalaryAllowanceService;
+import com.mexxar.payroll.salarycommission.SalaryCommissionResponseDTO;
+import com.mexxar.payroll.salarycommission.SalaryCommissionService;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import com.mexxar.payroll.tax.TaxResponseDTO;
+import com.mexxar.payroll.tax.TaxService;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+@Service
+public class PaySlipInputLoader {
+
+    private final SalaryService salaryService;
+    private final SalaryAllowanceService salaryAllowanceService;
+    private final SalaryCommissionService salaryCommissionService;
+    private final SalaryAdvanceService salaryAdvanceService;
+    private final LoanService loanService;
+    private final TaxService taxService;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+    private final EmployeeLeaveService employeeLeaveService;
+    private final RetroPayService retroPayService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore connectionPermits;
+    private final long timeoutMs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PaySlipInputLoader(SalaryService salaryService,
+                              SalaryAllowanceService salaryAllowanceService,
+                              SalaryCommissionService salaryCommissionService,
+                              SalaryAdvanceService salaryAdvanceService,
+                              LoanService loanService,
+                              TaxService taxService,
+                              SalaryPayPeriodService salaryPayPeriodService,
+                              EmployeeLeaveService employeeLeaveService,
+                              RetroPayService retroPayService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${payroll.payslip.lookup.max-connections:6}") int maxConnections,
+                              @Value("${payroll.payslip.lookup.timeout-ms:10000}") long timeoutMs) {
+        this.salaryService = salaryService;
+        this.salaryAllowanceService = salaryAllowanceService;
+        this.salaryCommissionService = salaryCommissionService;
+        this.salaryAdvanceService = salaryAdvanceService;
+        this.loanService = loanService;
+        this.taxService = taxService;
+        this.salaryPayPeriodService = salaryPayPeriodService;
+        this.employeeLeaveService = employeeLeaveService;
+        this.retroPayService = retroPayService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.connectionPermits = new Semaphore(maxConnections);
+        this.timeoutMs = timeoutMs;
+    }
+
+    private static final Logger logger = LogManager.getLogger(PaySlipInputLoader.class);
+
+    public PaySlipInputs loadInputs(PaySlipRequestDTO requestDTO) {
+        PayRunStageEvent inputLoading = PayRunStageEvent.begin(PayRunStageEnum.INPUT_LOADING, requestDTO.employeeId(), requestDTO.payPeriodId());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<Future<?>> started = new ArrayList<>();
+        try {
+            Long employeeId = requestDTO.employeeId();
+            Long payPeriodId = requestDTO.payPeriodId();
+
+            // Lookups keyed by employee or pay period start straight away
+            Future<SalaryResponseDTO> salary = submit(started, deadline,
+                    () -> salaryService.getSalaryByEmployeeId(employeeId));
+            Future<SalaryPayPeriodModel> payPeriod = submit(started, deadline,
+                    () -> salaryPayPeriodService.getPayPeriodModelById(payPeriodId));
+            Future<Double> noPayLeaveDays = submit(started, deadline,
+                    () -> employeeLeaveService.getTotalNoPayLeaveDays(employeeId, requestDTO.startDate(), requestDTO.endDate()));
+            Future<List<SalaryAdvanceResponseDTO>> advances = submit(started, deadline,
+                    () -> salaryAdvanceService.getPendingSalaryAdvancesByMonthAndEmployeeId(employeeId, payPeriodId));
+            Future<List<LoanResponseDTO>> loans = submit(started, deadline,
+                    () -> loanService.getOngoingLoansByEmployeeId(employeeId));
+            Future<List<TaxResponseDTO>> taxBrackets = submit(started, deadline,
+                    taxService::getAllTaxBrackets);
+            Future<List<RetroPayAdjustmentResponseDTO>> retroPayAdjustments = submit(started, deadline,
+                    () -> retroPayService.getAdjustments(employeeId, payPeriodId));
+            Future<List<SalaryHistoryResponseDTO>> salaryHistory = submit(started, deadline,
+                    () -> salaryService.getSalaryHistory(employeeId, requestDTO.startDate(), requestDTO.endDate()));
+
+            // Allowances and commissions are keyed by salary, so they start once the salary is known
+            long salaryId = await(salary, deadline).id();
+            Future<List<SalaryAllowanceModel>> taxLiableFixed = submit(started, deadline,
+                    () -> salaryAllowanceService.getAllowancesByCriteria(salaryId, 0, true, true));
+            Future<List<SalaryAllowanceModel>> taxLiableMonthly = submit(started, deadline,
+                    () -> salaryAllowanceService.getAllowancesByCriteria(salaryId, payPeriodId, false, true));
+            Future<List<SalaryAllowanceModel>> taxExcludedFixed = submit(started, deadline,
+                    () -> salaryAllowanceService.getAllowancesByCriteria(salaryId, 0, true, false));
+            Future<List<SalaryAllowanceModel>> taxExcludedMonthly = submit(started, deadline,
+                    () -> salaryAllowanceService.getAllowancesByCriteria(salaryId, payPeriodId, false, false));
+            Future<List<SalaryCommissionResponseDTO>> taxLiableCommissions = submit(started, deadline,
+                    () -> salaryCommissionService.getAllSalaryCommissionByCriteria(salaryId, payPeriodId, true));
+            Future<List<SalaryCommissionResponseDTO>> taxExcludedCommissions = submit(started, deadline,
+                    () -> salaryCommissionService.getAllSalaryCommissionByCriteria(salaryId, payPeriodId, false));
+
+            PaySlipInputs inputs = new PaySlipInputs(
+                    await(salary, deadline),
+                    await(payPeriod, deadline),
+                    await(noPayLeaveDays, deadline),
+                    await(taxLiableFixed, deadline),
+                    await(taxLiableMonthly, deadline),
+                    await(taxExcludedFixed, deadline),
+                    await(taxExcludedMonthly, deadline),
+                    await(taxLiableCommissions, deadline),
+                    await(taxExcludedCommissions, deadline),
+                    await(advances, deadline),
+                    await(loans, deadline),
+                    await(taxBrackets, deadline),
+                    await(retroPayAdjustments, deadline),
+                    await(salaryHistory, deadline)
+            );
+
+            inputLoading.end(0);
+            return inputs;
+        } finally {
+            // On failure or timeout nothing is left running against the connection pool
+            started.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> Future<T> submit(List<Future<?>> started, long deadline, Supplier<T> lookup) {
+        Map<String, String> loggingContext = ThreadContext.getImmutableContext();
+        Future<T> future = executor.submit(() -> {
+            ThreadContext.putAll(loggingContext);
+            // Bound how many pool connections the lookups hold at once, so concurrent payslips cannot drain the pool
+            if (!connectionPermits.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                throw new PaySlipException("Timed out waiting for a connection to load payslip inputs");
+            }
+            try {
+                return readOnlyTransaction.execute(status -> lookup.get());
+            } finally {
+                connectionPermits.release();
+                ThreadContext.clearMap();
+            }
+        });
+        started.add(future);
+        return future;
+    }
+
+    private static <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            logger.error("Loading payslip inputs exceeded the deadline");
+            throw new PaySlipException("Timed out loading payslip inputs");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaySlipException("Interrupted while loading payslip inputs");
+        } catch (ExecutionException e) {
+            // Surface the lookup's own exception so not-found errors keep their HTTP status
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new PaySlipException("Failed to load payslip inputs: " + e.getCause().getMessage());
+        }
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
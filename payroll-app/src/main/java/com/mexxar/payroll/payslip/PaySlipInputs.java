@@ -0,0 +1,47 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.loan.LoanResponseDTO;
+import com.mexxar.payroll.retropay.RetroPayAdjustmentResponseDTO;
+import com.mexxar.payroll.salary.SalaryHistoryResponseDTO;
+import com.mexxar.payroll.salary.SalaryResponseDTO;
+import com.mexxar.payroll.salaryadvance.SalaryAdvanceResponseDTO;
+import com.mexxar.payroll.salaryallowance.SalaryAllowanceModel;
+import com.mexxar.payroll.salarycommission.SalaryCommissionResponseDTO;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.tax.TaxResponseDTO;
+
+import java.util.List;
+
+public record PaySlipInputs(
+        SalaryResponseDTO salary,
+
+        SalaryPayPeriodModel salaryPayPeriod,
+
+        Double noPayLeaveDays,
+
+        List<SalaryAllowanceModel> taxLiableFixedAllowances,
+
+        List<SalaryAllowanceModel> taxLiableMonthlyAllowances,
+
+        List<SalaryAllowanceModel> taxExcludedFixedAllowances,
+
+        List<SalaryAllowanceModel> taxExcludedMonthlyAllowances,
+
+        List<SalaryCommissionResponseDTO> taxLiableCommissions,
+
+        List<SalaryCommissionResponseDTO> taxExcludedCommissions,
+
+        List<SalaryAdvanceResponseDTO> salaryAdvances,
+
+        List<LoanResponseDTO> loans,
+
+        // Every bracket, in repository order; the calculation applies the ones below the gross salary
+        List<TaxResponseDTO> taxBrackets,
+
+        // Net differences a retro pay run carried into this pay period from finalised payslips
+        List<RetroPayAdjustmentResponseDTO> retroPayAdjustments,
+
+        // Basic salary segments overlapping the period, oldest first; empty when the salary has no history yet
+        List<SalaryHistoryResponseDTO> salaryHistory
+)
+{}
@@ -0,0 +1,58 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsModel;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsResponseDTO;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class PaySlipMapper {
+
+    // Pure mapping with everything already loaded, so it can be measured on its own
+    public PaySlipResponseDTO toResponseDTO(PaySlipModel paySlip,
+                                            List<PaySlipDetailsModel> paySlipDetails,
+                                            SalaryPayPeriodResponseDTO salaryPayPeriod) {
+        List<PaySlipDetailsResponseDTO> details = paySlipDetails
+                .stream()
+                .map(detail -> new PaySlipDetailsResponseDTO(
+                        detail.getId(),
+                        detail.getPaySlip().getId(),
+                        detail.getLoanId(),
+                        detail.getAdvanceId(),
+                        detail.getSalaryAllowanceId(),
+                        detail.getSalaryCommissionId(),
+                        detail.getType(),
+                        detail.getDescription(),
+                        detail.getAmount()
+                ))
+                .toList();
+
+        return new PaySlipResponseDTO(
+                paySlip.getId(),
+                paySlip.getSalaryId(),
+                paySlip.getBasicSalary(),
+                paySlip.getAllowances(),
+                paySlip.getCommission(),
+                paySlip.getStatus(),
+                paySlip.getGrossSalary(),
+                paySlip.getSalaryAdvanceDeduction(),
+                paySlip.getLoanDeduction(),
+                paySlip.getAttendanceDeduction(),
+                paySlip.getTaxDeduction(),
+                paySlip.getEpfDeduction(),
+                paySlip.getLeaveDeduction(),
+                paySlip.getNetSalary(),
+                paySlip.getStartDate(),
+                paySlip.getEndDate(),
+                paySlip.getEmployee().getId(),
+                paySlip.getTaxExcludedAllowances(),
+                paySlip.getTaxLiableAllowances(),
+                paySlip.getTaxExcludedCommissions(),
+                paySlip.getTaxLiableCommissions(),
+                details,
+                salaryPayPeriod
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.mexxar.payroll.payslip;
 
+import com.mexxar.payroll.common.converter.MoneyConverter;
 import com.mexxar.payroll.employee.EmployeeModel;
 import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
 import jakarta.persistence.*;
@@ -8,7 +9,10 @@ import lombok.Data;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "PaySlip")
+@Table(name = "PaySlip", uniqueConstraints = {
+        // One payslip per employee and pay period, so a rerun cannot pay or deduct twice
+        @UniqueConstraint(name = "uk_payslip_employee_pay_period", columnNames = {"employee_id", "salary_pay_period_id"})
+})
 @Data
 public class PaySlipModel {
     @Id
@@ -16,23 +20,38 @@ public class PaySlipModel {
     private Long id;
 
     private Long salaryId;
+    @Convert(converter = MoneyConverter.class)
     private Double basicSalary;
+    @Convert(converter = MoneyConverter.class)
     private Double allowances;
+    @Convert(converter = MoneyConverter.class)
     private Double commission;
     private PaySlipStatusEnum status;
+    @Convert(converter = MoneyConverter.class)
     private Double grossSalary;
+    @Convert(converter = MoneyConverter.class)
     private Double salaryAdvanceDeduction;
+    @Convert(converter = MoneyConverter.class)
     private Double loanDeduction;
+    @Convert(converter = MoneyConverter.class)
     private Double attendanceDeduction;
+    @Convert(converter = MoneyConverter.class)
     private Double taxDeduction;
+    @Convert(converter = MoneyConverter.class)
     private Double epfDeduction;
+    @Convert(converter = MoneyConverter.class)
     private Double leaveDeduction;
+    @Convert(converter = MoneyConverter.class)
     private Double netSalary;
     private LocalDate startDate;
     private LocalDate endDate;
+    @Convert(converter = MoneyConverter.class)
     private Double taxExcludedAllowances;
+    @Convert(converter = MoneyConverter.class)
     private Double taxLiableAllowances;
+    @Convert(converter = MoneyConverter.class)
     private Double taxExcludedCommissions;
+    @Convert(converter = MoneyConverter.class)
     private Double taxLiableCommissions;
 
     @ManyToOne
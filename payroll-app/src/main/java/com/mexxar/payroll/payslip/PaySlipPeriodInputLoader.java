@@ -0,0 +1,112 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.employeeleave.EmployeeLeaveService;
+import com.mexxar.payroll.loan.LoanResponseDTO;
+import com.mexxar.payroll.loan.LoanService;
+import com.mexxar.payroll.retropay.RetroPayAdjustmentResponseDTO;
+import com.mexxar.payroll.retropay.RetroPayService;
+import com.mexxar.payroll.salary.SalaryHistoryResponseDTO;
+import com.mexxar.payroll.salary.SalaryResponseDTO;
+import com.mexxar.payroll.salary.SalaryService;
+import com.mexxar.payroll.salaryadvance.SalaryAdvanceResponseDTO;
+import com.mexxar.payroll.salaryadvance.SalaryAdvanceService;
+import com.mexxar.payroll.salaryallowance.SalaryAllowanceModel;
+import com.mexxar.payroll.salaryallowance.SalaryAllowanceService;
+import com.mexxar.payroll.salarycommission.SalaryCommissionResponseDTO;
+import com.mexxar.payroll.salarycommission.SalaryCommissionService;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import com.mexxar.payroll.tax.TaxResponseDTO;
+import com.mexxar.payroll.tax.TaxService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Loads the inputs for every active employee in a pay period, or in a range of employee IDs as a pay run chunk
+// covers, with one query per input type instead of the dozen per-employee lookups PaySlipInputLoader makes
+@Service
+@RequiredArgsConstructor
+public class PaySlipPeriodInputLoader {
+
+    private final EmployeeService employeeService;
+    private final SalaryService salaryService;
+    private final SalaryAllowanceService salaryAllowanceService;
+    private final SalaryCommissionService salaryCommissionService;
+    private final SalaryAdvanceService salaryAdvanceService;
+    private final LoanService loanService;
+    private final TaxService taxService;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+    private final EmployeeLeaveService employeeLeaveService;
+    private final RetroPayService retroPayService;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaySlipPeriodInputLoader.class);
+
+    @Transactional(readOnly = true)
+    public PaySlipPeriodInputs loadPeriodInputs(Long payPeriodId) {
+        return loadPeriodInputs(payPeriodId, 1L, Long.MAX_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public PaySlipPeriodInputs loadPeriodInputs(Long payPeriodId, Long firstEmployeeId, Long lastEmployeeId) {
+        logger.debug("Loading payslip inputs for active employees {} to {} in pay period: {}", firstEmployeeId, lastEmployeeId, payPeriodId);
+
+        SalaryPayPeriodModel payPeriod = salaryPayPeriodService.getPayPeriodModelById(payPeriodId);
+        Map<Long, SalaryResponseDTO> salaries = salaryService.getSalariesByEmployeeStatus(StatusEnum.ACTIVE, firstEmployeeId, lastEmployeeId);
+        Map<Long, List<SalaryHistoryResponseDTO>> salaryHistories = salaryService.getSalaryHistoriesByEmployeeStatus(
+                StatusEnum.ACTIVE, firstEmployeeId, lastEmployeeId, payPeriod.getStartDate(), payPeriod.getEndDate());
+
+        Map<Long, List<SalaryAllowanceModel>> taxLiableFixed =
+                salaryAllowanceService.getAllowancesByCriteriaGroupedBySalary(0, true, true, firstEmployeeId, lastEmployeeId);
+        Map<Long, List<SalaryAllowanceModel>> taxLiableMonthly =
+                salaryAllowanceService.getAllowancesByCriteriaGroupedBySalary(payPeriodId, false, true, firstEmployeeId, lastEmployeeId);
+        Map<Long, List<SalaryAllowanceModel>> taxExcludedFixed =
+                salaryAllowanceService.getAllowancesByCriteriaGroupedBySalary(0, true, false, firstEmployeeId, lastEmployeeId);
+        Map<Long, List<SalaryAllowanceModel>> taxExcludedMonthly =
+                salaryAllowanceService.getAllowancesByCriteriaGroupedBySalary(payPeriodId, false, false, firstEmployeeId, lastEmployeeId);
+        Map<Long, List<SalaryCommissionResponseDTO>> taxLiableCommissions =
+                salaryCommissionService.getAllSalaryCommissionByCriteriaGroupedBySalary(payPeriodId, true, firstEmployeeId, lastEmployeeId);
+        Map<Long, List<SalaryCommissionResponseDTO>> taxExcludedCommissions =
+                salaryCommissionService.getAllSalaryCommissionByCriteriaGroupedBySalary(payPeriodId, false, firstEmployeeId, lastEmployeeId);
+        Map<Long, List<SalaryAdvanceResponseDTO>> advances =
+                salaryAdvanceService.getPendingSalaryAdvancesByMonthGroupedByEmployee(payPeriodId, firstEmployeeId, lastEmployeeId);
+        Map<Long, List<LoanResponseDTO>> loans = loanService.getOngoingLoansGroupedByEmployee(firstEmployeeId, lastEmployeeId);
+        Map<Long, Double> noPayLeaveDays =
+                employeeLeaveService.getTotalNoPayLeaveDaysByEmployee(
+                        payPeriod.getStartDate(), payPeriod.getEndDate(), firstEmployeeId, lastEmployeeId);
+        List<TaxResponseDTO> taxBrackets = taxService.getAllTaxBrackets();
+        Map<Long, List<RetroPayAdjustmentResponseDTO>> retroPayAdjustments =
+                retroPayService.getAdjustmentsGroupedByEmployee(payPeriodId, firstEmployeeId, lastEmployeeId);
+
+        Map<Long, PaySlipInputs> inputsByEmployeeId = new HashMap<>();
+        salaries.forEach((employeeId, salary) -> inputsByEmployeeId.put(employeeId, new PaySlipInputs(
+                salary,
+                payPeriod,
+                noPayLeaveDays.getOrDefault(employeeId, 0.0),
+                taxLiableFixed.getOrDefault(salary.id(), List.of()),
+                taxLiableMonthly.getOrDefault(salary.id(), List.of()),
+                taxExcludedFixed.getOrDefault(salary.id(), List.of()),
+                taxExcludedMonthly.getOrDefault(salary.id(), List.of()),
+                taxLiableCommissions.getOrDefault(salary.id(), List.of()),
+                taxExcludedCommissions.getOrDefault(salary.id(), List.of()),
+                advances.getOrDefault(employeeId, List.of()),
+                loans.getOrDefault(employeeId, List.of()),
+                taxBrackets,
+                retroPayAdjustments.getOrDefault(employeeId, List.of()),
+                salaryHistories.getOrDefault(employeeId, List.of())
+        )));
+
+        List<Long> employeeIdsWithoutSalary = employeeService.getEmployeeIdsByStatusInRange(StatusEnum.ACTIVE, firstEmployeeId, lastEmployeeId).stream()
+                .filter(employeeId -> !salaries.containsKey(employeeId))
+                .toList();
+
+        return new PaySlipPeriodInputs(payPeriod, inputsByEmployeeId, employeeIdsWithoutSalary);
+    }
+}
@@ -0,0 +1,19 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+
+import java.util.List;
+import java.util.Map;
+
+public record PaySlipPeriodInputs(
+        SalaryPayPeriodModel salaryPayPeriod,
+
+        Map<Long, PaySlipInputs> inputsByEmployeeId,
+
+        List<Long> employeeIdsWithoutSalary
+) {
+    public PaySlipPeriodInputs {
+        inputsByEmployeeId = Map.copyOf(inputsByEmployeeId);
+        employeeIdsWithoutSalary = List.copyOf(employeeIdsWithoutSalary);
+    }
+}
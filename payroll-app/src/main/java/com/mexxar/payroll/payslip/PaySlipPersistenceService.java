@@ -0,0 +1,210 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.epfetfcontribution.EpfEtfContributionModel;
+import com.mexxar.payroll.epfetfcontribution.EpfEtfContributionService;
+import com.mexxar.payroll.flightrecording.PayRunStageEnum;
+import com.mexxar.payroll.flightrecording.PayRunStageEvent;
+import com.mexxar.payroll.loan.LoanService;
+import com.mexxar.payroll.payrollcost.PayrollCostService;
+import com.mexxar.payroll.payslip.exception.PaySlipException;
+import com.mexxar.payroll.payslip.exception.PaySlipNotFoundException;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsBatchWriter;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsModel;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsRepository;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PendingPaySlipChange;
+import com.mexxar.payroll.yeartodate.YearToDateService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PaySlipPersistenceService {
+
+    private final PaySlipRepository paySlipRepository;
+    private final PaySlipDetailsRepository paySlipDetailsRepository;
+    private final PaySlipDetailsBatchWriter paySlipDetailsBatchWriter;
+    private final EpfEtfContributionService epfEtfContributionService;
+    private final LoanService loanService;
+    private final PaySlipInputChangeService paySlipInputChangeService;
+    private final YearToDateService yearToDateService;
+    private final PayrollCostService payrollCostService;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaySlipPersistenceService.class);
+
+    // Write phase: everything here is already calculated, so the transaction only issues writes
+    @Transactional
+    public PaySlipModel persistPaySlip(PaySlipDraft draft) {
+        Long employeeId = draft.employee().getId();
+        Long payPeriodId = draft.salaryPayPeriod().getId();
+
+        PayRunStageEvent paySlipPersistence = PayRunStageEvent.begin(PayRunStageEnum.PAYSLIP_PERSISTENCE, employeeId, payPeriodId);
+
+        PaySlipModel savedPaySlip = paySlipRepository.save(applyDraft(new PaySlipModel(), draft));
+        logger.info("PaySlip created with ID: {}", savedPaySlip.getId());
+
+        persistPaySlipEffects(savedPaySlip, draft, paySlipPersistence);
+
+        logger.info("Completed creation of PaySlip with ID: {}", savedPaySlip.getId());
+
+        return savedPaySlip;
+    }
+
+    // Reverses the detail rows, EPF-ETF contribution and loan deductions of an existing payslip and
+    // applies the recalculated ones in their place, keeping the payslip ID
+    @Transactional
+    public PaySlipModel replacePaySlip(Long paySlipId, PaySlipDraft draft, PendingPaySlipChange change) {
+        PaySlipModel existingPaySlip = paySlipRepository.findById(paySlipId)
+                .orElseThrow(() -> new PaySlipNotFoundException("PaySlip not found with ID: " + paySlipId));
+        if (!PaySlipRecomputeService.isRecomputable(existingPaySlip.getStatus())) {
+            throw new PaySlipException("PaySlip with ID: " + paySlipId + " is " + existingPaySlip.getStatus() + " and can no longer be recomputed");
+        }
+
+        PayRunStageEvent paySlipPersistence = PayRunStageEvent.begin(PayRunStageEnum.PAYSLIP_PERSISTENCE,
+                draft.employee().getId(), draft.salaryPayPeriod().getId());
+
+        reversePaySlipEffects(existingPaySlip);
+
+        PaySlipModel savedPaySlip = paySlipRepository.save(applyDraft(existingPaySlip, draft));
+        persistPaySlipEffects(savedPaySlip, draft, paySlipPersistence);
+
+        paySlipInputChangeService.clearChanges(change);
+
+        logger.info("Completed recomputation of PaySlip with ID: {}", savedPaySlip.getId());
+
+        return savedPaySlip;
+    }
+
+    // Deletes a payslip together with its detail rows and EPF-ETF contribution, handing its loan deductions back
+    // and taking it out of the year-to-date totals
+    @Transactional
+    public void deletePaySlip(Long paySlipId) {
+        PaySlipModel existingPaySlip = paySlipRepository.findById(paySlipId)
+                .orElseThrow(() -> new PaySlipNotFoundException("PaySlip not found with ID: " + paySlipId));
+
+        reversePaySlipEffects(existingPaySlip);
+        paySlipRepository.delete(existingPaySlip);
+    }
+
+    private void reversePaySlipEffects(PaySlipModel paySlip) {
+        Long paySlipId = paySlip.getId();
+
+        int reversedLoans = 0;
+        for (PaySlipDetailsModel detail : paySlipDetailsRepository.findAllByPaySlipId(paySlipId)) {
+            if (detail.getLoanId() == null) {
+                continue;
+            }
+            // A deduction skipped because the loan was already paid off has nothing to give back
+            double deducted = detail.getLoanDeductedAmount() != null ? detail.getLoanDeductedAmount() : detail.getAmount();
+            if (deducted > 0) {
+                reversedLoans += loanService.restoreLoanRemainingAmount(detail.getLoanId(), deducted);
+            }
+        }
+        int deletedDetails = paySlipDetailsRepository.deleteAllByPaySlipId(paySlipId);
+
+        double companyEpf = 0;
+        double companyEtf = 0;
+        for (EpfEtfContributionModel contribution : epfEtfContributionService.getContributionModelsByPaySlipId(paySlipId)) {
+            companyEpf += contribution.getEpfContribution();
+            companyEtf += contribution.getEtfContribution();
+        }
+        epfEtfContributionService.deleteContributionsByPaySlipId(paySlipId);
+        yearToDateService.removePaySlip(paySlip, companyEpf, companyEtf);
+        payrollCostService.removePaySlip(paySlip, companyEpf, companyEtf);
+
+        logger.info("Reversed {} detail rows and {} loan deductions of PaySlip with ID: {}", deletedDetails, reversedLoans, paySlipId);
+    }
+
+    private void persistPaySlipEffects(PaySlipModel savedPaySlip, PaySlipDraft draft, PayRunStageEvent paySlipPersistence) {
+        Long employeeId = draft.employee().getId();
+        Long payPeriodId = draft.salaryPayPeriod().getId();
+
+        // Persist the EPF-ETF Contributions
+        int contributionRows = 0;
+        if (draft.companyEpfContribution() > 0 || draft.companyEtfContribution() > 0) {
+            epfEtfContributionService.createEpfEtfContribution(
+                    savedPaySlip.getId(),
+                    draft.companyEpfContribution(),
+                    draft.companyEtfContribution(),
+                    draft.employee(),
+                    draft.salaryPayPeriod()
+            );
+            contributionRows = 1;
+        }
+
+        yearToDateService.addPaySlip(savedPaySlip, draft.companyEpfContribution(), draft.companyEtfContribution());
+        payrollCostService.addPaySlip(savedPaySlip, draft.companyEpfContribution(), draft.companyEtfContribution());
+
+        paySlipPersistence.end(1 + contributionRows);
+
+        PayRunStageEvent loanUpdates = PayRunStageEvent.begin(PayRunStageEnum.LOAN_UPDATES, employeeId, payPeriodId);
+
+        // Update loan remaining amount once we deduct the monthly installment amount, keeping what each
+        // deduction actually took so a recompute or delete restores exactly that
+        List<PaySlipDetailsModel> details = new ArrayList<>(draft.details().size());
+        int loanRows = 0;
+        for (PaySlipDetailDraft detail : draft.details()) {
+            PaySlipDetailsModel paySlipDetailsModel = toPaySlipDetailsModel(detail, savedPaySlip);
+            if (detail.loanId() != null) {
+                int deducted = loanService.updateLoanRemainingAmount(detail.loanId(), detail.amount());
+                paySlipDetailsModel.setLoanDeductedAmount(deducted > 0 ? detail.amount() : 0.0);
+                loanRows += deducted;
+            }
+            details.add(paySlipDetailsModel);
+        }
+
+        loanUpdates.end(loanRows);
+
+        PayRunStageEvent detailPersistence = PayRunStageEvent.begin(PayRunStageEnum.DETAIL_PERSISTENCE, employeeId, payPeriodId);
+
+        // Persist all detail rows in one JDBC batch against the payslip we already hold
+        paySlipDetailsBatchWriter.insertAll(details);
+
+        detailPersistence.end(details.size());
+    }
+
+    static PaySlipModel applyDraft(PaySlipModel paySlip, PaySlipDraft draft) {
+        paySlip.setSalaryId(draft.salaryId());
+        paySlip.setBasicSalary(draft.basicSalary());
+        paySlip.setAllowances(Money.toAmount(Money.ofAmount(draft.taxExcludedAllowances()) + Money.ofAmount(draft.taxLiableAllowances())));
+        paySlip.setCommission(Money.toAmount(Money.ofAmount(draft.taxLiableCommissions()) + Money.ofAmount(draft.taxExcludedCommissions())));
+        paySlip.setStatus(draft.status());
+        paySlip.setGrossSalary(draft.grossSalary());
+        paySlip.setSalaryAdvanceDeduction(draft.salaryAdvanceDeduction());
+        paySlip.setLoanDeduction(draft.loanDeduction());
+        paySlip.setAttendanceDeduction(draft.attendanceDeduction());
+        paySlip.setTaxDeduction(draft.taxDeduction());
+        paySlip.setEpfDeduction(draft.epfDeduction());
+        paySlip.setStartDate(draft.startDate());
+        paySlip.setEndDate(draft.endDate());
+        paySlip.setEmployee(draft.employee());
+        paySlip.setNetSalary(draft.netSalary());
+        paySlip.setSalaryPayPeriod(draft.salaryPayPeriod());
+        paySlip.setTaxExcludedAllowances(draft.taxExcludedAllowances());
+        paySlip.setTaxLiableAllowances(draft.taxLiableAllowances());
+        paySlip.setTaxExcludedCommissions(draft.taxExcludedCommissions());
+        paySlip.setTaxLiableCommissions(draft.taxLiableCommissions());
+        paySlip.setLeaveDeduction(draft.leaveDeduction());
+        return paySlip;
+    }
+
+    static PaySlipDetailsModel toPaySlipDetailsModel(PaySlipDetailDraft detail, PaySlipModel paySlip) {
+        PaySlipDetailsModel paySlipDetailsModel = new PaySlipDetailsModel();
+        paySlipDetailsModel.setPaySlip(paySlip);
+        paySlipDetailsModel.setLoanId(detail.loanId());
+        paySlipDetailsModel.setAdvanceId(detail.advanceId());
+        paySlipDetailsModel.setSalaryAllowanceId(detail.salaryAllowanceId());
+        paySlipDetailsModel.setSalaryCommissionId(detail.salaryCommissionId());
+        paySlipDetailsModel.setType(detail.type());
+        paySlipDetailsModel.setDescription(detail.description());
+        paySlipDetailsModel.setAmount(detail.amount());
+        return paySlipDetailsModel;
+    }
+}
@@ -0,0 +1,33 @@
+package com.mexxar.payroll.payslip;
+
+public record PaySlipPreviewDTO(
+        Long employeeId,
+
+        String employeeName,
+
+        Double basicSalary,
+
+        Double grossSalary,
+
+        Double taxDeduction,
+
+        Double salaryAdvanceDeduction,
+
+        Double loanDeduction,
+
+        Double leaveDeduction,
+
+        Double epfDeduction,
+
+        Double companyEpfContribution,
+
+        Double companyEtfContribution,
+
+        Double netSalary,
+
+        String errorMessage
+) {
+    static PaySlipPreviewDTO failed(Long employeeId, String employeeName, String errorMessage) {
+        return new PaySlipPreviewDTO(employeeId, employeeName, null, null, null, null, null, null, null, null, null, null, errorMessage);
+    }
+}
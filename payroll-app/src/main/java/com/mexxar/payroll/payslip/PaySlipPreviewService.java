@@ -0,0 +1,91 @@
+package com.mexxar.payroll.payslip;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mexxar.payroll.employee.EmployeeModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Runs the payslip calculation for a whole pay period without writing anything, so it can be repeated freely
+@Service
+@RequiredArgsConstructor
+public class PaySlipPreviewService {
+
+    private final PaySlipPeriodInputLoader paySlipPeriodInputLoader;
+    private final PaySlipCalculationService paySlipCalculationService;
+    private final ObjectMapper objectMapper;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaySlipPreviewService.class);
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    public StreamingResponseBody previewPayPeriod(Long payPeriodId) {
+        logger.info("Previewing payslips for pay period: {}", payPeriodId);
+
+        // Inputs are loaded up front so an unknown pay period fails before the response starts
+        PaySlipPeriodInputs periodInputs = paySlipPeriodInputLoader.loadPeriodInputs(payPeriodId);
+
+        return outputStream -> writePreview(periodInputs, outputStream);
+    }
+
+    void writePreview(PaySlipPeriodInputs periodInputs, OutputStream outputStream) throws IOException {
+        SalaryPayPeriodModel payPeriod = periodInputs.salaryPayPeriod();
+
+        for (Long employeeId : periodInputs.employeeIdsWithoutSalary()) {
+            writeLine(outputStream, PaySlipPreviewDTO.failed(employeeId, null, "Salary not found for employee"));
+        }
+
+        Map<Long, PaySlipInputs> inputsByEmployeeId = new TreeMap<>(periodInputs.inputsByEmployeeId());
+        for (Map.Entry<Long, PaySlipInputs> entry : inputsByEmployeeId.entrySet()) {
+            PaySlipRequestDTO requestDTO = new PaySlipRequestDTO(
+                    PaySlipStatusEnum.GENERATED,
+                    0.0,
+                    payPeriod.getStartDate(),
+                    payPeriod.getEndDate(),
+                    entry.getKey(),
+                    payPeriod.getId()
+            );
+            writeLine(outputStream, preview(requestDTO, entry.getValue()));
+        }
+        outputStream.flush();
+    }
+
+    private PaySlipPreviewDTO preview(PaySlipRequestDTO requestDTO, PaySlipInputs inputs) {
+        EmployeeModel employee = inputs.salary().employee();
+        String employeeName = employee.getFirstName() + " " + employee.getLastName();
+        try {
+            PaySlipDraft draft = paySlipCalculationService.calculatePaySlip(requestDTO, inputs);
+            return new PaySlipPreviewDTO(
+                    requestDTO.employeeId(),
+                    employeeName,
+                    draft.basicSalary(),
+                    draft.grossSalary(),
+                    draft.taxDeduction(),
+                    draft.salaryAdvanceDeduction(),
+                    draft.loanDeduction(),
+                    draft.leaveDeduction(),
+                    draft.epfDeduction(),
+                    draft.companyEpfContribution(),
+                    draft.companyEtfContribution(),
+                    draft.netSalary(),
+                    null
+            );
+        } catch (RuntimeException e) {
+            logger.warn("Payslip preview failed for employee {}: {}", requestDTO.employeeId(), e.getMessage());
+            return PaySlipPreviewDTO.failed(requestDTO.employeeId(), employeeName, e.getMessage());
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, PaySlipPreviewDTO preview) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(preview));
+        outputStream.write(NEW_LINE);
+    }
+}
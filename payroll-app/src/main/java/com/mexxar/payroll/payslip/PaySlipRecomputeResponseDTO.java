@@ -0,0 +1,21 @@
+package com.mexxar.payroll.payslip;
+
+import java.util.List;
+
+public record PaySlipRecomputeResponseDTO(
+        Long payPeriodId,
+
+        int changedCount,
+
+        int recomputedCount,
+
+        int withoutPaySlipCount,
+
+        int lockedCount,
+
+        List<Long> failedEmployeeIds
+) {
+    public PaySlipRecomputeResponseDTO {
+        failedEmployeeIds = List.copyOf(failedEmployeeIds);
+    }
+}
@@ -0,0 +1,88 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PendingPaySlipChange;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Regenerates only the payslips whose inputs were edited after they were generated
+@Service
+@RequiredArgsConstructor
+public class PaySlipRecomputeService {
+
+    private final PaySlipRepository paySlipRepository;
+    private final PaySlipCalculationService paySlipCalculationService;
+    private final PaySlipPersistenceService paySlipPersistenceService;
+    private final PaySlipInputChangeService paySlipInputChangeService;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaySlipRecomputeService.class);
+
+    // Approved and paid payslips are left alone; their changes stay pending
+    static boolean isRecomputable(PaySlipStatusEnum status) {
+        return status == PaySlipStatusEnum.GENERATED || status == PaySlipStatusEnum.UPDATED;
+    }
+
+    public ApiResponseDTO<PaySlipRecomputeResponseDTO> recomputeChangedPaySlips(Long payPeriodId) {
+        salaryPayPeriodService.getPayPeriodModelById(payPeriodId);
+
+        List<PendingPaySlipChange> changes = paySlipInputChangeService.getPendingChanges(payPeriodId);
+        logger.info("Recomputing {} changed PaySlips for pay period ID: {}", changes.size(), payPeriodId);
+
+        int recomputed = 0;
+        int withoutPaySlip = 0;
+        int locked = 0;
+        List<Long> failedEmployeeIds = new ArrayList<>();
+
+        for (PendingPaySlipChange change : changes) {
+            Optional<PaySlipModel> existingPaySlip =
+                    paySlipRepository.findByEmployeeIdAndSalaryPayPeriodId(change.employeeId(), payPeriodId);
+
+            if (existingPaySlip.isEmpty()) {
+                // Not generated yet, so the change is picked up when it is
+                paySlipInputChangeService.clearChanges(change);
+                withoutPaySlip++;
+                continue;
+            }
+
+            PaySlipModel paySlip = existingPaySlip.get();
+            if (!isRecomputable(paySlip.getStatus())) {
+                locked++;
+                continue;
+            }
+
+            try {
+                PaySlipRequestDTO requestDTO = new PaySlipRequestDTO(
+                        PaySlipStatusEnum.UPDATED,
+                        paySlip.getAttendanceDeduction(),
+                        paySlip.getStartDate(),
+                        paySlip.getEndDate(),
+                        change.employeeId(),
+                        payPeriodId
+                );
+                PaySlipDraft draft = paySlipCalculationService.calculatePaySlip(requestDTO);
+                paySlipPersistenceService.replacePaySlip(paySlip.getId(), draft, change);
+                recomputed++;
+            } catch (RuntimeException e) {
+                logger.warn("Failed to recompute PaySlip for employee ID: {} and pay period ID: {}: {}",
+                        change.employeeId(), payPeriodId, e.getMessage());
+                failedEmployeeIds.add(change.employeeId());
+            }
+        }
+
+        logger.info("Recomputed {} PaySlips for pay period ID: {} ({} without payslip, {} locked, {} failed)",
+                recomputed, payPeriodId, withoutPaySlip, locked, failedEmployeeIds.size());
+
+        PaySlipRecomputeResponseDTO response = new PaySlipRecomputeResponseDTO(
+                payPeriodId, changes.size(), recomputed, withoutPaySlip, locked, failedEmployeeIds);
+        return new ApiResponseDTO<>("Changed PaySlips Recomputed Successfully", response);
+    }
+}
@@ -0,0 +1,204 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.payslip.exception.DuplicatePaySlipException;
+import com.mexxar.payroll.payslip.exception.PaySlipNotFoundException;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsRepository;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodResponseDTO;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PaySlipService {
+
+    private final PaySlipRepository paySlipRepository;
+    private final PaySlipDetailsRepository paySlipDetailsRepository;
+    private final PaySlipCalculationService paySlipCalculationService;
+    private final PaySlipPersistenceService paySlipPersistenceService;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+    private final PaySlipMapper paySlipMapper;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaySlipService.class);
+
+    private static final String PAYSLIP_NOT_FOUND_WITH_ID = "PaySlip not found with ID: ";
+
+    public ApiResponseDTO<PaySlipResponseDTO> createPaySlip(PaySlipRequestDTO requestDTO) {
+        return createPaySlip(requestDTO, () -> paySlipCalculationService.calculatePaySlip(requestDTO));
+    }
+
+    // Pay runs pass in the inputs they loaded for the whole pay period
+    public ApiResponseDTO<PaySlipResponseDTO> createPaySlip(PaySlipRequestDTO requestDTO, PaySlipInputs inputs) {
+        return createPaySlip(requestDTO, () -> paySlipCalculationService.calculatePaySlip(requestDTO, inputs));
+    }
+
+    // Two short phases instead of one long transaction: the calculation only reads, and the
+    // connection holding write locks is used just for the inserts and loan updates
+    private ApiResponseDTO<PaySlipResponseDTO> createPaySlip(PaySlipRequestDTO requestDTO, Supplier<PaySlipDraft> calculation) {
+        if (paySlipRepository.existsByEmployeeIdAndSalaryPayPeriodId(requestDTO.employeeId(), requestDTO.payPeriodId())) {
+            throw new DuplicatePaySlipException(duplicatePaySlipMessage(requestDTO));
+        }
+
+        PaySlipDraft draft = calculation.get();
+
+        PaySlipModel savedPaySlip;
+        try {
+            savedPaySlip = paySlipPersistenceService.persistPaySlip(draft);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another create for the same employee and period; the whole write phase,
+            // loan deductions included, was rolled back
+            logger.warn("Duplicate PaySlip rejected for employee ID: {} and pay period ID: {}",
+                    requestDTO.employeeId(), requestDTO.payPeriodId());
+            throw new DuplicatePaySlipException(duplicatePaySlipMessage(requestDTO));
+        }
+
+        return new ApiResponseDTO<>("PaySlip Created Successfully", convertToResponseDTO(savedPaySlip));
+    }
+
+    public Set<Long> getEmployeeIdsWithPaySlip(Long payPeriodId, Long firstEmployeeId, Long lastEmployeeId) {
+        return new HashSet<>(paySlipRepository.findEmployeeIdsByPayPeriodIdAndEmployeeIdRange(
+                payPeriodId, firstEmployeeId, lastEmployeeId));
+    }
+
+    // Approved and paid payslips of the given employees in pay periods that end on or after `from` and start before
+    // `before`, oldest first per employee
+    public List<PaySlipModel> getFinalisedPaySlips(Collection<Long> employeeIds, LocalDate from, LocalDate before) {
+        return paySlipRepository.findByEmployeeIdsAndStatusesBetween(employeeIds,
+                EnumSet.of(PaySlipStatusEnum.APPROVED, PaySlipStatusEnum.PAID), from, before);
+    }
+
+    private static String duplicatePaySlipMessage(PaySlipRequestDTO requestDTO) {
+        return "PaySlip already exists for employee ID: " + requestDTO.employeeId()
+                + " and pay period ID: " + requestDTO.payPeriodId();
+    }
+
+    public ApiResponseDTO<PaySlipResponseDTO> getPaySlipById(Long id) {
+        logger.info("Fetching PaySlip with ID: {}", id);
+
+        PaySlipModel paySlip = paySlipRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.error("PaySlip not found with ID: {}", id);
+                    return new PaySlipNotFoundException(PAYSLIP_NOT_FOUND_WITH_ID + id);
+                });
+        logger.info("Fetched PaySlip with ID: {}", id);
+
+        return new ApiResponseDTO<>("PaySlip Fetched Successfully", convertToResponseDTO(paySlip));
+    }
+
+    public ApiResponseDTO<List<PaySlipResponseDTO>> getAllPaySlips() {
+        logger.info("Fetching all PaySlips");
+
+        List<PaySlipModel> paySlips = paySlipRepository.findAll();
+        logger.info("Fetched {} PaySlips", paySlips.size());
+
+        List<PaySlipResponseDTO> responseDTOs = paySlips.stream()
+                .map(this::convertToResponseDTO)
+                .toList();
+
+        return new ApiResponseDTO<>("Successfully Fetched All PaySlips", responseDTOs);
+    }
+
+    public ApiResponseDTO<Void> deletePaySlip(Long id) {
+        logger.info("Deleting PaySlip with ID: {}", id);
+
+        paySlipPersistenceService.deletePaySlip(id);
+        logger.info("Deleted PaySlip with ID: {}", id);
+
+        return new ApiResponseDTO<>("PaySlip Deleted Successfully", null);
+    }
+
+    public ApiResponseDTO<Page<PaySlipResponseDTO>> filterPaySlips(
+            PaySlipFilterCriteria criteria,
+            int page,
+            int size) {
+        Specification<PaySlipModel> specification = PaySlipSpecification.paySlipSpecification(
+                criteria.employeeId(),
+                criteria.status(),
+                criteria.startDate(),
+                criteria.endDate(),
+                criteria.payPeriodId()
+        );
+
+        Page<PaySlipModel> paySlips = paySlipRepository.findAll(specification, PageRequest.of(page, size));
+
+        return new ApiResponseDTO<>("PaySlips filtered successfully", paySlips.map(this::convertToResponseDTO));
+    }
+
+    public ApiResponseDTO<List<AnnualGrossRemunerationDTO>> getEmployeeCountByAnnualSalaryRange(Long year) {
+        // Get all months of the given year
+        List<Long> payPeriodIds = salaryPayPeriodService.getAllPayPeriodByYear(year)
+                .stream()
+                .map(SalaryPayPeriodResponseDTO::id)
+                .toList();
+
+        List<Object[]> rawResults = paySlipRepository.getEmployeeCountByAnnualSalaryRange(payPeriodIds);
+
+        // Group by salary range and sum counts
+        Map<String, Long> groupedResults = rawResults
+                .stream()
+                .collect(Collectors.groupingBy(
+                        row -> (String) row[0],  // Extract salary range
+                        Collectors.summingLong(row -> (Long) row[1]) // Sum counts for same range
+                ));
+
+        // Convert to DTO list
+        List<AnnualGrossRemunerationDTO> response = groupedResults
+                .entrySet()
+                .stream()
+                .map(entry -> new AnnualGrossRemunerationDTO(entry.getValue(), entry.getKey()))
+                .collect(Collectors.toList());
+
+        return new ApiResponseDTO<>("Successfully Fetched Employee Count By Salary Ranges", response);
+    }
+
+    public ApiResponseDTO<TaxAndRemunerationReportDTO> getEmployeeTaxDeductionAndRemunerationReport(Long year) {
+
+        List<TaxAndRemunerationSummaryDTO> monthlyRemunerationSummary = paySlipRepository.getMonthlyTaxAndRemunerationSummary(year);
+
+        TaxAndRemunerationSummaryDTO totalSummary = monthlyRemunerationSummary.stream()
+                .reduce(new TaxAndRemunerationSummaryDTO("", 0.0, 0.0, 0.0, 0.0),
+                        (acc, current) -> new TaxAndRemunerationSummaryDTO(
+                                "",
+                                acc.taxExcludedRemuneration() + current.taxExcludedRemuneration(),
+                                acc.taxLiableRemuneration() + current.taxLiableRemuneration(),
+                                acc.taxDeduction() + current.taxDeduction(),
+                                acc.paymentsMade() + current.paymentsMade()
+                        ));
+
+        TaxAndRemunerationReportDTO report = new TaxAndRemunerationReportDTO(
+                year,
+                monthlyRemunerationSummary,
+                totalSummary.taxExcludedRemuneration(),
+                totalSummary.taxLiableRemuneration(),
+                totalSummary.taxDeduction(),
+                totalSummary.paymentsMade()
+        );
+
+        return new ApiResponseDTO<>("Successfully fetched Employee Tax Deduction & Remuneration Report", report);
+    }
+
+    private PaySlipResponseDTO convertToResponseDTO(PaySlipModel paySlip) {
+        return paySlipMapper.toResponseDTO(
+                paySlip,
+                paySlipDetailsRepository.findAllByPaySlipId(paySlip.getId()),
+                salaryPayPeriodService.convertToResponseDTO(paySlip.getSalaryPayPeriod())
+        );
+    }
+}
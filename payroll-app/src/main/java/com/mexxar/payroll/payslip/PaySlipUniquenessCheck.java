@@ -0,0 +1,41 @@
+package com.mexxar.payroll.payslip;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// ddl-auto=update skips uk_payslip_employee_pay_period with only a warning when duplicates already exist,
+// so refuse to start before the web server accepts pay runs against a table without the constraint
+@Component
+public class PaySlipUniquenessCheck implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaySlipUniquenessCheck.class);
+    private static final int MAX_REPORTED = 20;
+
+    private final PaySlipRepository paySlipRepository;
+
+    public PaySlipUniquenessCheck(PaySlipRepository paySlipRepository) {
+        this.paySlipRepository = paySlipRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Object[]> duplicates = paySlipRepository.findDuplicateEmployeePayPeriods();
+        if (duplicates.isEmpty()) {
+            return;
+        }
+
+        String reported = duplicates.stream()
+                .limit(MAX_REPORTED)
+                .map(row -> "employee " + row[0] + " / pay period " + row[1] + " (" + row[2] + " payslips)")
+                .collect(Collectors.joining(", "));
+        String message = duplicates.size() + " employee and pay period pairs have more than one payslip, " +
+                "so uk_payslip_employee_pay_period cannot be enforced. Remove the extra payslips and restart: " + reported;
+        logger.error(message);
+        throw new IllegalStateException(message);
+    }
+}
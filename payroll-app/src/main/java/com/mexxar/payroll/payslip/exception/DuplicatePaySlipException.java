@@ -0,0 +1,7 @@
+package com.mexxar.payroll.payslip.exception;
+
+public class DuplicatePaySlipException extends RuntimeException {
+    public DuplicatePaySlipException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package com.mexxar.payroll.payslipdetails;
+
+import com.mexxar.payroll.core.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Inserts a payslip's detail rows as one JDBC batch. Hibernate cannot batch inserts of entities with IDENTITY ids,
+// so saveAll would send one INSERT per row. Runs on the connection of the surrounding transaction, after the
+// payslip row itself has been written.
+@Repository
+public class PaySlipDetailsBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO pay_slip_details (loan_id, advance_id, salary_allowance_id, "
+            + "salary_commission_id, type, description, amount, loan_deducted_amount, payslip_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaySlipDetailsBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int insertAll(List<PaySlipDetailsModel> details) {
+        if (details.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, details, details.size(), (statement, detail) -> {
+            statement.setObject(1, detail.getLoanId());
+            statement.setObject(2, detail.getAdvanceId());
+            statement.setObject(3, detail.getSalaryAllowanceId());
+            statement.setObject(4, detail.getSalaryCommissionId());
+            statement.setObject(5, detail.getType() == null ? null : detail.getType().ordinal());
+            statement.setString(6, detail.getDescription());
+            // Rounded to whole cents, as MoneyConverter does for the entity
+            statement.setObject(7, cents(detail.getAmount()));
+            statement.setObject(8, cents(detail.getLoanDeductedAmount()));
+            statement.setLong(9, detail.getPaySlip().getId());
+        });
+        return details.size();
+    }
+
+    private static Double cents(Double amount) {
+        return amount == null ? null : Money.toAmount(Money.ofAmount(amount));
+    }
+}
@@ -1,5 +1,6 @@
 package com.mexxar.payroll.payslipdetails;
 
+import com.mexxar.payroll.common.converter.MoneyConverter;
 import com.mexxar.payroll.payslip.PaySlipModel;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -17,7 +18,11 @@ public class PaySlipDetailsModel {
     private Long salaryCommissionId;
     private PaySlipDetailsTypeEnum type;
     private String description;
+    @Convert(converter = MoneyConverter.class)
     private Double amount;
+    // What the loan deduction actually took off the loan; null on rows written before this was recorded
+    @Convert(converter = MoneyConverter.class)
+    private Double loanDeductedAmount;
 
     @ManyToOne
     @JoinColumn(name = "payslip_id", nullable = false)
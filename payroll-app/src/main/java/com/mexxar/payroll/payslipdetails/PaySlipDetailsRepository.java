@@ -0,0 +1,16 @@
+package com.mexxar.payroll.payslipdetails;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PaySlipDetailsRepository extends JpaRepository<PaySlipDetailsModel, Long> {
+    List<PaySlipDetailsModel> findAllByPaySlipId(Long paySlipId);
+
+    @Modifying
+    @Query("DELETE FROM PaySlipDetailsModel d WHERE d.paySlip.id = :paySlipId")
+    int deleteAllByPaySlipId(@Param("paySlipId") Long paySlipId);
+}
@@ -0,0 +1,26 @@
+package com.mexxar.payroll.payslipinputchange;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "PaySlipInputChange",
+        indexes = @Index(name = "idx_payslip_input_change_period_employee", columnList = "payPeriodId, employeeId"))
+@Data
+public class PaySlipInputChangeModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long employeeId;
+
+    private Long payPeriodId;
+
+    private PaySlipInputTypeEnum inputType;
+
+    @CreationTimestamp
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,31 @@
+package com.mexxar.payroll.payslipinputchange;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+interface PaySlipInputChangeRepository extends JpaRepository<PaySlipInputChangeModel, Long> {
+    @Query("SELECT new com.mexxar.payroll.payslipinputchange.PendingPaySlipChange(c.employeeId, c.payPeriodId, MAX(c.id)) " +
+            "FROM PaySlipInputChangeModel c WHERE c.payPeriodId = :payPeriodId " +
+            "GROUP BY c.employeeId, c.payPeriodId ORDER BY c.employeeId")
+    List<PendingPaySlipChange> findPendingChangesByPayPeriodId(@Param("payPeriodId") Long payPeriodId);
+
+    // Only changes up to the ones the recompute read are cleared, so edits made meanwhile stay pending
+    @Modifying
+    @Query("DELETE FROM PaySlipInputChangeModel c " +
+            "WHERE c.employeeId = :employeeId AND c.payPeriodId = :payPeriodId AND c.id <= :lastChangeId")
+    int deleteChangesUpTo(@Param("employeeId") Long employeeId,
+                          @Param("payPeriodId") Long payPeriodId,
+                          @Param("lastChangeId") Long lastChangeId);
+
+    @Query("SELECT p.salaryPayPeriod.id FROM PaySlipModel p WHERE p.employee.id = :employeeId AND p.status IN (0, 2)")
+    List<Long> findOpenPayPeriodIdsByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Query("SELECT p.id FROM SalaryPayPeriodModel p WHERE p.startDate <= :endDate AND p.endDate >= :startDate")
+    List<Long> findPayPeriodIdsOverlapping(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,62 @@
+package com.mexxar.payroll.payslipinputchange;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Records which (employee, pay period) payslips are out of date after an input was edited,
+// so a recompute only has to touch those payslips
+@Service
+public class PaySlipInputChangeService {
+
+    private final PaySlipInputChangeRepository paySlipInputChangeRepository;
+
+    public PaySlipInputChangeService(PaySlipInputChangeRepository paySlipInputChangeRepository) {
+        this.paySlipInputChangeRepository = paySlipInputChangeRepository;
+    }
+
+    private static final Logger logger = LogManager.getLogger(PaySlipInputChangeService.class);
+
+    public void markChanged(Long employeeId, Long payPeriodId, PaySlipInputTypeEnum inputType) {
+        if (employeeId == null || payPeriodId == null) {
+            return;
+        }
+        // Every edit gets its own row: a recompute clears only the rows up to the last one it read, so an edit made
+        // while it runs stays pending instead of being folded into a row that is about to be deleted
+        logger.debug("Marking payslip inputs changed for employee ID: {} and pay period ID: {} ({})",
+                employeeId, payPeriodId, inputType);
+
+        PaySlipInputChangeModel change = new PaySlipInputChangeModel();
+        change.setEmployeeId(employeeId);
+        change.setPayPeriodId(payPeriodId);
+        change.setInputType(inputType);
+        paySlipInputChangeRepository.save(change);
+    }
+
+    // Fixed inputs apply to every pay period, so every payslip that can still change is affected
+    public void markChangedForOpenPayPeriods(Long employeeId, PaySlipInputTypeEnum inputType) {
+        paySlipInputChangeRepository.findOpenPayPeriodIdsByEmployeeId(employeeId)
+                .forEach(payPeriodId -> markChanged(employeeId, payPeriodId, inputType));
+    }
+
+    public void markChangedBetween(Long employeeId, LocalDate startDate, LocalDate endDate, PaySlipInputTypeEnum inputType) {
+        if (startDate == null || endDate == null) {
+            return;
+        }
+        paySlipInputChangeRepository.findPayPeriodIdsOverlapping(startDate, endDate)
+                .forEach(payPeriodId -> markChanged(employeeId, payPeriodId, inputType));
+    }
+
+    public List<PendingPaySlipChange> getPendingChanges(Long payPeriodId) {
+        return paySlipInputChangeRepository.findPendingChangesByPayPeriodId(payPeriodId);
+    }
+
+    @Transactional
+    public int clearChanges(PendingPaySlipChange change) {
+        return paySlipInputChangeRepository.deleteChangesUpTo(change.employeeId(), change.payPeriodId(), change.lastChangeId());
+    }
+}
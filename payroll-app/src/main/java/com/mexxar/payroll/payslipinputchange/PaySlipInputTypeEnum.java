@@ -0,0 +1,10 @@
+package com.mexxar.payroll.payslipinputchange;
+
+public enum PaySlipInputTypeEnum {
+    ALLOWANCE,
+    COMMISSION,
+    ADVANCE,
+    LEAVE,
+    RETRO_PAY,
+    BASIC_SALARY
+}
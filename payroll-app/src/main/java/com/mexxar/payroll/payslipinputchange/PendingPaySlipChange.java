@@ -0,0 +1,10 @@
+package com.mexxar.payroll.payslipinputchange;
+
+public record PendingPaySlipChange(
+        Long employeeId,
+
+        Long payPeriodId,
+
+        Long lastChangeId
+)
+{}
@@ -0,0 +1,44 @@
+package com.mexxar.payroll.payslipvariance;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/payslip-variances")
+public class PaySlipVarianceController {
+
+    private final PaySlipVarianceService paySlipVarianceService;
+
+    public PaySlipVarianceController(final PaySlipVarianceService paySlipVarianceService) {
+        this.paySlipVarianceService = paySlipVarianceService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(PaySlipVarianceController.class);
+
+    @Operation(summary = "Generate payslip variance report", description = "This endpoint streams a CSV of the employees whose net salary, tax or other deductions moved by more than the threshold between two pay periods, with the payslip lines that changed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully generated the variance report"),
+            @ApiResponse(responseCode = "400", description = "The same pay period was given twice or the threshold is negative"),
+            @ApiResponse(responseCode = "404", description = "Pay period not found")
+    })
+    @GetMapping(produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> generateVarianceReport(@RequestParam Long previousPayPeriodId,
+                                                                        @RequestParam Long currentPayPeriodId,
+                                                                        @RequestParam(defaultValue = "0") double threshold) {
+        logger.info("Received request to generate payslip variance report from pay period {} to {}", previousPayPeriodId, currentPayPeriodId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payslip-variances-" + previousPayPeriodId + "-" + currentPayPeriodId + ".csv\"")
+                .body(paySlipVarianceService.generateVarianceReport(previousPayPeriodId, currentPayPeriodId, threshold));
+    }
+}
@@ -0,0 +1,235 @@
+package com.mexxar.payroll.payslipvariance;
+
+import com.mexxar.payroll.common.jdbc.StreamingQueries;
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsTypeEnum;
+import com.mexxar.payroll.payslipvariance.exception.PaySlipVarianceException;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Employees whose net salary, tax or other deductions moved by more than a threshold between two pay periods, with
+// the payslip detail lines that changed. Both periods are read in one scan ordered by employee, so each employee's
+// previous payslip is followed directly by their current one and the two are matched as the scan passes; only the
+// employee being compared is held in memory.
+@Service
+public class PaySlipVarianceService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+
+    public PaySlipVarianceService(JdbcTemplate jdbcTemplate, SalaryPayPeriodService salaryPayPeriodService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.salaryPayPeriodService = salaryPayPeriodService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(PaySlipVarianceService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int PREVIOUS = 0;
+    private static final int CURRENT = 1;
+
+    // One row per detail line, or one per payslip without details; the previous period sorts first for each employee
+    private static final String PAYSLIPS_OF_BOTH_PERIODS =
+            "SELECT p.employee_id, CASE WHEN p.salary_pay_period_id = ? THEN 0 ELSE 1 END AS side, e.first_name, e.last_name, " +
+            "p.net_salary, p.tax_deduction, " +
+            "COALESCE(p.salary_advance_deduction, 0) + COALESCE(p.loan_deduction, 0) + COALESCE(p.epf_deduction, 0) " +
+            "+ COALESCE(p.attendance_deduction, 0) + COALESCE(p.leave_deduction, 0), " +
+            "d.type, d.description, d.amount " +
+            "FROM pay_slip p " +
+            "JOIN employee e ON e.id = p.employee_id " +
+            "LEFT JOIN pay_slip_details d ON d.payslip_id = p.id " +
+            "WHERE p.salary_pay_period_id IN (?, ?) " +
+            "ORDER BY p.employee_id, side, d.type, d.description, d.id";
+
+    public StreamingResponseBody generateVarianceReport(Long previousPayPeriodId, Long currentPayPeriodId, double threshold) {
+        logger.info("Generating payslip variance report from pay period {} to {} above {}", previousPayPeriodId, currentPayPeriodId, threshold);
+
+        // Checked before the response starts, so bad input is still an error status
+        if (previousPayPeriodId.equals(currentPayPeriodId)) {
+            throw new PaySlipVarianceException("Pay periods to compare must differ, both are " + currentPayPeriodId);
+        }
+        if (threshold < 0) {
+            throw new PaySlipVarianceException("Variance threshold must not be negative: " + threshold);
+        }
+        salaryPayPeriodService.getPayPeriodModelById(previousPayPeriodId);
+        salaryPayPeriodService.getPayPeriodModelById(currentPayPeriodId);
+
+        return outputStream -> writeVarianceReport(previousPayPeriodId, currentPayPeriodId, Money.ofAmount(threshold), outputStream);
+    }
+
+    // Returns the number of employees reported
+    int writeVarianceReport(Long previousPayPeriodId, Long currentPayPeriodId, long thresholdCents, OutputStream outputStream) throws IOException {
+        Instant start = Instant.now();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        VarianceWriter varianceWriter = new VarianceWriter(writer, thresholdCents);
+
+        varianceWriter.writeHeader();
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = StreamingQueries.prepare(connection, PAYSLIPS_OF_BOTH_PERIODS);
+                statement.setLong(1, previousPayPeriodId);
+                statement.setLong(2, previousPayPeriodId);
+                statement.setLong(3, currentPayPeriodId);
+                return statement;
+            }, varianceWriter);
+            varianceWriter.compareEmployee();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        varianceWriter.writeTrailer();
+
+        Instant end = Instant.now();
+        logger.info("Reported {} of {} employees with payslip variances from pay period {} to {} in {} ms",
+                varianceWriter.variances, varianceWriter.employees, previousPayPeriodId, currentPayPeriodId,
+                Duration.between(start, end).toMillis());
+        return varianceWriter.variances;
+    }
+
+    // Collects one employee's payslips from both periods and writes them out when the scan reaches the next employee.
+    // Amounts are cents indexed by PREVIOUS and CURRENT; a period without a payslip stays at zero.
+    private static final class VarianceWriter implements RowCallbackHandler {
+
+        private final Writer writer;
+        private final long thresholdCents;
+        private final StringBuilder line = new StringBuilder(256);
+
+        // Detail amounts by type and description, in the order the lines appear on a payslip
+        private final Map<String, long[]> details = new TreeMap<>();
+        private final long[] netSalary = new long[2];
+        private final long[] taxDeduction = new long[2];
+        private final long[] otherDeductions = new long[2];
+        private final boolean[] paySlipSeen = new boolean[2];
+        private final long[] totalNetSalary = new long[2];
+
+        private long employeeId = -1;
+        private String employeeName;
+        private int employees;
+        private int variances;
+
+        VarianceWriter(Writer writer, long thresholdCents) {
+            this.writer = writer;
+            this.thresholdCents = thresholdCents;
+        }
+
+        void writeHeader() throws IOException {
+            writer.write("Employee ID,Employee Name,Item,Previous,Current,Change\r\n");
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long rowEmployeeId = resultSet.getLong(1);
+            if (rowEmployeeId != employeeId) {
+                compareEmployee();
+                employeeId = rowEmployeeId;
+                employeeName = resultSet.getString(3) + " " + resultSet.getString(4);
+            }
+
+            int side = resultSet.getInt(2);
+            if (!paySlipSeen[side]) {
+                paySlipSeen[side] = true;
+                netSalary[side] = Money.ofAmount(resultSet.getDouble(5));
+                taxDeduction[side] = Money.ofAmount(resultSet.getDouble(6));
+                otherDeductions[side] = Money.ofAmount(resultSet.getDouble(7));
+            }
+
+            int type = resultSet.getInt(8);
+            if (!resultSet.wasNull()) {
+                String description = resultSet.getString(9);
+                String item = PaySlipDetailsTypeEnum.values()[type] + ": " + (description == null ? "" : description);
+                details.computeIfAbsent(item, key -> new long[2])[side] += Money.ofAmount(resultSet.getDouble(10));
+            }
+        }
+
+        // Writes the employee collected so far if any of their headline amounts moved by more than the threshold,
+        // then clears them for the next one
+        void compareEmployee() {
+            if (employeeId < 0) {
+                return;
+            }
+            employees++;
+            totalNetSalary[PREVIOUS] += netSalary[PREVIOUS];
+            totalNetSalary[CURRENT] += netSalary[CURRENT];
+
+            if (exceedsThreshold(netSalary) || exceedsThreshold(taxDeduction) || exceedsThreshold(otherDeductions)) {
+                variances++;
+                line.setLength(0);
+                appendItem("Net Salary", netSalary);
+                appendItem("Tax", taxDeduction);
+                appendItem("Other Deductions", otherDeductions);
+                for (Map.Entry<String, long[]> detail : details.entrySet()) {
+                    long[] amounts = detail.getValue();
+                    if (amounts[PREVIOUS] != amounts[CURRENT]) {
+                        appendItem(detail.getKey(), amounts);
+                    }
+                }
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            details.clear();
+            for (int side = PREVIOUS; side <= CURRENT; side++) {
+                netSalary[side] = 0;
+                taxDeduction[side] = 0;
+                otherDeductions[side] = 0;
+                paySlipSeen[side] = false;
+            }
+        }
+
+        // The trailer carries the number of employees reported out of those compared, and both periods' net totals
+        void writeTrailer() throws IOException {
+            line.setLength(0);
+            line.append("TOTAL,").append(variances).append(" of ").append(employees).append(" employees,");
+            appendAmounts("Net Salary", totalNetSalary);
+            writer.append(line);
+            writer.flush();
+        }
+
+        private boolean exceedsThreshold(long[] amounts) {
+            return Math.abs(amounts[CURRENT] - amounts[PREVIOUS]) > thresholdCents;
+        }
+
+        private void appendItem(String item, long[] amounts) {
+            line.append(employeeId).append(',');
+            appendText(employeeName).append(',');
+            appendAmounts(item, amounts);
+        }
+
+        private void appendAmounts(String item, long[] amounts) {
+            appendText(item).append(',')
+                    .append(Money.format(amounts[PREVIOUS])).append(',')
+                    .append(Money.format(amounts[CURRENT])).append(',')
+                    .append(Money.format(amounts[CURRENT] - amounts[PREVIOUS])).append("\r\n");
+        }
+
+        private StringBuilder appendText(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return line.append(value);
+            }
+            return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.payslipvariance.exception;
+
+public class PaySlipVarianceException extends RuntimeException {
+    public PaySlipVarianceException(String message) {
+        super(message);
+    }
+}
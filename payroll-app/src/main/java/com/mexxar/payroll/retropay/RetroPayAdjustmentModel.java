@@ -0,0 +1,39 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.common.converter.MoneyConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+
+// The net salary one finalised payslip should have paid after a back-dated change, less what it and earlier
+// adjustments did pay, carried into the payslip of a later pay period
+@Entity
+@Table(name = "RetroPayAdjustment", indexes = {
+        @Index(name = "idx_retro_pay_adjustment_target", columnList = "salaryPayPeriodId, employeeId"),
+        @Index(name = "idx_retro_pay_adjustment_source", columnList = "sourcePaySlipId")
+})
+@Data
+public class RetroPayAdjustmentModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long retroPayJobId;
+
+    private Long employeeId;
+
+    // The pay period the adjustment is paid in
+    private Long salaryPayPeriodId;
+
+    private Long sourcePaySlipId;
+
+    private Long sourcePayPeriodId;
+
+    private String description;
+
+    // The full basic salary the source payslip is now reconciled to
+    @Convert(converter = MoneyConverter.class)
+    private Double basicSalary;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double amount;
+}
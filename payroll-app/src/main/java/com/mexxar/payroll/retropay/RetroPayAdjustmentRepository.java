@@ -0,0 +1,26 @@
+package com.mexxar.payroll.retropay;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+interface RetroPayAdjustmentRepository extends JpaRepository<RetroPayAdjustmentModel, Long> {
+    List<RetroPayAdjustmentModel> findByEmployeeIdAndSalaryPayPeriodIdOrderById(Long employeeId, Long salaryPayPeriodId);
+
+    List<RetroPayAdjustmentModel> findBySalaryPayPeriodIdAndEmployeeIdBetweenOrderById(Long salaryPayPeriodId,
+                                                                                      Long firstEmployeeId,
+                                                                                      Long lastEmployeeId);
+
+    List<RetroPayAdjustmentModel> findByRetroPayJobIdOrderById(Long retroPayJobId);
+
+    // Earlier adjustments of the given payslips, oldest first, so the last one per payslip is where it now stands
+    List<RetroPayAdjustmentModel> findBySourcePaySlipIdInOrderById(Collection<Long> sourcePaySlipIds);
+
+    @Modifying
+    @Query("DELETE FROM RetroPayAdjustmentModel a WHERE a.retroPayJobId = :jobId")
+    int deleteByRetroPayJobId(@Param("jobId") Long jobId);
+}
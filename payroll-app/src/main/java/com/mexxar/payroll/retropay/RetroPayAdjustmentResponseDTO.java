@@ -0,0 +1,22 @@
+package com.mexxar.payroll.retropay;
+
+public record RetroPayAdjustmentResponseDTO(
+        Long id,
+
+        Long retroPayJobId,
+
+        Long employeeId,
+
+        Long payPeriodId,
+
+        Long sourcePaySlipId,
+
+        Long sourcePayPeriodId,
+
+        String description,
+
+        Double basicSalary,
+
+        Double amount
+)
+{}
@@ -0,0 +1,91 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.core.*;
+import com.mexxar.payroll.payslip.PaySlipModel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Works out what a finalised payslip should have paid under a back-dated basic salary. The payslip is rebuilt from
+// the amounts stored on it and calculated twice, at the basic it is reconciled to and at the new one, so everything
+// the change does not touch cancels out of the difference.
+final class RetroPayCalculator {
+
+    private final PayrollCalculator payrollCalculator;
+    private final List<TaxBracket> taxBrackets;
+
+    RetroPayCalculator(WorkingDayCalendar calendar, List<TaxBracket> taxBrackets) {
+        this.payrollCalculator = new PayrollCalculator(calendar);
+        this.taxBrackets = List.copyOf(taxBrackets);
+    }
+
+    record Recomputation(long basicSalary, long netDifference) {
+    }
+
+    // The full basic a payslip paid, before proration and leave
+    static long paidBasicSalary(PaySlipModel paySlip) {
+        return Money.ofAmount(amount(paySlip.getGrossSalary())) - Money.ofAmount(amount(paySlip.getTaxLiableAllowances()))
+                - Money.ofAmount(amount(paySlip.getTaxLiableCommissions()));
+    }
+
+    // The basic the payslip is reconciled to holds until the first change takes effect, and each change until the
+    // next; a change that takes effect inside the period is paid for the working days it covers
+    long basicSalaryFor(LocalDate periodStart, LocalDate periodEnd, long baselineBasicSalary, List<RetroPayChangeModel> changes) {
+        List<SalarySegment> segments = new ArrayList<>(changes.size() + 1);
+        segments.add(new SalarySegment(LocalDate.MIN, Money.toAmount(baselineBasicSalary)));
+        changes.stream()
+                .sorted(Comparator.comparing(RetroPayChangeModel::getEffectiveFrom))
+                .forEach(change -> segments.add(new SalarySegment(change.getEffectiveFrom(), change.getBasicSalary())));
+        return payrollCalculator.segmentedBasicSalaryCents(segments, periodStart, periodEnd);
+    }
+
+    Recomputation recompute(PaySlipModel paySlip, long baselineBasicSalary, List<RetroPayChangeModel> changes) {
+        LocalDate periodStart = paySlip.getStartDate() != null ? paySlip.getStartDate() : paySlip.getSalaryPayPeriod().getStartDate();
+        LocalDate periodEnd = paySlip.getEndDate() != null ? paySlip.getEndDate() : paySlip.getSalaryPayPeriod().getEndDate();
+
+        long basicSalary = basicSalaryFor(periodStart, periodEnd, baselineBasicSalary, changes);
+        if (basicSalary == baselineBasicSalary) {
+            return new Recomputation(basicSalary, 0);
+        }
+
+        // No-pay leave is stored as the deduction it made, so the days are read back from it at the prorated basic paid
+        long proratedBasicSalary = Money.ofAmount(amount(paySlip.getBasicSalary()));
+        double noPayLeaveDays = 0;
+        if (proratedBasicSalary > 0) {
+            int workingDays = payrollCalculator.countWorkingDays(periodStart, periodEnd);
+            noPayLeaveDays = Money.multiplyDivide(Money.ofAmount(amount(paySlip.getLeaveDeduction())), workingDays * 100L,
+                    proratedBasicSalary, PayrollCalculator.ROUNDING) / 100.0;
+        }
+
+        PaySlipResult baseline = payrollCalculator.calculate(toInput(paySlip, periodStart, periodEnd, baselineBasicSalary, noPayLeaveDays));
+        PaySlipResult recomputed = payrollCalculator.calculate(toInput(paySlip, periodStart, periodEnd, basicSalary, noPayLeaveDays));
+
+        return new Recomputation(basicSalary, Money.ofAmount(recomputed.netSalary()) - Money.ofAmount(baseline.netSalary()));
+    }
+
+    // Advances and loans were deducted whatever the basic was, so they are left out of both sides
+    private EmployeePeriodInput toInput(PaySlipModel paySlip, LocalDate periodStart, LocalDate periodEnd,
+                                        long basicSalary, double noPayLeaveDays) {
+        return new EmployeePeriodInput(
+                periodStart,
+                periodEnd,
+                paySlip.getEmployee().getHireDate(),
+                Money.toAmount(basicSalary),
+                amount(paySlip.getAttendanceDeduction()),
+                noPayLeaveDays,
+                List.of(new AllowanceInput(null, "Taxable allowances", amount(paySlip.getTaxLiableAllowances()))),
+                List.of(new AllowanceInput(null, "Tax excluded allowances", amount(paySlip.getTaxExcludedAllowances()))),
+                List.of(new CommissionInput(null, "Taxable commissions", amount(paySlip.getTaxLiableCommissions()))),
+                List.of(new CommissionInput(null, "Tax excluded commissions", amount(paySlip.getTaxExcludedCommissions()))),
+                List.of(),
+                List.of(),
+                taxBrackets
+        );
+    }
+
+    private static double amount(Double value) {
+        return value != null ? value : 0;
+    }
+}
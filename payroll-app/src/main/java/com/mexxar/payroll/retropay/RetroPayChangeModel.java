@@ -0,0 +1,39 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.common.converter.MoneyConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A basic salary change that takes effect before payslips already finalised with the old amount. It waits with no
+// job until a retro pay run claims it.
+@Entity
+@Table(name = "RetroPayChange", indexes = {
+        @Index(name = "idx_retro_pay_change_job", columnList = "retroPayJobId")
+})
+@Data
+public class RetroPayChangeModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long employeeId;
+
+    private Long salaryId;
+
+    private LocalDate effectiveFrom;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double previousBasicSalary;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double basicSalary;
+
+    private Long retroPayJobId;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
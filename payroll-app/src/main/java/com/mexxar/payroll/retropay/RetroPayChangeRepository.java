@@ -0,0 +1,22 @@
+package com.mexxar.payroll.retropay;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+interface RetroPayChangeRepository extends JpaRepository<RetroPayChangeModel, Long> {
+
+    // Claims every waiting change for one job in a single statement, so two runs can never both take a change
+    @Modifying
+    @Query("UPDATE RetroPayChangeModel c SET c.retroPayJobId = :jobId WHERE c.retroPayJobId IS NULL")
+    int claimPendingChanges(@Param("jobId") Long jobId);
+
+    @Modifying
+    @Query("UPDATE RetroPayChangeModel c SET c.retroPayJobId = NULL WHERE c.retroPayJobId = :jobId")
+    int releaseChanges(@Param("jobId") Long jobId);
+
+    List<RetroPayChangeModel> findByRetroPayJobIdOrderById(Long retroPayJobId);
+}
@@ -0,0 +1,64 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/retro-pay/jobs")
+public class RetroPayJobController {
+
+    private final RetroPayJobService retroPayJobService;
+
+    public RetroPayJobController(final RetroPayJobService retroPayJobService) {
+        this.retroPayJobService = retroPayJobService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(RetroPayJobController.class);
+
+    @Operation(summary = "Start a retro pay run", description = "This endpoint claims every waiting back-dated basic salary change, recomputes the finalised payslips they reach in the background, and posts the net differences as adjustments in the given pay period.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Retro pay run accepted"),
+            @ApiResponse(responseCode = "400", description = "A retro pay run is in progress, nothing is waiting, or the pay period has ended"),
+            @ApiResponse(responseCode = "404", description = "Salary pay period not found")
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<RetroPayJobResponseDTO>> startRetroPay(@Valid @RequestBody RetroPayJobRequestDTO requestDTO) {
+        logger.info("Received request to start a Retro Pay run");
+        ApiResponseDTO<RetroPayJobResponseDTO> job = retroPayJobService.startRetroPay(requestDTO);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "Get retro pay run by ID", description = "This endpoint returns the status and totals of a retro pay run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the retro pay run"),
+            @ApiResponse(responseCode = "404", description = "Retro pay run not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<RetroPayJobResponseDTO>> getRetroPayJobById(@PathVariable Long id) {
+        logger.info("Received request to get a Retro Pay run by ID");
+        ApiResponseDTO<RetroPayJobResponseDTO> job = retroPayJobService.getRetroPayJobById(id);
+        return ResponseEntity.ok(job);
+    }
+
+    @Operation(summary = "Get retro pay adjustments", description = "This endpoint returns the adjustments a retro pay run posted, one per recomputed payslip whose net salary changed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the adjustments"),
+            @ApiResponse(responseCode = "404", description = "Retro pay run not found")
+    })
+    @GetMapping("/{id}/adjustments")
+    public ResponseEntity<ApiResponseDTO<List<RetroPayAdjustmentResponseDTO>>> getRetroPayAdjustments(@PathVariable Long id) {
+        logger.info("Received request to get adjustments of a Retro Pay run");
+        ApiResponseDTO<List<RetroPayAdjustmentResponseDTO>> adjustments = retroPayJobService.getRetroPayAdjustments(id);
+        return ResponseEntity.ok(adjustments);
+    }
+}
@@ -0,0 +1,41 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.common.converter.MoneyConverter;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "RetroPayJob")
+@Data
+public class RetroPayJobModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private RetroPayJobStatusEnum status;
+
+    private int changeCount;
+    private int employeeCount;
+    private int recomputedPaySlips;
+    private int adjustmentCount;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double totalAdjustment;
+
+    private String errorMessage;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // The open pay period the adjustments are paid in
+    @ManyToOne
+    @JoinColumn(name = "salary_pay_period_id")
+    private SalaryPayPeriodModel salaryPayPeriod;
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.retropay;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+interface RetroPayJobRepository extends JpaRepository<RetroPayJobModel, Long> {
+    boolean existsByStatus(RetroPayJobStatusEnum status);
+}
@@ -0,0 +1,30 @@
+package com.mexxar.payroll.retropay;
+
+import java.time.LocalDateTime;
+
+public record RetroPayJobResponseDTO(
+        Long id,
+
+        Long payPeriodId,
+
+        RetroPayJobStatusEnum status,
+
+        int changeCount,
+
+        int employeeCount,
+
+        int recomputedPaySlips,
+
+        int adjustmentCount,
+
+        Double totalAdjustment,
+
+        String errorMessage,
+
+        LocalDateTime createdAt,
+
+        LocalDateTime startedAt,
+
+        LocalDateTime finishedAt
+)
+{}
@@ -0,0 +1,210 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.core.TaxBracket;
+import com.mexxar.payroll.holiday.WorkingDayCalendarService;
+import com.mexxar.payroll.payslip.PaySlipModel;
+import com.mexxar.payroll.payslip.PaySlipService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputTypeEnum;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.tax.TaxService;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Runs a retro pay job in the background: the employees with claimed changes are taken in chunks, each chunk's
+// finalised payslips are read in one query and recomputed in parallel, and only the non-zero differences are saved
+@Component
+public class RetroPayJobRunner {
+
+    private final RetroPayJobRepository retroPayJobRepository;
+    private final RetroPayChangeRepository retroPayChangeRepository;
+    private final RetroPayAdjustmentRepository retroPayAdjustmentRepository;
+    private final PaySlipService paySlipService;
+    private final PaySlipInputChangeService paySlipInputChangeService;
+    private final WorkingDayCalendarService workingDayCalendarService;
+    private final TaxService taxService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RetroPayJobRunner(RetroPayJobRepository retroPayJobRepository,
+                             RetroPayChangeRepository retroPayChangeRepository,
+                             RetroPayAdjustmentRepository retroPayAdjustmentRepository,
+                             PaySlipService paySlipService,
+                             PaySlipInputChangeService paySlipInputChangeService,
+                             WorkingDayCalendarService workingDayCalendarService,
+                             TaxService taxService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${payroll.retro-pay.chunk-size:1000}") int chunkSize) {
+        this.retroPayJobRepository = retroPayJobRepository;
+        this.retroPayChangeRepository = retroPayChangeRepository;
+        this.retroPayAdjustmentRepository = retroPayAdjustmentRepository;
+        this.paySlipService = paySlipService;
+        this.paySlipInputChangeService = paySlipInputChangeService;
+        this.workingDayCalendarService = workingDayCalendarService;
+        this.taxService = taxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    private static final Logger logger = LogManager.getLogger(RetroPayJobRunner.class);
+
+    public void submit(Long jobId) {
+        logger.debug("Retro pay job {} submitted", jobId);
+        executor.execute(() -> run(jobId));
+    }
+
+    void run(Long jobId) {
+        Instant start = Instant.now();
+        try {
+            RetroPayJobModel job = retroPayJobRepository.findById(jobId).orElseThrow();
+            SalaryPayPeriodModel payPeriod = job.getSalaryPayPeriod();
+
+            Map<Long, List<RetroPayChangeModel>> changesByEmployee = new TreeMap<>();
+            for (RetroPayChangeModel change : retroPayChangeRepository.findByRetroPayJobIdOrderById(jobId)) {
+                changesByEmployee.computeIfAbsent(change.getEmployeeId(), employeeId -> new ArrayList<>()).add(change);
+            }
+
+            RetroPayCalculator calculator = new RetroPayCalculator(workingDayCalendarService.getCalendar(),
+                    taxService.getAllTaxBrackets().stream()
+                            .map(bracket -> new TaxBracket(bracket.taxRate(), bracket.minSalary(), bracket.maxSalary()))
+                            .toList());
+
+            List<Long> employeeIds = new ArrayList<>(changesByEmployee.keySet());
+            int recomputedPaySlips = 0;
+            int adjustmentCount = 0;
+            long totalAdjustment = 0;
+            for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+                List<Long> chunk = employeeIds.subList(from, Math.min(from + chunkSize, employeeIds.size()));
+                List<PaySlipModel> paySlips = paySlipService.getFinalisedPaySlips(chunk,
+                        earliestEffectiveFrom(chunk, changesByEmployee), payPeriod.getStartDate());
+                List<RetroPayAdjustmentModel> adjustments = adjustChunk(job, calculator, paySlips, changesByEmployee);
+
+                retroPayAdjustmentRepository.saveAll(adjustments);
+                adjustments.stream()
+                        .map(RetroPayAdjustmentModel::getEmployeeId)
+                        .distinct()
+                        .forEach(employeeId -> paySlipInputChangeService.markChanged(employeeId, payPeriod.getId(),
+                                PaySlipInputTypeEnum.RETRO_PAY));
+
+                recomputedPaySlips += paySlips.size();
+                adjustmentCount += adjustments.size();
+                for (RetroPayAdjustmentModel adjustment : adjustments) {
+                    totalAdjustment += Money.ofAmount(adjustment.getAmount());
+                }
+            }
+
+            job.setStatus(RetroPayJobStatusEnum.COMPLETED);
+            job.setEmployeeCount(employeeIds.size());
+            job.setRecomputedPaySlips(recomputedPaySlips);
+            job.setAdjustmentCount(adjustmentCount);
+            job.setTotalAdjustment(Money.toAmount(totalAdjustment));
+            job.setFinishedAt(LocalDateTime.now());
+            retroPayJobRepository.save(job);
+
+            logger.info("Retro pay job {} recomputed {} payslips of {} employees into {} adjustments in {} ms", jobId,
+                    recomputedPaySlips, employeeIds.size(), adjustmentCount, Duration.between(start, Instant.now()).toMillis());
+        } catch (RuntimeException e) {
+            logger.error("Retro pay job {} failed: {}", jobId, e.getMessage(), e);
+            fail(jobId, e);
+        }
+    }
+
+    // Payslips are independent of each other once loaded, so a chunk is recomputed across all cores
+    private List<RetroPayAdjustmentModel> adjustChunk(RetroPayJobModel job, RetroPayCalculator calculator,
+                                                      List<PaySlipModel> paySlips,
+                                                      Map<Long, List<RetroPayChangeModel>> changesByEmployee) {
+        if (paySlips.isEmpty()) {
+            return List.of();
+        }
+
+        // The last adjustment of a payslip holds the basic it is already reconciled to
+        Map<Long, RetroPayAdjustmentModel> lastAdjustments = new HashMap<>();
+        retroPayAdjustmentRepository.findBySourcePaySlipIdInOrderById(paySlips.stream().map(PaySlipModel::getId).toList())
+                .forEach(adjustment -> lastAdjustments.put(adjustment.getSourcePaySlipId(), adjustment));
+
+        return paySlips.parallelStream()
+                .map(paySlip -> adjust(job, calculator, paySlip, changesByEmployee.get(paySlip.getEmployee().getId()),
+                        lastAdjustments.get(paySlip.getId())))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static RetroPayAdjustmentModel adjust(RetroPayJobModel job, RetroPayCalculator calculator, PaySlipModel paySlip,
+                                                  List<RetroPayChangeModel> changes, RetroPayAdjustmentModel lastAdjustment) {
+        long baselineBasicSalary = lastAdjustment != null
+                ? Money.ofAmount(lastAdjustment.getBasicSalary())
+                : RetroPayCalculator.paidBasicSalary(paySlip);
+
+        RetroPayCalculator.Recomputation recomputation = calculator.recompute(paySlip, baselineBasicSalary, changes);
+        if (recomputation.netDifference() == 0) {
+            return null;
+        }
+
+        SalaryPayPeriodModel sourcePayPeriod = paySlip.getSalaryPayPeriod();
+        RetroPayAdjustmentModel adjustment = new RetroPayAdjustmentModel();
+        adjustment.setRetroPayJobId(job.getId());
+        adjustment.setEmployeeId(paySlip.getEmployee().getId());
+        adjustment.setSalaryPayPeriodId(job.getSalaryPayPeriod().getId());
+        adjustment.setSourcePaySlipId(paySlip.getId());
+        adjustment.setSourcePayPeriodId(sourcePayPeriod.getId());
+        adjustment.setDescription("Retro Pay " + YearMonth.from(sourcePayPeriod.getStartDate()));
+        adjustment.setBasicSalary(Money.toAmount(recomputation.basicSalary()));
+        adjustment.setAmount(Money.toAmount(recomputation.netDifference()));
+        return adjustment;
+    }
+
+    private static LocalDate earliestEffectiveFrom(List<Long> employeeIds, Map<Long, List<RetroPayChangeModel>> changesByEmployee) {
+        LocalDate earliest = LocalDate.MAX;
+        for (Long employeeId : employeeIds) {
+            for (RetroPayChangeModel change : changesByEmployee.get(employeeId)) {
+                if (change.getEffectiveFrom().isBefore(earliest)) {
+                    earliest = change.getEffectiveFrom();
+                }
+            }
+        }
+        return earliest;
+    }
+
+    // A failed run leaves nothing behind: its adjustments go and its changes wait for the next run
+    private void fail(Long jobId, RuntimeException e) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                retroPayAdjustmentRepository.deleteByRetroPayJobId(jobId);
+                retroPayChangeRepository.releaseChanges(jobId);
+                retroPayJobRepository.findById(jobId).ifPresent(job -> {
+                    job.setStatus(RetroPayJobStatusEnum.FAILED);
+                    job.setErrorMessage(abbreviate(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+                    job.setFinishedAt(LocalDateTime.now());
+                    retroPayJobRepository.save(job);
+                });
+            });
+        } catch (RuntimeException cleanupFailure) {
+            logger.error("Could not clean up failed retro pay job {}: {}", jobId, cleanupFailure.getMessage(), cleanupFailure);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
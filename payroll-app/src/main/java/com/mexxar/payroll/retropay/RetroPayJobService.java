@@ -0,0 +1,122 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.retropay.exception.RetroPayJobException;
+import com.mexxar.payroll.retropay.exception.RetroPayJobNotFoundException;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class RetroPayJobService {
+
+    private final RetroPayJobRepository retroPayJobRepository;
+    private final RetroPayChangeRepository retroPayChangeRepository;
+    private final RetroPayAdjustmentRepository retroPayAdjustmentRepository;
+    private final SalaryPayPeriodService salaryPayPeriodService;
+    private final RetroPayJobRunner retroPayJobRunner;
+    private final TransactionTemplate transactionTemplate;
+
+    public RetroPayJobService(RetroPayJobRepository retroPayJobRepository,
+                              RetroPayChangeRepository retroPayChangeRepository,
+                              RetroPayAdjustmentRepository retroPayAdjustmentRepository,
+                              SalaryPayPeriodService salaryPayPeriodService,
+                              RetroPayJobRunner retroPayJobRunner,
+                              PlatformTransactionManager transactionManager) {
+        this.retroPayJobRepository = retroPayJobRepository;
+        this.retroPayChangeRepository = retroPayChangeRepository;
+        this.retroPayAdjustmentRepository = retroPayAdjustmentRepository;
+        this.salaryPayPeriodService = salaryPayPeriodService;
+        this.retroPayJobRunner = retroPayJobRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private static final Logger logger = LogManager.getLogger(RetroPayJobService.class);
+
+    private static final String RETRO_PAY_JOB_NOT_FOUND = "Retro pay job not found with ID: ";
+
+    // Every waiting change is claimed by this one job, so a company-wide back-dated increment runs as a single batch
+    public ApiResponseDTO<RetroPayJobResponseDTO> startRetroPay(RetroPayJobRequestDTO requestDTO) {
+        logger.info("Starting retro pay into pay period ID: {}", requestDTO.payPeriodId());
+
+        SalaryPayPeriodModel payPeriod = salaryPayPeriodService.getPayPeriodModelById(requestDTO.payPeriodId());
+        if (payPeriod.getEndDate().isBefore(LocalDate.now())) {
+            throw new RetroPayJobException("Retro pay can only be paid in a pay period that has not ended, pay period ID: "
+                    + payPeriod.getId() + " ended on " + payPeriod.getEndDate());
+        }
+        if (retroPayJobRepository.existsByStatus(RetroPayJobStatusEnum.RUNNING)) {
+            throw new RetroPayJobException("A retro pay run is already in progress");
+        }
+
+        RetroPayJobModel savedJob = transactionTemplate.execute(status -> {
+            RetroPayJobModel job = new RetroPayJobModel();
+            job.setSalaryPayPeriod(payPeriod);
+            job.setStatus(RetroPayJobStatusEnum.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job = retroPayJobRepository.save(job);
+
+            int claimed = retroPayChangeRepository.claimPendingChanges(job.getId());
+            if (claimed == 0) {
+                // Rolls the job back as well
+                throw new RetroPayJobException("There are no back-dated salary changes waiting for retro pay");
+            }
+            job.setChangeCount(claimed);
+            return retroPayJobRepository.save(job);
+        });
+
+        // Submitted only once the claim is committed, so the runner sees the changes
+        retroPayJobRunner.submit(savedJob.getId());
+        logger.info("Retro pay job {} started for {} changes into pay period ID: {}",
+                savedJob.getId(), savedJob.getChangeCount(), payPeriod.getId());
+
+        return new ApiResponseDTO<>("Retro Pay Started Successfully", convertToResponseDTO(savedJob));
+    }
+
+    public ApiResponseDTO<RetroPayJobResponseDTO> getRetroPayJobById(Long id) {
+        logger.debug("Fetching retro pay job with ID: {}", id);
+
+        return new ApiResponseDTO<>("Retro Pay Job Fetched Successfully", convertToResponseDTO(findRetroPayJobById(id)));
+    }
+
+    public ApiResponseDTO<List<RetroPayAdjustmentResponseDTO>> getRetroPayAdjustments(Long id) {
+        logger.debug("Fetching adjustments of retro pay job with ID: {}", id);
+
+        findRetroPayJobById(id);
+        List<RetroPayAdjustmentResponseDTO> adjustments = retroPayAdjustmentRepository.findByRetroPayJobIdOrderById(id)
+                .stream()
+                .map(RetroPayService::convertToResponseDTO)
+                .toList();
+
+        return new ApiResponseDTO<>("Retro Pay Adjustments Fetched Successfully", adjustments);
+    }
+
+    private RetroPayJobModel findRetroPayJobById(Long id) {
+        return retroPayJobRepository.findById(id)
+                .orElseThrow(() -> new RetroPayJobNotFoundException(RETRO_PAY_JOB_NOT_FOUND + id));
+    }
+
+    static RetroPayJobResponseDTO convertToResponseDTO(RetroPayJobModel job) {
+        return new RetroPayJobResponseDTO(
+                job.getId(),
+                job.getSalaryPayPeriod().getId(),
+                job.getStatus(),
+                job.getChangeCount(),
+                job.getEmployeeCount(),
+                job.getRecomputedPaySlips(),
+                job.getAdjustmentCount(),
+                job.getTotalAdjustment(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
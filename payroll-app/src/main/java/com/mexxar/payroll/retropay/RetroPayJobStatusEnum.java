@@ -0,0 +1,7 @@
+package com.mexxar.payroll.retropay;
+
+public enum RetroPayJobStatusEnum {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
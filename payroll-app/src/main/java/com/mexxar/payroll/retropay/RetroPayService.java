@@ -0,0 +1,76 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.core.Money;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Records back-dated basic salary changes for the next retro pay run, and hands the adjustments a run posted to the
+// payslip calculation of the pay period they are paid in
+@Service
+public class RetroPayService {
+
+    private final RetroPayChangeRepository retroPayChangeRepository;
+    private final RetroPayAdjustmentRepository retroPayAdjustmentRepository;
+
+    public RetroPayService(RetroPayChangeRepository retroPayChangeRepository,
+                           RetroPayAdjustmentRepository retroPayAdjustmentRepository) {
+        this.retroPayChangeRepository = retroPayChangeRepository;
+        this.retroPayAdjustmentRepository = retroPayAdjustmentRepository;
+    }
+
+    private static final Logger logger = LogManager.getLogger(RetroPayService.class);
+
+    // Only a change of amount that takes effect before today can reach payslips that are already finalised
+    public void recordBasicSalaryChange(Long employeeId, Long salaryId, LocalDate effectiveFrom,
+                                        Double previousBasicSalary, Double basicSalary) {
+        if (effectiveFrom == null || !effectiveFrom.isBefore(LocalDate.now())
+                || previousBasicSalary == null || basicSalary == null
+                || Money.ofAmount(previousBasicSalary) == Money.ofAmount(basicSalary)) {
+            return;
+        }
+
+        RetroPayChangeModel change = new RetroPayChangeModel();
+        change.setEmployeeId(employeeId);
+        change.setSalaryId(salaryId);
+        change.setEffectiveFrom(effectiveFrom);
+        change.setPreviousBasicSalary(previousBasicSalary);
+        change.setBasicSalary(basicSalary);
+        retroPayChangeRepository.save(change);
+
+        logger.info("Recorded back-dated basic salary change for employee ID: {} effective from {}", employeeId, effectiveFrom);
+    }
+
+    public List<RetroPayAdjustmentResponseDTO> getAdjustments(Long employeeId, Long payPeriodId) {
+        return retroPayAdjustmentRepository.findByEmployeeIdAndSalaryPayPeriodIdOrderById(employeeId, payPeriodId)
+                .stream()
+                .map(RetroPayService::convertToResponseDTO)
+                .toList();
+    }
+
+    public Map<Long, List<RetroPayAdjustmentResponseDTO>> getAdjustmentsGroupedByEmployee(Long payPeriodId, Long firstEmployeeId, Long lastEmployeeId) {
+        return retroPayAdjustmentRepository.findBySalaryPayPeriodIdAndEmployeeIdBetweenOrderById(payPeriodId, firstEmployeeId, lastEmployeeId)
+                .stream()
+                .map(RetroPayService::convertToResponseDTO)
+                .collect(Collectors.groupingBy(RetroPayAdjustmentResponseDTO::employeeId));
+    }
+
+    static RetroPayAdjustmentResponseDTO convertToResponseDTO(RetroPayAdjustmentModel adjustment) {
+        return new RetroPayAdjustmentResponseDTO(
+                adjustment.getId(),
+                adjustment.getRetroPayJobId(),
+                adjustment.getEmployeeId(),
+                adjustment.getSalaryPayPeriodId(),
+                adjustment.getSourcePaySlipId(),
+                adjustment.getSourcePayPeriodId(),
+                adjustment.getDescription(),
+                adjustment.getBasicSalary(),
+                adjustment.getAmount()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.retropay.exception;
+
+public class RetroPayJobException extends RuntimeException {
+    public RetroPayJobException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.mexxar.payroll.retropay.exception;
+
+public class RetroPayJobNotFoundException extends RuntimeException {
+    public RetroPayJobNotFoundException(String message) {
+        super(message);
+    }
+}
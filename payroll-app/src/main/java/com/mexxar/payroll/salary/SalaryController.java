@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/salaries")
 public class SalaryController {
@@ -52,6 +54,18 @@ public class SalaryController {
         return ResponseEntity.ok(salary);
     }
 
+    @Operation(summary = "Get salary history", description = "This endpoint retrieves the basic salary segments of a salary record, oldest first, each in effect until the next one.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the salary history"),
+            @ApiResponse(responseCode = "404", description = "Salary record not found")
+    })
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponseDTO<List<SalaryHistoryResponseDTO>>> getSalaryHistory(@PathVariable Long id) {
+        logger.info("Received request to get the history of a Salary");
+        ApiResponseDTO<List<SalaryHistoryResponseDTO>> history = salaryService.getSalaryHistory(id);
+        return ResponseEntity.ok(history);
+    }
+
     @Operation(summary = "Get all salary records", description = "This endpoint retrieves all salary records with pagination.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved salary records"),
@@ -0,0 +1,35 @@
+package com.mexxar.payroll.salary;
+
+import com.mexxar.payroll.common.converter.MoneyConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One basic salary of an employee from the date it takes effect until the next one does. The salary itself keeps
+// only the latest amount; these segments are what a pay period is prorated over.
+@Entity
+@Table(name = "SalaryHistory", indexes = {
+        @Index(name = "idx_salary_history_employee_effective_from", columnList = "employeeId, effectiveFrom", unique = true),
+        @Index(name = "idx_salary_history_salary", columnList = "salaryId")
+})
+@Data
+public class SalaryHistoryModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long employeeId;
+
+    private Long salaryId;
+
+    private LocalDate effectiveFrom;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double basicSalary;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
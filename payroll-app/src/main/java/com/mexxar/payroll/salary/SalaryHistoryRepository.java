@@ -0,0 +1,45 @@
+package com.mexxar.payroll.salary;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+interface SalaryHistoryRepository extends JpaRepository<SalaryHistoryModel, Long> {
+
+    // The segment in effect on the first day of the period, if any, and every one that takes effect inside it
+    String OVERLAPPING_PERIOD = "h.effectiveFrom <= :periodEnd AND h.effectiveFrom >= COALESCE(" +
+            "(SELECT MAX(p.effectiveFrom) FROM SalaryHistoryModel p " +
+            "WHERE p.employeeId = h.employeeId AND p.effectiveFrom <= :periodStart), h.effectiveFrom) ";
+
+    Optional<SalaryHistoryModel> findByEmployeeIdAndEffectiveFrom(Long employeeId, LocalDate effectiveFrom);
+
+    boolean existsByEmployeeId(Long employeeId);
+
+    List<SalaryHistoryModel> findBySalaryIdOrderByEffectiveFrom(Long salaryId);
+
+    @Query("SELECT h FROM SalaryHistoryModel h WHERE h.employeeId = :employeeId AND " + OVERLAPPING_PERIOD +
+            "ORDER BY h.effectiveFrom")
+    List<SalaryHistoryModel> findOverlappingPeriod(@Param("employeeId") Long employeeId,
+                                                   @Param("periodStart") LocalDate periodStart,
+                                                   @Param("periodEnd") LocalDate periodEnd);
+
+    @Query("SELECT h FROM SalaryHistoryModel h " +
+            "WHERE h.employeeId IN (SELECT e.id FROM EmployeeModel e WHERE e.status = :status) " +
+            "AND h.employeeId BETWEEN :firstEmployeeId AND :lastEmployeeId AND " + OVERLAPPING_PERIOD +
+            "ORDER BY h.employeeId, h.effectiveFrom")
+    List<SalaryHistoryModel> findOverlappingPeriodByEmployeeStatusAndEmployeeIdRange(@Param("status") StatusEnum status,
+                                                                                     @Param("firstEmployeeId") Long firstEmployeeId,
+                                                                                     @Param("lastEmployeeId") Long lastEmployeeId,
+                                                                                     @Param("periodStart") LocalDate periodStart,
+                                                                                     @Param("periodEnd") LocalDate periodEnd);
+
+    @Modifying
+    @Query("DELETE FROM SalaryHistoryModel h WHERE h.salaryId = :salaryId")
+    int deleteBySalaryId(@Param("salaryId") Long salaryId);
+}
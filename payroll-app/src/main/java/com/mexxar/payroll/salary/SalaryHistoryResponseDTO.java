@@ -0,0 +1,16 @@
+package com.mexxar.payroll.salary;
+
+import java.time.LocalDate;
+
+public record SalaryHistoryResponseDTO(
+        Long id,
+
+        Long employeeId,
+
+        Long salaryId,
+
+        LocalDate effectiveFrom,
+
+        Double basicSalary
+)
+{}
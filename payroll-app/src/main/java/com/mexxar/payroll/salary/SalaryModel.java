@@ -1,5 +1,6 @@
 package com.mexxar.payroll.salary;
 
+import com.mexxar.payroll.common.converter.MoneyConverter;
 import com.mexxar.payroll.employee.EmployeeModel;
 import com.mexxar.payroll.salaryallowance.SalaryAllowanceModel;
 import com.mexxar.payroll.salarycommission.SalaryCommissionModel;
@@ -16,6 +17,7 @@ public class SalaryModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Convert(converter = MoneyConverter.class)
     private Double basicSalary;
     private LocalDate startDate;
     private LocalDate endDate;
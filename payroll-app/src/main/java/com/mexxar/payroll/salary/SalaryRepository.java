@@ -0,0 +1,19 @@
+package com.mexxar.payroll.salary;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SalaryRepository extends JpaRepository<SalaryModel, Long> {
+    Optional<SalaryModel> findByEmployeeId(Long employeeId);
+
+    @Query("SELECT s FROM SalaryModel s JOIN FETCH s.employee e WHERE e.status = :status " +
+            "AND e.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    List<SalaryModel> findByEmployeeStatusAndEmployeeIdRange(@Param("status") StatusEnum status,
+                                                             @Param("firstEmployeeId") Long firstEmployeeId,
+                                                             @Param("lastEmployeeId") Long lastEmployeeId);
+}
@@ -1,8 +1,12 @@
 package com.mexxar.payroll.salary;
 
 import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.common.enums.StatusEnum;
 import com.mexxar.payroll.employee.EmployeeModel;
 import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputTypeEnum;
+import com.mexxar.payroll.retropay.RetroPayService;
 import com.mexxar.payroll.salary.exception.SalaryNotFoundException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,17 +17,31 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class SalaryService {
 
     private final SalaryRepository salaryRepository;
+    private final SalaryHistoryRepository salaryHistoryRepository;
     private final EmployeeService employeeService;
+    private final RetroPayService retroPayService;
+    private final PaySlipInputChangeService paySlipInputChangeService;
 
-    public SalaryService(SalaryRepository salaryRepository, EmployeeService employeeService) {
+    public SalaryService(SalaryRepository salaryRepository, SalaryHistoryRepository salaryHistoryRepository,
+                         EmployeeService employeeService, RetroPayService retroPayService,
+                         PaySlipInputChangeService paySlipInputChangeService) {
         this.salaryRepository = salaryRepository;
+        this.salaryHistoryRepository = salaryHistoryRepository;
         this.employeeService = employeeService;
+        this.retroPayService = retroPayService;
+        this.paySlipInputChangeService = paySlipInputChangeService;
     }
 
     private static final Logger logger = LogManager.getLogger(SalaryService.class);
@@ -44,6 +62,7 @@ public class SalaryService {
         salary.setEmployee(employeeModel);
 
         SalaryModel savedSalary = salaryRepository.save(salary);
+        recordSalaryHistory(savedSalary, effectiveFrom(salaryRequestDTO.startDate(), employeeModel.getHireDate()));
         Instant endTime = Instant.now();
         Duration timeElapsed = Duration.between(startTime, endTime);
         logger.info("Salary created successfully for salary id {} in {} ms", salary.getId(), timeElapsed.toMillis());
@@ -85,6 +104,45 @@ public class SalaryService {
         return convertToResponseDTO(salary);
     }
 
+    // Keyed by employee ID, for calculations that cover a whole pay period
+    public Map<Long, SalaryResponseDTO> getSalariesByEmployeeStatus(StatusEnum status, Long firstEmployeeId, Long lastEmployeeId) {
+        logger.debug("Starting to get Salaries for employees with status: {} between {} and {}", status, firstEmployeeId, lastEmployeeId);
+
+        return salaryRepository.findByEmployeeStatusAndEmployeeIdRange(status, firstEmployeeId, lastEmployeeId).stream()
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toMap(salary -> salary.employee().getId(), Function.identity()));
+    }
+
+    public ApiResponseDTO<List<SalaryHistoryResponseDTO>> getSalaryHistory(Long id) {
+        logger.debug("Starting to get history of Salary for : {}", id);
+
+        if (!salaryRepository.existsById(id)) {
+            throw new SalaryNotFoundException(SALARY_NOT_FOUND_MSG + id);
+        }
+        List<SalaryHistoryResponseDTO> history = salaryHistoryRepository.findBySalaryIdOrderByEffectiveFrom(id).stream()
+                .map(SalaryService::convertToHistoryResponseDTO)
+                .toList();
+
+        return new ApiResponseDTO<>("Salary history fetched successfully", history);
+    }
+
+    // The segments a pay period is prorated over, oldest first; empty for salaries from before history was kept
+    public List<SalaryHistoryResponseDTO> getSalaryHistory(Long employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        return salaryHistoryRepository.findOverlappingPeriod(employeeId, periodStart, periodEnd).stream()
+                .map(SalaryService::convertToHistoryResponseDTO)
+                .toList();
+    }
+
+    // Every segment overlapping a pay period in one query, keyed by employee ID
+    public Map<Long, List<SalaryHistoryResponseDTO>> getSalaryHistoriesByEmployeeStatus(StatusEnum status, Long firstEmployeeId,
+                                                                                        Long lastEmployeeId, LocalDate periodStart,
+                                                                                        LocalDate periodEnd) {
+        return salaryHistoryRepository.findOverlappingPeriodByEmployeeStatusAndEmployeeIdRange(
+                        status, firstEmployeeId, lastEmployeeId, periodStart, periodEnd).stream()
+                .map(SalaryService::convertToHistoryResponseDTO)
+                .collect(Collectors.groupingBy(SalaryHistoryResponseDTO::employeeId));
+    }
+
     public ApiResponseDTO<Page<SalaryResponseDTO>> getAllSalaries(Pageable pageable) {
         if (pageable.isPaged()) {
             logger.info("Fetching all salaries with page size: {}", pageable.getPageSize());
@@ -108,12 +166,31 @@ public class SalaryService {
         Instant startTime = Instant.now();
         SalaryModel existingSalary = salaryRepository.findById(id)
                 .orElseThrow(() -> new SalaryNotFoundException(SALARY_NOT_FOUND_MSG + id));
+        Double previousBasicSalary = existingSalary.getBasicSalary();
+
+        // A salary from before its history was kept gets its current amount as the first segment, so a raise
+        // splits the periods it lands in instead of replacing the old amount outright
+        Long employeeId = existingSalary.getEmployee().getId();
+        if (!salaryHistoryRepository.existsByEmployeeId(employeeId)) {
+            recordSalaryHistory(existingSalary,
+                    effectiveFrom(existingSalary.getStartDate(), existingSalary.getEmployee().getHireDate()));
+        }
 
         existingSalary.setBasicSalary(salaryRequestDTO.basicSalary());
         existingSalary.setStartDate(salaryRequestDTO.startDate());
         existingSalary.setEndDate(salaryRequestDTO.endDate());
 
         SalaryModel updatedSalary = salaryRepository.save(existingSalary);
+        if (!Objects.equals(previousBasicSalary, salaryRequestDTO.basicSalary())) {
+            recordSalaryHistory(updatedSalary, effectiveFrom(salaryRequestDTO.startDate(), LocalDate.now()));
+            // Payslips still open in the periods the change reaches are regenerated by the next recompute
+            paySlipInputChangeService.markChangedBetween(employeeId, salaryRequestDTO.startDate(), LocalDate.now(),
+                    PaySlipInputTypeEnum.BASIC_SALARY);
+        }
+
+        // Payslips already finalised with the old amount are corrected by the next retro pay run
+        retroPayService.recordBasicSalaryChange(employeeId, id, salaryRequestDTO.startDate(),
+                previousBasicSalary, salaryRequestDTO.basicSalary());
         Instant endTime = Instant.now();
         Duration timeElapsed = Duration.between(startTime, endTime);
         logger.info("Salary updated successfully for salary id {} in {} ms", id, timeElapsed.toMillis());
@@ -121,6 +198,7 @@ public class SalaryService {
         return new ApiResponseDTO<>("Salary Updated Successfully", convertToResponseDTO(updatedSalary));
     }
 
+    @Transactional
     public ApiResponseDTO<Void> deleteSalary(Long id) {
         if (id == null) {
             throw new NullPointerException("Salary ID cannot be null");
@@ -131,6 +209,7 @@ public class SalaryService {
         SalaryModel salary = salaryRepository.findById(id)
                 .orElseThrow(() -> new SalaryNotFoundException(SALARY_NOT_FOUND_MSG + id));
 
+        salaryHistoryRepository.deleteBySalaryId(id);
         salaryRepository.delete(salary);
         Instant endTime = Instant.now();
         Duration timeElapsed = Duration.between(startTime, endTime);
@@ -139,6 +218,35 @@ public class SalaryService {
         return new ApiResponseDTO<>("Salary Deleted Successfully", null);
     }
 
+    // A change made again for the same day replaces the amount recorded for it
+    private void recordSalaryHistory(SalaryModel salary, LocalDate effectiveFrom) {
+        Long employeeId = salary.getEmployee().getId();
+        SalaryHistoryModel segment = salaryHistoryRepository.findByEmployeeIdAndEffectiveFrom(employeeId, effectiveFrom)
+                .orElseGet(SalaryHistoryModel::new);
+        segment.setEmployeeId(employeeId);
+        segment.setSalaryId(salary.getId());
+        segment.setEffectiveFrom(effectiveFrom);
+        segment.setBasicSalary(salary.getBasicSalary());
+        salaryHistoryRepository.save(segment);
+    }
+
+    private static LocalDate effectiveFrom(LocalDate startDate, LocalDate fallback) {
+        if (startDate != null) {
+            return startDate;
+        }
+        return fallback != null ? fallback : LocalDate.now();
+    }
+
+    private static SalaryHistoryResponseDTO convertToHistoryResponseDTO(SalaryHistoryModel segment) {
+        return new SalaryHistoryResponseDTO(
+                segment.getId(),
+                segment.getEmployeeId(),
+                segment.getSalaryId(),
+                segment.getEffectiveFrom(),
+                segment.getBasicSalary()
+        );
+    }
+
     private SalaryResponseDTO convertToResponseDTO(SalaryModel salary) {
         return new SalaryResponseDTO(
                 salary.getId(),
@@ -12,4 +12,10 @@ public interface SalaryAdvanceRepository extends JpaRepository<SalaryAdvanceMode
     @Query("SELECT s FROM SalaryAdvanceModel s WHERE s.employee.id = :employeeId AND s.salaryPayPeriod.id = :payPeriodId AND s.status = 3")
     List<SalaryAdvanceModel> findPendingAdvancesByEmployeeIdAndSalaryPayPeriod(@Param("employeeId") Long employeeId,
                                                                                @Param("payPeriodId") Long payPeriodId);
+
+    @Query("SELECT s FROM SalaryAdvanceModel s WHERE s.salaryPayPeriod.id = :payPeriodId AND s.status = 3 " +
+            "AND s.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    List<SalaryAdvanceModel> findPendingAdvancesBySalaryPayPeriodAndEmployeeIdRange(@Param("payPeriodId") Long payPeriodId,
+                                                                                   @Param("firstEmployeeId") Long firstEmployeeId,
+                                                                                   @Param("lastEmployeeId") Long lastEmployeeId);
 }
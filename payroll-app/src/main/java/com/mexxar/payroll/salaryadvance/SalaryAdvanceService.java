@@ -3,6 +3,8 @@ package com.mexxar.payroll.salaryadvance;
 import com.mexxar.payroll.common.ApiResponseDTO;
 import com.mexxar.payroll.employee.EmployeeModel;
 import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputTypeEnum;
 import com.mexxar.payroll.salaryadvance.exception.SalaryAdvanceException;
 import com.mexxar.payroll.salaryadvance.exception.SalaryAdvanceNotFoundException;
 import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
@@ -17,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class SalaryAdvanceService {
@@ -24,11 +28,13 @@ public class SalaryAdvanceService {
     private final SalaryAdvanceRepository salaryAdvanceRepository;
     private final EmployeeService employeeService;
     private final SalaryPayPeriodService salaryPayPeriodService;
+    private final PaySlipInputChangeService paySlipInputChangeService;
 
-    public SalaryAdvanceService(SalaryAdvanceRepository salaryAdvanceRepository, EmployeeService employeeService, SalaryPayPeriodService salaryPayPeriodService) {
+    public SalaryAdvanceService(SalaryAdvanceRepository salaryAdvanceRepository, EmployeeService employeeService, SalaryPayPeriodService salaryPayPeriodService, PaySlipInputChangeService paySlipInputChangeService) {
         this.salaryAdvanceRepository = salaryAdvanceRepository;
         this.employeeService = employeeService;
         this.salaryPayPeriodService = salaryPayPeriodService;
+        this.paySlipInputChangeService = paySlipInputChangeService;
     }
 
     private static final Logger logger = LogManager.getLogger(SalaryAdvanceService.class);
@@ -54,6 +60,7 @@ public class SalaryAdvanceService {
             advance.setSalaryPayPeriod(payPeriod);
 
             SalaryAdvanceModel savedAdvance = salaryAdvanceRepository.save(advance);
+            markPaySlipInputChanged(savedAdvance);
 
             Instant endTime = Instant.now();
             Duration timeElapsed = Duration.between(startTime, endTime);
@@ -106,6 +113,15 @@ public class SalaryAdvanceService {
                 .map(this::convertToResponseDTO)
                 .toList();    }
 
+    // Keyed by employee ID, for calculations that cover a whole pay period
+    public Map<Long, List<SalaryAdvanceResponseDTO>> getPendingSalaryAdvancesByMonthGroupedByEmployee(Long payPeriodId, Long firstEmployeeId,
+                                                                                                    Long lastEmployeeId) {
+        return salaryAdvanceRepository.findPendingAdvancesBySalaryPayPeriodAndEmployeeIdRange(payPeriodId, firstEmployeeId, lastEmployeeId).stream()
+                .collect(Collectors.groupingBy(
+                        advance -> advance.getEmployee().getId(),
+                        Collectors.mapping(this::convertToResponseDTO, Collectors.toList())));
+    }
+
     public ApiResponseDTO<Page<SalaryAdvanceResponseDTO>> getAllSalaryAdvances(Pageable pageable) {
         logger.debug("Starting to retrieve all salary advances");
 
@@ -132,12 +148,15 @@ public class SalaryAdvanceService {
         try {
             EmployeeModel employee = employeeService.getEmployeeModelById(request.employeeId());
 
+            // Both the payslip it was deducted from and the one it moves to need recomputing
+            markPaySlipInputChanged(existingAdvance);
             existingAdvance.setAdvanceAmount(request.advanceAmount());
             existingAdvance.setAdvanceDate(request.advanceDate());
             existingAdvance.setStatus(request.status());
             existingAdvance.setEmployee(employee);
             existingAdvance.setSalaryPayPeriod(payPeriod);
             SalaryAdvanceModel updatedAdvance = salaryAdvanceRepository.save(existingAdvance);
+            markPaySlipInputChanged(updatedAdvance);
 
             Instant endTime = Instant.now();
             Duration timeElapsed = Duration.between(startTime, endTime);
@@ -158,6 +177,7 @@ public class SalaryAdvanceService {
 
         try {
             salaryAdvanceRepository.delete(advance);
+            markPaySlipInputChanged(advance);
             Instant endTime = Instant.now();
             Duration timeElapsed = Duration.between(startTime, endTime);
             logger.info("Salary Advance deleted successfully for ID {} in {} ms", id, timeElapsed.toMillis());
@@ -168,6 +188,13 @@ public class SalaryAdvanceService {
         }
     }
 
+    private void markPaySlipInputChanged(SalaryAdvanceModel advance) {
+        if (advance.getSalaryPayPeriod() != null) {
+            paySlipInputChangeService.markChanged(advance.getEmployee().getId(),
+                    advance.getSalaryPayPeriod().getId(), PaySlipInputTypeEnum.ADVANCE);
+        }
+    }
+
     private SalaryAdvanceResponseDTO convertToResponseDTO(SalaryAdvanceModel advance) {
         return new SalaryAdvanceResponseDTO(
                 advance.getId(),
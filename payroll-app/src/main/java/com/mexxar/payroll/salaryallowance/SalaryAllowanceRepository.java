@@ -16,4 +16,15 @@ public interface SalaryAllowanceRepository extends JpaRepository<SalaryAllowance
                                                        @Param("payPeriodId") Long payPeriodId,
                                                        @Param("isFixed") Boolean isFixed,
                                                        @Param("isLiableToTax") Boolean isLiableToTax);
+
+    @Query("SELECT s FROM SalaryAllowanceModel s " +
+            "WHERE (:payPeriodId = 0 OR s.salaryPayPeriod.id = :payPeriodId) " +
+            "AND s.allowanceType.isFixed = :isFixed " +
+            "AND s.allowanceType.isLiableToTax = :isLiableToTax " +
+            "AND s.salary.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    List<SalaryAllowanceModel> getAllAllowancesByCriteria(@Param("payPeriodId") Long payPeriodId,
+                                                          @Param("isFixed") Boolean isFixed,
+                                                          @Param("isLiableToTax") Boolean isLiableToTax,
+                                                          @Param("firstEmployeeId") Long firstEmployeeId,
+                                                          @Param("lastEmployeeId") Long lastEmployeeId);
 }
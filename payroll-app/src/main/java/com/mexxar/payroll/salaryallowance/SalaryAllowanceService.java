@@ -3,6 +3,8 @@ package com.mexxar.payroll.salaryallowance;
 import com.mexxar.payroll.allowancetype.AllowanceTypeModel;
 import com.mexxar.payroll.allowancetype.AllowanceTypeService;
 import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputTypeEnum;
 import com.mexxar.payroll.salary.SalaryModel;
 import com.mexxar.payroll.salary.SalaryService;
 import com.mexxar.payroll.salaryallowance.exception.SalaryAllowanceNotFoundException;
@@ -16,6 +18,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class SalaryAllowanceService {
@@ -24,12 +28,14 @@ public class SalaryAllowanceService {
     private final SalaryService salaryService;
     private final AllowanceTypeService allowanceTypeService;
     private final SalaryPayPeriodService salaryPayPeriodService;
+    private final PaySlipInputChangeService paySlipInputChangeService;
 
-    public SalaryAllowanceService(SalaryAllowanceRepository salaryAllowanceRepository, SalaryService salaryService, AllowanceTypeService allowanceTypeService, SalaryPayPeriodService salaryPayPeriodService) {
+    public SalaryAllowanceService(SalaryAllowanceRepository salaryAllowanceRepository, SalaryService salaryService, AllowanceTypeService allowanceTypeService, SalaryPayPeriodService salaryPayPeriodService, PaySlipInputChangeService paySlipInputChangeService) {
         this.salaryAllowanceRepository = salaryAllowanceRepository;
         this.salaryService = salaryService;
         this.allowanceTypeService = allowanceTypeService;
         this.salaryPayPeriodService = salaryPayPeriodService;
+        this.paySlipInputChangeService = paySlipInputChangeService;
     }
 
     private static final Logger logger = LogManager.getLogger(SalaryAllowanceService.class);
@@ -58,6 +64,7 @@ public class SalaryAllowanceService {
         salaryAllowance.setSalaryPayPeriod(payPeriod);
 
         SalaryAllowanceModel savedSalaryAllowance = salaryAllowanceRepository.save(salaryAllowance);
+        markPaySlipInputChanged(savedSalaryAllowance);
         Instant end = Instant.now();
         Duration timeElapsed = Duration.between(start, end);
         logger.info("SalaryAllowance created successfully with ID: {} in {} ms", savedSalaryAllowance.getId(), timeElapsed.toMillis());
@@ -105,11 +112,14 @@ public class SalaryAllowanceService {
 
         SalaryPayPeriodModel payPeriod = salaryPayPeriodService.getPayPeriodModelById(salaryAllowanceRequestDTO.salaryPayPeriodId());
 
+        // Both the period it was in and the one it moves to need recomputing
+        markPaySlipInputChanged(existingAllowance);
         existingAllowance.setAmount(salaryAllowanceRequestDTO.amount());
         existingAllowance.setAllowanceType(allowanceType);
         existingAllowance.setSalaryPayPeriod(payPeriod);
 
         SalaryAllowanceModel updatedAllowance = salaryAllowanceRepository.save(existingAllowance);
+        markPaySlipInputChanged(updatedAllowance);
         Instant end = Instant.now();
         Duration timeElapsed = Duration.between(start, end);
         logger.info("SalaryAllowance updated successfully for ID: {} in {} ms", updatedAllowance.getId(), timeElapsed.toMillis());
@@ -126,6 +136,7 @@ public class SalaryAllowanceService {
                 .orElseThrow(() -> new SalaryAllowanceNotFoundException(SALARY_ALLOWANCE_NOT_FOUND_MSG + id));
 
         salaryAllowanceRepository.delete(salaryAllowance);
+        markPaySlipInputChanged(salaryAllowance);
         Instant end = Instant.now();
         Duration timeElapsed = Duration.between(start, end);
         logger.info("SalaryAllowance deleted successfully with ID: {} in {} ms", id, timeElapsed.toMillis());
@@ -137,6 +148,22 @@ public class SalaryAllowanceService {
         return salaryAllowanceRepository.getAllowancesByCriteria(salaryId, payPeriodId, isFixed, isLiableToTax);
     }
 
+    // Same criteria as above for every salary at once, keyed by salary ID
+    public Map<Long, List<SalaryAllowanceModel>> getAllowancesByCriteriaGroupedBySalary(long payPeriodId, Boolean isFixed, Boolean isLiableToTax,
+                                                                                       Long firstEmployeeId, Long lastEmployeeId) {
+        return salaryAllowanceRepository.getAllAllowancesByCriteria(payPeriodId, isFixed, isLiableToTax, firstEmployeeId, lastEmployeeId).stream()
+                .collect(Collectors.groupingBy(allowance -> allowance.getSalary().getId()));
+    }
+
+    private void markPaySlipInputChanged(SalaryAllowanceModel salaryAllowance) {
+        Long employeeId = salaryAllowance.getSalary().getEmployee().getId();
+        if (salaryAllowance.getAllowanceType() != null && Boolean.TRUE.equals(salaryAllowance.getAllowanceType().getIsFixed())) {
+            paySlipInputChangeService.markChangedForOpenPayPeriods(employeeId, PaySlipInputTypeEnum.ALLOWANCE);
+        } else if (salaryAllowance.getSalaryPayPeriod() != null) {
+            paySlipInputChangeService.markChanged(employeeId, salaryAllowance.getSalaryPayPeriod().getId(), PaySlipInputTypeEnum.ALLOWANCE);
+        }
+    }
+
     private SalaryAllowanceResponseDTO convertToResponseDTO(SalaryAllowanceModel salaryAllowance) {
         return new SalaryAllowanceResponseDTO(
                 salaryAllowance.getId(),
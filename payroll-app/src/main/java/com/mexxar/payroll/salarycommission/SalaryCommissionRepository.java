@@ -14,4 +14,13 @@ public interface SalaryCommissionRepository extends JpaRepository<SalaryCommissi
     List<SalaryCommissionModel> getCommissionByCriteria(@Param("salaryId") Long salaryId,
                                                         @Param("payPeriodId") Long payPeriodId,
                                                         @Param("isLiableToTax") Boolean isLiableToTax);
+
+    @Query("SELECT s FROM SalaryCommissionModel s " +
+            "WHERE (:payPeriodId = 0 OR s.salaryPayPeriod.id = :payPeriodId) " +
+            "AND s.commissionType.isLiableToTax = :isLiableToTax " +
+            "AND s.salary.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    List<SalaryCommissionModel> getAllCommissionsByCriteria(@Param("payPeriodId") Long payPeriodId,
+                                                            @Param("isLiableToTax") Boolean isLiableToTax,
+                                                            @Param("firstEmployeeId") Long firstEmployeeId,
+                                                            @Param("lastEmployeeId") Long lastEmployeeId);
 }
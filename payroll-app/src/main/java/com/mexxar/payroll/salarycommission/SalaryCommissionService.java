@@ -3,6 +3,8 @@ package com.mexxar.payroll.salarycommission;
 import com.mexxar.payroll.commissiontype.CommissionTypeModel;
 import com.mexxar.payroll.commissiontype.CommissionTypeService;
 import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputTypeEnum;
 import com.mexxar.payroll.salary.SalaryModel;
 import com.mexxar.payroll.salary.SalaryService;
 import com.mexxar.payroll.salarycommission.exception.SalaryCommissionNotFoundException;
@@ -16,7 +18,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class SalaryCommissionService {
@@ -25,12 +29,14 @@ public class SalaryCommissionService {
     private final SalaryService salaryService;
     private final CommissionTypeService commissionTypeService;
     private final SalaryPayPeriodService salaryPayPeriodService;
+    private final PaySlipInputChangeService paySlipInputChangeService;
 
-    public SalaryCommissionService(SalaryCommissionRepository salaryCommissionRepository, SalaryService salaryService, CommissionTypeService commissionTypeService, SalaryPayPeriodService salaryPayPeriodService) {
+    public SalaryCommissionService(SalaryCommissionRepository salaryCommissionRepository, SalaryService salaryService, CommissionTypeService commissionTypeService, SalaryPayPeriodService salaryPayPeriodService, PaySlipInputChangeService paySlipInputChangeService) {
         this.salaryCommissionRepository = salaryCommissionRepository;
         this.salaryService = salaryService;
         this.commissionTypeService = commissionTypeService;
         this.salaryPayPeriodService = salaryPayPeriodService;
+        this.paySlipInputChangeService = paySlipInputChangeService;
     }
 
     private static final Logger logger = LogManager.getLogger(SalaryCommissionService.class);
@@ -59,6 +65,7 @@ public class SalaryCommissionService {
         commission.setSalaryPayPeriod(payPeriod);
 
         SalaryCommissionModel savedCommission = salaryCommissionRepository.save(commission);
+        markPaySlipInputChanged(savedCommission);
         Instant end = Instant.now();
         Duration timeElapsed = Duration.between(start, end);
         logger.info("SalaryCommission created successfully with ID: {} in {} ms", savedCommission.getId(), timeElapsed.toMillis());
@@ -113,6 +120,15 @@ public class SalaryCommissionService {
         return responseDTOs;
     }
 
+    // Same criteria as above for every salary at once, keyed by salary ID
+    public Map<Long, List<SalaryCommissionResponseDTO>> getAllSalaryCommissionByCriteriaGroupedBySalary(Long payPeriod, Boolean isLiableToTax,
+                                                                                                       Long firstEmployeeId, Long lastEmployeeId) {
+        return salaryCommissionRepository.getAllCommissionsByCriteria(payPeriod, isLiableToTax, firstEmployeeId, lastEmployeeId).stream()
+                .collect(Collectors.groupingBy(
+                        commission -> commission.getSalary().getId(),
+                        Collectors.mapping(this::convertToResponseDTO, Collectors.toList())));
+    }
+
     @Transactional
     public ApiResponseDTO<SalaryCommissionResponseDTO> updateSalaryCommission(Long id, SalaryCommissionRequestDTO salaryCommissionRequestDTO) {
         logger.debug("Updating SalaryCommission with ID: {}", id);
@@ -126,11 +142,14 @@ public class SalaryCommissionService {
 
         SalaryPayPeriodModel payPeriod = salaryPayPeriodService.getPayPeriodModelById(salaryCommissionRequestDTO.salaryPayPeriodId());
 
+        // Both the period it was in and the one it moves to need recomputing
+        markPaySlipInputChanged(existingCommission);
         existingCommission.setAmount(salaryCommissionRequestDTO.amount());
         existingCommission.setCommissionType(commissionType);
         existingCommission.setSalaryPayPeriod(payPeriod);
 
         SalaryCommissionModel updatedCommission = salaryCommissionRepository.save(existingCommission);
+        markPaySlipInputChanged(updatedCommission);
         Instant end = Instant.now();
         Duration timeElapsed = Duration.between(start, end);
         logger.info("SalaryCommission updated successfully with ID: {} in {} ms", updatedCommission.getId(), timeElapsed.toMillis());
@@ -146,6 +165,7 @@ public class SalaryCommissionService {
                 .orElseThrow(() -> new SalaryCommissionNotFoundException(SALARY_COMMISSION_NOT_FOUND_MSG + id));
 
         salaryCommissionRepository.delete(commission);
+        markPaySlipInputChanged(commission);
         Instant end = Instant.now();
         Duration timeElapsed = Duration.between(start, end);
         logger.info("SalaryCommission deleted successfully with ID: {} in {} ms", id, timeElapsed.toMillis());
@@ -153,6 +173,13 @@ public class SalaryCommissionService {
         return new ApiResponseDTO<>("Salary Commission Deleted Successfully", null);
     }
 
+    private void markPaySlipInputChanged(SalaryCommissionModel salaryCommission) {
+        if (salaryCommission.getSalaryPayPeriod() != null) {
+            paySlipInputChangeService.markChanged(salaryCommission.getSalary().getEmployee().getId(),
+                    salaryCommission.getSalaryPayPeriod().getId(), PaySlipInputTypeEnum.COMMISSION);
+        }
+    }
+
     private SalaryCommissionResponseDTO convertToResponseDTO(SalaryCommissionModel salaryCommission) {
         return new SalaryCommissionResponseDTO(
                 salaryCommission.getId(),
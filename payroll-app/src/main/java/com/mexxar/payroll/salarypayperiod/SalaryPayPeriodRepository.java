@@ -1,15 +1,22 @@
 package com.mexxar.payroll.salarypayperiod;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface SalaryPayPeriodRepository extends JpaRepository<SalaryPayPeriodModel, Long> {
     boolean existsByStartDateAndEndDateAndMonthOf(LocalDate startDate, LocalDate endDate, String monthOf);
 
     @Query("SELECT p FROM SalaryPayPeriodModel p WHERE p.monthOf = :year%")
     List<SalaryPayPeriodModel> findAllByYear(@Param("year") Long year);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM SalaryPayPeriodModel p WHERE p.id = :id")
+    Optional<SalaryPayPeriodModel> findByIdForUpdate(@Param("id") Long id);
 }
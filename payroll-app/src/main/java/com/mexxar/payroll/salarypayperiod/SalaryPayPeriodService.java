@@ -6,6 +6,8 @@ import com.mexxar.payroll.salarypayperiod.exception.SalaryPayPeriodNotFoundExcep
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -71,6 +73,15 @@ public class SalaryPayPeriodService {
                 .orElseThrow(() -> new SalaryPayPeriodNotFoundException("Pay Period not found with ID: " + id));
     }
 
+    // Held until the caller's transaction ends, so work started against the period is serialised across nodes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public SalaryPayPeriodModel lockPayPeriodModelById(Long id) {
+        logger.debug("Locking Pay Period model for ID: {}", id);
+
+        return salaryPayPeriodRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new SalaryPayPeriodNotFoundException("Pay Period not found with ID: " + id));
+    }
+
     public ApiResponseDTO<List<SalaryPayPeriodResponseDTO>> getAllPayPeriods() {
         logger.info("Fetching all Pay Periods");
 
@@ -1,5 +1,6 @@
 package com.mexxar.payroll.tax;
 
+import com.mexxar.payroll.common.converter.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -12,6 +13,8 @@ public class TaxModel {
     private Long id;
 
     private Double taxRate;
+    @Convert(converter = MoneyConverter.class)
     private Double minSalary;
+    @Convert(converter = MoneyConverter.class)
     private Double maxSalary;
 }
@@ -85,6 +85,13 @@ public class TaxService {
                 .toList();
     }
 
+    public List<TaxResponseDTO> getAllTaxBrackets() {
+        return taxRepository.findAll()
+                .stream()
+                .map(this::convertToResponseDTO)
+                .toList();
+    }
+
     public ApiResponseDTO<List<TaxResponseDTO>> getAllTaxes() {
         logger.info("Fetching all taxes.");
 
@@ -0,0 +1,39 @@
+package com.mexxar.payroll.taxcertificate;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/tax-certificates")
+public class TaxCertificateController {
+
+    private final TaxCertificateService taxCertificateService;
+
+    public TaxCertificateController(final TaxCertificateService taxCertificateService) {
+        this.taxCertificateService = taxCertificateService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(TaxCertificateController.class);
+
+    @Operation(summary = "Generate year-end tax certificates", description = "This endpoint streams a zip archive with one tax deduction certificate per employee paid in the tax year, plus a control file of totals.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully generated the tax certificates")
+    })
+    @GetMapping(produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> generateCertificates(@RequestParam int taxYear) {
+        logger.info("Received request to generate tax certificates for tax year {}", taxYear);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tax-certificates-" + taxYear + ".zip\"")
+                .body(taxCertificateService.generateCertificates(taxYear));
+    }
+}
@@ -0,0 +1,181 @@
+package com.mexxar.payroll.taxcertificate;
+
+import com.mexxar.payroll.common.jdbc.StreamingQueries;
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.taxcertificate.exception.TaxCertificateException;
+import com.mexxar.payroll.yeartodate.YearToDateService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Year-end tax deduction certificates for every employee paid in a tax year, built from one scan of the year's
+// payslips ordered by employee. Only the employee being summed is held in memory; each certificate is written to
+// the archive as soon as the scan moves past its last payslip.
+@Service
+public class TaxCertificateService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final YearToDateService yearToDateService;
+
+    public TaxCertificateService(JdbcTemplate jdbcTemplate, YearToDateService yearToDateService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.yearToDateService = yearToDateService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(TaxCertificateService.class);
+
+    private static final String PAYSLIPS_OF_TAX_YEAR =
+            "SELECT p.employee_id, e.first_name, e.last_name, e.epf_number, e.national_id_number, " +
+            "p.gross_salary, p.tax_liable_allowances, p.tax_excluded_allowances, " +
+            "p.tax_liable_commissions, p.tax_excluded_commissions, p.tax_deduction " +
+            "FROM pay_slip p " +
+            "JOIN salary_pay_period s ON s.id = p.salary_pay_period_id " +
+            "JOIN employee e ON e.id = p.employee_id " +
+            "WHERE s.start_date >= ? AND s.start_date < ? " +
+            "ORDER BY p.employee_id";
+
+    public StreamingResponseBody generateCertificates(int taxYear) {
+        return outputStream -> writeCertificates(taxYear, outputStream);
+    }
+
+    // Writes a zip with one certificate per employee followed by a control file of counts and totals
+    public int writeCertificates(int taxYear, OutputStream outputStream) throws IOException {
+        logger.info("Generating tax certificates for tax year {}", taxYear);
+
+        LocalDate from = yearToDateService.taxYearStart(taxYear);
+        LocalDate to = yearToDateService.taxYearStart(taxYear + 1);
+
+        Instant start = Instant.now();
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        CertificateWriter writer = new CertificateWriter(zip, taxYear, from, to.minusDays(1));
+        try {
+            jdbcTemplate.query(connection -> payslipsOfTaxYear(connection, from, to), writer);
+        } catch (TaxCertificateException e) {
+            throw (IOException) e.getCause();
+        }
+        writer.finish();
+        zip.finish();
+        Instant end = Instant.now();
+        logger.info("Generated {} tax certificates from {} payslips for tax year {} in {} ms",
+                writer.certificates, writer.yearTotals.paySlips, taxYear, Duration.between(start, end).toMillis());
+
+        return writer.certificates;
+    }
+
+    private static PreparedStatement payslipsOfTaxYear(Connection connection, LocalDate from, LocalDate to) throws SQLException {
+        PreparedStatement statement = StreamingQueries.prepare(connection, PAYSLIPS_OF_TAX_YEAR);
+        statement.setDate(1, Date.valueOf(from));
+        statement.setDate(2, Date.valueOf(to));
+        return statement;
+    }
+
+    private static final class CertificateWriter implements RowCallbackHandler {
+
+        private final ZipOutputStream zip;
+        private final int taxYear;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final TaxCertificateTotals employeeTotals = new TaxCertificateTotals();
+        private final TaxCertificateTotals yearTotals = new TaxCertificateTotals();
+        private final StringBuilder text = new StringBuilder(1024);
+
+        private long employeeId = -1;
+        private String employeeName;
+        private String epfNumber;
+        private String nationalIdNumber;
+        private int certificates;
+
+        CertificateWriter(ZipOutputStream zip, int taxYear, LocalDate from, LocalDate to) {
+            this.zip = zip;
+            this.taxYear = taxYear;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long rowEmployeeId = resultSet.getLong(1);
+            if (rowEmployeeId != employeeId) {
+                try {
+                    writeCertificate();
+                } catch (IOException e) {
+                    throw new TaxCertificateException("Failed to write tax certificate for employee " + employeeId, e);
+                }
+                employeeId = rowEmployeeId;
+                employeeName = resultSet.getString(2) + " " + resultSet.getString(3);
+                epfNumber = resultSet.getString(4);
+                nationalIdNumber = resultSet.getString(5);
+            }
+            employeeTotals.add(resultSet.getDouble(6), resultSet.getDouble(7), resultSet.getDouble(8),
+                    resultSet.getDouble(9), resultSet.getDouble(10), resultSet.getDouble(11));
+        }
+
+        void finish() throws IOException {
+            writeCertificate();
+
+            text.setLength(0);
+            text.append("Tax year: ").append(taxYear).append('\n')
+                    .append("Certificates: ").append(certificates).append('\n');
+            appendAmounts(yearTotals);
+            writeEntry("tax-year-" + taxYear + "/control.txt");
+        }
+
+        private void writeCertificate() throws IOException {
+            if (employeeTotals.paySlips == 0) {
+                return;
+            }
+
+            text.setLength(0);
+            text.append("TAX DEDUCTION CERTIFICATE\n")
+                    .append("Tax year: ").append(taxYear).append(" (").append(from).append(" to ").append(to).append(")\n")
+                    .append("Employee ID: ").append(employeeId).append('\n')
+                    .append("Employee name: ").append(employeeName).append('\n')
+                    .append("EPF number: ").append(orBlank(epfNumber)).append('\n')
+                    .append("National ID number: ").append(orBlank(nationalIdNumber)).append('\n');
+            appendAmounts(employeeTotals);
+            writeEntry("tax-year-" + taxYear + "/" + employeeId + ".txt");
+
+            certificates++;
+            yearTotals.add(employeeTotals);
+            employeeTotals.clear();
+        }
+
+        private void appendAmounts(TaxCertificateTotals totals) {
+            text.append("Pay periods: ").append(totals.paySlips).append('\n')
+                    .append("Gross salary: ").append(Money.format(totals.grossSalary)).append('\n')
+                    .append("Taxable allowances: ").append(Money.format(totals.taxLiableAllowances)).append('\n')
+                    .append("Tax-excluded allowances: ").append(Money.format(totals.taxExcludedAllowances)).append('\n')
+                    .append("Taxable commissions: ").append(Money.format(totals.taxLiableCommissions)).append('\n')
+                    .append("Tax-excluded commissions: ").append(Money.format(totals.taxExcludedCommissions)).append('\n')
+                    .append("Total remuneration: ").append(Money.format(totals.totalRemuneration())).append('\n')
+                    .append("Tax deducted: ").append(Money.format(totals.taxDeduction)).append('\n');
+        }
+
+        private void writeEntry(String name) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        private static String orBlank(String value) {
+            return value == null ? "" : value;
+        }
+    }
+}
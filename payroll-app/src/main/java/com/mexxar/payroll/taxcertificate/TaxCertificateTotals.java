@@ -0,0 +1,51 @@
+package com.mexxar.payroll.taxcertificate;
+
+import com.mexxar.payroll.core.Money;
+
+// Amounts summed in cents over a run of payslips; one instance per employee is reused for the whole scan
+final class TaxCertificateTotals {
+
+    int paySlips;
+    long grossSalary;
+    long taxLiableAllowances;
+    long taxExcludedAllowances;
+    long taxLiableCommissions;
+    long taxExcludedCommissions;
+    long taxDeduction;
+
+    void add(double grossSalary, double taxLiableAllowances, double taxExcludedAllowances,
+             double taxLiableCommissions, double taxExcludedCommissions, double taxDeduction) {
+        paySlips++;
+        this.grossSalary += Money.ofAmount(grossSalary);
+        this.taxLiableAllowances += Money.ofAmount(taxLiableAllowances);
+        this.taxExcludedAllowances += Money.ofAmount(taxExcludedAllowances);
+        this.taxLiableCommissions += Money.ofAmount(taxLiableCommissions);
+        this.taxExcludedCommissions += Money.ofAmount(taxExcludedCommissions);
+        this.taxDeduction += Money.ofAmount(taxDeduction);
+    }
+
+    void add(TaxCertificateTotals other) {
+        paySlips += other.paySlips;
+        grossSalary += other.grossSalary;
+        taxLiableAllowances += other.taxLiableAllowances;
+        taxExcludedAllowances += other.taxExcludedAllowances;
+        taxLiableCommissions += other.taxLiableCommissions;
+        taxExcludedCommissions += other.taxExcludedCommissions;
+        taxDeduction += other.taxDeduction;
+    }
+
+    // Gross salary already includes the taxable allowances and commissions
+    long totalRemuneration() {
+        return grossSalary + taxExcludedAllowances + taxExcludedCommissions;
+    }
+
+    void clear() {
+        paySlips = 0;
+        grossSalary = 0;
+        taxLiableAllowances = 0;
+        taxExcludedAllowances = 0;
+        taxLiableCommissions = 0;
+        taxExcludedCommissions = 0;
+        taxDeduction = 0;
+    }
+}
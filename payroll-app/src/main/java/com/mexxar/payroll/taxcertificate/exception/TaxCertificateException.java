@@ -0,0 +1,7 @@
+package com.mexxar.payroll.taxcertificate.exception;
+
+public class TaxCertificateException extends RuntimeException {
+    public TaxCertificateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
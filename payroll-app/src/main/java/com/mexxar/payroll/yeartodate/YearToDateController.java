@@ -0,0 +1,43 @@
+package com.mexxar.payroll.yeartodate;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/year-to-date")
+public class YearToDateController {
+
+    private final YearToDateService yearToDateService;
+
+    public YearToDateController(final YearToDateService yearToDateService) {
+        this.yearToDateService = yearToDateService;
+    }
+
+    private static final Logger logger = LogManager.getLogger(YearToDateController.class);
+
+    @Operation(summary = "Get year-to-date totals of an employee", description = "This endpoint retrieves the gross, taxable, tax, EPF, ETF and net totals of an employee for a tax year.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the year-to-date totals")
+    })
+    @GetMapping("/employee/{employeeId}")
+    public ResponseEntity<ApiResponseDTO<YearToDateResponseDTO>> getYearToDate(@PathVariable Long employeeId, @RequestParam int taxYear) {
+        logger.info("Received request to get year-to-date totals for employee {} in tax year {}", employeeId, taxYear);
+        return ResponseEntity.ok(yearToDateService.getYearToDate(employeeId, taxYear));
+    }
+
+    @Operation(summary = "Rebuild year-to-date totals", description = "This endpoint recomputes every employee's year-to-date totals for a tax year from its payslips.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully rebuilt the year-to-date totals")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponseDTO<Integer>> rebuildTaxYear(@RequestParam int taxYear) {
+        logger.info("Received request to rebuild year-to-date totals for tax year {}", taxYear);
+        return ResponseEntity.ok(yearToDateService.rebuildTaxYear(taxYear));
+    }
+}
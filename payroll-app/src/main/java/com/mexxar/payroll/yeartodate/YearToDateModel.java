@@ -0,0 +1,47 @@
+package com.mexxar.payroll.yeartodate;
+
+import com.mexxar.payroll.common.converter.MoneyConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Running totals of one employee's payslips in one tax year. A tax year is named after the calendar year it
+// starts in.
+@Entity
+@Table(name = "YearToDate", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_year_to_date_employee_tax_year", columnNames = {"employeeId", "taxYear"})
+})
+@Data
+public class YearToDateModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long employeeId;
+
+    private int taxYear;
+
+    private int paySlipCount;
+
+    // Everything paid before deductions, tax-excluded allowances and commissions included
+    @Convert(converter = MoneyConverter.class)
+    private Double totalEarnings;
+
+    // The payslip gross salary, which is what tax is worked out on
+    @Convert(converter = MoneyConverter.class)
+    private Double taxableIncome;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double taxWithheld;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double epfDeduction;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double companyEpfContribution;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double companyEtfContribution;
+
+    @Convert(converter = MoneyConverter.class)
+    private Double netSalary;
+}
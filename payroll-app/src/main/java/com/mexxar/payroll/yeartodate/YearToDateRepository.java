@@ -0,0 +1,53 @@
+package com.mexxar.payroll.yeartodate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+interface YearToDateRepository extends JpaRepository<YearToDateModel, Long> {
+    Optional<YearToDateModel> findByEmployeeIdAndTaxYear(Long employeeId, int taxYear);
+
+    // A single UPDATE, so concurrent payslips for the same employee add up instead of overwriting each other
+    @Modifying
+    @Query("UPDATE YearToDateModel y SET " +
+            "y.paySlipCount = y.paySlipCount + :paySlips, " +
+            "y.totalEarnings = y.totalEarnings + :totalEarnings, " +
+            "y.taxableIncome = y.taxableIncome + :taxableIncome, " +
+            "y.taxWithheld = y.taxWithheld + :taxWithheld, " +
+            "y.epfDeduction = y.epfDeduction + :epfDeduction, " +
+            "y.companyEpfContribution = y.companyEpfContribution + :companyEpf, " +
+            "y.companyEtfContribution = y.companyEtfContribution + :companyEtf, " +
+            "y.netSalary = y.netSalary + :netSalary " +
+            "WHERE y.employeeId = :employeeId AND y.taxYear = :taxYear")
+    int accumulate(@Param("employeeId") Long employeeId,
+                   @Param("taxYear") int taxYear,
+                   @Param("paySlips") int paySlips,
+                   @Param("totalEarnings") Double totalEarnings,
+                   @Param("taxableIncome") Double taxableIncome,
+                   @Param("taxWithheld") Double taxWithheld,
+                   @Param("epfDeduction") Double epfDeduction,
+                   @Param("companyEpf") Double companyEpf,
+                   @Param("companyEtf") Double companyEtf,
+                   @Param("netSalary") Double netSalary);
+
+    @Modifying
+    @Query("DELETE FROM YearToDateModel y WHERE y.taxYear = :taxYear")
+    int deleteByTaxYear(@Param("taxYear") int taxYear);
+
+    // One row per employee: employeeId, payslips, total earnings, taxable income, tax, EPF, company EPF,
+    // company ETF, net salary
+    @Query("SELECT p.employee.id, COUNT(p), " +
+            "SUM(p.grossSalary + COALESCE(p.taxExcludedAllowances, 0) + COALESCE(p.taxExcludedCommissions, 0)), " +
+            "SUM(p.grossSalary), SUM(p.taxDeduction), SUM(p.epfDeduction), " +
+            "SUM(COALESCE(c.epfContribution, 0)), SUM(COALESCE(c.etfContribution, 0)), SUM(p.netSalary) " +
+            "FROM PaySlipModel p " +
+            "LEFT JOIN EpfEtfContributionModel c ON c.payslipId = p.id " +
+            "WHERE p.salaryPayPeriod.startDate >= :from AND p.salaryPayPeriod.startDate < :to " +
+            "GROUP BY p.employee.id")
+    List<Object[]> sumPaySlipsByEmployee(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
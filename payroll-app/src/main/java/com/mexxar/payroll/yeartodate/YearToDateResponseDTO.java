@@ -0,0 +1,24 @@
+package com.mexxar.payroll.yeartodate;
+
+public record YearToDateResponseDTO(
+        Long employeeId,
+
+        int taxYear,
+
+        int paySlipCount,
+
+        Double totalEarnings,
+
+        Double taxableIncome,
+
+        Double taxWithheld,
+
+        Double epfDeduction,
+
+        Double companyEpfContribution,
+
+        Double companyEtfContribution,
+
+        Double netSalary
+)
+{}
@@ -0,0 +1,166 @@
+package com.mexxar.payroll.yeartodate;
+
+import com.mexxar.payroll.common.ApiResponseDTO;
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.payslip.PaySlipModel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps one accumulator row per employee and tax year in step with their payslips, inside the transaction that
+// writes or removes the payslip, so year-to-date figures are a single row read. Payslips written before the
+// accumulators existed are picked up by rebuilding the tax year.
+@Service
+public class YearToDateService {
+
+    private final YearToDateRepository yearToDateRepository;
+    private final int taxYearStartMonth;
+
+    public YearToDateService(YearToDateRepository yearToDateRepository,
+                             @Value("${payroll.tax-year.start-month:4}") int taxYearStartMonth) {
+        this.yearToDateRepository = yearToDateRepository;
+        this.taxYearStartMonth = taxYearStartMonth;
+    }
+
+    private static final Logger logger = LogManager.getLogger(YearToDateService.class);
+
+    // A pay period belongs to the tax year its first day falls in
+    public int taxYearOf(LocalDate date) {
+        return date.getMonthValue() >= taxYearStartMonth ? date.getYear() : date.getYear() - 1;
+    }
+
+    public LocalDate taxYearStart(int taxYear) {
+        return LocalDate.of(taxYear, taxYearStartMonth, 1);
+    }
+
+    @Transactional
+    public void addPaySlip(PaySlipModel paySlip, double companyEpfContribution, double companyEtfContribution) {
+        accumulate(paySlip, companyEpfContribution, companyEtfContribution, 1);
+    }
+
+    @Transactional
+    public void removePaySlip(PaySlipModel paySlip, double companyEpfContribution, double companyEtfContribution) {
+        accumulate(paySlip, companyEpfContribution, companyEtfContribution, -1);
+    }
+
+    private void accumulate(PaySlipModel paySlip, double companyEpf, double companyEtf, int sign) {
+        Long employeeId = paySlip.getEmployee().getId();
+        int taxYear = taxYearOf(paySlip.getSalaryPayPeriod().getStartDate());
+
+        int updated = yearToDateRepository.accumulate(employeeId, taxYear, sign,
+                signed(totalEarnings(paySlip), sign),
+                signed(paySlip.getGrossSalary(), sign),
+                signed(paySlip.getTaxDeduction(), sign),
+                signed(paySlip.getEpfDeduction(), sign),
+                signed(companyEpf, sign),
+                signed(companyEtf, sign),
+                signed(paySlip.getNetSalary(), sign));
+        if (updated > 0) {
+            return;
+        }
+
+        if (sign < 0) {
+            logger.warn("No year-to-date row for employee {} in tax year {}; rebuild the tax year to bring it back in step",
+                    employeeId, taxYear);
+            return;
+        }
+
+        // First payslip of the tax year. Two first payslips racing for the same employee fail on the unique key
+        // and roll back one of the two payslips rather than losing its totals.
+        YearToDateModel yearToDate = new YearToDateModel();
+        yearToDate.setEmployeeId(employeeId);
+        yearToDate.setTaxYear(taxYear);
+        yearToDate.setPaySlipCount(1);
+        yearToDate.setTotalEarnings(totalEarnings(paySlip));
+        yearToDate.setTaxableIncome(valueOf(paySlip.getGrossSalary()));
+        yearToDate.setTaxWithheld(valueOf(paySlip.getTaxDeduction()));
+        yearToDate.setEpfDeduction(valueOf(paySlip.getEpfDeduction()));
+        yearToDate.setCompanyEpfContribution(companyEpf);
+        yearToDate.setCompanyEtfContribution(companyEtf);
+        yearToDate.setNetSalary(valueOf(paySlip.getNetSalary()));
+        yearToDateRepository.save(yearToDate);
+    }
+
+    public ApiResponseDTO<YearToDateResponseDTO> getYearToDate(Long employeeId, int taxYear) {
+        logger.info("Fetching year-to-date totals for employee {} in tax year {}", employeeId, taxYear);
+
+        YearToDateResponseDTO responseDTO = yearToDateRepository.findByEmployeeIdAndTaxYear(employeeId, taxYear)
+                .map(this::convertToResponseDTO)
+                .orElseGet(() -> new YearToDateResponseDTO(employeeId, taxYear, 0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0));
+
+        return new ApiResponseDTO<>("Successfully Fetched Year To Date Totals", responseDTO);
+    }
+
+    // Replaces the tax year's accumulators with totals summed from its payslips in one grouped query. Run it
+    // outside a pay run: payslips written while it runs may be counted twice or not at all.
+    @Transactional
+    public ApiResponseDTO<Integer> rebuildTaxYear(int taxYear) {
+        logger.info("Rebuilding year-to-date totals for tax year {}", taxYear);
+
+        Instant start = Instant.now();
+        int deleted = yearToDateRepository.deleteByTaxYear(taxYear);
+
+        List<YearToDateModel> rebuilt = new ArrayList<>();
+        for (Object[] row : yearToDateRepository.sumPaySlipsByEmployee(taxYearStart(taxYear), taxYearStart(taxYear + 1))) {
+            YearToDateModel yearToDate = new YearToDateModel();
+            yearToDate.setEmployeeId((Long) row[0]);
+            yearToDate.setTaxYear(taxYear);
+            yearToDate.setPaySlipCount(((Number) row[1]).intValue());
+            yearToDate.setTotalEarnings(amount(row[2]));
+            yearToDate.setTaxableIncome(amount(row[3]));
+            yearToDate.setTaxWithheld(amount(row[4]));
+            yearToDate.setEpfDeduction(amount(row[5]));
+            yearToDate.setCompanyEpfContribution(amount(row[6]));
+            yearToDate.setCompanyEtfContribution(amount(row[7]));
+            yearToDate.setNetSalary(amount(row[8]));
+            rebuilt.add(yearToDate);
+        }
+        yearToDateRepository.saveAll(rebuilt);
+        Instant end = Instant.now();
+        logger.info("Rebuilt {} year-to-date rows for tax year {} (replacing {}) in {} ms",
+                rebuilt.size(), taxYear, deleted, Duration.between(start, end).toMillis());
+
+        return new ApiResponseDTO<>("Year To Date Totals Rebuilt Successfully", rebuilt.size());
+    }
+
+    private static double totalEarnings(PaySlipModel paySlip) {
+        return Money.toAmount(Money.ofAmount(valueOf(paySlip.getGrossSalary()))
+                + Money.ofAmount(valueOf(paySlip.getTaxExcludedAllowances()))
+                + Money.ofAmount(valueOf(paySlip.getTaxExcludedCommissions())));
+    }
+
+    private static double signed(Double amount, int sign) {
+        return sign * valueOf(amount);
+    }
+
+    private static double valueOf(Double amount) {
+        return amount == null ? 0.0 : amount;
+    }
+
+    private static double amount(Object value) {
+        return value == null ? 0.0 : Money.toAmount(Money.ofAmount(((Number) value).doubleValue()));
+    }
+
+    private YearToDateResponseDTO convertToResponseDTO(YearToDateModel yearToDate) {
+        return new YearToDateResponseDTO(
+                yearToDate.getEmployeeId(),
+                yearToDate.getTaxYear(),
+                yearToDate.getPaySlipCount(),
+                yearToDate.getTotalEarnings(),
+                yearToDate.getTaxableIncome(),
+                yearToDate.getTaxWithheld(),
+                yearToDate.getEpfDeduction(),
+                yearToDate.getCompanyEpfContribution(),
+                yearToDate.getCompanyEtfContribution(),
+                yearToDate.getNetSalary()
+        );
+    }
+}
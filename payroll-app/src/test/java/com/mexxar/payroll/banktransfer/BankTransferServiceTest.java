@@ -0,0 +1,116 @@
+package com.mexxar.payroll.banktransfer;
+
+import com.mexxar.payroll.banktransfer.exception.BankTransferException;
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import com.mexxar.payroll.salarypayperiod.exception.SalaryPayPeriodNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import({SalaryPayPeriodService.class, BankTransferService.class})
+class BankTransferServiceTest extends DatasetJpaTest {
+
+    private static final DatasetSpec SPEC = dataset(40, 19L);
+
+    private static final List<BankTransferColumnEnum> COLUMNS = List.of(BankTransferColumnEnum.EMPLOYEE_ID,
+            BankTransferColumnEnum.ACCOUNT_HOLDER_NAME, BankTransferColumnEnum.ACCOUNT_NUMBER, BankTransferColumnEnum.AMOUNT);
+
+    // Approved payslips of employees with a primary account; every seventh employee has none
+    private static final String PAID_BY_TRANSFER = "FROM pay_slip p WHERE p.salary_pay_period_id = ? AND p.status = 1 " +
+            "AND p.net_salary > 0 AND MOD(p.employee_id, 7) <> 0";
+
+    @Autowired
+    private BankTransferService bankTransferService;
+
+    @Autowired
+    private SalaryPayPeriodService salaryPayPeriodService;
+
+    private SalaryPayPeriodModel payPeriod;
+
+    @BeforeEach
+    void setUp() {
+        generator.generate(SPEC);
+        Long payPeriodId = jdbcTemplate.queryForObject("SELECT id FROM salary_pay_period WHERE start_date = DATE '2024-05-01'", Long.class);
+        payPeriod = salaryPayPeriodService.getPayPeriodModelById(payPeriodId);
+
+        jdbcTemplate.update("UPDATE pay_slip SET status = 1 WHERE salary_pay_period_id = ?", payPeriodId);
+        jdbcTemplate.update("INSERT INTO bank_account (account_holder_name, bank_name, account_number, branch_name, account_type, employee_id) " +
+                "SELECT CONCAT(last_name, ', ', first_name), 'Commercial Bank', CONCAT('80', id), 'Colombo', 0, id FROM employee WHERE MOD(id, 7) <> 0");
+        // A secondary account does not stand in for a missing primary, and a second primary is never paid twice
+        jdbcTemplate.update("INSERT INTO bank_account (account_holder_name, bank_name, account_number, branch_name, account_type, employee_id) " +
+                "SELECT 'Secondary', 'People''s Bank', CONCAT('90', id), 'Kandy', 1, id FROM employee WHERE MOD(id, 7) = 0");
+        jdbcTemplate.update("INSERT INTO bank_account (account_holder_name, bank_name, account_number, branch_name, account_type, employee_id) " +
+                "SELECT 'Duplicate', 'Sampath Bank', CONCAT('70', id), 'Galle', 0, id FROM employee WHERE MOD(id, 7) = 1");
+    }
+
+    @Test
+    void should_write_a_csv_record_per_approved_payslip_with_a_primary_account() throws IOException {
+        List<String> lines = write(new BankTransferLayout(BankTransferFormatEnum.CSV, COLUMNS, ','));
+
+        long expectedRecords = jdbcTemplate.queryForObject("SELECT COUNT(*) " + PAID_BY_TRANSFER, Long.class, payPeriod.getId());
+        BigDecimal expectedTotal = jdbcTemplate.queryForObject("SELECT CAST(SUM(p.net_salary) AS DECIMAL(20, 2)) " + PAID_BY_TRANSFER,
+                BigDecimal.class, payPeriod.getId());
+        assertEquals("Employee ID,Account Holder Name,Account Number,Amount", lines.get(0));
+        assertEquals(expectedRecords + 2, lines.size());
+        assertEquals("TOTAL," + expectedRecords + "," + expectedTotal.toPlainString(), lines.get(lines.size() - 1));
+        assertTrue(lines.get(1).matches("\\d+,\"[^\"]+, [^\"]+\",80\\d+,\\d+\\.\\d{2}"), lines.get(1));
+        assertTrue(lines.stream().noneMatch(line -> line.contains(",70") || line.contains(",90")));
+    }
+
+    @Test
+    void should_write_fixed_width_records_between_header_and_control_trailer() throws IOException {
+        List<String> lines = write(new BankTransferLayout(BankTransferFormatEnum.FIXED_WIDTH, COLUMNS, ','));
+
+        long expectedRecords = jdbcTemplate.queryForObject("SELECT COUNT(*) " + PAID_BY_TRANSFER, Long.class, payPeriod.getId());
+        BigDecimal expectedTotal = jdbcTemplate.queryForObject("SELECT CAST(SUM(p.net_salary) AS DECIMAL(20, 2)) " + PAID_BY_TRANSFER,
+                BigDecimal.class, payPeriod.getId());
+        int recordWidth = 1 + COLUMNS.stream().mapToInt(BankTransferColumnEnum::getWidth).sum();
+        assertEquals(String.format("H20240531%010d", payPeriod.getId()), lines.get(0));
+        List<String> records = lines.subList(1, lines.size() - 1);
+        assertEquals(expectedRecords, records.size());
+        assertTrue(records.stream().allMatch(line -> line.startsWith("D") && line.length() == recordWidth));
+        assertEquals(String.format("T%09d%018d", expectedRecords, expectedTotal.movePointRight(2).longValueExact()),
+                lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void should_refuse_to_cut_an_account_number_to_fit_a_fixed_width_column() {
+        jdbcTemplate.update("UPDATE bank_account SET account_number = '123456789012345678901234'");
+
+        assertThrows(BankTransferException.class,
+                () -> write(new BankTransferLayout(BankTransferFormatEnum.FIXED_WIDTH, COLUMNS, ',')));
+    }
+
+    @Test
+    void should_list_employees_without_a_primary_account() {
+        List<BankTransferMissingAccountDTO> missing = bankTransferService.getEmployeesWithoutPrimaryAccount(payPeriod.getId()).getData();
+
+        List<Long> expected = jdbcTemplate.queryForList("SELECT p.employee_id FROM pay_slip p WHERE p.salary_pay_period_id = ? " +
+                "AND p.net_salary > 0 AND MOD(p.employee_id, 7) = 0 ORDER BY p.employee_id", Long.class, payPeriod.getId());
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, missing.stream().map(BankTransferMissingAccountDTO::employeeId).toList());
+    }
+
+    @Test
+    void should_reject_an_unknown_pay_period_before_streaming() {
+        assertThrows(SalaryPayPeriodNotFoundException.class, () -> bankTransferService.generateTransferFile(-1L, null));
+    }
+
+    private List<String> write(BankTransferLayout layout) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        bankTransferService.writeTransferFile(payPeriod, layout, outputStream);
+        return List.of(outputStream.toString(StandardCharsets.UTF_8).split("\r\n"));
+    }
+}
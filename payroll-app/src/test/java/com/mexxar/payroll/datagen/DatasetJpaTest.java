@@ -0,0 +1,51 @@
+package com.mexxar.payroll.datagen;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+
+// Repository and service tests over a synthetic dataset in the shared H2 database. Nothing runs in a test
+// transaction, so the services commit as they would in production and every table is truncated after each test.
+@DataJpaTest
+@Import(SyntheticDatasetGenerator.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public abstract class DatasetJpaTest {
+
+    // Every period but the last is paid; May 2024 is the latest with payslips
+    protected static final YearMonth LAST_PAY_PERIOD = YearMonth.of(2024, 6);
+    protected static final YearMonth LATEST_PAID_PERIOD = LAST_PAY_PERIOD.minusMonths(1);
+
+    @Autowired
+    protected SyntheticDatasetGenerator generator;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    // One year of pay periods ending at LAST_PAY_PERIOD
+    protected static DatasetSpec dataset(int employees, long seed) {
+        return new DatasetSpec(employees, 3, 4, 1, LAST_PAY_PERIOD, seed, 64);
+    }
+
+    @AfterEach
+    protected void truncateTables() {
+        List<String> tables = jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables " +
+                "WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'", String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        try {
+            tables.forEach(table -> jdbcTemplate.execute("TRUNCATE TABLE " + table));
+        } finally {
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mexxar.payroll.datagen;
+
+import com.mexxar.payroll.datagen.exception.DatasetGenerationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDatasetGeneratorTest extends DatasetJpaTest {
+
+    private static final DatasetSpec SPEC = dataset(40, 42L);
+
+    @Test
+    void should_generate_history_for_every_employee_and_leave_last_period_open() {
+        DatasetSummary summary = generator.generate(SPEC);
+
+        assertEquals(40L, summary.insertedRows().get("employee"));
+        assertEquals(12, count("salary_pay_period"));
+        assertEquals(summary.insertedRows().get("pay_slip"), count("pay_slip"));
+        assertEquals(summary.insertedRows().get("pay_slip_details"), count("pay_slip_details"));
+        assertTrue(count("pay_slip") > 0);
+
+        Integer openPeriodPaySlips = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pay_slip p " +
+                "JOIN salary_pay_period s ON p.salary_pay_period_id = s.id WHERE s.month_of = '2024-JUN'", Integer.class);
+        assertEquals(0, openPeriodPaySlips);
+        assertEquals(0, count("pay_slip WHERE status <> 3"));
+        assertEquals(0, count("salary_advance WHERE status = 3 AND salary_pay_period_id <> " +
+                "(SELECT id FROM salary_pay_period WHERE month_of = '2024-JUN')"));
+    }
+
+    @Test
+    void should_produce_identical_data_for_the_same_seed() {
+        generator.generate(SPEC);
+        String first = fingerprint();
+        truncateTables();
+
+        generator.generate(SPEC);
+
+        assertEquals(first, fingerprint());
+    }
+
+    @Test
+    void should_leave_identity_columns_past_generated_ids() {
+        generator.generate(SPEC);
+
+        jdbcTemplate.update("INSERT INTO department (name, status) VALUES ('Added later', 0)");
+
+        Long addedId = jdbcTemplate.queryForObject("SELECT id FROM department WHERE name = 'Added later'", Long.class);
+        assertEquals(4L, addedId);
+    }
+
+    @Test
+    void should_refuse_to_generate_into_schema_with_employees() {
+        generator.generate(SPEC);
+
+        assertThrows(DatasetGenerationException.class, () -> generator.generate(SPEC));
+        assertEquals(40, count("employee"));
+    }
+
+    private long count(String tableAndCondition) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tableAndCondition, Long.class);
+    }
+
+    private String fingerprint() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) || ':' || CAST(SUM(net_salary) AS DECIMAL(20, 2)) FROM pay_slip", String.class)
+                + "/" + jdbcTemplate.queryForObject("SELECT COUNT(*) || ':' || CAST(SUM(remaining_amount) AS DECIMAL(20, 2)) FROM loan", String.class)
+                + "/" + count("employee_leave");
+    }
+}
@@ -0,0 +1,62 @@
+package com.mexxar.payroll.employeeleave;
+
+import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.employeeleave.exception.EmployeeLeaveException;
+import com.mexxar.payroll.holiday.WorkingDayCalendarService;
+import com.mexxar.payroll.leave.LeavePolicyService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeLeaveServiceTest {
+
+    @Mock
+    private EmployeeLeaveRepository employeeLeaveRepository;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private LeavePolicyService leavePolicyService;
+
+    @Mock
+    private PaySlipInputChangeService paySlipInputChangeService;
+
+    @Mock
+    private WorkingDayCalendarService workingDayCalendarService;
+
+    @InjectMocks
+    private EmployeeLeaveService employeeLeaveService;
+
+    @Test
+    void should_reject_a_leave_without_an_end_date() {
+        EmployeeLeaveRequestDTO requestDTO = new EmployeeLeaveRequestDTO(LocalDate.of(2024, 1, 10), null, null,
+                EmployeeLeaveEnum.PENDING, null, 1L, 2L);
+
+        EmployeeLeaveException exception =
+                assertThrows(EmployeeLeaveException.class, () -> employeeLeaveService.createEmployeeLeave(requestDTO));
+
+        assertEquals("Leave start date and end date are required", exception.getMessage());
+        verifyNoInteractions(workingDayCalendarService);
+        verify(employeeLeaveRepository, never()).save(any());
+    }
+
+    @Test
+    void should_reject_a_leave_ending_before_it_starts() {
+        EmployeeLeaveRequestDTO requestDTO = new EmployeeLeaveRequestDTO(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 9),
+                null, EmployeeLeaveEnum.PENDING, null, 1L, 2L);
+
+        assertThrows(EmployeeLeaveException.class, () -> employeeLeaveService.createEmployeeLeave(requestDTO));
+        verify(employeeLeaveRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,51 @@
+package com.mexxar.payroll.epfetfcontribution;
+
+import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EpfEtfContributionServiceTest {
+
+    @InjectMocks
+    private EpfEtfContributionService epfEtfContributionService;
+
+    @Mock
+    private EpfEtfContributionRepository repo;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private SalaryPayPeriodService salaryPayPeriodService;
+
+    @Mock
+    private EpfEtfReturnSummaryRepository summaryRepository;
+
+    @Test
+    void should_return_no_contributions_for_a_month_without_any() {
+        when(repo.findBySalaryPayPeriod(7L)).thenReturn(List.of());
+
+        assertTrue(epfEtfContributionService.getEpfEtfContributionsByMonthOf(7L).getData().isEmpty());
+    }
+
+    @Test
+    void should_drop_the_stored_return_summary_before_the_contributions_of_a_payslip_go() {
+        epfEtfContributionService.deleteContributionsByPaySlipId(11L);
+
+        // The summary is found through the contributions, so it has to go first
+        InOrder inOrder = inOrder(summaryRepository, repo);
+        inOrder.verify(summaryRepository).deleteByPaySlipId(11L);
+        inOrder.verify(repo).deleteByPayslipId(11L);
+    }
+}
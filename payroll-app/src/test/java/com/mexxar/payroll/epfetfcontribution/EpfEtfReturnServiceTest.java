@@ -0,0 +1,119 @@
+package com.mexxar.payroll.epfetfcontribution;
+
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import({SalaryPayPeriodService.class, EpfEtfReturnService.class})
+class EpfEtfReturnServiceTest extends DatasetJpaTest {
+
+    private static final DatasetSpec SPEC = dataset(30, 23L);
+
+    private static final String CONTRIBUTIONS = "FROM epf_etf_contribution c JOIN pay_slip p ON p.id = c.payslip_id " +
+            "WHERE c.salary_pay_period_id = ?";
+
+    @Autowired
+    private EpfEtfReturnService epfEtfReturnService;
+
+    private Long payPeriodId;
+
+    @BeforeEach
+    void setUp() {
+        generator.generate(SPEC);
+        payPeriodId = jdbcTemplate.queryForObject("SELECT id FROM salary_pay_period WHERE start_date = DATE '2024-05-01'", Long.class);
+    }
+
+    @Test
+    void should_write_a_return_line_per_member_with_totals() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        int members = epfEtfReturnService.writeReturnFile(payPeriodId, outputStream);
+
+        List<String> lines = List.of(outputStream.toString(StandardCharsets.UTF_8).split("\r\n"));
+        Map<String, Object> expected = jdbcTemplate.queryForMap("SELECT COUNT(DISTINCT c.employee_id) AS members, " +
+                "CAST(SUM(p.basic_salary) AS DECIMAL(20, 2)) AS earnings, CAST(SUM(p.epf_deduction) AS DECIMAL(20, 2)) AS member, " +
+                "CAST(SUM(c.epf_contribution) AS DECIMAL(20, 2)) AS employer, CAST(SUM(c.etf_contribution) AS DECIMAL(20, 2)) AS etf " +
+                CONTRIBUTIONS, payPeriodId);
+        long expectedMembers = ((Number) expected.get("members")).longValue();
+        BigDecimal member = (BigDecimal) expected.get("member");
+        BigDecimal employer = (BigDecimal) expected.get("employer");
+
+        assertTrue(expectedMembers > 0);
+        assertEquals(expectedMembers, members);
+        assertEquals(expectedMembers + 2, lines.size());
+        assertTrue(lines.get(0).startsWith("EPF Number,NIC,Member Name,"));
+        assertEquals(String.join(",", "TOTAL", Long.toString(expectedMembers), "",
+                        ((BigDecimal) expected.get("earnings")).toPlainString(), member.toPlainString(), employer.toPlainString(),
+                        member.add(employer).toPlainString(), ((BigDecimal) expected.get("etf")).toPlainString()),
+                lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void should_store_the_summary_of_a_closed_period_and_serve_it_from_then_on() {
+        EpfEtfReturnSummaryResponseDTO first = epfEtfReturnService.getReturnSummary(payPeriodId).getData();
+
+        assertTrue(first.closed());
+        assertEquals(1, count("SELECT COUNT(*) FROM epf_etf_return_summary WHERE salary_pay_period_id = " + payPeriodId));
+
+        // Changed behind the service's back, so only a stored summary still reports the old totals
+        jdbcTemplate.update("UPDATE epf_etf_contribution SET etf_contribution = etf_contribution + 1 WHERE salary_pay_period_id = ?", payPeriodId);
+
+        assertEquals(first, epfEtfReturnService.getReturnSummary(payPeriodId).getData());
+    }
+
+    @Test
+    void should_aggregate_again_when_the_payslips_of_a_closed_period_change() {
+        EpfEtfReturnSummaryResponseDTO first = epfEtfReturnService.getReturnSummary(payPeriodId).getData();
+
+        // Removed behind the service's back, so only the payslip count gives the change away
+        Long paySlipId = jdbcTemplate.queryForObject("SELECT MIN(c.payslip_id) " + CONTRIBUTIONS, Long.class, payPeriodId);
+        jdbcTemplate.update("DELETE FROM pay_slip_details WHERE payslip_id = ?", paySlipId);
+        jdbcTemplate.update("DELETE FROM epf_etf_contribution WHERE payslip_id = ?", paySlipId);
+        jdbcTemplate.update("DELETE FROM pay_slip WHERE id = ?", paySlipId);
+
+        EpfEtfReturnSummaryResponseDTO second = epfEtfReturnService.getReturnSummary(payPeriodId).getData();
+
+        assertTrue(second.closed());
+        assertEquals(first.members() - 1, second.members());
+        assertEquals(1, count("SELECT COUNT(*) FROM epf_etf_return_summary"));
+        assertEquals(second, epfEtfReturnService.getReturnSummary(payPeriodId).getData());
+    }
+
+    @Test
+    void should_not_store_the_summary_while_a_payslip_is_unpaid() {
+        jdbcTemplate.update("UPDATE pay_slip SET status = 1 WHERE id = (SELECT MIN(id) FROM pay_slip WHERE salary_pay_period_id = ?)", payPeriodId);
+
+        EpfEtfReturnSummaryResponseDTO summary = epfEtfReturnService.getReturnSummary(payPeriodId).getData();
+
+        assertFalse(summary.closed());
+        assertEquals(count("SELECT COUNT(DISTINCT c.employee_id) " + CONTRIBUTIONS.replace("?", payPeriodId.toString())), summary.members());
+        assertEquals(0, count("SELECT COUNT(*) FROM epf_etf_return_summary"));
+    }
+
+    @Test
+    void should_summarise_a_period_without_contributions_as_zero() {
+        Long openPayPeriodId = jdbcTemplate.queryForObject("SELECT id FROM salary_pay_period WHERE start_date = DATE '2024-06-01'", Long.class);
+
+        EpfEtfReturnSummaryResponseDTO summary = epfEtfReturnService.getReturnSummary(openPayPeriodId).getData();
+
+        assertEquals(0, summary.members());
+        assertEquals(0.0, summary.totalEpfContribution());
+        assertFalse(summary.closed());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.mexxar.payroll.flightrecording;
+
+import com.mexxar.payroll.authentication.security.JwtService;
+import com.mexxar.payroll.config.SecurityConfig;
+import com.mexxar.payroll.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FlightRecordingController.class)
+@Import(SecurityConfig.class)
+class FlightRecordingControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FlightRecordingService flightRecordingService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void should_reject_unauthenticated_request() throws Exception {
+        mockMvc.perform(post("/api/admin/flight-recordings/start"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(flightRecordingService);
+    }
+
+    @Test
+    @WithMockUser(authorities = "USER")
+    void should_reject_user_without_admin_authority() throws Exception {
+        mockMvc.perform(get("/api/admin/flight-recordings"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(flightRecordingService);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void should_stream_recording_to_admin_and_delete_file() throws Exception {
+        Path file = Files.createTempFile("payroll-test-", ".jfr");
+        Files.write(file, new byte[]{1, 2, 3});
+        when(flightRecordingService.stopRecording()).thenReturn(file);
+
+        try {
+            mockMvc.perform(post("/api/admin/flight-recordings/stop"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(new byte[]{1, 2, 3}));
+
+            assertFalse(Files.exists(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
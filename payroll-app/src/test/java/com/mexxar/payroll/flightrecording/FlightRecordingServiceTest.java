@@ -0,0 +1,71 @@
+package com.mexxar.payroll.flightrecording;
+
+import com.mexxar.payroll.flightrecording.exception.FlightRecordingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    private FlightRecordingService flightRecordingService;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        flightRecordingService = new FlightRecordingService();
+        ReflectionTestUtils.setField(flightRecordingService, "settings", "default");
+        ReflectionTestUtils.setField(flightRecordingService, "maxDurationSeconds", 60L);
+        ReflectionTestUtils.setField(flightRecordingService, "maxSizeBytes", 10_485_760L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void should_cap_requested_duration_at_configured_maximum() {
+        FlightRecordingResponseDTO response = flightRecordingService.startRecording(3600L).getData();
+
+        assertEquals("RUNNING", response.state());
+        assertEquals(60L, response.maxDurationSeconds());
+
+        file = flightRecordingService.stopRecording();
+    }
+
+    @Test
+    void should_reject_second_recording_while_one_is_running() {
+        flightRecordingService.startRecording(null);
+
+        assertThrows(FlightRecordingException.class, () -> flightRecordingService.startRecording(null));
+
+        file = flightRecordingService.stopRecording();
+    }
+
+    @Test
+    void should_write_recording_to_file_on_stop_and_forget_it() throws Exception {
+        flightRecordingService.startRecording(null);
+        PayRunStageEvent event = PayRunStageEvent.begin(PayRunStageEnum.CALCULATION, 1L, 7L);
+        event.end(0);
+
+        file = flightRecordingService.stopRecording();
+
+        assertTrue(Files.size(file) > 0);
+        assertThrows(FlightRecordingException.class, () -> flightRecordingService.getRecordingStatus());
+        assertThrows(FlightRecordingException.class, () -> flightRecordingService.stopRecording());
+    }
+
+    @Test
+    void should_reject_stop_when_no_recording_was_started() {
+        assertThrows(FlightRecordingException.class, () -> flightRecordingService.stopRecording());
+    }
+}
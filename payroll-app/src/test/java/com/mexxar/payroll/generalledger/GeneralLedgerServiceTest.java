@@ -0,0 +1,129 @@
+package com.mexxar.payroll.generalledger;
+
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.generalledger.exception.GeneralLedgerException;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import({SalaryPayPeriodService.class, GeneralLedgerService.class, GeneralLedgerJournalStore.class})
+class GeneralLedgerServiceTest extends DatasetJpaTest {
+
+    private static final DatasetSpec SPEC = dataset(40, 29L);
+
+    @Autowired
+    private GeneralLedgerService generalLedgerService;
+
+    private Long payPeriodId;
+
+    @BeforeEach
+    void setUp() {
+        generator.generate(SPEC);
+        payPeriodId = jdbcTemplate.queryForObject("SELECT id FROM salary_pay_period WHERE start_date = DATE '2024-05-01'", Long.class);
+    }
+
+    @Test
+    void should_build_a_balanced_journal_by_department_and_pay_element() {
+        GeneralLedgerJournalResponseDTO journal = generalLedgerService.getJournal(payPeriodId).getData();
+
+        assertEquals(journal.totalDebit(), journal.totalCredit());
+        assertEquals(sum("p.net_salary"), total(journal, GeneralLedgerAccountEnum.NET_SALARY_PAYABLE));
+        assertEquals(sum("p.allowances"), total(journal, GeneralLedgerAccountEnum.ALLOWANCE_EXPENSE));
+        assertEquals(sum("p.tax_deduction"), total(journal, GeneralLedgerAccountEnum.TAX_PAYABLE));
+        assertTrue(journal.lines().stream().noneMatch(line -> "Unclassified".equals(line.element())));
+        assertEquals(count("SELECT COUNT(DISTINCT e.department_id) FROM pay_slip p JOIN employee e ON e.id = p.employee_id " +
+                        "WHERE p.salary_pay_period_id = " + payPeriodId),
+                journal.lines().stream().filter(line -> line.account() == GeneralLedgerAccountEnum.NET_SALARY_PAYABLE).count());
+    }
+
+    @Test
+    void should_store_the_journal_of_a_paid_period_and_serve_it_from_then_on() {
+        GeneralLedgerJournalResponseDTO first = generalLedgerService.getJournal(payPeriodId).getData();
+
+        assertTrue(first.paid());
+        assertEquals(1, count("SELECT COUNT(*) FROM general_ledger_journal"));
+
+        // Changed behind the service's back, so only a stored journal still balances
+        jdbcTemplate.update("UPDATE pay_slip SET net_salary = net_salary + 1 WHERE salary_pay_period_id = ?", payPeriodId);
+
+        assertEquals(first, generalLedgerService.getJournal(payPeriodId).getData());
+    }
+
+    @Test
+    void should_build_again_when_the_payslips_of_a_paid_period_change() {
+        GeneralLedgerJournalResponseDTO first = generalLedgerService.getJournal(payPeriodId).getData();
+
+        Long paySlipId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM pay_slip WHERE salary_pay_period_id = ?", Long.class, payPeriodId);
+        double netSalary = jdbcTemplate.queryForObject("SELECT net_salary FROM pay_slip WHERE id = ?", Double.class, paySlipId);
+        jdbcTemplate.update("DELETE FROM pay_slip_details WHERE payslip_id = ?", paySlipId);
+        jdbcTemplate.update("DELETE FROM epf_etf_contribution WHERE payslip_id = ?", paySlipId);
+        jdbcTemplate.update("DELETE FROM pay_slip WHERE id = ?", paySlipId);
+
+        GeneralLedgerJournalResponseDTO second = generalLedgerService.getJournal(payPeriodId).getData();
+
+        assertEquals(total(first, GeneralLedgerAccountEnum.NET_SALARY_PAYABLE).subtract(BigDecimal.valueOf(netSalary)),
+                total(second, GeneralLedgerAccountEnum.NET_SALARY_PAYABLE));
+        assertEquals(second, generalLedgerService.getJournal(payPeriodId).getData());
+        assertEquals(1, count("SELECT COUNT(*) FROM general_ledger_journal"));
+    }
+
+    @Test
+    void should_not_store_the_journal_while_a_payslip_is_unpaid() {
+        jdbcTemplate.update("UPDATE pay_slip SET status = 1 WHERE id = (SELECT MIN(id) FROM pay_slip WHERE salary_pay_period_id = ?)", payPeriodId);
+
+        GeneralLedgerJournalResponseDTO journal = generalLedgerService.getJournal(payPeriodId).getData();
+
+        assertFalse(journal.paid());
+        assertEquals(0, count("SELECT COUNT(*) FROM general_ledger_journal"));
+    }
+
+    @Test
+    void should_refuse_a_journal_that_does_not_balance() {
+        jdbcTemplate.update("UPDATE pay_slip SET net_salary = net_salary + 1, status = 1 WHERE id = " +
+                "(SELECT MIN(id) FROM pay_slip WHERE salary_pay_period_id = ?)", payPeriodId);
+
+        assertThrows(GeneralLedgerException.class, () -> generalLedgerService.getJournal(payPeriodId));
+    }
+
+    @Test
+    void should_export_the_journal_as_csv_with_totals() throws IOException {
+        GeneralLedgerJournalResponseDTO journal = generalLedgerService.getJournal(payPeriodId).getData();
+        StringWriter writer = new StringWriter();
+
+        generalLedgerService.writeJournalCsv(journal, writer);
+
+        List<String> lines = List.of(writer.toString().split("\r\n"));
+        assertEquals("Department,Account,Element,Debit,Credit", lines.get(0));
+        assertEquals(journal.lines().size() + 2, lines.size());
+        String total = BigDecimal.valueOf(journal.totalDebit()).setScale(2).toPlainString();
+        assertEquals("TOTAL,,," + total + "," + total, lines.get(lines.size() - 1));
+    }
+
+    private BigDecimal sum(String column) {
+        return jdbcTemplate.queryForObject("SELECT CAST(SUM(" + column + ") AS DECIMAL(20, 2)) FROM pay_slip p WHERE p.salary_pay_period_id = ?",
+                BigDecimal.class, payPeriodId);
+    }
+
+    private static BigDecimal total(GeneralLedgerJournalResponseDTO journal, GeneralLedgerAccountEnum account) {
+        return journal.lines().stream()
+                .filter(line -> line.account() == account)
+                .map(line -> BigDecimal.valueOf(line.debit() + line.credit()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.mexxar.payroll.holiday;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkingDayCalendarServiceTest {
+
+    private static final LocalDate HOLIDAY = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    @Test
+    void should_keep_the_calendar_until_a_local_write_refreshes_it() {
+        WorkingDayCalendarService service = new WorkingDayCalendarService(holidayRepository, 60);
+        when(holidayRepository.findAllHolidayDates()).thenReturn(List.of(), List.of(HOLIDAY));
+
+        assertEquals(23, service.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        assertEquals(23, service.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        service.refresh();
+
+        assertEquals(22, service.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        verify(holidayRepository, times(2)).findAllHolidayDates();
+    }
+
+    @Test
+    void should_reload_a_calendar_older_than_its_ttl_to_pick_up_writes_from_other_nodes() {
+        WorkingDayCalendarService service = new WorkingDayCalendarService(holidayRepository, 0);
+        // The second holiday list stands for a write committed by another node, which never calls refresh here
+        when(holidayRepository.findAllHolidayDates()).thenReturn(List.of(), List.of(HOLIDAY));
+
+        assertEquals(23, service.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+
+        assertEquals(22, service.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.mexxar.payroll.loan;
+
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanRepositoryTest extends DatasetJpaTest {
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long loanId;
+    private double remainingAmount;
+
+    @BeforeEach
+    void setUp() {
+        generator.generate(dataset(6, 13L));
+        loanId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM loan WHERE remaining_amount > 1000", Long.class);
+        remainingAmount = loanRepository.findById(loanId).orElseThrow().getRemainingAmount();
+    }
+
+    @Test
+    void should_read_the_deducted_amount_after_deducting_from_a_loaded_loan() {
+        double afterDeduction = new TransactionTemplate(transactionManager).execute(status -> {
+            loanRepository.findById(loanId).orElseThrow();
+            loanRepository.deductRemainingAmount(loanId, 500.0);
+            return loanRepository.findById(loanId).orElseThrow().getRemainingAmount();
+        });
+
+        assertEquals(remainingAmount - 500.0, afterDeduction, 0.001);
+    }
+
+    @Test
+    void should_read_the_restored_amount_after_restoring_a_loaded_loan() {
+        double afterRestore = new TransactionTemplate(transactionManager).execute(status -> {
+            loanRepository.findById(loanId).orElseThrow();
+            loanRepository.restoreRemainingAmount(loanId, 500.0);
+            return loanRepository.findById(loanId).orElseThrow().getRemainingAmount();
+        });
+
+        assertEquals(remainingAmount + 500.0, afterRestore, 0.001);
+    }
+
+    @Test
+    void should_keep_pending_changes_to_a_loaded_loan_when_deducting() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            LoanModel loan = loanRepository.findById(loanId).orElseThrow();
+            loan.setInterestRate(7.5);
+            loanRepository.deductRemainingAmount(loanId, 500.0);
+        });
+
+        LoanModel loan = loanRepository.findById(loanId).orElseThrow();
+        assertEquals(7.5, loan.getInterestRate());
+        assertEquals(remainingAmount - 500.0, loan.getRemainingAmount(), 0.001);
+    }
+}
@@ -0,0 +1,137 @@
+package com.mexxar.payroll.payrollcost;
+
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.payrollcost.exception.PayrollCostException;
+import com.mexxar.payroll.payslip.PaySlipModel;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(PayrollCostService.class)
+class PayrollCostServiceTest extends DatasetJpaTest {
+
+    private static final DatasetSpec SPEC = dataset(40, 31L);
+
+    private static final String TOTALS = "SELECT COUNT(*), CAST(SUM(p.gross_salary + COALESCE(p.tax_excluded_allowances, 0) " +
+            "+ COALESCE(p.tax_excluded_commissions, 0)) AS DECIMAL(20, 2)), " +
+            "CAST(SUM(COALESCE(c.epf_contribution, 0) + COALESCE(c.etf_contribution, 0)) AS DECIMAL(20, 2)), " +
+            "CAST(SUM(p.net_salary) AS DECIMAL(20, 2)) " +
+            "FROM pay_slip p JOIN salary_pay_period s ON s.id = p.salary_pay_period_id " +
+            "JOIN employee e ON e.id = p.employee_id " +
+            "LEFT JOIN epf_etf_contribution c ON c.payslip_id = p.id ";
+
+    @Autowired
+    private PayrollCostService payrollCostService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        generator.generate(SPEC);
+        payrollCostService.rebuildPayrollCost(SPEC.firstPayPeriod(), SPEC.lastPayPeriod());
+    }
+
+    @Test
+    void should_roll_every_cell_up_into_the_payslip_totals() {
+        List<PayrollCostSliceDTO> slices = payrollCostService.getPayrollCost(SPEC.firstPayPeriod(), SPEC.lastPayPeriod(), List.of(), null, null).getData();
+
+        assertEquals(1, slices.size());
+        assertNull(slices.get(0).month());
+        assertNull(slices.get(0).departmentId());
+        assertTotals(TOTALS, slices.get(0));
+    }
+
+    @Test
+    void should_slice_by_month_and_department() {
+        List<PayrollCostSliceDTO> slices = payrollCostService.getPayrollCost(SPEC.firstPayPeriod(), SPEC.lastPayPeriod(),
+                List.of(PayrollCostDimensionEnum.MONTH, PayrollCostDimensionEnum.DEPARTMENT), null, null).getData();
+
+        // The last period has no payslips, so it has no cells
+        assertEquals(count("SELECT COUNT(DISTINCT CONCAT(p.salary_pay_period_id, '-', e.department_id)) FROM pay_slip p " +
+                "JOIN employee e ON e.id = p.employee_id"), slices.size());
+        for (PayrollCostSliceDTO slice : slices) {
+            assertNull(slice.designationId());
+            assertTotals(TOTALS + "WHERE s.start_date = DATE '" + slice.month() + "-01' AND e.department_id = " + slice.departmentId(), slice);
+        }
+        assertTrue(slices.get(0).month().compareTo(slices.get(slices.size() - 1).month()) < 0);
+    }
+
+    @Test
+    void should_drill_from_a_department_into_its_designations() {
+        PayrollCostSliceDTO department = payrollCostService.getPayrollCost(LATEST_PAID_PERIOD, LATEST_PAID_PERIOD, List.of(PayrollCostDimensionEnum.DEPARTMENT), null, null)
+                .getData().get(0);
+
+        List<PayrollCostSliceDTO> designations = payrollCostService.getPayrollCost(LATEST_PAID_PERIOD, LATEST_PAID_PERIOD,
+                List.of(PayrollCostDimensionEnum.DESIGNATION), department.departmentId(), null).getData();
+
+        assertFalse(designations.isEmpty());
+        assertEquals(department.headcount(), designations.stream().mapToInt(PayrollCostSliceDTO::headcount).sum());
+        assertEquals(scaled(department.totalCost()),
+                designations.stream().map(slice -> scaled(slice.totalCost())).reduce(BigDecimal.ZERO, BigDecimal::add));
+        for (PayrollCostSliceDTO designation : designations) {
+            assertNull(designation.departmentId());
+            assertNotNull(designation.designationTitle());
+            assertTotals(TOTALS + "WHERE s.start_date = DATE '2024-05-01' AND e.department_id = " + department.departmentId()
+                    + " AND e.designation_id = " + designation.designationId(), designation);
+        }
+    }
+
+    @Test
+    void should_keep_cells_in_step_as_payslips_are_removed_and_added() {
+        List<PayrollCostSliceDTO> before = payrollCostService.getPayrollCost(LATEST_PAID_PERIOD, LATEST_PAID_PERIOD, List.of(PayrollCostDimensionEnum.DEPARTMENT), null, null).getData();
+        Long paySlipId = jdbcTemplate.queryForObject("SELECT MIN(p.id) FROM pay_slip p JOIN salary_pay_period s ON s.id = p.salary_pay_period_id " +
+                "WHERE s.start_date = DATE '2024-05-01'", Long.class);
+        PaySlipModel paySlip = entityManager.find(PaySlipModel.class, paySlipId);
+        Map<String, Object> contribution = jdbcTemplate.queryForMap("SELECT COALESCE(SUM(epf_contribution), 0) AS epf, " +
+                "COALESCE(SUM(etf_contribution), 0) AS etf FROM epf_etf_contribution WHERE payslip_id = ?", paySlipId);
+        double companyEpf = ((Number) contribution.get("epf")).doubleValue();
+        double companyEtf = ((Number) contribution.get("etf")).doubleValue();
+
+        payrollCostService.removePaySlip(paySlip, companyEpf, companyEtf);
+        PayrollCostSliceDTO removed = payrollCostService.getPayrollCost(LATEST_PAID_PERIOD, LATEST_PAID_PERIOD, List.of(PayrollCostDimensionEnum.DEPARTMENT),
+                paySlip.getEmployee().getDepartment().getId(), null).getData().get(0);
+
+        assertTotals(TOTALS + "WHERE s.start_date = DATE '2024-05-01' AND e.department_id = " + paySlip.getEmployee().getDepartment().getId()
+                + " AND p.id <> " + paySlipId, removed);
+
+        payrollCostService.addPaySlip(paySlip, companyEpf, companyEtf);
+
+        assertEquals(before, payrollCostService.getPayrollCost(LATEST_PAID_PERIOD, LATEST_PAID_PERIOD, List.of(PayrollCostDimensionEnum.DEPARTMENT), null, null).getData());
+    }
+
+    @Test
+    void should_refuse_a_range_that_ends_before_it_starts() {
+        List<PayrollCostDimensionEnum> groupBy = List.of(PayrollCostDimensionEnum.MONTH);
+
+        assertThrows(PayrollCostException.class, () -> payrollCostService.getPayrollCost(LATEST_PAID_PERIOD, LATEST_PAID_PERIOD.minusMonths(1), groupBy, null, null));
+    }
+
+    private void assertTotals(String sql, PayrollCostSliceDTO slice) {
+        jdbcTemplate.query(sql, rs -> {
+            assertEquals(rs.getInt(1), slice.headcount());
+            assertEquals(rs.getBigDecimal(2), scaled(slice.totalEarnings()));
+            assertEquals(rs.getBigDecimal(3), scaled(slice.employerContribution()));
+            assertEquals(rs.getBigDecimal(4), scaled(slice.netSalary()));
+            assertEquals(rs.getBigDecimal(2).add(rs.getBigDecimal(3)), scaled(slice.totalCost()));
+        });
+    }
+
+    private static BigDecimal scaled(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,164 @@
+package com.mexxar.payroll.payrun;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.payslip.PaySlipInputs;
+import com.mexxar.payroll.payslip.PaySlipPeriodInputLoader;
+import com.mexxar.payroll.payslip.PaySlipPeriodInputs;
+import com.mexxar.payroll.payslip.PaySlipRequestDTO;
+import com.mexxar.payroll.payslip.PaySlipService;
+import com.mexxar.payroll.payslip.exception.DuplicatePaySlipException;
+import com.mexxar.payroll.payslip.exception.PaySlipException;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayRunJobRunnerTest {
+
+    private static final String WORKER_ID = "node-a-1";
+
+    @Mock
+    private PayRunJobRepository payRunJobRepository;
+
+    @Mock
+    private PayRunJobFailureRepository payRunJobFailureRepository;
+
+    @Mock
+    private PayRunChunkLeaseService leaseService;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private PaySlipService paySlipService;
+
+    @Mock
+    private PaySlipPeriodInputLoader paySlipPeriodInputLoader;
+
+    private PayRunJobRunner payRunJobRunner;
+
+    private PayRunChunkModel chunk;
+
+    @BeforeEach
+    void setUp() {
+        payRunJobRunner = new PayRunJobRunner(payRunJobRepository, payRunJobFailureRepository,
+                leaseService, employeeService, paySlipService, paySlipPeriodInputLoader, "node-a", 2);
+
+        SalaryPayPeriodModel payPeriod = new SalaryPayPeriodModel();
+        payPeriod.setId(7L);
+        payPeriod.setStartDate(LocalDate.of(2024, 1, 1));
+        payPeriod.setEndDate(LocalDate.of(2024, 1, 31));
+
+        PayRunJobModel job = new PayRunJobModel();
+        job.setId(1L);
+        job.setStatus(PayRunJobStatusEnum.RUNNING);
+        job.setSalaryPayPeriod(payPeriod);
+
+        chunk = new PayRunChunkModel();
+        chunk.setId(3L);
+        chunk.setPayRunJob(job);
+        chunk.setFirstEmployeeId(10L);
+        chunk.setLastEmployeeId(12L);
+        chunk.setStatus(PayRunChunkStatusEnum.CLAIMED);
+        chunk.setLeaseOwner(WORKER_ID);
+
+        when(leaseService.getLeaseDuration()).thenReturn(Duration.ofMinutes(2));
+        lenient().when(paySlipPeriodInputLoader.loadPeriodInputs(7L, 10L, 12L)).thenReturn(new PaySlipPeriodInputs(payPeriod, Map.of(), List.of()));
+    }
+
+    @Test
+    void should_record_employee_failure_and_checkpoint_chunk() {
+        when(employeeService.getEmployeeIdsByStatusInRange(StatusEnum.ACTIVE, 10L, 12L)).thenReturn(List.of(10L, 11L, 12L));
+        when(paySlipService.createPaySlip(any(PaySlipRequestDTO.class))).thenAnswer(invocation -> {
+            PaySlipRequestDTO request = invocation.getArgument(0);
+            if (request.employeeId() == 11L) {
+                throw new PaySlipException("No salary found");
+            }
+            return null;
+        });
+        when(leaseService.completeChunk(chunk, WORKER_ID, 2, 1)).thenReturn(true);
+
+        payRunJobRunner.processChunk(chunk, WORKER_ID);
+
+        ArgumentCaptor<PayRunJobFailureModel> failure = ArgumentCaptor.forClass(PayRunJobFailureModel.class);
+        verify(payRunJobFailureRepository).save(failure.capture());
+        assertEquals(11L, failure.getValue().getEmployeeId());
+        assertEquals("No salary found", failure.getValue().getErrorMessage());
+
+        ArgumentCaptor<PaySlipRequestDTO> requests = ArgumentCaptor.forClass(PaySlipRequestDTO.class);
+        verify(paySlipService, times(3)).createPaySlip(requests.capture());
+        assertEquals(7L, requests.getValue().payPeriodId());
+        assertEquals(LocalDate.of(2024, 1, 31), requests.getValue().endDate());
+        verify(leaseService).refreshJobProgress(1L);
+    }
+
+    @Test
+    void should_skip_employees_that_already_have_a_payslip() {
+        when(employeeService.getEmployeeIdsByStatusInRange(StatusEnum.ACTIVE, 10L, 12L)).thenReturn(List.of(10L, 11L, 12L));
+        when(paySlipService.getEmployeeIdsWithPaySlip(7L, 10L, 12L)).thenReturn(Set.of(10L));
+        when(paySlipService.createPaySlip(any(PaySlipRequestDTO.class)))
+                .thenReturn(null)
+                .thenThrow(new DuplicatePaySlipException("PaySlip already exists"));
+        when(leaseService.completeChunk(chunk, WORKER_ID, 3, 0)).thenReturn(true);
+
+        payRunJobRunner.processChunk(chunk, WORKER_ID);
+
+        verify(paySlipService, times(2)).createPaySlip(any());
+        verify(payRunJobFailureRepository).deleteByPayRunJobIdAndEmployeeIdRange(1L, 10L, 12L);
+        verify(payRunJobFailureRepository, never()).save(any());
+    }
+
+    @Test
+    void should_leave_job_progress_alone_when_lease_was_lost() {
+        when(employeeService.getEmployeeIdsByStatusInRange(StatusEnum.ACTIVE, 10L, 12L)).thenReturn(List.of(10L));
+        when(leaseService.completeChunk(chunk, WORKER_ID, 1, 0)).thenReturn(false);
+
+        payRunJobRunner.processChunk(chunk, WORKER_ID);
+
+        verify(leaseService, never()).refreshJobProgress(anyLong());
+    }
+
+    @Test
+    void should_keep_claiming_chunks_until_none_are_left() {
+        when(leaseService.claimNextChunk(WORKER_ID)).thenReturn(Optional.of(chunk), Optional.empty());
+        when(employeeService.getEmployeeIdsByStatusInRange(StatusEnum.ACTIVE, 10L, 12L)).thenReturn(List.of());
+        when(leaseService.completeChunk(chunk, WORKER_ID, 0, 0)).thenReturn(true);
+
+        payRunJobRunner.workLoop(WORKER_ID);
+
+        verify(leaseService, times(2)).claimNextChunk(WORKER_ID);
+        verify(leaseService).refreshJobProgress(1L);
+    }
+
+    @Test
+    void should_calculate_from_inputs_loaded_once_for_the_whole_chunk() {
+        PaySlipInputs inputs = mock(PaySlipInputs.class);
+        when(paySlipPeriodInputLoader.loadPeriodInputs(7L, 10L, 12L)).thenReturn(new PaySlipPeriodInputs(
+                chunk.getPayRunJob().getSalaryPayPeriod(), Map.of(10L, inputs, 12L, inputs), List.of(11L)));
+        when(employeeService.getEmployeeIdsByStatusInRange(StatusEnum.ACTIVE, 10L, 12L)).thenReturn(List.of(10L, 11L, 12L));
+        when(leaseService.completeChunk(chunk, WORKER_ID, 3, 0)).thenReturn(true);
+
+        payRunJobRunner.processChunk(chunk, WORKER_ID);
+
+        verify(paySlipPeriodInputLoader).loadPeriodInputs(7L, 10L, 12L);
+        verify(paySlipService, times(2)).createPaySlip(any(PaySlipRequestDTO.class), eq(inputs));
+        // Employee 11 has no salary, so it is left to the per-employee lookups to report
+        verify(paySlipService).createPaySlip(argThat((PaySlipRequestDTO request) -> request.employeeId() == 11L));
+    }
+}
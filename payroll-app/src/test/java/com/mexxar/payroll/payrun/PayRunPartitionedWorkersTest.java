@@ -0,0 +1,318 @@
+package com.mexxar.payroll.payrun;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.payslip.PaySlipPeriodInputLoader;
+import com.mexxar.payroll.payslip.PaySlipPeriodInputs;
+import com.mexxar.payroll.payslip.PaySlipRequestDTO;
+import com.mexxar.payroll.payrun.exception.PayRunJobException;
+import com.mexxar.payroll.payslip.PaySlipService;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodRepository;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+// Several workers, as if on separate nodes, sharing one database through the chunk coordination table
+@DataJpaTest
+@Import(PayRunChunkLeaseService.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {"payroll.payrun.chunk-size=5", "payroll.payrun.lease-seconds=60"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PayRunPartitionedWorkersTest {
+
+    @Autowired
+    private PayRunJobRepository payRunJobRepository;
+
+    @Autowired
+    private PayRunChunkRepository payRunChunkRepository;
+
+    @Autowired
+    private PayRunJobFailureRepository payRunJobFailureRepository;
+
+    @Autowired
+    private SalaryPayPeriodRepository salaryPayPeriodRepository;
+
+    @Autowired
+    private PayRunChunkLeaseService leaseService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final PaySlipService paySlipService = mock(PaySlipService.class);
+    private final PaySlipPeriodInputLoader paySlipPeriodInputLoader = mock(PaySlipPeriodInputLoader.class);
+    private final Map<Long, Integer> paySlipsCreated = new ConcurrentHashMap<>();
+
+    private final List<Long> employeeIds = LongStream.rangeClosed(1, 60).boxed().toList();
+
+    private PayRunJobModel job;
+
+    @BeforeEach
+    void setUp() {
+        SalaryPayPeriodModel payPeriod = new SalaryPayPeriodModel();
+        payPeriod.setStartDate(LocalDate.of(2024, 1, 1));
+        payPeriod.setEndDate(LocalDate.of(2024, 1, 31));
+        payPeriod.setMonthOf("January");
+        payPeriod.setYear("2024");
+        payPeriod = salaryPayPeriodRepository.save(payPeriod);
+
+        job = new PayRunJobModel();
+        job.setSalaryPayPeriod(payPeriod);
+        job.setStatus(PayRunJobStatusEnum.RUNNING);
+        job.setTotalEmployees(employeeIds.size());
+        job.setStartedAt(LocalDateTime.now());
+        job = payRunJobRepository.save(job);
+        leaseService.planChunks(job, employeeIds);
+
+        when(employeeService.getEmployeeIdsByStatusInRange(eq(StatusEnum.ACTIVE), anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    long first = invocation.getArgument(1);
+                    long last = invocation.getArgument(2);
+                    return employeeIds.stream().filter(id -> id >= first && id <= last).toList();
+                });
+        // No bulk-loaded inputs, so every payslip goes through the per-employee path counted below
+        when(paySlipPeriodInputLoader.loadPeriodInputs(anyLong(), anyLong(), anyLong())).thenReturn(new PaySlipPeriodInputs(null, Map.of(), List.of()));
+        when(paySlipService.createPaySlip(any(PaySlipRequestDTO.class))).thenAnswer(invocation -> {
+            PaySlipRequestDTO request = invocation.getArgument(0);
+            paySlipsCreated.merge(request.employeeId(), 1, Integer::sum);
+            Thread.sleep(2);
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        payRunJobFailureRepository.deleteAll();
+        payRunChunkRepository.deleteAll();
+        payRunJobRepository.deleteAll();
+        salaryPayPeriodRepository.deleteAll();
+    }
+
+    private PayRunJobRunner runner(String nodeId) {
+        return new PayRunJobRunner(payRunJobRepository, payRunJobFailureRepository,
+                leaseService, employeeService, paySlipService, paySlipPeriodInputLoader, nodeId, 1);
+    }
+
+    private PayRunJobService payRunJobService(PayRunChunkLeaseService chunkLeaseService,
+                                              SalaryPayPeriodService salaryPayPeriodService) {
+        return new PayRunJobService(payRunJobRepository, payRunJobFailureRepository, payRunChunkRepository,
+                chunkLeaseService, employeeService, salaryPayPeriodService, mock(PayRunJobRunner.class),
+                mock(PayRunProgressPublisher.class), transactionManager);
+    }
+
+    private SalaryPayPeriodModel february() {
+        SalaryPayPeriodModel payPeriod = new SalaryPayPeriodModel();
+        payPeriod.setStartDate(LocalDate.of(2024, 2, 1));
+        payPeriod.setEndDate(LocalDate.of(2024, 2, 29));
+        payPeriod.setMonthOf("February");
+        payPeriod.setYear("2024");
+        return salaryPayPeriodRepository.save(payPeriod);
+    }
+
+    @Test
+    void should_process_every_employee_exactly_once_across_workers() throws Exception {
+        List<PayRunJobRunner> nodes = List.of(runner("node-a"), runner("node-b"), runner("node-c"));
+
+        ExecutorService threads = Executors.newFixedThreadPool(nodes.size());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                PayRunJobRunner node = nodes.get(i);
+                String workerId = "node-" + i + "-1";
+                workers.add(threads.submit(() -> node.workLoop(workerId)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(employeeIds.size(), paySlipsCreated.size());
+        assertTrue(paySlipsCreated.values().stream().allMatch(count -> count == 1));
+
+        List<PayRunChunkModel> chunks = payRunChunkRepository.findByPayRunJobIdOrderByChunkIndex(job.getId());
+        assertEquals(12, chunks.size());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.getStatus() == PayRunChunkStatusEnum.COMPLETED));
+        assertTrue(chunks.stream().map(PayRunChunkModel::getLeaseOwner).distinct().count() > 1);
+
+        PayRunJobModel finishedJob = payRunJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(PayRunJobStatusEnum.COMPLETED, finishedJob.getStatus());
+        assertEquals(employeeIds.size(), finishedJob.getProcessedCount());
+        assertNotNull(finishedJob.getFinishedAt());
+    }
+
+    @Test
+    void should_reclaim_chunk_only_after_its_lease_expires() {
+        List<PayRunChunkModel> chunks = payRunChunkRepository.findByPayRunJobIdOrderByChunkIndex(job.getId());
+        PayRunChunkModel abandoned = chunks.get(0);
+        abandoned.setStatus(PayRunChunkStatusEnum.CLAIMED);
+        abandoned.setLeaseOwner("dead-node-1");
+        abandoned.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        abandoned.setAttempts(1);
+        PayRunChunkModel held = chunks.get(1);
+        held.setStatus(PayRunChunkStatusEnum.CLAIMED);
+        held.setLeaseOwner("live-node-1");
+        held.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(5));
+        held.setAttempts(1);
+        payRunChunkRepository.saveAll(List.of(abandoned, held));
+
+        PayRunChunkModel first = leaseService.claimNextChunk("node-a-1").orElseThrow();
+        PayRunChunkModel second = leaseService.claimNextChunk("node-a-1").orElseThrow();
+
+        assertEquals(0, first.getChunkIndex());
+        assertEquals("node-a-1", first.getLeaseOwner());
+        assertEquals(2, first.getAttempts());
+        assertEquals(2, second.getChunkIndex());
+        assertFalse(leaseService.completeChunk(held, "node-a-1", 5, 0));
+        assertFalse(leaseService.renewLease(abandoned, "dead-node-1"));
+    }
+
+    @Test
+    void should_release_only_expired_leases_when_resuming() {
+        List<PayRunChunkModel> chunks = payRunChunkRepository.findByPayRunJobIdOrderByChunkIndex(job.getId());
+        PayRunChunkModel abandoned = chunks.get(0);
+        abandoned.setStatus(PayRunChunkStatusEnum.CLAIMED);
+        abandoned.setLeaseOwner("dead-node-1");
+        abandoned.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        PayRunChunkModel held = chunks.get(1);
+        held.setStatus(PayRunChunkStatusEnum.CLAIMED);
+        held.setLeaseOwner("live-node-1");
+        held.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(5));
+        payRunChunkRepository.saveAll(List.of(abandoned, held));
+
+        assertEquals(1, leaseService.releaseExpiredLeases(job.getId()));
+
+        assertEquals(PayRunChunkStatusEnum.PENDING, payRunChunkRepository.findById(abandoned.getId()).orElseThrow().getStatus());
+        PayRunChunkModel stillHeld = payRunChunkRepository.findById(held.getId()).orElseThrow();
+        assertEquals(PayRunChunkStatusEnum.CLAIMED, stillHeld.getStatus());
+        assertTrue(leaseService.completeChunk(stillHeld, "live-node-1", 5, 0));
+    }
+
+    @Test
+    void should_retry_only_the_failed_employees_of_a_run_completed_with_errors() {
+        Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+        failOnce.add(7L);
+        when(paySlipService.createPaySlip(any(PaySlipRequestDTO.class))).thenAnswer(invocation -> {
+            PaySlipRequestDTO request = invocation.getArgument(0);
+            if (failOnce.remove(request.employeeId())) {
+                throw new IllegalStateException("Salary not found");
+            }
+            paySlipsCreated.merge(request.employeeId(), 1, Integer::sum);
+            return null;
+        });
+        when(paySlipService.getEmployeeIdsWithPaySlip(anyLong(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            long first = invocation.getArgument(1);
+            long last = invocation.getArgument(2);
+            return new HashSet<>(paySlipsCreated.keySet().stream().filter(id -> id >= first && id <= last).toList());
+        });
+
+        runner("node-a").workLoop("node-a-1");
+        assertEquals(PayRunJobStatusEnum.COMPLETED_WITH_ERRORS, payRunJobRepository.findById(job.getId()).orElseThrow().getStatus());
+
+        // What resuming the run does: reopen the chunks with failures, then set the job running again
+        assertEquals(1, leaseService.reopenFailedChunks(job.getId()));
+        PayRunJobModel reopened = payRunJobRepository.findById(job.getId()).orElseThrow();
+        reopened.setStatus(PayRunJobStatusEnum.RUNNING);
+        reopened.setFinishedAt(null);
+        payRunJobRepository.save(reopened);
+        runner("node-a").workLoop("node-a-1");
+
+        assertEquals(employeeIds.size(), paySlipsCreated.size());
+        assertTrue(paySlipsCreated.values().stream().allMatch(count -> count == 1));
+        assertTrue(payRunJobFailureRepository.findByPayRunJobIdOrderById(job.getId()).isEmpty());
+        PayRunJobModel finishedJob = payRunJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(PayRunJobStatusEnum.COMPLETED, finishedJob.getStatus());
+        assertEquals(employeeIds.size(), finishedJob.getProcessedCount());
+        assertEquals(0, finishedJob.getFailedCount());
+    }
+
+    @Test
+    void should_not_finish_a_started_run_that_a_poller_sees_before_its_chunks_exist() {
+        // Leave no other running job, so the poller has nothing to hand its workers
+        job.setStatus(PayRunJobStatusEnum.COMPLETED);
+        payRunJobRepository.save(job);
+
+        SalaryPayPeriodModel february = february();
+        when(employeeService.getEmployeeIdsByStatus(StatusEnum.ACTIVE)).thenReturn(employeeIds);
+
+        // Another node polls after the job is saved but before its chunks are planned
+        PayRunJobRunner otherNode = runner("node-b");
+        PayRunChunkLeaseService planningLeaseService = mock(PayRunChunkLeaseService.class, delegatesTo(leaseService));
+        doAnswer(invocation -> {
+            otherNode.pollForWork();
+            return leaseService.planChunks(invocation.getArgument(0), invocation.getArgument(1));
+        }).when(planningLeaseService).planChunks(any(PayRunJobModel.class), anyList());
+
+        PayRunJobService payRunJobService = payRunJobService(planningLeaseService,
+                new SalaryPayPeriodService(salaryPayPeriodRepository));
+        Long jobId = payRunJobService.startPayRun(new PayRunJobRequestDTO(february.getId())).getData().id();
+
+        PayRunJobModel started = payRunJobRepository.findById(jobId).orElseThrow();
+        assertEquals(PayRunJobStatusEnum.RUNNING, started.getStatus());
+        assertNull(started.getFinishedAt());
+        List<PayRunChunkModel> chunks = payRunChunkRepository.findByPayRunJobIdOrderByChunkIndex(jobId);
+        assertEquals(12, chunks.size());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.getStatus() == PayRunChunkStatusEnum.PENDING));
+    }
+
+    @Test
+    void should_start_only_one_run_when_two_starts_for_a_period_race() throws Exception {
+        SalaryPayPeriodModel february = february();
+        when(employeeService.getEmployeeIdsByStatus(StatusEnum.ACTIVE)).thenReturn(employeeIds);
+
+        // The first start pauses between its check and saving its job, long enough for the second to check too
+        PayRunJobRepository slowJobRepository = mock(PayRunJobRepository.class, delegatesTo(payRunJobRepository));
+        CountDownLatch firstChecked = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (firstChecked.getCount() > 0) {
+                firstChecked.countDown();
+                Thread.sleep(300);
+            }
+            return payRunJobRepository.save(invocation.getArgument(0));
+        }).when(slowJobRepository).save(any(PayRunJobModel.class));
+        PayRunJobService payRunJobService = new PayRunJobService(slowJobRepository, payRunJobFailureRepository,
+                payRunChunkRepository, leaseService, employeeService, new SalaryPayPeriodService(salaryPayPeriodRepository),
+                mock(PayRunJobRunner.class), mock(PayRunProgressPublisher.class), transactionManager);
+
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = threads.submit(() -> payRunJobService.startPayRun(new PayRunJobRequestDTO(february.getId())));
+            assertTrue(firstChecked.await(10, TimeUnit.SECONDS));
+            Future<?> second = threads.submit(() -> payRunJobService.startPayRun(new PayRunJobRequestDTO(february.getId())));
+
+            first.get(30, TimeUnit.SECONDS);
+            ExecutionException rejected = assertThrows(ExecutionException.class, () -> second.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(PayRunJobException.class, rejected.getCause());
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(1, payRunJobRepository.findAll().stream()
+                .filter(payRunJob -> payRunJob.getSalaryPayPeriod().getId().equals(february.getId()))
+                .count());
+    }
+}
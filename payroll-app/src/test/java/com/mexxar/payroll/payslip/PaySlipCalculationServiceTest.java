@@ -0,0 +1,132 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.core.WorkingDayCalendar;
+import com.mexxar.payroll.employee.EmployeeModel;
+import com.mexxar.payroll.holiday.WorkingDayCalendarService;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsTypeEnum;
+import com.mexxar.payroll.retropay.RetroPayAdjustmentResponseDTO;
+import com.mexxar.payroll.salary.SalaryResponseDTO;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.tax.TaxResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaySlipCalculationServiceTest {
+
+    @Mock
+    private PaySlipInputLoader paySlipInputLoader;
+
+    @Mock
+    private WorkingDayCalendarService workingDayCalendarService;
+
+    @InjectMocks
+    private PaySlipCalculationService paySlipCalculationService;
+
+    private PaySlipRequestDTO requestDTO;
+    private PaySlipInputs inputs;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(workingDayCalendarService.getCalendar()).thenReturn(WorkingDayCalendar.weekendsOnly());
+
+        EmployeeModel employeeModel = new EmployeeModel();
+        employeeModel.setId(1L);
+        employeeModel.setHireDate(LocalDate.of(2020, 1, 1));
+
+        SalaryPayPeriodModel payPeriod = new SalaryPayPeriodModel();
+        payPeriod.setId(1L);
+
+        requestDTO = new PaySlipRequestDTO(
+                PaySlipStatusEnum.GENERATED,
+                0.0,
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 31),
+                1L,
+                1L
+        );
+
+        inputs = new PaySlipInputs(
+                new SalaryResponseDTO(1L, 150000.0, LocalDate.of(2020, 1, 1), null, employeeModel),
+                payPeriod,
+                0.0,
+                List.of(),
+                List.of(),
+                List.of(),
+                List.of(),
+                List.of(),
+                List.of(),
+                List.of(),
+                List.of(),
+                List.of(
+                        new TaxResponseDTO(3L, 20.0, 300000.0, 0.0),
+                        new TaxResponseDTO(1L, 0.0, 0.0, 100000.0),
+                        new TaxResponseDTO(2L, 10.0, 100000.0, 200000.0)
+                ),
+                List.of(),
+                List.of()
+        );
+    }
+
+    @Test
+    void should_only_apply_tax_brackets_starting_at_or_below_gross_salary() {
+        PaySlipDraft draft = paySlipCalculationService.calculatePaySlip(requestDTO, inputs);
+
+        assertEquals(150000.0, draft.grossSalary());
+        assertEquals(5000.0, draft.taxDeduction(), 0.0001);
+        assertEquals(12000.0, draft.epfDeduction(), 0.0001);
+        assertEquals(133000.0, draft.netSalary(), 0.0001);
+        assertEquals(2, draft.details().size());
+        verifyNoInteractions(paySlipInputLoader);
+    }
+
+    @Test
+    void should_load_inputs_before_calculating() {
+        when(paySlipInputLoader.loadInputs(requestDTO)).thenReturn(inputs);
+
+        PaySlipDraft draft = paySlipCalculationService.calculatePaySlip(requestDTO);
+
+        assertEquals(1L, draft.salaryId());
+        verify(paySlipInputLoader).loadInputs(requestDTO);
+    }
+
+    @Test
+    void should_price_no_pay_leave_against_working_days_net_of_holidays() {
+        when(workingDayCalendarService.getCalendar())
+                .thenReturn(WorkingDayCalendar.withHolidays(List.of(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 25))));
+        PaySlipInputs withLeave = new PaySlipInputs(inputs.salary(), inputs.salaryPayPeriod(), 2.0,
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), inputs.taxBrackets(), List.of(), List.of());
+
+        PaySlipDraft draft = paySlipCalculationService.calculatePaySlip(requestDTO, withLeave);
+
+        // 23 weekdays in January 2024 less two holidays; 150000 / 21 * 2 rounded to the cent
+        assertEquals(14285.71, draft.leaveDeduction());
+    }
+
+    @Test
+    void should_carry_retro_pay_adjustments_as_detail_lines() {
+        PaySlipInputs withRetroPay = new PaySlipInputs(inputs.salary(), inputs.salaryPayPeriod(), 0.0,
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), inputs.taxBrackets(),
+                List.of(new RetroPayAdjustmentResponseDTO(5L, 2L, 1L, 1L, 40L, 11L, "Retro Pay 2023-11", 160000.0, 7200.0)),
+                List.of());
+
+        PaySlipDraft draft = paySlipCalculationService.calculatePaySlip(requestDTO, withRetroPay);
+
+        assertEquals(150000.0, draft.grossSalary());
+        assertEquals(140200.0, draft.netSalary(), 0.0001);
+        PaySlipDetailDraft retroPay = draft.details().get(draft.details().size() - 1);
+        assertEquals(PaySlipDetailsTypeEnum.ADDITION, retroPay.type());
+        assertEquals("Retro Pay 2023-11", retroPay.description());
+        assertEquals(7200.0, retroPay.amount());
+    }
+}
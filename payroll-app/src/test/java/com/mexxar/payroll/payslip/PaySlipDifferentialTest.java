@@ -0,0 +1,121 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsModel;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Generates random employee-period scenarios and checks that every optimised payslip path produces exactly what
+// the reference createPaySlip persists. A failure lists each diverging field with the seed that reproduces it;
+// -Dpayroll.differential.seed and -Dpayroll.differential.scenarios replay or widen the search.
+@SpringBootTest
+@ActiveProfiles("h2")
+class PaySlipDifferentialTest {
+
+    private static final long SEED = Long.getLong("payroll.differential.seed", 7_340_033L);
+    private static final int SCENARIOS = Integer.getInteger("payroll.differential.scenarios", 100);
+
+    @Autowired
+    private PaySlipService paySlipService;
+
+    @Autowired
+    private PaySlipCalculationService paySlipCalculationService;
+
+    @Autowired
+    private PaySlipPeriodInputLoader paySlipPeriodInputLoader;
+
+    @Autowired
+    private PaySlipRepository paySlipRepository;
+
+    @Autowired
+    private PaySlipDetailsRepository paySlipDetailsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A payslip and its detail rows as one path would write them
+    private record Outcome(PaySlipModel paySlip, List<PaySlipDetailsModel> details) {
+    }
+
+    @Test
+    void should_match_reference_payslips_for_random_scenarios() {
+        PaySlipScenarioGenerator generator = new PaySlipScenarioGenerator(jdbcTemplate);
+        generator.writeReferenceData();
+        List<PaySlipScenarioGenerator.Scenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < SCENARIOS; i++) {
+            scenarios.add(generator.generate(SEED + i));
+        }
+
+        // Optimised paths only read, so they all run before the reference writes payslips and moves loan balances
+        Map<Long, PaySlipPeriodInputs> inputsByPayPeriod = new HashMap<>();
+        for (YearMonth month : PaySlipScenarioGenerator.PAY_PERIODS) {
+            long payPeriodId = generator.payPeriodId(month);
+            inputsByPayPeriod.put(payPeriodId, paySlipPeriodInputLoader.loadPeriodInputs(payPeriodId));
+        }
+        // The preview path: one bulk load per pay period
+        Map<Long, Outcome> bulkOutcomes = optimisedOutcomes(scenarios, request ->
+                inputsByPayPeriod.get(request.payPeriodId()).inputsByEmployeeId().get(request.employeeId()));
+        // The pay run path: one bulk load per chunk, here a chunk of the neighbouring employee IDs
+        Map<Long, Outcome> chunkOutcomes = optimisedOutcomes(scenarios, request ->
+                paySlipPeriodInputLoader.loadPeriodInputs(request.payPeriodId(), request.employeeId() - 1, request.employeeId() + 1)
+                        .inputsByEmployeeId().get(request.employeeId()));
+
+        List<String> report = new ArrayList<>();
+        for (PaySlipScenarioGenerator.Scenario scenario : scenarios) {
+            Outcome reference = referenceOutcome(scenario.request());
+            addDivergences(report, "bulk period", scenario, reference, bulkOutcomes.get(scenario.employeeId()));
+            addDivergences(report, "pay run chunk", scenario, reference, chunkOutcomes.get(scenario.employeeId()));
+        }
+
+        assertTrue(report.isEmpty(), report.size() + " of " + scenarios.size() + " scenarios diverge:\n" + String.join("\n", report));
+    }
+
+    private Outcome referenceOutcome(PaySlipRequestDTO request) {
+        paySlipService.createPaySlip(request);
+        PaySlipModel paySlip = paySlipRepository.findByEmployeeIdAndSalaryPayPeriodId(request.employeeId(), request.payPeriodId())
+                .orElseThrow();
+        List<PaySlipDetailsModel> details = new ArrayList<>(paySlipDetailsRepository.findAllByPaySlipId(paySlip.getId()));
+        details.sort(Comparator.comparing(PaySlipDetailsModel::getId));
+        return new Outcome(paySlip, details);
+    }
+
+    private static void addDivergences(List<String> report, String path, PaySlipScenarioGenerator.Scenario scenario,
+                                       Outcome reference, Outcome optimised) {
+        List<String> divergences = PaySlipDivergence.between(reference.paySlip(), reference.details(),
+                optimised.paySlip(), optimised.details());
+        if (!divergences.isEmpty()) {
+            report.add(path + " path diverges for " + scenario.description() + "\n    " + String.join("\n    ", divergences));
+        }
+    }
+
+    // Bulk-loaded inputs, then the shared calculation per employee
+    private Map<Long, Outcome> optimisedOutcomes(List<PaySlipScenarioGenerator.Scenario> scenarios,
+                                                 Function<PaySlipRequestDTO, PaySlipInputs> inputLoader) {
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        for (PaySlipScenarioGenerator.Scenario scenario : scenarios) {
+            PaySlipRequestDTO request = scenario.request();
+            PaySlipInputs inputs = inputLoader.apply(request);
+            PaySlipDraft draft = paySlipCalculationService.calculatePaySlip(request, inputs);
+
+            PaySlipModel paySlip = PaySlipPersistenceService.applyDraft(new PaySlipModel(), draft);
+            List<PaySlipDetailsModel> details = draft.details().stream()
+                    .map(detail -> PaySlipPersistenceService.toPaySlipDetailsModel(detail, paySlip))
+                    .toList();
+            outcomes.put(scenario.employeeId(), new Outcome(paySlip, details));
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsModel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Field-by-field comparison of a payslip and its detail rows. Money must match exactly, not within a tolerance:
+// a cheaper path that rounds differently still pays someone a different amount.
+final class PaySlipDivergence {
+
+    private static final Map<String, Function<PaySlipModel, Object>> PAYSLIP_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Function<PaySlipDetailsModel, Object>> DETAIL_FIELDS = new LinkedHashMap<>();
+
+    static {
+        PAYSLIP_FIELDS.put("employeeId", paySlip -> paySlip.getEmployee().getId());
+        PAYSLIP_FIELDS.put("salaryPayPeriodId", paySlip -> paySlip.getSalaryPayPeriod().getId());
+        PAYSLIP_FIELDS.put("salaryId", PaySlipModel::getSalaryId);
+        PAYSLIP_FIELDS.put("status", PaySlipModel::getStatus);
+        PAYSLIP_FIELDS.put("startDate", PaySlipModel::getStartDate);
+        PAYSLIP_FIELDS.put("endDate", PaySlipModel::getEndDate);
+        PAYSLIP_FIELDS.put("basicSalary", PaySlipModel::getBasicSalary);
+        PAYSLIP_FIELDS.put("allowances", PaySlipModel::getAllowances);
+        PAYSLIP_FIELDS.put("taxLiableAllowances", PaySlipModel::getTaxLiableAllowances);
+        PAYSLIP_FIELDS.put("taxExcludedAllowances", PaySlipModel::getTaxExcludedAllowances);
+        PAYSLIP_FIELDS.put("commission", PaySlipModel::getCommission);
+        PAYSLIP_FIELDS.put("taxLiableCommissions", PaySlipModel::getTaxLiableCommissions);
+        PAYSLIP_FIELDS.put("taxExcludedCommissions", PaySlipModel::getTaxExcludedCommissions);
+        PAYSLIP_FIELDS.put("grossSalary", PaySlipModel::getGrossSalary);
+        PAYSLIP_FIELDS.put("taxDeduction", PaySlipModel::getTaxDeduction);
+        PAYSLIP_FIELDS.put("salaryAdvanceDeduction", PaySlipModel::getSalaryAdvanceDeduction);
+        PAYSLIP_FIELDS.put("loanDeduction", PaySlipModel::getLoanDeduction);
+        PAYSLIP_FIELDS.put("attendanceDeduction", PaySlipModel::getAttendanceDeduction);
+        PAYSLIP_FIELDS.put("leaveDeduction", PaySlipModel::getLeaveDeduction);
+        PAYSLIP_FIELDS.put("epfDeduction", PaySlipModel::getEpfDeduction);
+        PAYSLIP_FIELDS.put("netSalary", PaySlipModel::getNetSalary);
+
+        DETAIL_FIELDS.put("type", PaySlipDetailsModel::getType);
+        DETAIL_FIELDS.put("description", PaySlipDetailsModel::getDescription);
+        DETAIL_FIELDS.put("amount", PaySlipDetailsModel::getAmount);
+        DETAIL_FIELDS.put("loanId", PaySlipDetailsModel::getLoanId);
+        DETAIL_FIELDS.put("advanceId", PaySlipDetailsModel::getAdvanceId);
+        DETAIL_FIELDS.put("salaryAllowanceId", PaySlipDetailsModel::getSalaryAllowanceId);
+        DETAIL_FIELDS.put("salaryCommissionId", PaySlipDetailsModel::getSalaryCommissionId);
+    }
+
+    private PaySlipDivergence() {
+    }
+
+    // Detail rows are compared in order; both lists must already be in the order they are written
+    static List<String> between(PaySlipModel expected, List<PaySlipDetailsModel> expectedDetails,
+                                PaySlipModel actual, List<PaySlipDetailsModel> actualDetails) {
+        List<String> divergences = new ArrayList<>();
+        PAYSLIP_FIELDS.forEach((field, getter) ->
+                compare("PaySlip." + field, getter.apply(expected), getter.apply(actual), divergences));
+
+        if (expectedDetails.size() != actualDetails.size()) {
+            divergences.add("PaySlipDetails count: expected " + expectedDetails.size() + " but was " + actualDetails.size());
+        }
+        for (int i = 0; i < Math.min(expectedDetails.size(), actualDetails.size()); i++) {
+            PaySlipDetailsModel expectedDetail = expectedDetails.get(i);
+            PaySlipDetailsModel actualDetail = actualDetails.get(i);
+            int index = i;
+            DETAIL_FIELDS.forEach((field, getter) ->
+                    compare("PaySlipDetails[" + index + "]." + field, getter.apply(expectedDetail), getter.apply(actualDetail), divergences));
+        }
+        return divergences;
+    }
+
+    private static void compare(String field, Object expected, Object actual, List<String> divergences) {
+        boolean equal = expected instanceof Double expectedAmount && actual instanceof Double actualAmount
+                ? Double.compare(expectedAmount, actualAmount) == 0
+                : Objects.equals(expected, actual);
+        if (!equal) {
+            divergences.add(field + ": expected " + expected + " but was " + actual);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.employee.EmployeeModel;
+import com.mexxar.payroll.epfetfcontribution.EpfEtfContributionModel;
+import com.mexxar.payroll.epfetfcontribution.EpfEtfContributionService;
+import com.mexxar.payroll.loan.LoanService;
+import com.mexxar.payroll.payrollcost.PayrollCostService;
+import com.mexxar.payroll.payslip.exception.PaySlipException;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsBatchWriter;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsModel;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsRepository;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsTypeEnum;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PendingPaySlipChange;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.yeartodate.YearToDateService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaySlipPersistenceServiceTest {
+
+    @Mock
+    private PaySlipRepository paySlipRepository;
+
+    @Mock
+    private PaySlipDetailsRepository paySlipDetailsRepository;
+
+    @Mock
+    private PaySlipDetailsBatchWriter paySlipDetailsBatchWriter;
+
+    @Mock
+    private EpfEtfContributionService epfEtfContributionService;
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private PaySlipInputChangeService paySlipInputChangeService;
+
+    @Mock
+    private YearToDateService yearToDateService;
+
+    @Mock
+    private PayrollCostService payrollCostService;
+
+    @InjectMocks
+    private PaySlipPersistenceService paySlipPersistenceService;
+
+    private final PendingPaySlipChange change = new PendingPaySlipChange(1L, 7L, 40L);
+
+    private PaySlipDraft draft() {
+        return draft(List.of(new PaySlipDetailDraft(3L, null, null, null, PaySlipDetailsTypeEnum.DEDUCTION, null, 6000.0)));
+    }
+
+    private PaySlipDraft draft(List<PaySlipDetailDraft> details) {
+        EmployeeModel employee = new EmployeeModel();
+        employee.setId(1L);
+        SalaryPayPeriodModel payPeriod = new SalaryPayPeriodModel();
+        payPeriod.setId(7L);
+        return new PaySlipDraft(1L, employee, payPeriod, PaySlipStatusEnum.UPDATED,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 150000.0, 0, 0, 0, 0, 150000.0, 5000.0,
+                0, 6000.0, 0, 0, 12000.0, 18000.0, 4500.0, 127000.0, details);
+    }
+
+    @Test
+    void should_reverse_old_effects_before_applying_recalculated_payslip() {
+        PaySlipModel existingPaySlip = new PaySlipModel();
+        existingPaySlip.setId(11L);
+        existingPaySlip.setStatus(PaySlipStatusEnum.GENERATED);
+        PaySlipDetailsModel oldLoanDetail = new PaySlipDetailsModel();
+        oldLoanDetail.setLoanId(3L);
+        oldLoanDetail.setAmount(5500.0);
+        when(paySlipRepository.findById(11L)).thenReturn(Optional.of(existingPaySlip));
+        when(paySlipDetailsRepository.findAllByPaySlipId(11L)).thenReturn(List.of(oldLoanDetail));
+        when(paySlipRepository.save(existingPaySlip)).thenReturn(existingPaySlip);
+
+        PaySlipModel saved = paySlipPersistenceService.replacePaySlip(11L, draft(), change);
+
+        assertEquals(11L, saved.getId());
+        assertEquals(PaySlipStatusEnum.UPDATED, saved.getStatus());
+        assertEquals(127000.0, saved.getNetSalary());
+        InOrder inOrder = inOrder(loanService, paySlipDetailsRepository, paySlipDetailsBatchWriter, epfEtfContributionService, yearToDateService, paySlipInputChangeService);
+        inOrder.verify(loanService).restoreLoanRemainingAmount(3L, 5500.0);
+        inOrder.verify(paySlipDetailsRepository).deleteAllByPaySlipId(11L);
+        inOrder.verify(epfEtfContributionService).deleteContributionsByPaySlipId(11L);
+        inOrder.verify(yearToDateService).removePaySlip(existingPaySlip, 0.0, 0.0);
+        verify(payrollCostService).removePaySlip(existingPaySlip, 0.0, 0.0);
+        inOrder.verify(epfEtfContributionService).createEpfEtfContribution(eq(11L), eq(18000.0), eq(4500.0), any(), any());
+        inOrder.verify(yearToDateService).addPaySlip(existingPaySlip, 18000.0, 4500.0);
+        verify(payrollCostService).addPaySlip(existingPaySlip, 18000.0, 4500.0);
+        inOrder.verify(loanService).updateLoanRemainingAmount(3L, 6000.0);
+        inOrder.verify(paySlipDetailsBatchWriter).insertAll(anyList());
+        inOrder.verify(paySlipInputChangeService).clearChanges(change);
+    }
+
+    @Test
+    void should_record_what_each_loan_deduction_actually_took() {
+        PaySlipModel savedPaySlip = new PaySlipModel();
+        savedPaySlip.setId(11L);
+        when(paySlipRepository.save(any(PaySlipModel.class))).thenReturn(savedPaySlip);
+        // The loan was paid off meanwhile, so the conditional deduction updates no row
+        when(loanService.updateLoanRemainingAmount(3L, 6000.0)).thenReturn(0);
+
+        paySlipPersistenceService.persistPaySlip(draft());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaySlipDetailsModel>> details = ArgumentCaptor.forClass(List.class);
+        verify(paySlipDetailsBatchWriter).insertAll(details.capture());
+        assertEquals(6000.0, details.getValue().get(0).getAmount());
+        assertEquals(0.0, details.getValue().get(0).getLoanDeductedAmount());
+    }
+
+    @Test
+    void should_insert_details_in_calculated_order_with_loans_before_epf() {
+        PaySlipModel savedPaySlip = new PaySlipModel();
+        savedPaySlip.setId(11L);
+        when(paySlipRepository.save(any(PaySlipModel.class))).thenReturn(savedPaySlip);
+        when(loanService.updateLoanRemainingAmount(3L, 6000.0)).thenReturn(1);
+        PaySlipDraft draft = draft(List.of(
+                new PaySlipDetailDraft(null, 5L, null, null, PaySlipDetailsTypeEnum.DEDUCTION, null, 2000.0),
+                new PaySlipDetailDraft(3L, null, null, null, PaySlipDetailsTypeEnum.DEDUCTION, null, 6000.0),
+                new PaySlipDetailDraft(null, null, null, null, PaySlipDetailsTypeEnum.DEDUCTION, "EPF Deduction", 12000.0)));
+
+        paySlipPersistenceService.persistPaySlip(draft);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaySlipDetailsModel>> details = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(loanService, paySlipDetailsBatchWriter);
+        inOrder.verify(loanService).updateLoanRemainingAmount(3L, 6000.0);
+        inOrder.verify(paySlipDetailsBatchWriter).insertAll(details.capture());
+        assertEquals(5L, details.getValue().get(0).getAdvanceId());
+        assertEquals(3L, details.getValue().get(1).getLoanId());
+        assertEquals("EPF Deduction", details.getValue().get(2).getDescription());
+    }
+
+    @Test
+    void should_not_restore_a_loan_deduction_that_was_skipped() {
+        PaySlipModel existingPaySlip = new PaySlipModel();
+        existingPaySlip.setId(11L);
+        PaySlipDetailsModel skippedLoanDetail = new PaySlipDetailsModel();
+        skippedLoanDetail.setLoanId(3L);
+        skippedLoanDetail.setAmount(5500.0);
+        skippedLoanDetail.setLoanDeductedAmount(0.0);
+        PaySlipDetailsModel appliedLoanDetail = new PaySlipDetailsModel();
+        appliedLoanDetail.setLoanId(4L);
+        appliedLoanDetail.setAmount(2500.0);
+        appliedLoanDetail.setLoanDeductedAmount(2500.0);
+        when(paySlipRepository.findById(11L)).thenReturn(Optional.of(existingPaySlip));
+        when(paySlipDetailsRepository.findAllByPaySlipId(11L)).thenReturn(List.of(skippedLoanDetail, appliedLoanDetail));
+
+        paySlipPersistenceService.deletePaySlip(11L);
+
+        verify(loanService, never()).restoreLoanRemainingAmount(eq(3L), anyDouble());
+        verify(loanService).restoreLoanRemainingAmount(4L, 2500.0);
+        verify(paySlipRepository).delete(existingPaySlip);
+    }
+
+    @Test
+    void should_refuse_to_replace_approved_payslip() {
+        PaySlipModel existingPaySlip = new PaySlipModel();
+        existingPaySlip.setId(11L);
+        existingPaySlip.setStatus(PaySlipStatusEnum.APPROVED);
+        when(paySlipRepository.findById(11L)).thenReturn(Optional.of(existingPaySlip));
+
+        PaySlipDraft draft = draft();
+        assertThrows(PaySlipException.class, () -> paySlipPersistenceService.replacePaySlip(11L, draft, change));
+
+        verifyNoInteractions(loanService, paySlipDetailsRepository, paySlipDetailsBatchWriter, epfEtfContributionService, yearToDateService, payrollCostService, paySlipInputChangeService);
+        verify(paySlipRepository, never()).save(any());
+    }
+
+    @Test
+    void should_reverse_every_effect_when_deleting_payslip() {
+        PaySlipModel existingPaySlip = new PaySlipModel();
+        existingPaySlip.setId(11L);
+        PaySlipDetailsModel loanDetail = new PaySlipDetailsModel();
+        loanDetail.setLoanId(3L);
+        loanDetail.setAmount(5500.0);
+        EpfEtfContributionModel contribution = new EpfEtfContributionModel();
+        contribution.setEpfContribution(18000.0);
+        contribution.setEtfContribution(4500.0);
+        when(paySlipRepository.findById(11L)).thenReturn(Optional.of(existingPaySlip));
+        when(paySlipDetailsRepository.findAllByPaySlipId(11L)).thenReturn(List.of(loanDetail));
+        when(epfEtfContributionService.getContributionModelsByPaySlipId(11L)).thenReturn(List.of(contribution));
+
+        paySlipPersistenceService.deletePaySlip(11L);
+
+        verify(loanService).restoreLoanRemainingAmount(3L, 5500.0);
+        verify(paySlipDetailsRepository).deleteAllByPaySlipId(11L);
+        verify(epfEtfContributionService).deleteContributionsByPaySlipId(11L);
+        verify(yearToDateService).removePaySlip(existingPaySlip, 18000.0, 4500.0);
+        verify(payrollCostService).removePaySlip(existingPaySlip, 18000.0, 4500.0);
+        verify(paySlipRepository).delete(existingPaySlip);
+    }
+}
@@ -0,0 +1,104 @@
+package com.mexxar.payroll.payslip;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mexxar.payroll.employee.EmployeeModel;
+import com.mexxar.payroll.salary.SalaryResponseDTO;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaySlipPreviewServiceTest {
+
+    @Mock
+    private PaySlipPeriodInputLoader paySlipPeriodInputLoader;
+
+    @Mock
+    private PaySlipCalculationService paySlipCalculationService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private PaySlipPreviewService paySlipPreviewService;
+
+    private SalaryPayPeriodModel payPeriod;
+    private PaySlipInputs inputs;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeModel employeeModel = new EmployeeModel();
+        employeeModel.setId(1L);
+        employeeModel.setFirstName("Jane");
+        employeeModel.setLastName("Perera");
+
+        payPeriod = new SalaryPayPeriodModel();
+        payPeriod.setId(7L);
+        payPeriod.setStartDate(LocalDate.of(2024, 1, 1));
+        payPeriod.setEndDate(LocalDate.of(2024, 1, 31));
+
+        inputs = new PaySlipInputs(
+                new SalaryResponseDTO(1L, 150000.0, LocalDate.of(2020, 1, 1), null, employeeModel),
+                payPeriod,
+                0.0,
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of()
+        );
+    }
+
+    @Test
+    void should_stream_one_line_per_employee_without_persisting() throws Exception {
+        PaySlipDraft draft = new PaySlipDraft(1L, inputs.salary().employee(), payPeriod, PaySlipStatusEnum.GENERATED,
+                payPeriod.getStartDate(), payPeriod.getEndDate(), 150000.0, 0, 0, 0, 0, 150000.0, 5000.0,
+                0, 0, 0, 0, 12000.0, 18000.0, 4500.0, 133000.0, List.of());
+        when(paySlipPeriodInputLoader.loadPeriodInputs(7L))
+                .thenReturn(new PaySlipPeriodInputs(payPeriod, Map.of(1L, inputs), List.of(2L)));
+        when(paySlipCalculationService.calculatePaySlip(argThat(request -> request.employeeId() == 1L
+                && request.payPeriodId() == 7L
+                && request.startDate().equals(payPeriod.getStartDate())), eq(inputs))).thenReturn(draft);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        paySlipPreviewService.previewPayPeriod(7L).writeTo(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        PaySlipPreviewDTO missingSalary = objectMapper.readValue(lines[0], PaySlipPreviewDTO.class);
+        assertEquals(2L, missingSalary.employeeId());
+        assertNotNull(missingSalary.errorMessage());
+        PaySlipPreviewDTO preview = objectMapper.readValue(lines[1], PaySlipPreviewDTO.class);
+        assertEquals("Jane Perera", preview.employeeName());
+        assertEquals(133000.0, preview.netSalary());
+        assertNull(preview.errorMessage());
+        verify(paySlipCalculationService, never()).calculatePaySlip(any(PaySlipRequestDTO.class));
+    }
+
+    @Test
+    void should_report_calculation_failures_as_error_rows() throws Exception {
+        when(paySlipPeriodInputLoader.loadPeriodInputs(7L))
+                .thenReturn(new PaySlipPeriodInputs(payPeriod, Map.of(1L, inputs), List.of()));
+        when(paySlipCalculationService.calculatePaySlip(any(PaySlipRequestDTO.class), eq(inputs)))
+                .thenThrow(new IllegalStateException("No tax brackets configured"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        paySlipPreviewService.previewPayPeriod(7L).writeTo(outputStream);
+
+        PaySlipPreviewDTO preview = objectMapper.readValue(outputStream.toString(StandardCharsets.UTF_8).trim(), PaySlipPreviewDTO.class);
+        assertEquals(1L, preview.employeeId());
+        assertEquals("No tax brackets configured", preview.errorMessage());
+    }
+}
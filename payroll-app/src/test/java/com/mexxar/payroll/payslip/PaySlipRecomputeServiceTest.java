@@ -0,0 +1,115 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PendingPaySlipChange;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaySlipRecomputeServiceTest {
+
+    @Mock
+    private PaySlipRepository paySlipRepository;
+
+    @Mock
+    private PaySlipCalculationService paySlipCalculationService;
+
+    @Mock
+    private PaySlipPersistenceService paySlipPersistenceService;
+
+    @Mock
+    private PaySlipInputChangeService paySlipInputChangeService;
+
+    @Mock
+    private SalaryPayPeriodService salaryPayPeriodService;
+
+    @InjectMocks
+    private PaySlipRecomputeService paySlipRecomputeService;
+
+    private static PaySlipModel paySlip(Long id, PaySlipStatusEnum status) {
+        PaySlipModel paySlip = new PaySlipModel();
+        paySlip.setId(id);
+        paySlip.setStatus(status);
+        paySlip.setAttendanceDeduction(250.0);
+        paySlip.setStartDate(LocalDate.of(2024, 1, 1));
+        paySlip.setEndDate(LocalDate.of(2024, 1, 31));
+        return paySlip;
+    }
+
+    @Test
+    void should_only_recompute_payslips_with_pending_changes() {
+        PendingPaySlipChange change = new PendingPaySlipChange(1L, 7L, 40L);
+        PaySlipDraft draft = mock(PaySlipDraft.class);
+        when(paySlipInputChangeService.getPendingChanges(7L)).thenReturn(List.of(change));
+        when(paySlipRepository.findByEmployeeIdAndSalaryPayPeriodId(1L, 7L))
+                .thenReturn(Optional.of(paySlip(11L, PaySlipStatusEnum.GENERATED)));
+        when(paySlipCalculationService.calculatePaySlip(any(PaySlipRequestDTO.class))).thenReturn(draft);
+
+        PaySlipRecomputeResponseDTO response = paySlipRecomputeService.recomputeChangedPaySlips(7L).getData();
+
+        assertEquals(1, response.recomputedCount());
+        assertTrue(response.failedEmployeeIds().isEmpty());
+        ArgumentCaptor<PaySlipRequestDTO> request = ArgumentCaptor.forClass(PaySlipRequestDTO.class);
+        verify(paySlipCalculationService).calculatePaySlip(request.capture());
+        assertEquals(PaySlipStatusEnum.UPDATED, request.getValue().status());
+        assertEquals(250.0, request.getValue().attendanceDeduction());
+        verify(paySlipPersistenceService).replacePaySlip(11L, draft, change);
+        verify(paySlipRepository, never()).findAll();
+    }
+
+    @Test
+    void should_clear_changes_without_payslip_and_keep_changes_of_approved_payslips() {
+        PendingPaySlipChange notGenerated = new PendingPaySlipChange(1L, 7L, 40L);
+        PendingPaySlipChange approved = new PendingPaySlipChange(2L, 7L, 41L);
+        when(paySlipInputChangeService.getPendingChanges(7L)).thenReturn(List.of(notGenerated, approved));
+        when(paySlipRepository.findByEmployeeIdAndSalaryPayPeriodId(1L, 7L)).thenReturn(Optional.empty());
+        when(paySlipRepository.findByEmployeeIdAndSalaryPayPeriodId(2L, 7L))
+                .thenReturn(Optional.of(paySlip(12L, PaySlipStatusEnum.APPROVED)));
+
+        PaySlipRecomputeResponseDTO response = paySlipRecomputeService.recomputeChangedPaySlips(7L).getData();
+
+        assertEquals(2, response.changedCount());
+        assertEquals(1, response.withoutPaySlipCount());
+        assertEquals(1, response.lockedCount());
+        verify(paySlipInputChangeService).clearChanges(notGenerated);
+        verify(paySlipInputChangeService, never()).clearChanges(approved);
+        verifyNoInteractions(paySlipCalculationService, paySlipPersistenceService);
+    }
+
+    @Test
+    void should_report_failed_employees_and_continue() {
+        PendingPaySlipChange failing = new PendingPaySlipChange(1L, 7L, 40L);
+        PendingPaySlipChange succeeding = new PendingPaySlipChange(2L, 7L, 41L);
+        when(paySlipInputChangeService.getPendingChanges(7L)).thenReturn(List.of(failing, succeeding));
+        when(paySlipRepository.findByEmployeeIdAndSalaryPayPeriodId(1L, 7L))
+                .thenReturn(Optional.of(paySlip(11L, PaySlipStatusEnum.UPDATED)));
+        when(paySlipRepository.findByEmployeeIdAndSalaryPayPeriodId(2L, 7L))
+                .thenReturn(Optional.of(paySlip(12L, PaySlipStatusEnum.GENERATED)));
+        when(paySlipCalculationService.calculatePaySlip(any(PaySlipRequestDTO.class))).thenAnswer(invocation -> {
+            PaySlipRequestDTO request = invocation.getArgument(0);
+            if (request.employeeId() == 1L) {
+                throw new IllegalStateException("Salary not found");
+            }
+            return mock(PaySlipDraft.class);
+        });
+
+        PaySlipRecomputeResponseDTO response = paySlipRecomputeService.recomputeChangedPaySlips(7L).getData();
+
+        assertEquals(1, response.recomputedCount());
+        assertEquals(List.of(1L), response.failedEmployeeIds());
+        verify(paySlipPersistenceService).replacePaySlip(eq(12L), any(), eq(succeeding));
+    }
+}
@@ -0,0 +1,215 @@
+package com.mexxar.payroll.payslip;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import com.mexxar.payroll.employeeleave.EmployeeLeaveEnum;
+import com.mexxar.payroll.leave.LeaveTypeEnum;
+import com.mexxar.payroll.loan.LoanStatusEnum;
+import com.mexxar.payroll.salaryadvance.SalaryAdvanceStatusEnum;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Writes one random employee-period scenario per seed straight into the schema. Alongside the rows a payslip should
+// pick up, every scenario also gets rows it must ignore: other periods, held loans, deducted advances, pending leave.
+class PaySlipScenarioGenerator {
+
+    // min, max (0 = open ended), rate; the order the tax table is read in
+    static final double[][] TAX_BRACKETS = {
+            {0, 100000, 0},
+            {100000, 141667, 6},
+            {141667, 183333, 12},
+            {183333, 225000, 18},
+            {225000, 266667, 24},
+            {266667, 308333, 30},
+            {308333, 0, 36}
+    };
+
+    // Thirty-one days, a leap February and a thirty-day month
+    static final List<YearMonth> PAY_PERIODS = List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 4));
+
+    private static final YearMonth OTHER_PERIOD = YearMonth.of(2024, 3);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Long> nextIds = new HashMap<>();
+    private final Map<YearMonth, Long> payPeriodIds = new HashMap<>();
+    private final LocalDateTime now = LocalDateTime.now();
+    private long departmentId;
+    private long designationId;
+    private long noPayPolicyId;
+    private long annualPolicyId;
+    private long[] allowanceTypeIds;
+    private long[] commissionTypeIds;
+
+    // A scenario's employee and the request both paths are asked to calculate
+    record Scenario(long seed, long employeeId, PaySlipRequestDTO request, String description) {
+    }
+
+    PaySlipScenarioGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void writeReferenceData() {
+        departmentId = insert("department", "name, status", "Differential", StatusEnum.ACTIVE.ordinal());
+        designationId = insert("designation", "job_title, job_description, status", "Engineer", "Engineer", StatusEnum.ACTIVE.ordinal());
+        for (double[] bracket : TAX_BRACKETS) {
+            insert("tax", "tax_rate, min_salary, max_salary", bracket[2], bracket[0], bracket[1]);
+        }
+        noPayPolicyId = insert("leave_policy", "name, year, leave_type, max_days, carry_forward_allowed, created_at, updated_at",
+                "No Pay Leave", 2024, LeaveTypeEnum.NO_PAY_LEAVE.ordinal(), 30, false, now, now);
+        annualPolicyId = insert("leave_policy", "name, year, leave_type, max_days, carry_forward_allowed, created_at, updated_at",
+                "Annual Leave", 2024, LeaveTypeEnum.ANNUAL_LEAVE.ordinal(), 14, true, now, now);
+
+        // fixed taxable, fixed tax excluded, monthly taxable, monthly tax excluded
+        allowanceTypeIds = new long[]{
+                insert("allowance_type", "name, description, is_fixed, is_liable_to_tax", "Transport", "Fixed taxable", true, true),
+                insert("allowance_type", "name, description, is_fixed, is_liable_to_tax", "Meal", "Fixed tax excluded", true, false),
+                insert("allowance_type", "name, description, is_fixed, is_liable_to_tax", "Overtime", "Monthly taxable", false, true),
+                insert("allowance_type", "name, description, is_fixed, is_liable_to_tax", "Medical", "Monthly tax excluded", false, false)
+        };
+        commissionTypeIds = new long[]{
+                insert("commission_type", "name, is_liable_to_tax, description", "Sales", true, "Taxable"),
+                insert("commission_type", "name, is_liable_to_tax, description", "Referral", false, "Tax excluded")
+        };
+
+        List<YearMonth> months = new ArrayList<>(PAY_PERIODS);
+        months.add(OTHER_PERIOD);
+        for (YearMonth month : months) {
+            payPeriodIds.put(month, insert("salary_pay_period", "start_date, end_date, month_of, year",
+                    month.atDay(1), month.atEndOfMonth(), month.getYear() + "-" + month.getMonth().name().substring(0, 3), String.valueOf(month.getYear())));
+        }
+    }
+
+    long payPeriodId(YearMonth month) {
+        return payPeriodIds.get(month);
+    }
+
+    Scenario generate(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder description = new StringBuilder("seed=").append(seed);
+        YearMonth month = PAY_PERIODS.get(random.nextInt(PAY_PERIODS.size()));
+        LocalDate periodStart = month.atDay(1);
+        LocalDate periodEnd = month.atEndOfMonth();
+        long payPeriodId = payPeriodIds.get(month);
+        long otherPeriodId = payPeriodIds.get(OTHER_PERIOD);
+
+        LocalDate hireDate = switch (random.nextInt(5)) {
+            case 0 -> periodStart.plusDays(random.nextInt(1, month.lengthOfMonth() - 1));
+            case 1 -> periodStart;
+            default -> periodStart.minusDays(random.nextInt(1, 2000));
+        };
+        long employeeId = insert("employee", "first_name, last_name, email, hire_date, department_id, designation_id, status",
+                "Scenario", String.valueOf(seed), "scenario" + seed + "@example.com", hireDate, departmentId, designationId,
+                StatusEnum.ACTIVE.ordinal());
+        description.append(", period=").append(month).append(", hired=").append(hireDate);
+
+        // Spread basic salaries so every tax bracket is reached, with cents so rounding differences show up
+        double[] bracket = TAX_BRACKETS[(int) (seed % TAX_BRACKETS.length)];
+        double upper = bracket[1] == 0 ? bracket[0] * 2 : bracket[1];
+        double basicSalary = money(random, bracket[0], upper);
+        long salaryId = insert("salary", "basic_salary, start_date, end_date, employee_id", basicSalary, hireDate, null, employeeId);
+        description.append(", basic=").append(basicSalary);
+
+        int allowances = 0;
+        for (int i = random.nextInt(3); i > 0; i--) {
+            insertAllowance(salaryId, allowanceTypeIds[random.nextInt(2)], null, money(random, 500, 40000));
+            allowances++;
+        }
+        for (int i = random.nextInt(4); i > 0; i--) {
+            insertAllowance(salaryId, allowanceTypeIds[2 + random.nextInt(2)], payPeriodId, money(random, 100, 60000));
+            allowances++;
+        }
+        if (random.nextBoolean()) {
+            insertAllowance(salaryId, allowanceTypeIds[2 + random.nextInt(2)], otherPeriodId, money(random, 100, 60000));
+        }
+
+        int commissions = 0;
+        for (int i = random.nextInt(3); i > 0; i--) {
+            insert("salary_commission", "salary_id, amount, commission_type_id, salary_pay_period_id",
+                    salaryId, money(random, 100, 90000), commissionTypeIds[random.nextInt(2)], payPeriodId);
+            commissions++;
+        }
+        if (random.nextBoolean()) {
+            insert("salary_commission", "salary_id, amount, commission_type_id, salary_pay_period_id",
+                    salaryId, money(random, 100, 90000), commissionTypeIds[random.nextInt(2)], otherPeriodId);
+        }
+
+        int ongoingLoans = 0;
+        for (int i = random.nextInt(4); i > 0; i--) {
+            LoanStatusEnum status = switch (random.nextInt(6)) {
+                case 0 -> LoanStatusEnum.HOLD;
+                case 1 -> LoanStatusEnum.COMPLETED;
+                default -> LoanStatusEnum.ONGOING;
+            };
+            double loanAmount = money(random, 10000, 1000000);
+            double interestRate = random.nextInt(0, 4) * 3.5;
+            insert("loan", "loan_amount, interest_rate, start_date, end_date, monthly_installments, remaining_amount, status, employee_id",
+                    loanAmount, interestRate, periodStart.minusMonths(2), periodStart.plusYears(1),
+                    (double) random.nextInt(1, 37), loanAmount * (1 + interestRate / 100), status.ordinal(), employeeId);
+            if (status == LoanStatusEnum.ONGOING) {
+                ongoingLoans++;
+            }
+        }
+
+        int advances = 0;
+        for (int i = random.nextInt(3); i > 0; i--) {
+            SalaryAdvanceStatusEnum status = random.nextInt(4) == 0 ? SalaryAdvanceStatusEnum.DEDUCTED : SalaryAdvanceStatusEnum.PENDING;
+            insert("salary_advance", "advance_amount, advance_date, status, employee_id, salary_pay_period_id",
+                    money(random, 1000, 50000), periodStart.plusDays(random.nextInt(10)), status.ordinal(), employeeId, payPeriodId);
+            if (status == SalaryAdvanceStatusEnum.PENDING) {
+                advances++;
+            }
+        }
+
+        double noPayLeaveDays = 0;
+        for (int i = random.nextInt(3); i > 0; i--) {
+            double days = random.nextInt(1, 5) / 2.0;
+            boolean approved = random.nextInt(4) != 0;
+            boolean noPay = random.nextInt(4) != 0;
+            LocalDate leaveStart = periodStart.plusDays(random.nextInt(month.lengthOfMonth() - 3));
+            insert("employee_leave", "start_date, end_date, year, number_of_days, status, approved_by, created_at, updated_at, employee_id, leave_policy_id",
+                    leaveStart, leaveStart.plusDays((long) Math.ceil(days) - 1), 2024L, days,
+                    (approved ? EmployeeLeaveEnum.APPROVED : EmployeeLeaveEnum.PENDING).ordinal(), "HR", now, now, employeeId,
+                    noPay ? noPayPolicyId : annualPolicyId);
+            if (approved && noPay) {
+                noPayLeaveDays += days;
+            }
+        }
+
+        double attendanceDeduction = random.nextInt(3) == 0 ? money(random, 0, 5000) : 0.0;
+        description.append(", allowances=").append(allowances)
+                .append(", commissions=").append(commissions)
+                .append(", loans=").append(ongoingLoans)
+                .append(", advances=").append(advances)
+                .append(", noPayDays=").append(noPayLeaveDays)
+                .append(", attendance=").append(attendanceDeduction);
+
+        PaySlipRequestDTO request = new PaySlipRequestDTO(PaySlipStatusEnum.GENERATED, attendanceDeduction,
+                periodStart, periodEnd, employeeId, payPeriodId);
+        return new Scenario(seed, employeeId, request, description.toString());
+    }
+
+    private void insertAllowance(long salaryId, long allowanceTypeId, Long payPeriodId, double amount) {
+        insert("salary_allowance", "salary_id, amount, allowance_type_id, salary_pay_period_id", salaryId, amount, allowanceTypeId, payPeriodId);
+    }
+
+    private static double money(SplittableRandom random, double min, double max) {
+        return Math.round(random.nextDouble(min, max) * 100) / 100.0;
+    }
+
+    // Ids are assigned here so the scenario rows can reference each other without reading keys back
+    private long insert(String table, String columns, Object... values) {
+        long id = nextIds.merge(table, 1L, Long::sum);
+        Object[] arguments = new Object[values.length + 1];
+        arguments[0] = id;
+        System.arraycopy(values, 0, arguments, 1, values.length);
+        jdbcTemplate.update("INSERT INTO " + table + " (id, " + columns + ") VALUES (?" + ", ?".repeat(values.length) + ")", arguments);
+        return id;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mexxar.payroll.payslip;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaySlipUniquenessCheckTest {
+
+    @Mock
+    private PaySlipRepository paySlipRepository;
+
+    @InjectMocks
+    private PaySlipUniquenessCheck paySlipUniquenessCheck;
+
+    @Test
+    void should_start_when_no_duplicate_payslips_exist() {
+        when(paySlipRepository.findDuplicateEmployeePayPeriods()).thenReturn(List.of());
+
+        assertDoesNotThrow(() -> paySlipUniquenessCheck.afterSingletonsInstantiated());
+    }
+
+    @Test
+    void should_fail_startup_when_duplicate_payslips_exist() {
+        when(paySlipRepository.findDuplicateEmployeePayPeriods())
+                .thenReturn(List.<Object[]>of(new Object[]{3L, 7L, 2L}));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> paySlipUniquenessCheck.afterSingletonsInstantiated());
+
+        assertTrue(exception.getMessage().contains("employee 3 / pay period 7 (2 payslips)"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.mexxar.payroll.payslipdetails;
+
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.payslip.PaySlipModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(PaySlipDetailsBatchWriter.class)
+class PaySlipDetailsBatchWriterTest extends DatasetJpaTest {
+
+    private static final DatasetSpec SPEC = dataset(2, 11L);
+
+    @Autowired
+    private PaySlipDetailsBatchWriter paySlipDetailsBatchWriter;
+
+    @Autowired
+    private PaySlipDetailsRepository paySlipDetailsRepository;
+
+    @Test
+    void should_insert_every_detail_row_of_a_payslip() {
+        generator.generate(SPEC);
+        Long paySlipId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM pay_slip", Long.class);
+        jdbcTemplate.update("DELETE FROM pay_slip_details WHERE payslip_id = ?", paySlipId);
+        PaySlipModel paySlip = new PaySlipModel();
+        paySlip.setId(paySlipId);
+
+        int inserted = paySlipDetailsBatchWriter.insertAll(List.of(
+                detail(paySlip, null, PaySlipDetailsTypeEnum.DEDUCTION, "Tax Deduction", 5000.004, null),
+                detail(paySlip, 3L, PaySlipDetailsTypeEnum.DEDUCTION, null, 6000.0, 0.0)));
+
+        assertEquals(2, inserted);
+        List<PaySlipDetailsModel> stored = paySlipDetailsRepository.findAllByPaySlipId(paySlipId).stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .toList();
+        assertEquals(2, stored.size());
+        assertEquals("Tax Deduction", stored.get(0).getDescription());
+        assertEquals(5000.0, stored.get(0).getAmount());
+        assertNull(stored.get(0).getLoanDeductedAmount());
+        assertEquals(3L, stored.get(1).getLoanId());
+        assertEquals(PaySlipDetailsTypeEnum.DEDUCTION, stored.get(1).getType());
+        assertEquals(0.0, stored.get(1).getLoanDeductedAmount());
+    }
+
+    private static PaySlipDetailsModel detail(PaySlipModel paySlip, Long loanId, PaySlipDetailsTypeEnum type,
+                                              String description, double amount, Double loanDeductedAmount) {
+        PaySlipDetailsModel detail = new PaySlipDetailsModel();
+        detail.setPaySlip(paySlip);
+        detail.setLoanId(loanId);
+        detail.setType(type);
+        detail.setDescription(description);
+        detail.setAmount(amount);
+        detail.setLoanDeductedAmount(loanDeductedAmount);
+        return detail;
+    }
+}
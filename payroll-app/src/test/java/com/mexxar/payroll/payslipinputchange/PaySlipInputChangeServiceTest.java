@@ -0,0 +1,44 @@
+package com.mexxar.payroll.payslipinputchange;
+
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(PaySlipInputChangeService.class)
+class PaySlipInputChangeServiceTest extends DatasetJpaTest {
+
+    @Autowired
+    private PaySlipInputChangeService paySlipInputChangeService;
+
+    @Test
+    void should_keep_an_edit_made_while_a_recompute_is_running_pending() {
+        paySlipInputChangeService.markChanged(1L, 7L, PaySlipInputTypeEnum.ALLOWANCE);
+        PendingPaySlipChange readByRecompute = paySlipInputChangeService.getPendingChanges(7L).get(0);
+
+        // Edited after the recompute read its inputs but before it cleared the change
+        paySlipInputChangeService.markChanged(1L, 7L, PaySlipInputTypeEnum.LEAVE);
+        assertEquals(1, paySlipInputChangeService.clearChanges(readByRecompute));
+
+        List<PendingPaySlipChange> pending = paySlipInputChangeService.getPendingChanges(7L);
+        assertEquals(1, pending.size());
+        assertEquals(1L, pending.get(0).employeeId());
+        assertTrue(pending.get(0).lastChangeId() > readByRecompute.lastChangeId());
+    }
+
+    @Test
+    void should_group_every_edit_of_a_payslip_into_one_pending_change() {
+        paySlipInputChangeService.markChanged(1L, 7L, PaySlipInputTypeEnum.ALLOWANCE);
+        paySlipInputChangeService.markChanged(1L, 7L, PaySlipInputTypeEnum.COMMISSION);
+        paySlipInputChangeService.markChanged(2L, 7L, PaySlipInputTypeEnum.ADVANCE);
+
+        List<PendingPaySlipChange> pending = paySlipInputChangeService.getPendingChanges(7L);
+
+        assertEquals(List.of(1L, 2L), pending.stream().map(PendingPaySlipChange::employeeId).toList());
+        assertEquals(2, paySlipInputChangeService.clearChanges(pending.get(0)));
+    }
+}
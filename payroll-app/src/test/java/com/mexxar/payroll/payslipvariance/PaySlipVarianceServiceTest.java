@@ -0,0 +1,129 @@
+package com.mexxar.payroll.payslipvariance;
+
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.payslipvariance.exception.PaySlipVarianceException;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodService;
+import com.mexxar.payroll.salarypayperiod.exception.SalaryPayPeriodNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import({SalaryPayPeriodService.class, PaySlipVarianceService.class})
+class PaySlipVarianceServiceTest extends DatasetJpaTest {
+
+    // Every period but the last is paid; April and May 2024 are the latest two with payslips
+    private static final DatasetSpec SPEC = dataset(40, 37L);
+
+    private static final String HEADLINES = "SELECT employee_id, net_salary, tax_deduction, " +
+            "salary_advance_deduction + loan_deduction + epf_deduction + attendance_deduction + leave_deduction AS other " +
+            "FROM pay_slip WHERE salary_pay_period_id = ?";
+
+    @Autowired
+    private PaySlipVarianceService paySlipVarianceService;
+
+    private Long previousPayPeriodId;
+    private Long currentPayPeriodId;
+
+    @BeforeEach
+    void setUp() {
+        generator.generate(SPEC);
+        previousPayPeriodId = jdbcTemplate.queryForObject("SELECT id FROM salary_pay_period WHERE start_date = DATE '2024-04-01'", Long.class);
+        currentPayPeriodId = jdbcTemplate.queryForObject("SELECT id FROM salary_pay_period WHERE start_date = DATE '2024-05-01'", Long.class);
+    }
+
+    @Test
+    void should_report_exactly_the_employees_that_moved_more_than_the_threshold() throws IOException {
+        // A raise for the first employee, so at least one employee moves
+        jdbcTemplate.update("UPDATE pay_slip SET net_salary = net_salary + 5000 WHERE salary_pay_period_id = ? AND employee_id = " +
+                "(SELECT MIN(employee_id) FROM pay_slip WHERE salary_pay_period_id = ?)", currentPayPeriodId, currentPayPeriodId);
+        Map<Long, double[]> previous = headlines(previousPayPeriodId);
+        Map<Long, double[]> current = headlines(currentPayPeriodId);
+        Set<Long> compared = new HashSet<>(previous.keySet());
+        compared.addAll(current.keySet());
+        Set<Long> expected = new HashSet<>();
+        for (Long employeeId : compared) {
+            double[] before = previous.getOrDefault(employeeId, new double[3]);
+            double[] after = current.getOrDefault(employeeId, new double[3]);
+            for (int i = 0; i < 3; i++) {
+                if (Math.abs(after[i] - before[i]) > 100.005) {
+                    expected.add(employeeId);
+                }
+            }
+        }
+
+        List<String> lines = report(100);
+
+        Set<Long> reported = new HashSet<>();
+        for (String line : lines.subList(1, lines.size() - 1)) {
+            reported.add(Long.parseLong(line.substring(0, line.indexOf(','))));
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, reported);
+        assertEquals("Employee ID,Employee Name,Item,Previous,Current,Change", lines.get(0));
+        assertTrue(lines.get(lines.size() - 1).startsWith("TOTAL," + expected.size() + " of " + compared.size() + " employees,Net Salary,"));
+    }
+
+    @Test
+    void should_list_the_detail_lines_that_explain_a_variance() throws IOException {
+        Long paySlipId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM pay_slip WHERE salary_pay_period_id = ?", Long.class, currentPayPeriodId);
+        Long employeeId = jdbcTemplate.queryForObject("SELECT employee_id FROM pay_slip WHERE id = ?", Long.class, paySlipId);
+        jdbcTemplate.update("INSERT INTO pay_slip_details (type, description, amount, payslip_id) VALUES (0, 'Overtime, Weekend', 750, ?)", paySlipId);
+        jdbcTemplate.update("UPDATE pay_slip SET net_salary = net_salary + 750 WHERE id = ?", paySlipId);
+
+        List<String> employeeLines = report(700).stream()
+                .filter(line -> line.startsWith(employeeId + ","))
+                .toList();
+
+        assertTrue(employeeLines.get(0).contains(",Net Salary,"));
+        double netChange = headlines(currentPayPeriodId).get(employeeId)[0]
+                - headlines(previousPayPeriodId).getOrDefault(employeeId, new double[3])[0];
+        assertTrue(employeeLines.get(0).endsWith("," + Money.format(Money.ofAmount(netChange))));
+        assertTrue(employeeLines.stream().anyMatch(line -> line.endsWith(",\"ADDITION: Overtime, Weekend\",0.00,750.00,750.00")));
+    }
+
+    @Test
+    void should_report_nothing_when_no_threshold_is_crossed() throws IOException {
+        List<String> lines = report(1_000_000_000);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).startsWith("TOTAL,0 of "));
+    }
+
+    @Test
+    void should_refuse_to_compare_a_pay_period_with_itself() {
+        assertThrows(PaySlipVarianceException.class,
+                () -> paySlipVarianceService.generateVarianceReport(currentPayPeriodId, currentPayPeriodId, 0));
+        assertThrows(PaySlipVarianceException.class,
+                () -> paySlipVarianceService.generateVarianceReport(previousPayPeriodId, currentPayPeriodId, -1));
+        assertThrows(SalaryPayPeriodNotFoundException.class,
+                () -> paySlipVarianceService.generateVarianceReport(previousPayPeriodId, -1L, 0));
+    }
+
+    private List<String> report(double threshold) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        paySlipVarianceService.generateVarianceReport(previousPayPeriodId, currentPayPeriodId, threshold).writeTo(outputStream);
+        return List.of(outputStream.toString(StandardCharsets.UTF_8).split("\r\n"));
+    }
+
+    private Map<Long, double[]> headlines(Long payPeriodId) {
+        Map<Long, double[]> headlines = new HashMap<>();
+        jdbcTemplate.query(HEADLINES, resultSet -> {
+            headlines.put(resultSet.getLong(1), new double[]{resultSet.getDouble(2), resultSet.getDouble(3), resultSet.getDouble(4)});
+        }, payPeriodId);
+        return headlines;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mexxar.payroll.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+record OperationMeasurement(
+        String operation,
+
+        double p50Millis,
+
+        double p99Millis,
+
+        double statements,
+
+        long allocatedBytes
+) {
+    // Latency budgets are only checked when asked for and may be stretched on slow machines; statement and
+    // allocation budgets are always checked and never stretched
+    List<String> violations(PerformanceBudget budget, boolean checkLatency, double latencyFactor) {
+        List<String> violations = new ArrayList<>();
+        if (checkLatency && p50Millis > budget.p50Millis() * latencyFactor) {
+            violations.add(String.format("%s p50 %.2f ms exceeds %d ms", operation, p50Millis, budget.p50Millis()));
+        }
+        if (checkLatency && p99Millis > budget.p99Millis() * latencyFactor) {
+            violations.add(String.format("%s p99 %.2f ms exceeds %d ms", operation, p99Millis, budget.p99Millis()));
+        }
+        if (statements > budget.statements()) {
+            violations.add(String.format("%s runs %.1f SQL statements, budget is %d", operation, statements, budget.statements()));
+        }
+        if (allocatedBytes > budget.allocatedBytes()) {
+            violations.add(String.format("%s allocates %d bytes, budget is %d", operation, allocatedBytes, budget.allocatedBytes()));
+        }
+        return violations;
+    }
+
+    String toCsv() {
+        return String.format("%s,%.3f,%.3f,%.1f,%d", operation, p50Millis, p99Millis, statements, allocatedBytes);
+    }
+}
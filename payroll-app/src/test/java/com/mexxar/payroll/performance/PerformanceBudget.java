@@ -0,0 +1,59 @@
+package com.mexxar.payroll.performance;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+// Limits for one endpoint, read from performance-budgets.properties as <operation>.<key>
+record PerformanceBudget(
+        String operation,
+
+        int warmup,
+
+        int iterations,
+
+        long p50Millis,
+
+        long p99Millis,
+
+        long statements,
+
+        long allocatedBytes
+) {
+    private static final String RESOURCE = "/performance-budgets.properties";
+
+    private static final Properties PROPERTIES = load();
+
+    static PerformanceBudget of(String operation) {
+        return new PerformanceBudget(
+                operation,
+                (int) value(operation, "warmup"),
+                (int) value(operation, "iterations"),
+                value(operation, "p50-ms"),
+                value(operation, "p99-ms"),
+                value(operation, "statements"),
+                value(operation, "allocated-bytes")
+        );
+    }
+
+    private static long value(String operation, String key) {
+        String value = PROPERTIES.getProperty(operation + "." + key, PROPERTIES.getProperty("default." + key));
+        if (value == null) {
+            throw new IllegalStateException("No performance budget '" + key + "' for " + operation);
+        }
+        return Long.parseLong(value.trim());
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = PerformanceBudget.class.getResourceAsStream(RESOURCE)) {
+            if (inputStream == null) {
+                throw new IllegalStateException(RESOURCE + " is missing from the test classpath");
+            }
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + RESOURCE, e);
+        }
+        return properties;
+    }
+}
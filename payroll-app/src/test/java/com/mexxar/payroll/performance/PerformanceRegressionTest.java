@@ -0,0 +1,236 @@
+package com.mexxar.payroll.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.datagen.SyntheticDatasetGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Drives the hot endpoints through the full filter chain on a seeded dataset and fails when one of them exceeds the
+// SQL statement or allocation budget in performance-budgets.properties. Requests run one at a time with the pay run
+// pollers pushed out, which is what lets statements and allocated bytes on every thread, including the virtual
+// threads payslip inputs are loaded on, be attributed to a single request. Wall-clock budgets depend on the machine,
+// so they are only enforced under the performance profile (-Dpayroll.perf.check-latency=true).
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.mexxar.payroll.performance.SqlStatementCounter",
+        "payroll.payrun.poll-interval-ms=86400000",
+        "payroll.payrun.progress-poll-ms=86400000",
+        "logging.level.com.mexxar.payroll=warn",
+        "logging.level.com.mexxar.payroll.performance=info"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class PerformanceRegressionTest {
+
+    private static final Logger logger = LogManager.getLogger(PerformanceRegressionTest.class);
+
+    // Budgets are calibrated against this dataset; change them together
+    private static final DatasetSpec DATASET = new DatasetSpec(
+            Integer.getInteger("payroll.perf.employees", 400), 8, 12, 1, YearMonth.of(2024, 12), 20240101L, 1000);
+
+    private static final boolean CHECK_LATENCY = Boolean.getBoolean("payroll.perf.check-latency");
+
+    private static final double LATENCY_FACTOR = Double.parseDouble(System.getProperty("payroll.perf.latency-factor", "1"));
+
+    private static final String EMAIL = "perf.runner@example.com";
+    private static final String PASSWORD = "Perf@Runner2024";
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SyntheticDatasetGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void should_keep_hot_endpoints_within_budget() throws Exception {
+        generator.generate(DATASET);
+
+        mockMvc.perform(post("/api/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("userName", "perf-runner", "password", PASSWORD, "email", EMAIL,
+                        "contactNumber", "0771234567"))));
+        JsonNode login = body(mockMvc.perform(loginRequest()).andReturn()).path("data");
+        String bearer = "Bearer " + login.path("token").asText();
+        String refreshToken = login.path("refreshToken").asText();
+
+        Long openPayPeriodId = jdbcTemplate.queryForObject(
+                "SELECT id FROM salary_pay_period WHERE month_of = ?", Long.class, "2024-DEC");
+        Long closedPayPeriodId = jdbcTemplate.queryForObject(
+                "SELECT id FROM salary_pay_period WHERE month_of = ?", Long.class, "2024-NOV");
+        List<Long> activeEmployeeIds = jdbcTemplate.queryForList(
+                "SELECT id FROM employee WHERE status = 0 ORDER BY id", Long.class);
+
+        List<OperationMeasurement> measurements = new ArrayList<>();
+        measurements.add(measure("auth.login", i -> loginRequest()));
+        measurements.add(measure("auth.refresh", i -> post("/api/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("refreshToken", refreshToken)))));
+        measurements.add(measure("payslip.create", i -> post("/api/payslips")
+                .header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("status", "GENERATED", "attendanceDeduction", 0.0,
+                        "startDate", "2024-12-01", "endDate", "2024-12-31", "employeeId", activeEmployeeIds.get(i), "payPeriodId", openPayPeriodId)))));
+        measurements.add(measure("payslip.filter-by-period", i -> get("/api/payslips/filter")
+                .header("Authorization", bearer)
+                .param("payPeriodId", String.valueOf(closedPayPeriodId))
+                .param("page", String.valueOf(i % 10))
+                .param("size", "20")));
+        measurements.add(measure("report.salary-ranges", i -> get("/api/payslips/salary-ranges")
+                .header("Authorization", bearer)
+                .param("year", "2024")));
+        measurements.add(measure("report.tax-remuneration", i -> get("/api/payslips/tax-deduction-remuneration")
+                .header("Authorization", bearer)
+                .param("year", "2024")));
+        measurements.add(measure("employee.filter", i -> get("/api/employees/filter")
+                .header("Authorization", bearer)
+                .param("status", "ACTIVE")
+                .param("departmentId", String.valueOf(1 + i % DATASET.departments()))
+                .param("size", "20")));
+        measurements.add(measure("employee.search", i -> get("/api/employees/filter")
+                .header("Authorization", bearer)
+                .param("searchQuery", i % 2 == 0 ? "Perera" : "Nimal")
+                .param("size", "20")));
+        measurements.add(measure("loan.list", i -> get("/api/loans")
+                .header("Authorization", bearer)
+                .param("page", String.valueOf(i % 5))
+                .param("size", "20")));
+
+        writeReport(measurements);
+
+        List<String> violations = new ArrayList<>();
+        for (OperationMeasurement measurement : measurements) {
+            violations.addAll(measurement.violations(PerformanceBudget.of(measurement.operation()), CHECK_LATENCY, LATENCY_FACTOR));
+        }
+        assertTrue(violations.isEmpty(), "Performance budgets exceeded:\n" + String.join("\n", violations));
+    }
+
+    private OperationMeasurement measure(String operation, IntFunction<MockHttpServletRequestBuilder> request) throws Exception {
+        PerformanceBudget budget = PerformanceBudget.of(operation);
+        for (int i = 0; i < budget.warmup(); i++) {
+            expectSuccess(operation, mockMvc.perform(request.apply(i)).andReturn());
+        }
+
+        long[] latencies = new long[budget.iterations()];
+        long statements = 0;
+        long allocatedBytes = 0;
+        for (int i = 0; i < budget.iterations(); i++) {
+            MockHttpServletRequestBuilder builder = request.apply(budget.warmup() + i);
+
+            long statementsBefore = SqlStatementCounter.count();
+            Map<Long, Long> allocatedBefore = allocatedBytesByThread();
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(builder).andReturn();
+            latencies[i] = System.nanoTime() - start;
+            allocatedBytes += allocatedBytesSince(allocatedBefore);
+            statements += SqlStatementCounter.count() - statementsBefore;
+
+            expectSuccess(operation, result);
+        }
+
+        Arrays.sort(latencies);
+        return new OperationMeasurement(
+                operation,
+                percentile(latencies, 50),
+                percentile(latencies, 99),
+                (double) statements / budget.iterations(),
+                allocatedBytes / budget.iterations()
+        );
+    }
+
+    // Virtual threads allocate on their carrier threads, so summing every platform thread covers them too
+    private Map<Long, Long> allocatedBytesByThread() {
+        long[] threadIds = threadMXBean.getAllThreadIds();
+        long[] allocated = threadMXBean.getThreadAllocatedBytes(threadIds);
+        Map<Long, Long> allocatedByThread = new HashMap<>(threadIds.length * 2);
+        for (int i = 0; i < threadIds.length; i++) {
+            if (allocated[i] >= 0) {
+                allocatedByThread.put(threadIds[i], allocated[i]);
+            }
+        }
+        return allocatedByThread;
+    }
+
+    // Threads started during the request count from zero; threads that ended during it are no longer visible
+    private long allocatedBytesSince(Map<Long, Long> allocatedBefore) {
+        long allocatedBytes = 0;
+        for (Map.Entry<Long, Long> thread : allocatedBytesByThread().entrySet()) {
+            allocatedBytes += thread.getValue() - allocatedBefore.getOrDefault(thread.getKey(), 0L);
+        }
+        return allocatedBytes;
+    }
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static void expectSuccess(String operation, MvcResult result) throws Exception {
+        int status = result.getResponse().getStatus();
+        assertTrue(status >= 200 && status < 300,
+                operation + " returned " + status + ": " + result.getResponse().getContentAsString());
+    }
+
+    private MockHttpServletRequestBuilder loginRequest() {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", EMAIL, "password", PASSWORD)));
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode body(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private static void writeReport(List<OperationMeasurement> measurements) throws Exception {
+        StringBuilder report = new StringBuilder("operation,p50_ms,p99_ms,statements,allocated_bytes\n");
+        for (OperationMeasurement measurement : measurements) {
+            report.append(measurement.toCsv()).append('\n');
+            logger.info("{}", measurement);
+        }
+        Path file = Path.of("target", "performance", "results.csv");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mexxar.payroll.performance;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counts the SQL Hibernate prepares on every thread, so the lookups a request fans out to virtual threads are counted
+// with it. The count is only attributable to one request while nothing else runs, which PerformanceRegressionTest
+// ensures by measuring serially with the background pollers pushed out.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicLong COUNT = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    static long count() {
+        return COUNT.get();
+    }
+}
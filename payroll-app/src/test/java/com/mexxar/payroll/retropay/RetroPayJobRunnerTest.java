@@ -0,0 +1,196 @@
+package com.mexxar.payroll.retropay;
+
+import com.mexxar.payroll.core.WorkingDayCalendar;
+import com.mexxar.payroll.employee.EmployeeModel;
+import com.mexxar.payroll.holiday.WorkingDayCalendarService;
+import com.mexxar.payroll.payslip.PaySlipModel;
+import com.mexxar.payroll.payslip.PaySlipService;
+import com.mexxar.payroll.payslip.PaySlipStatusEnum;
+import com.mexxar.payroll.payslip.exception.PaySlipException;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputTypeEnum;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodModel;
+import com.mexxar.payroll.tax.TaxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetroPayJobRunnerTest {
+
+    @Mock
+    private RetroPayJobRepository retroPayJobRepository;
+
+    @Mock
+    private RetroPayChangeRepository retroPayChangeRepository;
+
+    @Mock
+    private RetroPayAdjustmentRepository retroPayAdjustmentRepository;
+
+    @Mock
+    private PaySlipService paySlipService;
+
+    @Mock
+    private PaySlipInputChangeService paySlipInputChangeService;
+
+    @Mock
+    private WorkingDayCalendarService workingDayCalendarService;
+
+    @Mock
+    private TaxService taxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RetroPayJobRunner retroPayJobRunner;
+
+    private RetroPayJobModel job;
+    private PaySlipModel januaryPaySlip;
+
+    @BeforeEach
+    void setUp() {
+        retroPayJobRunner = new RetroPayJobRunner(retroPayJobRepository, retroPayChangeRepository, retroPayAdjustmentRepository,
+                paySlipService, paySlipInputChangeService, workingDayCalendarService, taxService, transactionManager, 1000);
+
+        lenient().when(workingDayCalendarService.getCalendar()).thenReturn(WorkingDayCalendar.weekendsOnly());
+        lenient().when(taxService.getAllTaxBrackets()).thenReturn(List.of());
+
+        SalaryPayPeriodModel june = payPeriod(9L, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30));
+        job = new RetroPayJobModel();
+        job.setId(3L);
+        job.setStatus(RetroPayJobStatusEnum.RUNNING);
+        job.setSalaryPayPeriod(june);
+        when(retroPayJobRepository.findById(3L)).thenReturn(Optional.of(job));
+
+        EmployeeModel employee = new EmployeeModel();
+        employee.setId(1L);
+        employee.setHireDate(LocalDate.of(2020, 1, 1));
+
+        // Paid at a basic of 100000 with nothing else on it
+        januaryPaySlip = new PaySlipModel();
+        januaryPaySlip.setId(40L);
+        januaryPaySlip.setEmployee(employee);
+        januaryPaySlip.setSalaryPayPeriod(payPeriod(4L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        januaryPaySlip.setStatus(PaySlipStatusEnum.PAID);
+        januaryPaySlip.setStartDate(LocalDate.of(2024, 1, 1));
+        januaryPaySlip.setEndDate(LocalDate.of(2024, 1, 31));
+        januaryPaySlip.setBasicSalary(100000.0);
+        januaryPaySlip.setGrossSalary(100000.0);
+        januaryPaySlip.setTaxLiableAllowances(0.0);
+        januaryPaySlip.setTaxExcludedAllowances(0.0);
+        januaryPaySlip.setTaxLiableCommissions(0.0);
+        januaryPaySlip.setTaxExcludedCommissions(0.0);
+        januaryPaySlip.setAttendanceDeduction(0.0);
+        januaryPaySlip.setLeaveDeduction(0.0);
+    }
+
+    @Test
+    void should_post_the_net_difference_of_a_back_dated_raise() {
+        givenChanges(change(LocalDate.of(2023, 12, 1), 110000.0));
+        when(paySlipService.getFinalisedPaySlips(List.of(1L), LocalDate.of(2023, 12, 1), LocalDate.of(2024, 6, 1)))
+                .thenReturn(List.of(januaryPaySlip));
+
+        retroPayJobRunner.run(3L);
+
+        // 10000 more basic, less 8% EPF on it
+        RetroPayAdjustmentModel adjustment = savedAdjustment();
+        assertEquals(9200.0, adjustment.getAmount());
+        assertEquals(110000.0, adjustment.getBasicSalary());
+        assertEquals("Retro Pay 2024-01", adjustment.getDescription());
+        assertEquals(9L, adjustment.getSalaryPayPeriodId());
+        assertEquals(40L, adjustment.getSourcePaySlipId());
+        verify(paySlipInputChangeService).markChanged(1L, 9L, PaySlipInputTypeEnum.RETRO_PAY);
+        assertEquals(RetroPayJobStatusEnum.COMPLETED, job.getStatus());
+        assertEquals(1, job.getRecomputedPaySlips());
+        assertEquals(1, job.getAdjustmentCount());
+        assertEquals(9200.0, job.getTotalAdjustment());
+    }
+
+    @Test
+    void should_blend_a_change_taking_effect_inside_the_pay_period_by_working_days() {
+        givenChanges(change(LocalDate.of(2024, 1, 16), 110000.0));
+        when(paySlipService.getFinalisedPaySlips(anyCollection(), any(), any())).thenReturn(List.of(januaryPaySlip));
+
+        retroPayJobRunner.run(3L);
+
+        // 12 of January's 23 working days at the new basic: 100000 + 10000 * 12 / 23
+        RetroPayAdjustmentModel adjustment = savedAdjustment();
+        assertEquals(105217.39, adjustment.getBasicSalary());
+        assertEquals(4800.0, adjustment.getAmount());
+    }
+
+    @Test
+    void should_reconcile_from_the_last_adjustment_of_a_payslip() {
+        givenChanges(change(LocalDate.of(2023, 12, 1), 110000.0));
+        when(paySlipService.getFinalisedPaySlips(anyCollection(), any(), any())).thenReturn(List.of(januaryPaySlip));
+        RetroPayAdjustmentModel earlier = new RetroPayAdjustmentModel();
+        earlier.setSourcePaySlipId(40L);
+        earlier.setBasicSalary(110000.0);
+        when(retroPayAdjustmentRepository.findBySourcePaySlipIdInOrderById(List.of(40L))).thenReturn(List.of(earlier));
+
+        retroPayJobRunner.run(3L);
+
+        verify(retroPayAdjustmentRepository).saveAll(List.of());
+        verifyNoInteractions(paySlipInputChangeService);
+        assertEquals(RetroPayJobStatusEnum.COMPLETED, job.getStatus());
+        assertEquals(1, job.getRecomputedPaySlips());
+        assertEquals(0, job.getAdjustmentCount());
+    }
+
+    @Test
+    void should_release_the_changes_of_a_failed_run() {
+        givenChanges(change(LocalDate.of(2023, 12, 1), 110000.0));
+        when(paySlipService.getFinalisedPaySlips(anyCollection(), any(), any())).thenThrow(new PaySlipException("Database unavailable"));
+
+        retroPayJobRunner.run(3L);
+
+        verify(retroPayAdjustmentRepository).deleteByRetroPayJobId(3L);
+        verify(retroPayChangeRepository).releaseChanges(3L);
+        assertEquals(RetroPayJobStatusEnum.FAILED, job.getStatus());
+        assertEquals("Database unavailable", job.getErrorMessage());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    private void givenChanges(RetroPayChangeModel... changes) {
+        when(retroPayChangeRepository.findByRetroPayJobIdOrderById(3L)).thenReturn(List.of(changes));
+    }
+
+    private RetroPayAdjustmentModel savedAdjustment() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RetroPayAdjustmentModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(retroPayAdjustmentRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        return captor.getValue().get(0);
+    }
+
+    private static RetroPayChangeModel change(LocalDate effectiveFrom, double basicSalary) {
+        RetroPayChangeModel change = new RetroPayChangeModel();
+        change.setEmployeeId(1L);
+        change.setSalaryId(1L);
+        change.setEffectiveFrom(effectiveFrom);
+        change.setPreviousBasicSalary(100000.0);
+        change.setBasicSalary(basicSalary);
+        change.setRetroPayJobId(3L);
+        return change;
+    }
+
+    private static SalaryPayPeriodModel payPeriod(Long id, LocalDate startDate, LocalDate endDate) {
+        SalaryPayPeriodModel payPeriod = new SalaryPayPeriodModel();
+        payPeriod.setId(id);
+        payPeriod.setStartDate(startDate);
+        payPeriod.setEndDate(endDate);
+        return payPeriod;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mexxar.payroll.salary;
+
+import com.mexxar.payroll.common.enums.StatusEnum;
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryHistoryRepositoryTest extends DatasetJpaTest {
+
+    private static final DatasetSpec SPEC = dataset(6, 11L);
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 1, 31);
+
+    @Autowired
+    private SalaryHistoryRepository salaryHistoryRepository;
+
+    private Long employeeId;
+    private Long otherEmployeeId;
+
+    @BeforeEach
+    void setUp() {
+        generator.generate(SPEC);
+        List<Long> activeEmployeeIds = jdbcTemplate.queryForList(
+                "SELECT id FROM employee WHERE status = ? ORDER BY id", Long.class, StatusEnum.ACTIVE.ordinal());
+        employeeId = activeEmployeeIds.get(0);
+        otherEmployeeId = activeEmployeeIds.get(1);
+    }
+
+    @Test
+    void should_find_the_segment_in_effect_at_the_start_and_those_taking_effect_inside_the_period() {
+        segment(employeeId, LocalDate.of(2023, 4, 1), 100000.0);
+        segment(employeeId, LocalDate.of(2023, 10, 1), 120000.0);
+        segment(employeeId, LocalDate.of(2024, 1, 16), 130000.0);
+        segment(employeeId, LocalDate.of(2024, 3, 1), 140000.0);
+
+        List<SalaryHistoryModel> overlapping = salaryHistoryRepository.findOverlappingPeriod(employeeId, PERIOD_START, PERIOD_END);
+
+        assertEquals(List.of(LocalDate.of(2023, 10, 1), LocalDate.of(2024, 1, 16)),
+                overlapping.stream().map(SalaryHistoryModel::getEffectiveFrom).toList());
+    }
+
+    @Test
+    void should_find_segments_starting_inside_the_period_when_none_was_in_effect_at_its_start() {
+        segment(employeeId, LocalDate.of(2024, 1, 10), 90000.0);
+
+        List<SalaryHistoryModel> overlapping = salaryHistoryRepository.findOverlappingPeriod(employeeId, PERIOD_START, PERIOD_END);
+
+        assertEquals(1, overlapping.size());
+        assertEquals(90000.0, overlapping.get(0).getBasicSalary());
+    }
+
+    @Test
+    void should_load_the_segments_of_every_active_employee_in_one_query() {
+        segment(employeeId, LocalDate.of(2023, 4, 1), 100000.0);
+        segment(employeeId, LocalDate.of(2024, 1, 16), 130000.0);
+        segment(otherEmployeeId, LocalDate.of(2023, 12, 1), 80000.0);
+        segment(otherEmployeeId, LocalDate.of(2024, 1, 1), 85000.0);
+
+        List<SalaryHistoryModel> overlapping = salaryHistoryRepository.findOverlappingPeriodByEmployeeStatusAndEmployeeIdRange(
+                StatusEnum.ACTIVE, 1L, Long.MAX_VALUE, PERIOD_START, PERIOD_END);
+
+        assertEquals(List.of(employeeId, employeeId, otherEmployeeId),
+                overlapping.stream().map(SalaryHistoryModel::getEmployeeId).toList());
+        assertEquals(List.of(100000.0, 130000.0, 85000.0),
+                overlapping.stream().map(SalaryHistoryModel::getBasicSalary).toList());
+    }
+
+    @Test
+    void should_load_only_the_segments_of_employees_in_the_range() {
+        segment(employeeId, LocalDate.of(2023, 4, 1), 100000.0);
+        segment(otherEmployeeId, LocalDate.of(2024, 1, 1), 85000.0);
+
+        List<SalaryHistoryModel> overlapping = salaryHistoryRepository.findOverlappingPeriodByEmployeeStatusAndEmployeeIdRange(
+                StatusEnum.ACTIVE, otherEmployeeId, otherEmployeeId, PERIOD_START, PERIOD_END);
+
+        assertEquals(List.of(otherEmployeeId), overlapping.stream().map(SalaryHistoryModel::getEmployeeId).toList());
+    }
+
+    private void segment(Long employeeId, LocalDate effectiveFrom, double basicSalary) {
+        SalaryHistoryModel segment = new SalaryHistoryModel();
+        segment.setEmployeeId(employeeId);
+        segment.setEffectiveFrom(effectiveFrom);
+        segment.setBasicSalary(basicSalary);
+        salaryHistoryRepository.save(segment);
+    }
+}
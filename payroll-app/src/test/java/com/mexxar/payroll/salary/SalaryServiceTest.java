@@ -3,10 +3,14 @@ package com.mexxar.payroll.salary;
 import com.mexxar.payroll.common.ApiResponseDTO;
 import com.mexxar.payroll.employee.EmployeeModel;
 import com.mexxar.payroll.employee.EmployeeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputChangeService;
+import com.mexxar.payroll.payslipinputchange.PaySlipInputTypeEnum;
+import com.mexxar.payroll.retropay.RetroPayService;
 import com.mexxar.payroll.salary.exception.SalaryNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -28,9 +32,18 @@ class SalaryServiceTest {
     @Mock
     private SalaryRepository salaryRepository;
 
+    @Mock
+    private SalaryHistoryRepository salaryHistoryRepository;
+
     @Mock
     private EmployeeService employeeService;
 
+    @Mock
+    private RetroPayService retroPayService;
+
+    @Mock
+    private PaySlipInputChangeService paySlipInputChangeService;
+
     @InjectMocks
     private SalaryService salaryService;
 
@@ -190,6 +203,72 @@ class SalaryServiceTest {
         verify(salaryRepository, times(1)).save(any(SalaryModel.class));
     }
 
+    @Test
+    void should_pass_the_previous_basic_salary_to_retro_pay_when_updating() {
+        LocalDate backDated = LocalDate.now().minusMonths(3);
+        SalaryRequestDTO raise = new SalaryRequestDTO(6500.0, backDated, null, 1L);
+        when(salaryRepository.findById(1L)).thenReturn(Optional.of(salaryModel));
+        when(salaryRepository.save(any(SalaryModel.class))).thenReturn(salaryModel);
+
+        salaryService.updateSalary(1L, raise);
+
+        verify(retroPayService).recordBasicSalaryChange(1L, 1L, backDated, 5000.0, 6500.0);
+    }
+
+    @Test
+    void should_mark_open_payslips_changed_from_a_back_dated_basic_salary_change() {
+        LocalDate backDated = LocalDate.now().minusMonths(3);
+        when(salaryRepository.findById(1L)).thenReturn(Optional.of(salaryModel));
+        when(salaryRepository.save(any(SalaryModel.class))).thenReturn(salaryModel);
+
+        salaryService.updateSalary(1L, new SalaryRequestDTO(6500.0, backDated, null, 1L));
+
+        verify(paySlipInputChangeService).markChangedBetween(1L, backDated, LocalDate.now(), PaySlipInputTypeEnum.BASIC_SALARY);
+    }
+
+    @Test
+    void should_not_mark_payslips_changed_when_the_basic_salary_is_unchanged() {
+        when(salaryRepository.findById(1L)).thenReturn(Optional.of(salaryModel));
+        when(salaryRepository.save(any(SalaryModel.class))).thenReturn(salaryModel);
+
+        salaryService.updateSalary(1L, new SalaryRequestDTO(5000.0, LocalDate.now().minusMonths(3), null, 1L));
+
+        verifyNoInteractions(paySlipInputChangeService);
+    }
+
+    @Test
+    void should_record_the_first_history_segment_when_creating() {
+        when(employeeService.getEmployeeModelById(anyLong())).thenReturn(employeeModel);
+        when(salaryRepository.save(any(SalaryModel.class))).thenReturn(salaryModel);
+
+        salaryService.createSalary(salaryRequestDTO);
+
+        ArgumentCaptor<SalaryHistoryModel> captor = ArgumentCaptor.forClass(SalaryHistoryModel.class);
+        verify(salaryHistoryRepository).save(captor.capture());
+        assertEquals(1L, captor.getValue().getEmployeeId());
+        assertEquals(salaryRequestDTO.startDate(), captor.getValue().getEffectiveFrom());
+        assertEquals(5000.0, captor.getValue().getBasicSalary());
+    }
+
+    @Test
+    void should_keep_the_previous_basic_salary_as_a_segment_when_it_changes() {
+        LocalDate previousStart = salaryModel.getStartDate();
+        LocalDate raisedFrom = previousStart.plusDays(10);
+        when(salaryRepository.findById(1L)).thenReturn(Optional.of(salaryModel));
+        when(salaryRepository.save(any(SalaryModel.class))).thenReturn(salaryModel);
+        when(salaryHistoryRepository.existsByEmployeeId(1L)).thenReturn(false);
+
+        salaryService.updateSalary(1L, new SalaryRequestDTO(6500.0, raisedFrom, null, 1L));
+
+        ArgumentCaptor<SalaryHistoryModel> captor = ArgumentCaptor.forClass(SalaryHistoryModel.class);
+        verify(salaryHistoryRepository, times(2)).save(captor.capture());
+        List<SalaryHistoryModel> saved = captor.getAllValues();
+        assertEquals(previousStart, saved.get(0).getEffectiveFrom());
+        assertEquals(5000.0, saved.get(0).getBasicSalary());
+        assertEquals(raisedFrom, saved.get(1).getEffectiveFrom());
+        assertEquals(6500.0, saved.get(1).getBasicSalary());
+    }
+
     @Test
     void should_throwException_when_updateSalary_NotFound() {
         when(salaryRepository.findById(anyLong())).thenReturn(Optional.empty());
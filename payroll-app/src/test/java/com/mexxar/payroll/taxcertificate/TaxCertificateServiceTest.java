@@ -0,0 +1,85 @@
+package com.mexxar.payroll.taxcertificate;
+
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.yeartodate.YearToDateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import({YearToDateService.class, TaxCertificateService.class})
+class TaxCertificateServiceTest extends DatasetJpaTest {
+
+    // July 2023 to June 2024: the last nine months of tax year 2023 and the first three of 2024
+    private static final DatasetSpec SPEC = dataset(30, 11L);
+
+    private static final String TAX_YEAR_2023 = "FROM pay_slip p JOIN salary_pay_period s ON p.salary_pay_period_id = s.id " +
+            "WHERE s.start_date >= DATE '2023-04-01' AND s.start_date < DATE '2024-04-01'";
+
+    @Autowired
+    private TaxCertificateService taxCertificateService;
+
+    @Test
+    void should_write_one_certificate_per_employee_paid_in_the_tax_year() throws IOException {
+        generator.generate(SPEC);
+
+        Map<String, String> entries = writeAndRead(2023);
+
+        long employees = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT p.employee_id) " + TAX_YEAR_2023, Long.class);
+        assertEquals(employees + 1, entries.size());
+        assertTrue(entries.containsKey("tax-year-2023/control.txt"));
+        assertTrue(entries.get("tax-year-2023/control.txt").contains("Certificates: " + employees + "\n"));
+    }
+
+    @Test
+    void should_total_each_employee_and_the_year_from_their_payslips() throws IOException {
+        generator.generate(SPEC);
+        Long employeeId = jdbcTemplate.queryForObject("SELECT MIN(p.employee_id) " + TAX_YEAR_2023, Long.class);
+
+        Map<String, String> entries = writeAndRead(2023);
+
+        BigDecimal employeeTax = jdbcTemplate.queryForObject("SELECT CAST(SUM(p.tax_deduction) AS DECIMAL(20, 2)) " +
+                TAX_YEAR_2023 + " AND p.employee_id = " + employeeId, BigDecimal.class);
+        BigDecimal yearGross = jdbcTemplate.queryForObject("SELECT CAST(SUM(p.gross_salary) AS DECIMAL(20, 2)) " +
+                TAX_YEAR_2023, BigDecimal.class);
+        long paySlips = jdbcTemplate.queryForObject("SELECT COUNT(*) " + TAX_YEAR_2023, Long.class);
+        assertTrue(entries.get("tax-year-2023/" + employeeId + ".txt").contains("Tax deducted: " + employeeTax.toPlainString() + "\n"));
+        String control = entries.get("tax-year-2023/control.txt");
+        assertTrue(control.contains("Pay periods: " + paySlips + "\n"), control);
+        assertTrue(control.contains("Gross salary: " + yearGross.toPlainString() + "\n"), control);
+    }
+
+    @Test
+    void should_write_only_the_control_file_for_a_year_without_payslips() throws IOException {
+        Map<String, String> entries = writeAndRead(2023);
+
+        assertEquals(List.of("tax-year-2023/control.txt"), List.copyOf(entries.keySet()));
+        assertTrue(entries.get("tax-year-2023/control.txt").contains("Certificates: 0\n"));
+    }
+
+    private Map<String, String> writeAndRead(int taxYear) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        taxCertificateService.writeCertificates(taxYear, outputStream);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,95 @@
+package com.mexxar.payroll.yeartodate;
+
+import com.mexxar.payroll.datagen.DatasetJpaTest;
+import com.mexxar.payroll.datagen.DatasetSpec;
+import com.mexxar.payroll.payslip.PaySlipModel;
+import com.mexxar.payroll.payslip.PaySlipRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(YearToDateService.class)
+class YearToDateServiceTest extends DatasetJpaTest {
+
+    // July 2023 to June 2024: the last nine months of tax year 2023 and the first three of 2024
+    private static final DatasetSpec SPEC = dataset(30, 7L);
+
+    @Autowired
+    private YearToDateService yearToDateService;
+
+    @Autowired
+    private PaySlipRepository paySlipRepository;
+
+    @Test
+    void should_place_pay_periods_in_the_tax_year_starting_in_april() {
+        assertEquals(2023, yearToDateService.taxYearOf(LocalDate.of(2024, 3, 1)));
+        assertEquals(2024, yearToDateService.taxYearOf(LocalDate.of(2024, 4, 1)));
+    }
+
+    @Test
+    void should_rebuild_tax_year_from_payslips() {
+        generator.generate(SPEC);
+
+        int rows = yearToDateService.rebuildTaxYear(2023).getData();
+
+        assertEquals(count("SELECT COUNT(DISTINCT p.employee_id) FROM pay_slip p JOIN salary_pay_period s ON p.salary_pay_period_id = s.id " +
+                "WHERE s.start_date >= DATE '2023-04-01' AND s.start_date < DATE '2024-04-01'"), rows);
+        Map<String, Object> expected = jdbcTemplate.queryForMap("SELECT COUNT(*) AS pay_slips, " +
+                "CAST(SUM(p.tax_deduction) AS DECIMAL(20, 2)) AS tax, CAST(SUM(p.net_salary) AS DECIMAL(20, 2)) AS net, " +
+                "CAST(SUM(c.etf_contribution) AS DECIMAL(20, 2)) AS etf " +
+                "FROM pay_slip p JOIN salary_pay_period s ON p.salary_pay_period_id = s.id " +
+                "LEFT JOIN epf_etf_contribution c ON c.payslip_id = p.id " +
+                "WHERE s.start_date >= DATE '2023-04-01' AND s.start_date < DATE '2024-04-01'");
+        Map<String, Object> actual = jdbcTemplate.queryForMap("SELECT SUM(pay_slip_count) AS pay_slips, " +
+                "CAST(SUM(tax_withheld) AS DECIMAL(20, 2)) AS tax, CAST(SUM(net_salary) AS DECIMAL(20, 2)) AS net, " +
+                "CAST(SUM(company_etf_contribution) AS DECIMAL(20, 2)) AS etf FROM year_to_date WHERE tax_year = 2023");
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void should_take_payslips_out_and_put_them_back_without_drift() {
+        generator.generate(SPEC);
+        yearToDateService.rebuildTaxYear(2024);
+        PaySlipModel paySlip = paySlipRepository.findAll().stream()
+                .filter(candidate -> candidate.getSalaryPayPeriod().getStartDate().equals(LocalDate.of(2024, 5, 1)))
+                .findFirst()
+                .orElseThrow();
+        Long employeeId = paySlip.getEmployee().getId();
+        YearToDateResponseDTO before = yearToDateService.getYearToDate(employeeId, 2024).getData();
+
+        yearToDateService.removePaySlip(paySlip, 1200.0, 300.0);
+        YearToDateResponseDTO removed = yearToDateService.getYearToDate(employeeId, 2024).getData();
+        yearToDateService.addPaySlip(paySlip, 1200.0, 300.0);
+
+        assertEquals(before.paySlipCount() - 1, removed.paySlipCount());
+        assertEquals(before.netSalary() - paySlip.getNetSalary(), removed.netSalary(), 0.005);
+        assertEquals(before.companyEpfContribution() - 1200.0, removed.companyEpfContribution(), 0.005);
+        assertEquals(before, yearToDateService.getYearToDate(employeeId, 2024).getData());
+    }
+
+    @Test
+    void should_start_a_row_with_the_first_payslip_and_read_zeros_before_it() {
+        generator.generate(SPEC);
+        PaySlipModel paySlip = paySlipRepository.findAll().get(0);
+        Long employeeId = paySlip.getEmployee().getId();
+        int taxYear = yearToDateService.taxYearOf(paySlip.getSalaryPayPeriod().getStartDate());
+
+        assertEquals(0, yearToDateService.getYearToDate(employeeId, taxYear).getData().paySlipCount());
+
+        yearToDateService.addPaySlip(paySlip, 0.0, 0.0);
+
+        YearToDateResponseDTO yearToDate = yearToDateService.getYearToDate(employeeId, taxYear).getData();
+        assertEquals(1, yearToDate.paySlipCount());
+        assertEquals(paySlip.getGrossSalary(), yearToDate.taxableIncome());
+        assertEquals(paySlip.getTaxDeduction(), yearToDate.taxWithheld());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.mexxar.payroll.benchmarks;
+
+import com.mexxar.payroll.core.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Generates the same employee-period inputs on every run, so results stay comparable across commits
+public final class BenchmarkInputs {
+
+    public static final long SEED = 20240101L;
+
+    // Monthly brackets in the order the tax table returns them
+    public static final List<TaxBracket> TAX_BRACKETS = List.of(
+            new TaxBracket(0.0, 0.0, 100000.0),
+            new TaxBracket(6.0, 100000.0, 141667.0),
+            new TaxBracket(12.0, 141667.0, 183333.0),
+            new TaxBracket(18.0, 183333.0, 225000.0),
+            new TaxBracket(24.0, 225000.0, 266667.0),
+            new TaxBracket(30.0, 266667.0, 308333.0),
+            new TaxBracket(36.0, 308333.0, 0.0)
+    );
+
+    private static final String[] ALLOWANCE_NAMES = {"Travel", "Meal", "Fuel", "Phone", "Housing", "Attendance"};
+    private static final String[] COMMISSION_NAMES = {"Sales", "Referral", "Target"};
+
+    public enum Profile {
+        // Most employees: a couple of allowances, rarely a loan or advance
+        TYPICAL(3, 1, 1, 0.3),
+        // Sales and senior staff: many allowances, several commissions and loans
+        HEAVY(12, 6, 3, 0.8);
+
+        final int maxAllowances;
+        final int maxCommissions;
+        final int maxLoans;
+        final double advanceProbability;
+
+        Profile(int maxAllowances, int maxCommissions, int maxLoans, double advanceProbability) {
+            this.maxAllowances = maxAllowances;
+            this.maxCommissions = maxCommissions;
+            this.maxLoans = maxLoans;
+            this.advanceProbability = advanceProbability;
+        }
+    }
+
+    private BenchmarkInputs() {
+    }
+
+    public static EmployeePeriodInput[] employeePeriods(Profile profile, int count) {
+        Random random = new Random(SEED);
+        EmployeePeriodInput[] inputs = new EmployeePeriodInput[count];
+        for (int i = 0; i < count; i++) {
+            inputs[i] = employeePeriod(profile, random, i);
+        }
+        return inputs;
+    }
+
+    private static EmployeePeriodInput employeePeriod(Profile profile, Random random, int index) {
+        YearMonth month = YearMonth.of(2024, 1 + index % 12);
+        LocalDate periodStart = month.atDay(1);
+        LocalDate periodEnd = month.atEndOfMonth();
+
+        // About one in twenty employees joined during the period and is prorated
+        LocalDate hireDate = random.nextInt(20) == 0
+                ? periodStart.plusDays(1 + random.nextInt(month.lengthOfMonth() - 2))
+                : periodStart.minusDays(30 + random.nextInt(3000));
+
+        // Salaries are skewed towards the lower end, like a real payroll
+        double basicSalary = Math.round(60000 * Math.exp(random.nextGaussian() * 0.6 + 0.4));
+
+        List<AllowanceInput> taxLiableAllowances = new ArrayList<>();
+        List<AllowanceInput> taxExcludedAllowances = new ArrayList<>();
+        int allowances = random.nextInt(profile.maxAllowances + 1);
+        for (int i = 0; i < allowances; i++) {
+            AllowanceInput allowance = new AllowanceInput((long) index * 100 + i,
+                    ALLOWANCE_NAMES[random.nextInt(ALLOWANCE_NAMES.length)], 1000 + random.nextInt(20000));
+            (random.nextBoolean() ? taxLiableAllowances : taxExcludedAllowances).add(allowance);
+        }
+
+        List<CommissionInput> taxLiableCommissions = new ArrayList<>();
+        List<CommissionInput> taxExcludedCommissions = new ArrayList<>();
+        int commissions = random.nextInt(profile.maxCommissions + 1);
+        for (int i = 0; i < commissions; i++) {
+            CommissionInput commission = new CommissionInput((long) index * 100 + i,
+                    COMMISSION_NAMES[random.nextInt(COMMISSION_NAMES.length)], 500 + random.nextInt(50000));
+            (random.nextInt(4) == 0 ? taxExcludedCommissions : taxLiableCommissions).add(commission);
+        }
+
+        List<AdvanceInput> advances = random.nextDouble() < profile.advanceProbability
+                ? List.of(new AdvanceInput((long) index, 5000 + random.nextInt(25000)))
+                : List.of();
+
+        List<LoanInput> loans = new ArrayList<>();
+        int loanCount = random.nextInt(profile.maxLoans + 1);
+        for (int i = 0; i < loanCount; i++) {
+            loans.add(new LoanInput((long) index * 100 + i, 50000 + random.nextInt(950000),
+                    6 + random.nextInt(55), random.nextInt(15)));
+        }
+
+        double noPayLeaveDays = random.nextInt(10) == 0 ? 1 + random.nextInt(3) : 0;
+
+        return new EmployeePeriodInput(periodStart, periodEnd, hireDate, basicSalary,
+                random.nextInt(10) == 0 ? 500 * (1 + random.nextInt(4)) : 0.0, noPayLeaveDays,
+                taxLiableAllowances, taxExcludedAllowances, taxLiableCommissions, taxExcludedCommissions,
+                advances, loans, TAX_BRACKETS);
+    }
+}
@@ -0,0 +1,107 @@
+package com.mexxar.payroll.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mexxar.payroll.employee.EmployeeModel;
+import com.mexxar.payroll.payslip.PaySlipModel;
+import com.mexxar.payroll.payslip.PaySlipResponseDTO;
+import com.mexxar.payroll.payslip.PaySlipMapper;
+import com.mexxar.payroll.payslip.PaySlipStatusEnum;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsModel;
+import com.mexxar.payroll.payslipdetails.PaySlipDetailsTypeEnum;
+import com.mexxar.payroll.salarypayperiod.SalaryPayPeriodResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class PaySlipResponseBenchmark {
+
+    // Typical payslips have a handful of detail rows, heavy ones a few dozen
+    @Param({"5", "30"})
+    public int detailCount;
+
+    private PaySlipModel paySlip;
+    private List<PaySlipDetailsModel> details;
+    private SalaryPayPeriodResponseDTO salaryPayPeriod;
+    private PaySlipResponseDTO response;
+    private ObjectMapper objectMapper;
+    private final PaySlipMapper paySlipMapper = new PaySlipMapper();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkInputs.SEED);
+
+        EmployeeModel employee = new EmployeeModel();
+        employee.setId(1042L);
+
+        paySlip = new PaySlipModel();
+        paySlip.setId(88123L);
+        paySlip.setSalaryId(1042L);
+        paySlip.setEmployee(employee);
+        paySlip.setStatus(PaySlipStatusEnum.GENERATED);
+        paySlip.setStartDate(LocalDate.of(2024, 3, 1));
+        paySlip.setEndDate(LocalDate.of(2024, 3, 31));
+        paySlip.setBasicSalary(185000.0);
+        paySlip.setAllowances(42500.0);
+        paySlip.setCommission(12000.0);
+        paySlip.setGrossSalary(224500.0);
+        paySlip.setSalaryAdvanceDeduction(10000.0);
+        paySlip.setLoanDeduction(8250.0);
+        paySlip.setAttendanceDeduction(0.0);
+        paySlip.setTaxDeduction(11620.5);
+        paySlip.setEpfDeduction(14800.0);
+        paySlip.setLeaveDeduction(0.0);
+        paySlip.setNetSalary(191829.5);
+        paySlip.setTaxExcludedAllowances(15000.0);
+        paySlip.setTaxLiableAllowances(27500.0);
+        paySlip.setTaxExcludedCommissions(0.0);
+        paySlip.setTaxLiableCommissions(12000.0);
+
+        details = new ArrayList<>(detailCount);
+        for (int i = 0; i < detailCount; i++) {
+            PaySlipDetailsModel detail = new PaySlipDetailsModel();
+            detail.setId(500000L + i);
+            detail.setPaySlip(paySlip);
+            detail.setType(i % 3 == 0 ? PaySlipDetailsTypeEnum.DEDUCTION : PaySlipDetailsTypeEnum.ADDITION);
+            detail.setSalaryAllowanceId(i % 3 == 0 ? null : 7000L + i);
+            detail.setDescription(i % 3 == 0 ? "EPF Deduction" : "Travel Allowance");
+            detail.setAmount(1000 + random.nextInt(20000) + 0.25);
+            details.add(detail);
+        }
+
+        salaryPayPeriod = new SalaryPayPeriodResponseDTO(15L, paySlip.getStartDate(), paySlip.getEndDate(), "2024-03", "2024");
+
+        // Configured the way Spring Boot configures the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        response = paySlipMapper.toResponseDTO(paySlip, details, salaryPayPeriod);
+    }
+
+    @Benchmark
+    public PaySlipResponseDTO convert() {
+        return paySlipMapper.toResponseDTO(paySlip, details, salaryPayPeriod);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(paySlipMapper.toResponseDTO(paySlip, details, salaryPayPeriod));
+    }
+}
@@ -0,0 +1,78 @@
+package com.mexxar.payroll.benchmarks;
+
+import com.mexxar.payroll.core.EmployeePeriodInput;
+import com.mexxar.payroll.core.LoanInput;
+import com.mexxar.payroll.core.Money;
+import com.mexxar.payroll.core.PaySlipResult;
+import com.mexxar.payroll.core.PayrollCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class PayrollCalculatorBenchmark {
+
+    // A power of two, so the index can wrap with a mask
+    private static final int INPUT_COUNT = 1024;
+
+    @Param({"TYPICAL", "HEAVY"})
+    public BenchmarkInputs.Profile profile;
+
+    private final PayrollCalculator payrollCalculator = new PayrollCalculator();
+    private EmployeePeriodInput[] inputs;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        inputs = BenchmarkInputs.employeePeriods(profile, INPUT_COUNT);
+    }
+
+    // Cycling through many inputs keeps branch prediction honest
+    private EmployeePeriodInput next() {
+        index = (index + 1) & (INPUT_COUNT - 1);
+        return inputs[index];
+    }
+
+    @Benchmark
+    public PaySlipResult calculate() {
+        return payrollCalculator.calculate(next());
+    }
+
+    @Benchmark
+    public long taxBrackets() {
+        EmployeePeriodInput input = next();
+        return PayrollCalculator.calculateTaxCents(Money.ofAmount(input.basicSalary()), input.taxBrackets());
+    }
+
+    @Benchmark
+    public int workingDays() {
+        EmployeePeriodInput input = next();
+        return payrollCalculator.countWorkingDays(input.periodStart(), input.periodEnd());
+    }
+
+    @Benchmark
+    public long proration() {
+        EmployeePeriodInput input = next();
+        return payrollCalculator.proratedBasicSalaryCents(Money.ofAmount(input.basicSalary()), input.hireDate(), input.periodStart(), input.periodEnd());
+    }
+
+    @Benchmark
+    public void loanInstallments(Blackhole blackhole) {
+        for (LoanInput loan : next().loans()) {
+            blackhole.consume(PayrollCalculator.monthlyLoanInstallmentCents(loan));
+        }
+    }
+
+    @Benchmark
+    public long allowanceSummation() {
+        EmployeePeriodInput input = next();
+        return PayrollCalculator.sumAllowancesCents(input.taxLiableAllowances())
+                + PayrollCalculator.sumAllowancesCents(input.taxExcludedAllowances());
+    }
+}
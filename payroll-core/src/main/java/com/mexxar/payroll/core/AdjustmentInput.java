@@ -0,0 +1,9 @@
+package com.mexxar.payroll.core;
+
+// A correction carried into this period's net salary from an earlier one; negative amounts recover an overpayment
+public record AdjustmentInput(
+        String description,
+
+        double amount
+)
+{}
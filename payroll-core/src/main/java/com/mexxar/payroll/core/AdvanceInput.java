@@ -0,0 +1,8 @@
+package com.mexxar.payroll.core;
+
+public record AdvanceInput(
+        Long id,
+
+        double amount
+)
+{}
@@ -0,0 +1,10 @@
+package com.mexxar.payroll.core;
+
+public record AllowanceInput(
+        Long id,
+
+        String name,
+
+        double amount
+)
+{}
@@ -0,0 +1,10 @@
+package com.mexxar.payroll.core;
+
+public record CommissionInput(
+        Long id,
+
+        String name,
+
+        double amount
+)
+{}
@@ -0,0 +1,59 @@
+package com.mexxar.payroll.core;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Everything one employee's payslip for one pay period depends on, already loaded
+public record EmployeePeriodInput(
+        LocalDate periodStart,
+
+        LocalDate periodEnd,
+
+        LocalDate hireDate,
+
+        double basicSalary,
+
+        double attendanceDeduction,
+
+        double noPayLeaveDays,
+
+        List<AllowanceInput> taxLiableAllowances,
+
+        List<AllowanceInput> taxExcludedAllowances,
+
+        List<CommissionInput> taxLiableCommissions,
+
+        List<CommissionInput> taxExcludedCommissions,
+
+        List<AdvanceInput> advances,
+
+        List<LoanInput> loans,
+
+        List<TaxBracket> taxBrackets,
+
+        List<AdjustmentInput> adjustments,
+
+        // Basic salary history overlapping the period, oldest first; when empty the basic salary applies throughout
+        List<SalarySegment> salarySegments
+) {
+    public EmployeePeriodInput(LocalDate periodStart, LocalDate periodEnd, LocalDate hireDate, double basicSalary,
+                               double attendanceDeduction, double noPayLeaveDays, List<AllowanceInput> taxLiableAllowances,
+                               List<AllowanceInput> taxExcludedAllowances, List<CommissionInput> taxLiableCommissions,
+                               List<CommissionInput> taxExcludedCommissions, List<AdvanceInput> advances, List<LoanInput> loans,
+                               List<TaxBracket> taxBrackets) {
+        this(periodStart, periodEnd, hireDate, basicSalary, attendanceDeduction, noPayLeaveDays, taxLiableAllowances,
+                taxExcludedAllowances, taxLiableCommissions, taxExcludedCommissions, advances, loans, taxBrackets, List.of(), List.of());
+    }
+
+    public EmployeePeriodInput {
+        taxLiableAllowances = List.copyOf(taxLiableAllowances);
+        taxExcludedAllowances = List.copyOf(taxExcludedAllowances);
+        taxLiableCommissions = List.copyOf(taxLiableCommissions);
+        taxExcludedCommissions = List.copyOf(taxExcludedCommissions);
+        advances = List.copyOf(advances);
+        loans = List.copyOf(loans);
+        taxBrackets = List.copyOf(taxBrackets);
+        adjustments = List.copyOf(adjustments);
+        salarySegments = List.copyOf(salarySegments);
+    }
+}
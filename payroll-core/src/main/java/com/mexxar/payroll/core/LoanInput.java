@@ -0,0 +1,12 @@
+package com.mexxar.payroll.core;
+
+public record LoanInput(
+        Long id,
+
+        double loanAmount,
+
+        double monthlyInstallments,
+
+        double interestRate
+)
+{}
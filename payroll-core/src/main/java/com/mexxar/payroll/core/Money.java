@@ -0,0 +1,83 @@
+package com.mexxar.payroll.core;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Amounts as a primitive long of cents. Every operation that can produce a fraction of a cent takes the rounding
+// mode explicitly, and none of them allocate, so they are safe to use inside per-employee loops.
+public final class Money {
+
+    public static final long CENTS_PER_UNIT = 100;
+
+    // Rates are held in basis points: 8% is 800, 3.5% is 350
+    private static final long BASIS_POINTS_PER_UNIT = 10_000;
+
+    private Money() {
+    }
+
+    // Doubles that already hold whole cents, which is everything read back from the database, convert without
+    // allocating; anything finer is rounded through its decimal representation
+    public static long ofAmount(double amount, RoundingMode roundingMode) {
+        double scaled = amount * CENTS_PER_UNIT;
+        long cents = Math.round(scaled);
+        if (Math.abs(scaled - cents) < 1e-6) {
+            return cents;
+        }
+        return BigDecimal.valueOf(amount).movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+
+    public static long ofAmount(double amount) {
+        return ofAmount(amount, RoundingMode.HALF_UP);
+    }
+
+    public static double toAmount(long cents) {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+
+    // Plain decimal with two places and no grouping, e.g. -1234.05, as files for banks and tax authorities expect
+    public static String format(long cents) {
+        long units = Math.abs(cents / CENTS_PER_UNIT);
+        long fraction = Math.abs(cents % CENTS_PER_UNIT);
+        return (cents < 0 ? "-" : "") + units + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    public static long basisPoints(double ratePercent) {
+        return Math.round(ratePercent * CENTS_PER_UNIT);
+    }
+
+    // cents * ratePercent / 100
+    public static long percentage(long cents, double ratePercent, RoundingMode roundingMode) {
+        return divide(Math.multiplyExact(cents, basisPoints(ratePercent)), BASIS_POINTS_PER_UNIT, roundingMode);
+    }
+
+    // cents * numerator / denominator, rounded once
+    public static long multiplyDivide(long cents, long numerator, long denominator, RoundingMode roundingMode) {
+        return divide(Math.multiplyExact(cents, numerator), denominator, roundingMode);
+    }
+
+    public static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        // The sign of the exact result, and how the dropped remainder compares with half the divisor
+        int signum = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        int halfComparison = Long.compare(Math.abs(remainder), Math.abs(divisor) - Math.abs(remainder));
+        boolean awayFromZero = switch (roundingMode) {
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> signum < 0;
+            case CEILING -> signum > 0;
+            case HALF_UP -> halfComparison >= 0;
+            case HALF_DOWN -> halfComparison > 0;
+            case HALF_EVEN -> halfComparison > 0 || (halfComparison == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + signum : quotient;
+    }
+}
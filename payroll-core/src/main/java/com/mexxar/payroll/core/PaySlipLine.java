@@ -0,0 +1,18 @@
+package com.mexxar.payroll.core;
+
+public record PaySlipLine(
+        Long loanId,
+
+        Long advanceId,
+
+        Long allowanceId,
+
+        Long commissionId,
+
+        PaySlipLineTypeEnum type,
+
+        String description,
+
+        double amount
+)
+{}
@@ -0,0 +1,6 @@
+package com.mexxar.payroll.core;
+
+public enum PaySlipLineTypeEnum {
+    ADDITION,
+    DEDUCTION
+}
@@ -0,0 +1,41 @@
+package com.mexxar.payroll.core;
+
+import java.util.List;
+
+public record PaySlipResult(
+        double basicSalary,
+
+        double taxLiableAllowances,
+
+        double taxExcludedAllowances,
+
+        double taxLiableCommissions,
+
+        double taxExcludedCommissions,
+
+        double grossSalary,
+
+        double taxDeduction,
+
+        double salaryAdvanceDeduction,
+
+        double loanDeduction,
+
+        double attendanceDeduction,
+
+        double leaveDeduction,
+
+        double epfDeduction,
+
+        double companyEpfContribution,
+
+        double companyEtfContribution,
+
+        double netSalary,
+
+        List<PaySlipLine> lines
+) {
+    public PaySlipResult {
+        lines = List.copyOf(lines);
+    }
+}
@@ -0,0 +1,263 @@
+package com.mexxar.payroll.core;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Payslip rules as plain functions of their input and working-day calendar: no I/O and no mutable state,
+// so one instance can be used from any number of threads
+public final class PayrollCalculator {
+
+    public static final double EMPLOYEE_EPF_PERCENT = 8;
+    public static final double EMPLOYER_EPF_PERCENT = 12;
+    public static final double EMPLOYER_ETF_PERCENT = 3;
+
+    // Every amount is worked in whole cents; where a fraction of a cent appears it is rounded half up, once
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    private static final long BASIS_POINTS = 10_000;
+
+    private final WorkingDayCalendar calendar;
+
+    public PayrollCalculator() {
+        this(WorkingDayCalendar.weekendsOnly());
+    }
+
+    public PayrollCalculator(WorkingDayCalendar calendar) {
+        this.calendar = calendar;
+    }
+
+    public PaySlipResult calculate(EmployeePeriodInput input) {
+        long fullBasicSalary = input.salarySegments().isEmpty()
+                ? Money.ofAmount(input.basicSalary())
+                : segmentedBasicSalaryCents(input.salarySegments(), input.periodStart(), input.periodEnd());
+
+        // Calculate the employee basic salary based on joined date
+        long basicSalary = proratedBasicSalaryCents(fullBasicSalary, input.hireDate(), input.periodStart(), input.periodEnd());
+
+        // Leave deduction is the number of no-pay leave days at the daily rate of the working days, rounded once
+        long leaveDeduction = Money.multiplyDivide(basicSalary, Math.round(input.noPayLeaveDays() * 100),
+                countWorkingDays(input.periodStart(), input.periodEnd()) * 100L, ROUNDING);
+
+        long taxLiableAllowances = sumAllowancesCents(input.taxLiableAllowances());
+        long taxExcludedAllowances = sumAllowancesCents(input.taxExcludedAllowances());
+        long taxLiableCommissions = sumCommissionsCents(input.taxLiableCommissions());
+        long taxExcludedCommissions = sumCommissionsCents(input.taxExcludedCommissions());
+
+        long totalAdvances = 0;
+        for (AdvanceInput advance : input.advances()) {
+            totalAdvances += Money.ofAmount(advance.amount());
+        }
+
+        long[] loanInstallments = new long[input.loans().size()];
+        long totalLoanDeductions = 0;
+        for (int i = 0; i < loanInstallments.length; i++) {
+            loanInstallments[i] = monthlyLoanInstallmentCents(input.loans().get(i));
+            totalLoanDeductions += loanInstallments[i];
+        }
+
+        long attendanceDeduction = Money.ofAmount(input.attendanceDeduction());
+
+        // Adjustments carried from earlier periods are already net of tax and EPF, so they only move the net salary
+        long totalAdjustments = 0;
+        for (AdjustmentInput adjustment : input.adjustments()) {
+            totalAdjustments += Money.ofAmount(adjustment.amount());
+        }
+
+        // Gross salary is on the full basic salary, before proration
+        long grossSalary = fullBasicSalary + taxLiableAllowances + taxLiableCommissions;
+
+        long totalTax = calculateTaxCents(grossSalary, input.taxBrackets());
+
+        long epfDeduction = Money.percentage(basicSalary, EMPLOYEE_EPF_PERCENT, ROUNDING);
+        long companyEpf = Money.percentage(basicSalary, EMPLOYER_EPF_PERCENT, ROUNDING);
+        long companyEtf = Money.percentage(basicSalary, EMPLOYER_ETF_PERCENT, ROUNDING);
+
+        long netSalary = (grossSalary + taxExcludedAllowances + taxExcludedCommissions)
+                - (totalTax + totalAdvances + totalLoanDeductions + epfDeduction + attendanceDeduction + leaveDeduction)
+                + totalAdjustments;
+
+        return new PaySlipResult(
+                Money.toAmount(basicSalary),
+                Money.toAmount(taxLiableAllowances),
+                Money.toAmount(taxExcludedAllowances),
+                Money.toAmount(taxLiableCommissions),
+                Money.toAmount(taxExcludedCommissions),
+                Money.toAmount(grossSalary),
+                Money.toAmount(totalTax),
+                Money.toAmount(totalAdvances),
+                Money.toAmount(totalLoanDeductions),
+                Money.toAmount(attendanceDeduction),
+                Money.toAmount(leaveDeduction),
+                Money.toAmount(epfDeduction),
+                Money.toAmount(companyEpf),
+                Money.toAmount(companyEtf),
+                Money.toAmount(netSalary),
+                lines(input, totalTax, loanInstallments, epfDeduction)
+        );
+    }
+
+    // Lines are listed in the order payslip details have always been written
+    private static List<PaySlipLine> lines(EmployeePeriodInput input, long totalTax, long[] loanInstallments, long epfDeduction) {
+        List<PaySlipLine> lines = new ArrayList<>();
+        if (totalTax > 0) {
+            lines.add(new PaySlipLine(null, null, null, null, PaySlipLineTypeEnum.DEDUCTION, "Tax Deduction", Money.toAmount(totalTax)));
+        }
+        for (AllowanceInput allowance : input.taxLiableAllowances()) {
+            lines.add(new PaySlipLine(null, null, allowance.id(), null, PaySlipLineTypeEnum.ADDITION, allowance.name(), cents(allowance.amount())));
+        }
+        for (AllowanceInput allowance : input.taxExcludedAllowances()) {
+            lines.add(new PaySlipLine(null, null, allowance.id(), null, PaySlipLineTypeEnum.ADDITION, allowance.name(), cents(allowance.amount())));
+        }
+        for (CommissionInput commission : input.taxLiableCommissions()) {
+            lines.add(new PaySlipLine(null, null, null, commission.id(), PaySlipLineTypeEnum.ADDITION, commission.name(), cents(commission.amount())));
+        }
+        for (CommissionInput commission : input.taxExcludedCommissions()) {
+            lines.add(new PaySlipLine(null, null, null, commission.id(), PaySlipLineTypeEnum.ADDITION, commission.name(), cents(commission.amount())));
+        }
+        for (AdvanceInput advance : input.advances()) {
+            lines.add(new PaySlipLine(null, advance.id(), null, null, PaySlipLineTypeEnum.DEDUCTION, null, cents(advance.amount())));
+        }
+        for (int i = 0; i < loanInstallments.length; i++) {
+            lines.add(new PaySlipLine(input.loans().get(i).id(), null, null, null, PaySlipLineTypeEnum.DEDUCTION, null,
+                    Money.toAmount(loanInstallments[i])));
+        }
+        if (epfDeduction > 0) {
+            lines.add(new PaySlipLine(null, null, null, null, PaySlipLineTypeEnum.DEDUCTION, "EPF Deduction", Money.toAmount(epfDeduction)));
+        }
+        for (AdjustmentInput adjustment : input.adjustments()) {
+            long amount = Money.ofAmount(adjustment.amount());
+            PaySlipLineTypeEnum type = amount < 0 ? PaySlipLineTypeEnum.DEDUCTION : PaySlipLineTypeEnum.ADDITION;
+            lines.add(new PaySlipLine(null, null, null, null, type, adjustment.description(), Money.toAmount(Math.abs(amount))));
+        }
+        return lines;
+    }
+
+    // Line amounts are the same whole cents the totals were summed from
+    private static double cents(double amount) {
+        return Money.toAmount(Money.ofAmount(amount));
+    }
+
+    // Working days between start and end, both inclusive
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        int workingDays = calendar.countWorkingDays(start, end);
+
+        if (workingDays == 0) {
+            throw new IllegalArgumentException("Working days cannot be zero. Please check the start and end dates.");
+        }
+
+        return workingDays;
+    }
+
+    // The period is split where each segment takes effect and every slice is paid at its own basic for its working
+    // days, rounded once. Segments must be in order of their effective date; the first one also covers any part of
+    // the period before it, and one superseded before the period starts contributes nothing.
+    public long segmentedBasicSalaryCents(List<SalarySegment> segments, LocalDate periodStart, LocalDate periodEnd) {
+        int workingDays = countWorkingDays(periodStart, periodEnd);
+
+        long weightedBasicSalary = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            LocalDate effectiveFrom = segments.get(i).effectiveFrom();
+            LocalDate sliceStart = i == 0 || effectiveFrom.isBefore(periodStart) ? periodStart : effectiveFrom;
+            LocalDate sliceEnd = periodEnd;
+            if (i + 1 < segments.size() && segments.get(i + 1).effectiveFrom().isBefore(periodEnd.plusDays(1))) {
+                sliceEnd = segments.get(i + 1).effectiveFrom().minusDays(1);
+            }
+            if (sliceStart.isAfter(sliceEnd)) {
+                continue;
+            }
+            weightedBasicSalary = Math.addExact(weightedBasicSalary, Math.multiplyExact(
+                    Money.ofAmount(segments.get(i).basicSalary()), calendar.countWorkingDays(sliceStart, sliceEnd)));
+        }
+        return Money.divide(weightedBasicSalary, workingDays, ROUNDING);
+    }
+
+    // Employees hired inside the period are paid for the working days from their hire date
+    public double proratedBasicSalary(double basicSalary, LocalDate hireDate, LocalDate periodStart, LocalDate periodEnd) {
+        return Money.toAmount(proratedBasicSalaryCents(Money.ofAmount(basicSalary), hireDate, periodStart, periodEnd));
+    }
+
+    public long proratedBasicSalaryCents(long basicSalary, LocalDate hireDate, LocalDate periodStart, LocalDate periodEnd) {
+        if (hireDate.isAfter(periodStart) && hireDate.isBefore(periodEnd)) {
+            int workingDaysInPeriod = countWorkingDays(periodStart, periodEnd);
+            int workingDaysEmployed = calendar.countWorkingDays(hireDate, periodEnd);
+
+            return Money.multiplyDivide(basicSalary, workingDaysEmployed, workingDaysInPeriod, ROUNDING);
+        }
+        return basicSalary;
+    }
+
+    public static double monthlyLoanInstallment(LoanInput loan) {
+        return Money.toAmount(monthlyLoanInstallmentCents(loan));
+    }
+
+    // Principal plus flat interest, spread over the installments and rounded once
+    public static long monthlyLoanInstallmentCents(LoanInput loan) {
+        if (loan.loanAmount() <= 0 || loan.monthlyInstallments() <= 0) {
+            return 0;
+        }
+
+        // Installments are counted in hundredths, so the numerator is scaled by a hundred as well
+        long principalWithInterest = Math.multiplyExact(Money.ofAmount(loan.loanAmount()),
+                (BASIS_POINTS + Money.basisPoints(loan.interestRate())) * 100);
+        return Money.divide(principalWithInterest, BASIS_POINTS * Math.round(loan.monthlyInstallments() * 100), ROUNDING);
+    }
+
+    public static double calculateTax(double grossSalary, List<TaxBracket> taxBrackets) {
+        return Money.toAmount(calculateTaxCents(Money.ofAmount(grossSalary), taxBrackets));
+    }
+
+    // Brackets are applied in the order given, skipping those that start above the gross salary. The tax of every
+    // bracket is kept in hundredths of a basis point and rounded once at the end.
+    public static long calculateTaxCents(long grossSalary, List<TaxBracket> taxBrackets) {
+        long remainingSalary = grossSalary;
+        long totalTax = 0;
+
+        for (TaxBracket bracket : taxBrackets) {
+            long minSalary = Money.ofAmount(bracket.minSalary());
+            if (minSalary > grossSalary) {
+                continue;
+            }
+
+            long taxableIncome;
+            if (bracket.maxSalary() != 0) {
+                taxableIncome = Math.min(remainingSalary, Money.ofAmount(bracket.maxSalary()) - minSalary);
+            } else {
+                taxableIncome = Math.min(remainingSalary, minSalary);
+            }
+
+            if (taxableIncome > 0) {
+                totalTax += Math.multiplyExact(taxableIncome, Money.basisPoints(bracket.taxRate()));
+                remainingSalary -= taxableIncome;
+            }
+            if (remainingSalary <= 0) break;  // No more salary left to tax
+        }
+
+        return Money.divide(totalTax, BASIS_POINTS, ROUNDING);
+    }
+
+    public static double sumAllowances(List<AllowanceInput> allowances) {
+        return Money.toAmount(sumAllowancesCents(allowances));
+    }
+
+    public static long sumAllowancesCents(List<AllowanceInput> allowances) {
+        long total = 0;
+        for (AllowanceInput allowance : allowances) {
+            total += Money.ofAmount(allowance.amount());
+        }
+        return total;
+    }
+
+    public static double sumCommissions(List<CommissionInput> commissions) {
+        return Money.toAmount(sumCommissionsCents(commissions));
+    }
+
+    public static long sumCommissionsCents(List<CommissionInput> commissions) {
+        long total = 0;
+        for (CommissionInput commission : commissions) {
+            total += Money.ofAmount(commission.amount());
+        }
+        return total;
+    }
+}
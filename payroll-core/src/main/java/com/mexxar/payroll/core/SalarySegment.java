@@ -0,0 +1,11 @@
+package com.mexxar.payroll.core;
+
+import java.time.LocalDate;
+
+// A basic salary from the date it takes effect until the next segment does
+public record SalarySegment(
+        LocalDate effectiveFrom,
+
+        double basicSalary
+)
+{}
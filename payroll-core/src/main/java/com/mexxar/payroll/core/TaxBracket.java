@@ -0,0 +1,11 @@
+package com.mexxar.payroll.core;
+
+// A maxSalary of 0 marks the open-ended top bracket
+public record TaxBracket(
+        double taxRate,
+
+        double minSalary,
+
+        double maxSalary
+)
+{}
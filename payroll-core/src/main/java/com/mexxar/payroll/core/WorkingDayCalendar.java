@@ -0,0 +1,69 @@
+package com.mexxar.payroll.core;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Weekdays that are not holidays. Each year is turned into a prefix sum of working days the first time it is
+// asked about, so counting any range inside a year is two array lookups.
+public final class WorkingDayCalendar {
+
+    private static final WorkingDayCalendar WEEKENDS_ONLY = new WorkingDayCalendar(Set.of());
+
+    private final Set<LocalDate> holidays;
+    private final Map<Integer, int[]> workingDaysBeforeByYear = new ConcurrentHashMap<>();
+
+    private WorkingDayCalendar(Set<LocalDate> holidays) {
+        this.holidays = holidays;
+    }
+
+    public static WorkingDayCalendar weekendsOnly() {
+        return WEEKENDS_ONLY;
+    }
+
+    public static WorkingDayCalendar withHolidays(Collection<LocalDate> holidays) {
+        return holidays.isEmpty() ? WEEKENDS_ONLY : new WorkingDayCalendar(Set.copyOf(holidays));
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return date.getDayOfWeek() != DayOfWeek.SATURDAY
+                && date.getDayOfWeek() != DayOfWeek.SUNDAY
+                && !holidays.contains(date);
+    }
+
+    // Working days between start and end, both inclusive; zero when end is before start
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        if (start.getYear() == end.getYear()) {
+            int[] workingDaysBefore = workingDaysBefore(start.getYear());
+            return workingDaysBefore[end.getDayOfYear()] - workingDaysBefore[start.getDayOfYear() - 1];
+        }
+
+        int[] firstYear = workingDaysBefore(start.getYear());
+        int count = firstYear[firstYear.length - 1] - firstYear[start.getDayOfYear() - 1];
+        for (int year = start.getYear() + 1; year < end.getYear(); year++) {
+            int[] fullYear = workingDaysBefore(year);
+            count += fullYear[fullYear.length - 1];
+        }
+        return count + workingDaysBefore(end.getYear())[end.getDayOfYear()];
+    }
+
+    // Element d is the number of working days among the first d days of the year
+    private int[] workingDaysBefore(int year) {
+        return workingDaysBeforeByYear.computeIfAbsent(year, key -> {
+            int[] workingDaysBefore = new int[Year.of(key).length() + 1];
+            LocalDate date = LocalDate.of(key, 1, 1);
+            for (int day = 1; day < workingDaysBefore.length; day++) {
+                workingDaysBefore[day] = workingDaysBefore[day - 1] + (isWorkingDay(date) ? 1 : 0);
+                date = date.plusDays(1);
+            }
+            return workingDaysBefore;
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.mexxar.payroll.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void should_convert_amounts_to_cents_and_back_exactly() {
+        assertEquals(12345, Money.ofAmount(123.45));
+        assertEquals(-12345, Money.ofAmount(-123.45));
+        assertEquals(29, Money.ofAmount(0.285));
+        assertEquals(28, Money.ofAmount(0.285, RoundingMode.DOWN));
+        assertEquals(123.45, Money.toAmount(12345));
+    }
+
+    @Test
+    void should_format_cents_as_plain_decimals() {
+        assertEquals("1234.05", Money.format(123405));
+        assertEquals("0.50", Money.format(50));
+        assertEquals("-0.07", Money.format(-7));
+        assertEquals("-12.30", Money.format(-1230));
+    }
+
+    @Test
+    void should_sum_in_cents_without_floating_point_drift() {
+        long total = 0;
+        for (int i = 0; i < 10; i++) {
+            total += Money.ofAmount(0.1);
+        }
+
+        assertEquals(1.0, Money.toAmount(total));
+    }
+
+    @Test
+    void should_take_percentages_with_the_given_rounding_mode() {
+        assertEquals(1200000, Money.percentage(15000000, 8, RoundingMode.HALF_UP));
+        assertEquals(35, Money.percentage(1001, 3.5, RoundingMode.HALF_UP));
+        assertEquals(35, Money.percentage(1001, 3.5, RoundingMode.DOWN));
+        assertEquals(36, Money.percentage(1001, 3.5, RoundingMode.UP));
+    }
+
+    @Test
+    void should_round_divisions_like_big_decimal() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 10_000; i++) {
+            long dividend = random.nextLong(-1_000_000, 1_000_000);
+            long divisor = random.nextLong(1, 1000) * (random.nextBoolean() ? 1 : -1);
+            for (RoundingMode mode : RoundingMode.values()) {
+                if (mode == RoundingMode.UNNECESSARY) {
+                    continue;
+                }
+                long expected = BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), 0, mode).longValueExact();
+
+                assertEquals(expected, Money.divide(dividend, divisor, mode), dividend + " / " + divisor + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void should_refuse_to_round_when_told_it_is_unnecessary() {
+        assertEquals(3, Money.divide(9, 3, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> Money.divide(10, 3, RoundingMode.UNNECESSARY));
+    }
+}
@@ -0,0 +1,154 @@
+package com.mexxar.payroll.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayrollCalculatorTest {
+
+    private final PayrollCalculator payrollCalculator = new PayrollCalculator();
+
+    private static final List<TaxBracket> TAX_BRACKETS = List.of(
+            new TaxBracket(0.0, 0.0, 100000.0),
+            new TaxBracket(10.0, 100000.0, 200000.0),
+            new TaxBracket(20.0, 300000.0, 0.0)
+    );
+
+    private static EmployeePeriodInput input(LocalDate hireDate, double noPayLeaveDays, List<LoanInput> loans) {
+        return new EmployeePeriodInput(
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 31),
+                hireDate,
+                150000.0,
+                0.0,
+                noPayLeaveDays,
+                List.of(new AllowanceInput(1L, "Travel", 10000.0)),
+                List.of(new AllowanceInput(2L, "Meal", 5000.0)),
+                List.of(),
+                List.of(new CommissionInput(3L, "Sales", 2000.0)),
+                List.of(new AdvanceInput(4L, 3000.0)),
+                loans,
+                TAX_BRACKETS
+        );
+    }
+
+    @Test
+    void should_calculate_gross_tax_epf_etf_and_net_salary() {
+        PaySlipResult result = payrollCalculator.calculate(input(LocalDate.of(2020, 1, 1), 0.0, List.of()));
+
+        assertEquals(160000.0, result.grossSalary());
+        assertEquals(6000.0, result.taxDeduction(), 0.0001);
+        assertEquals(12000.0, result.epfDeduction(), 0.0001);
+        assertEquals(18000.0, result.companyEpfContribution(), 0.0001);
+        assertEquals(4500.0, result.companyEtfContribution(), 0.0001);
+        assertEquals(160000.0 + 5000.0 + 2000.0 - (6000.0 + 3000.0 + 12000.0), result.netSalary(), 0.0001);
+    }
+
+    @Test
+    void should_carry_adjustments_into_net_salary_only() {
+        EmployeePeriodInput plain = input(LocalDate.of(2020, 1, 1), 0.0, List.of());
+        EmployeePeriodInput adjusted = new EmployeePeriodInput(plain.periodStart(), plain.periodEnd(), plain.hireDate(),
+                plain.basicSalary(), plain.attendanceDeduction(), plain.noPayLeaveDays(), plain.taxLiableAllowances(),
+                plain.taxExcludedAllowances(), plain.taxLiableCommissions(), plain.taxExcludedCommissions(), plain.advances(),
+                plain.loans(), plain.taxBrackets(),
+                List.of(new AdjustmentInput("Retro Pay 2023-11", 4600.5), new AdjustmentInput("Retro Pay 2023-12", -100.25)),
+                List.of());
+
+        PaySlipResult before = payrollCalculator.calculate(plain);
+        PaySlipResult after = payrollCalculator.calculate(adjusted);
+
+        assertEquals(before.grossSalary(), after.grossSalary());
+        assertEquals(before.taxDeduction(), after.taxDeduction());
+        assertEquals(before.netSalary() + 4500.25, after.netSalary(), 0.0001);
+        List<PaySlipLine> lines = after.lines();
+        assertEquals(new PaySlipLine(null, null, null, null, PaySlipLineTypeEnum.ADDITION, "Retro Pay 2023-11", 4600.5), lines.get(lines.size() - 2));
+        assertEquals(new PaySlipLine(null, null, null, null, PaySlipLineTypeEnum.DEDUCTION, "Retro Pay 2023-12", 100.25), lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void should_deduct_no_pay_leave_at_the_daily_rate_of_working_days() {
+        PaySlipResult result = payrollCalculator.calculate(input(LocalDate.of(2020, 1, 1), 2.0, List.of()));
+
+        // January 2024 has 23 weekdays; 150000 / 23 * 2 rounded to the cent
+        assertEquals(13043.48, result.leaveDeduction());
+    }
+
+    @Test
+    void should_prorate_basic_salary_for_employees_hired_inside_the_period() {
+        PaySlipResult result = payrollCalculator.calculate(input(LocalDate.of(2024, 1, 17), 0.0, List.of()));
+
+        // 23 weekdays in January 2024, 11 of them from the 17th; 150000 / 23 * 11 rounded to the cent
+        assertEquals(71739.13, result.basicSalary());
+        // Gross salary stays on the full basic salary
+        assertEquals(160000.0, result.grossSalary());
+    }
+
+    @Test
+    void should_add_interest_to_loan_installments_and_list_lines_in_payslip_order() {
+        PaySlipResult result = payrollCalculator.calculate(
+                input(LocalDate.of(2020, 1, 1), 0.0, List.of(new LoanInput(9L, 12000.0, 12.0, 10.0))));
+
+        assertEquals(1100.0, result.loanDeduction(), 0.0001);
+        assertEquals(List.of("Tax Deduction", "Travel", "Meal", "Sales", "advance", "loan", "EPF Deduction"),
+                result.lines().stream()
+                        .map(line -> line.description() != null ? line.description() : line.advanceId() != null ? "advance" : "loan")
+                        .toList());
+    }
+
+    @Test
+    void should_skip_brackets_starting_above_gross_salary() {
+        assertEquals(5000.0, PayrollCalculator.calculateTax(150000.0, TAX_BRACKETS), 0.0001);
+    }
+
+    @Test
+    void should_reject_periods_without_working_days() {
+        LocalDate saturday = LocalDate.of(2024, 1, 6);
+        LocalDate sunday = LocalDate.of(2024, 1, 7);
+
+        assertThrows(IllegalArgumentException.class, () -> payrollCalculator.countWorkingDays(saturday, sunday));
+    }
+
+    @Test
+    void should_not_share_the_input_lists() {
+        List<AdvanceInput> advances = new ArrayList<>(List.of(new AdvanceInput(4L, 3000.0)));
+        EmployeePeriodInput input = new EmployeePeriodInput(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                LocalDate.of(2020, 1, 1), 150000.0, 0.0, 0.0, List.of(), List.of(), List.of(), List.of(),
+                advances, List.of(), TAX_BRACKETS);
+        advances.clear();
+
+        assertEquals(1, input.advances().size());
+        assertThrows(UnsupportedOperationException.class, () -> input.advances().clear());
+    }
+
+    @Test
+    void should_prorate_each_salary_segment_of_the_period_by_working_days() {
+        EmployeePeriodInput plain = input(LocalDate.of(2020, 1, 1), 0.0, List.of());
+        EmployeePeriodInput raisedMidMonth = new EmployeePeriodInput(plain.periodStart(), plain.periodEnd(), plain.hireDate(),
+                160000.0, plain.attendanceDeduction(), plain.noPayLeaveDays(), plain.taxLiableAllowances(),
+                plain.taxExcludedAllowances(), plain.taxLiableCommissions(), plain.taxExcludedCommissions(), plain.advances(),
+                plain.loans(), plain.taxBrackets(), List.of(),
+                List.of(new SalarySegment(LocalDate.of(2023, 6, 1), 120000.0),
+                        new SalarySegment(LocalDate.of(2023, 12, 1), 150000.0),
+                        new SalarySegment(LocalDate.of(2024, 1, 16), 160000.0)));
+
+        PaySlipResult result = payrollCalculator.calculate(raisedMidMonth);
+
+        // 11 of January's 23 working days at 150000 and 12 at 160000; the June segment was superseded before the period
+        assertEquals(155217.39, result.basicSalary());
+        assertEquals(165217.39, result.grossSalary());
+        assertEquals(Money.toAmount(Money.percentage(15521739, 8, PayrollCalculator.ROUNDING)), result.epfDeduction());
+    }
+
+    @Test
+    void should_pay_a_single_segment_in_full() {
+        assertEquals(15000000, payrollCalculator.segmentedBasicSalaryCents(
+                List.of(new SalarySegment(LocalDate.of(2024, 1, 20), 150000.0)), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        assertEquals(15000000, payrollCalculator.segmentedBasicSalaryCents(
+                List.of(new SalarySegment(LocalDate.of(2024, 1, 1), 150000.0), new SalarySegment(LocalDate.of(2024, 2, 1), 170000.0)),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+    }
+}
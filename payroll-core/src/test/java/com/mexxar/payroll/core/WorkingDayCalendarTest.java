@@ -0,0 +1,62 @@
+package com.mexxar.payroll.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkingDayCalendarTest {
+
+    // 2024-06-15 is a Saturday
+    private static final List<LocalDate> HOLIDAYS = List.of(
+            LocalDate.of(2024, 1, 15),
+            LocalDate.of(2024, 2, 29),
+            LocalDate.of(2024, 6, 15),
+            LocalDate.of(2024, 12, 25),
+            LocalDate.of(2025, 1, 1)
+    );
+
+    private final WorkingDayCalendar calendar = WorkingDayCalendar.withHolidays(HOLIDAYS);
+
+    @Test
+    void should_skip_weekends_and_holidays() {
+        assertEquals(23, WorkingDayCalendar.weekendsOnly().countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        assertEquals(22, calendar.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        // A holiday on a Saturday costs nothing
+        assertEquals(20, calendar.countWorkingDays(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    void should_count_single_days_and_empty_ranges() {
+        assertEquals(1, calendar.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1)));
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 15)));
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void should_count_ranges_across_years_like_a_day_by_day_walk() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 500; i++) {
+            LocalDate start = LocalDate.of(2022, 1, 1).plusDays(random.nextInt(1500));
+            LocalDate end = start.plusDays(random.nextInt(800));
+
+            assertEquals(walk(start, end), calendar.countWorkingDays(start, end), start + " to " + end);
+        }
+    }
+
+    private static int walk(LocalDate start, LocalDate end) {
+        int workingDays = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY
+                    && !HOLIDAYS.contains(date)) {
+                workingDays++;
+            }
+        }
+        return workingDays;
+    }
+}